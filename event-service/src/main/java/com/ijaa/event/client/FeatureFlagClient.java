@@ -1,13 +1,18 @@
 package com.ijaa.event.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.Map;
 
 /**
  * Feign client for communicating with the user service to check feature flags
  */
-@FeignClient(name = "user-service-feature-flags", fallback = FeatureFlagClientFallback.class)
+@FeignClient(name = "user-service", contextId = "user-service-feature-flags", fallback = FeatureFlagClientFallback.class)
 public interface FeatureFlagClient {
 
     /**
@@ -18,6 +23,15 @@ public interface FeatureFlagClient {
     @GetMapping("/api/v1/admin/feature-flags/{featureName}/enabled")
     ApiResponse<FeatureFlagStatus> checkFeatureFlag(@PathVariable("featureName") String featureName);
 
+    /**
+     * Fetch the effective state of every feature flag in one call
+     * @param ifNoneMatch ETag of the snapshot already held, or null; user-service answers 304 if unchanged
+     * @return ApiResponse containing the flag snapshot, with the snapshot ETag in the headers
+     */
+    @GetMapping("/api/v1/admin/feature-flags/snapshot")
+    ResponseEntity<ApiResponse<FeatureFlagSnapshot>> getFeatureFlagSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
     /**
      * Response wrapper class for API responses
      */
@@ -61,4 +75,24 @@ public interface FeatureFlagClient {
         public boolean isEnabled() { return enabled; }
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
     }
+
+    /**
+     * Effective state of all feature flags at a given version
+     */
+    class FeatureFlagSnapshot {
+        private long version;
+        private Map<String, Boolean> flags;
+
+        public FeatureFlagSnapshot() {}
+
+        public FeatureFlagSnapshot(long version, Map<String, Boolean> flags) {
+            this.version = version;
+            this.flags = flags;
+        }
+
+        public long getVersion() { return version; }
+        public void setVersion(long version) { this.version = version; }
+        public Map<String, Boolean> getFlags() { return flags; }
+        public void setFlags(Map<String, Boolean> flags) { this.flags = flags; }
+    }
 }
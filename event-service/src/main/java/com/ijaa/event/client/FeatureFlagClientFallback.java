@@ -1,6 +1,7 @@
 package com.ijaa.event.client;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 /**
@@ -18,4 +19,11 @@ public class FeatureFlagClientFallback implements FeatureFlagClient {
         FeatureFlagStatus status = new FeatureFlagStatus(featureName, false);
         return new ApiResponse<>("Feature flag check failed - service unavailable", "SERVICE_UNAVAILABLE", status);
     }
+
+    @Override
+    public ResponseEntity<ApiResponse<FeatureFlagSnapshot>> getFeatureFlagSnapshot(String ifNoneMatch) {
+        log.warn("User service unavailable. Keeping last known feature flag snapshot.");
+        // No data: callers keep their last-known-good snapshot
+        return ResponseEntity.ok(new ApiResponse<>("Feature flag snapshot unavailable - service unavailable", "SERVICE_UNAVAILABLE", null));
+    }
 }
@@ -1,8 +1,8 @@
 package com.ijaa.event.common.service;
 
 import com.ijaa.event.common.service.BaseService.CurrentUserContext;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ijaa.event.common.utils.UserContextCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,8 +10,6 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 
 @Service
 @RequiredArgsConstructor
@@ -63,19 +61,17 @@ public class AuthorizationService {
     }
 
     /**
-     * Get the current user context from the gateway-provided header
+     * Get the current user context from the gateway-provided header, decoded once per request
      */
     private CurrentUserContext getCurrentUserContext() {
         try {
-            HttpServletRequest request = getCurrentHttpRequest();
-            String base64UserContext = request.getHeader("X-USER_ID");
+            CurrentUserContext userContext = UserContextCodec.resolve(getCurrentHttpRequest(), objectMapper);
 
-            if (base64UserContext == null || base64UserContext.trim().isEmpty()) {
+            if (userContext == null) {
                 log.warn("User context not found in request headers");
-                return null;
             }
 
-            return decodeUserContext(base64UserContext);
+            return userContext;
         } catch (Exception e) {
             log.error("Failed to extract user context: {}", e.getMessage(), e);
             return null;
@@ -92,24 +88,4 @@ public class AuthorizationService {
 
         return requestAttributes.getRequest();
     }
-
-    private CurrentUserContext decodeUserContext(String base64UserContext) {
-        try {
-            // Decode from Base64
-            byte[] decodedBytes = Base64.getUrlDecoder().decode(base64UserContext);
-            String jsonUserContext = new String(decodedBytes, StandardCharsets.UTF_8);
-
-            log.debug("Decoded user context JSON: {}", jsonUserContext);
-
-            // Parse JSON to CurrentUserContext object
-            return objectMapper.readValue(jsonUserContext, CurrentUserContext.class);
-
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid Base64 encoding in user context header: {}", base64UserContext);
-            throw new RuntimeException("Invalid user context encoding", e);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse user context JSON: {}", e.getMessage());
-            throw new RuntimeException("Invalid user context format", e);
-        }
-    }
 }
@@ -1,7 +1,7 @@
 package com.ijaa.event.common.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ijaa.event.common.utils.UserContextCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -9,8 +9,6 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 
 @Component
 @RequiredArgsConstructor
@@ -21,15 +19,13 @@ public class BaseService {
 
     protected String getCurrentUsername() {
         try {
-            HttpServletRequest request = getCurrentHttpRequest();
-            String base64UserContext = request.getHeader("X-USER_ID");
+            CurrentUserContext userContext = getCurrentUserContext();
 
-            if (base64UserContext == null || base64UserContext.trim().isEmpty()) {
+            if (userContext == null) {
                 log.warn("User context not found in request headers");
                 return null;
             }
 
-            CurrentUserContext userContext = decodeUserContext(base64UserContext);
             return userContext.getUsername();
 
         } catch (Exception e) {
@@ -45,15 +41,8 @@ public class BaseService {
 
     protected boolean hasRole(String role) {
         try {
-            HttpServletRequest request = getCurrentHttpRequest();
-            String base64UserContext = request.getHeader("X-USER_ID");
-
-            if (base64UserContext == null || base64UserContext.trim().isEmpty()) {
-                return false;
-            }
-
-            CurrentUserContext userContext = decodeUserContext(base64UserContext);
-            return role.equals(userContext.getRole());
+            CurrentUserContext userContext = getCurrentUserContext();
+            return userContext != null && role.equals(userContext.getRole());
 
         } catch (Exception e) {
             log.error("Failed to check role: {}", e.getMessage(), e);
@@ -72,40 +61,28 @@ public class BaseService {
         return requestAttributes.getRequest();
     }
 
-    private CurrentUserContext decodeUserContext(String base64UserContext) {
+    /**
+     * Decodes the gateway-provided user context, reusing the result for the rest of the request
+     */
+    private CurrentUserContext getCurrentUserContext() {
         try {
-            // Decode from Base64
-            byte[] decodedBytes = Base64.getUrlDecoder().decode(base64UserContext);
-            String jsonUserContext = new String(decodedBytes, StandardCharsets.UTF_8);
-
-            log.debug("Decoded user context JSON: {}", jsonUserContext);
-
-            // Parse JSON to CurrentUserContext object
-            return objectMapper.readValue(jsonUserContext, CurrentUserContext.class);
-
+            return UserContextCodec.resolve(getCurrentHttpRequest(), objectMapper);
         } catch (IllegalArgumentException e) {
-            log.error("Invalid Base64 encoding in user context header: {}", base64UserContext);
-            throw new RuntimeException("Invalid user context encoding", e);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse user context JSON: {}", e.getMessage());
+            log.error("Invalid user context header: {}", e.getMessage());
             throw new RuntimeException("Invalid user context format", e);
         }
     }
 
     protected String getCurrentUserId() {
         try {
-            HttpServletRequest request = getCurrentHttpRequest();
-            String base64UserContext = request.getHeader("X-USER_ID");
-            
-            log.info("X-USER_ID header value: {}", base64UserContext);
+            CurrentUserContext userContext = getCurrentUserContext();
 
-            if (base64UserContext == null || base64UserContext.trim().isEmpty()) {
+            if (userContext == null) {
                 log.warn("User context not found in request headers");
                 return null;
             }
 
-            CurrentUserContext userContext = decodeUserContext(base64UserContext);
-            log.info("Decoded user context: username={}, userId={}, role={}", 
+            log.debug("Decoded user context: username={}, userId={}, role={}",
                     userContext.getUsername(), userContext.getUserId(), userContext.getRole());
             return userContext.getUserId();
 
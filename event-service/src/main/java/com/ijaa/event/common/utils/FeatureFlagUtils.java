@@ -1,13 +1,34 @@
 package com.ijaa.event.common.utils;
 
+import com.ijaa.event.client.FeatureFlagClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Utility class for feature flag integration in the event service.
- * This is a simplified version that defaults to enabled for development.
- * In a production implementation, this would connect to the user service via Feign client.
+ * Flags are read from a local snapshot that is refreshed from the user service in the
+ * background, so a check never waits on the network. If the user service is down the
+ * last known good snapshot stays in use.
+ * <p>
+ * Defaults, shared with the file service: a flag the user service does not know is disabled,
+ * as the user service itself reports it. Until the first snapshot loads, every flag takes
+ * {@code feature.flags.enabled} (env {@code FEATURE_FLAGS_DEFAULT_ENABLED}, true unless set), so
+ * a cold start with the user service unreachable does not switch features off.
  */
 @Component
 @Slf4j
@@ -29,11 +50,58 @@ public class FeatureFlagUtils {
     public static final String ADVANCED_SEARCH = "search";
     public static final String SEARCH_ADVANCED_FILTERS = "search.advanced-filters";
 
-    @Value("${feature.flags.enabled:true}")
-    private boolean featureFlagsEnabled;
+    // Answer for flags a loaded snapshot does not hold; the user service reports unknown flags the same way
+    private static final boolean UNKNOWN_FLAG_DEFAULT = false;
+
+    private final FeatureFlagClient featureFlagClient;
+    // Answer for every flag until the first snapshot has loaded
+    private final boolean defaultEnabled;
+    private final boolean cacheEnabled;
+
+    // Flag name -> effective state, replaced wholesale on every successful refresh
+    private volatile Map<String, Boolean> snapshot = Map.of();
+    private volatile String snapshotEtag;
+    private volatile long snapshotVersion = -1;
+    private volatile long lastRefreshMillis;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshFailures;
 
-    @Value("${spring.profiles.active:default}")
-    private String activeProfile;
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "feature-flag-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FeatureFlagUtils(FeatureFlagClient featureFlagClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${feature.flags.enabled:true}") boolean defaultEnabled,
+                            @Value("${feature.flags.cache.enabled:true}") boolean cacheEnabled) {
+        this.featureFlagClient = featureFlagClient;
+        this.defaultEnabled = defaultEnabled;
+        this.cacheEnabled = cacheEnabled;
+
+        this.hits = Counter.builder("ijaa.feature.flags.lookups")
+                .description("Feature flag checks answered from the local snapshot")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ijaa.feature.flags.lookups")
+                .description("Feature flag checks for flags missing from the local snapshot")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("ijaa.feature.flags.refresh.failures")
+                .description("Snapshot refreshes that failed and kept the previous snapshot")
+                .register(meterRegistry);
+        Gauge.builder("ijaa.feature.flags.snapshot.age", this, FeatureFlagUtils::snapshotAgeSeconds)
+                .description("Seconds since the snapshot was last refreshed from user-service, -1 if never")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("ijaa.feature.flags.snapshot.size", this, utils -> utils.snapshot.size())
+                .description("Number of flags in the local snapshot")
+                .register(meterRegistry);
+    }
 
     /**
      * Check if a feature flag is enabled
@@ -41,19 +109,104 @@ public class FeatureFlagUtils {
      * @return true if the feature is enabled, false otherwise
      */
     public boolean isFeatureEnabled(String featureName) {
-        // Enable features by default for development and testing
-        // In production, this would call the user service via Feign client
-        boolean isDevelopment = "dev".equals(activeProfile) || "test".equals(activeProfile) || "default".equals(activeProfile);
-        
-        if (isDevelopment || featureFlagsEnabled) {
-            log.debug("Feature flag: {} is enabled for profile: {}", featureName, activeProfile);
+        Boolean enabled = snapshot.get(featureName);
+        if (enabled == null) {
+            misses.increment();
+            boolean fallback = lastRefreshMillis == 0 ? defaultEnabled : UNKNOWN_FLAG_DEFAULT;
+            log.debug("Feature flag: {} not in snapshot, using default {}", featureName, fallback);
+            return fallback;
+        }
+        hits.increment();
+        return enabled;
+    }
+
+    /**
+     * Periodically refresh the local snapshot from the user service
+     */
+    @Scheduled(fixedDelayString = "${feature.flags.cache.ttl:PT30S}")
+    public void scheduledRefresh() {
+        if (cacheEnabled) {
+            triggerRefresh();
+        }
+    }
+
+    /**
+     * Reload the snapshot on the calling thread. Keeps the last known good snapshot
+     * when the user service cannot be reached.
+     * @return true if the snapshot is current
+     */
+    public boolean refreshSnapshot() {
+        try {
+            ResponseEntity<FeatureFlagClient.ApiResponse<FeatureFlagClient.FeatureFlagSnapshot>> response =
+                featureFlagClient.getFeatureFlagSnapshot(snapshotEtag);
+            if (response != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                lastRefreshMillis = System.currentTimeMillis();
+                return true;
+            }
+            FeatureFlagClient.ApiResponse<FeatureFlagClient.FeatureFlagSnapshot> body =
+                response != null ? response.getBody() : null;
+            if (body == null || body.getData() == null || body.getData().getFlags() == null) {
+                return refreshFailed("empty snapshot response");
+            }
+
+            Map<String, Boolean> next = new HashMap<>();
+            body.getData().getFlags().forEach((name, enabled) -> {
+                if (name != null && enabled != null) {
+                    next.put(name, enabled);
+                }
+            });
+            snapshot = Map.copyOf(next);
+            snapshotEtag = response.getHeaders().getETag();
+            snapshotVersion = body.getData().getVersion();
+            lastRefreshMillis = System.currentTimeMillis();
+            log.debug("Feature flag snapshot refreshed: {} flags, version {}", next.size(), snapshotVersion);
             return true;
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                // Feign reports 304 as an error status; the snapshot we hold is current
+                lastRefreshMillis = System.currentTimeMillis();
+                return true;
+            }
+            return refreshFailed(e.getMessage());
+        } catch (Exception e) {
+            return refreshFailed(e.getMessage());
         }
-        
-        log.debug("Feature flag: {} is disabled for production profile: {}", featureName, activeProfile);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private boolean refreshFailed(String reason) {
+        refreshFailures.increment();
+        log.warn("Feature flag refresh failed: {}. Keeping snapshot version {}", reason, snapshotVersion);
         return false;
     }
 
+    private double snapshotAgeSeconds() {
+        long refreshedAt = lastRefreshMillis;
+        return refreshedAt == 0 ? -1 : (System.currentTimeMillis() - refreshedAt) / 1000.0;
+    }
+
+    private void triggerRefresh() {
+        if (!refreshInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshSnapshot();
+                } finally {
+                    refreshInProgress.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshInProgress.set(false);
+            log.warn("Could not schedule feature flag refresh: {}", e.getMessage());
+        }
+    }
+
     // Event Features
     public boolean isEventRegistrationEnabled() {
         return isFeatureEnabled(EVENT_REGISTRATION);
@@ -0,0 +1,58 @@
+package com.ijaa.event.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text typed by a user into the inputs of the PostgreSQL event search:
+ * a prefix tsquery ("alum:* &amp; meet:*") and a normalized string for trigram matching.
+ * Only letters and digits survive, so user input can never inject tsquery operators.
+ */
+public final class TextSearchQuery {
+
+    // Long inputs add cost without narrowing the result any further
+    static final int MAX_TERMS = 8;
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private TextSearchQuery() {
+    }
+
+    /**
+     * Build a tsquery that requires every term, each matched as a prefix.
+     * Returns null when the text has nothing searchable in it.
+     */
+    public static String toPrefixTsQuery(String text) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        List<String> prefixes = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            prefixes.add(term + ":*");
+        }
+        return String.join(" & ", prefixes);
+    }
+
+    /**
+     * Lower-cased terms separated by single spaces, the form stored in events.search_text.
+     */
+    public static String normalize(String text) {
+        return String.join(" ", terms(text));
+    }
+
+    private static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = TERM.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            terms.add(matcher.group());
+        }
+        return terms;
+    }
+}
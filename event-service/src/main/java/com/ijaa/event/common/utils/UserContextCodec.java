@@ -0,0 +1,91 @@
+package com.ijaa.event.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ijaa.event.common.service.BaseService.CurrentUserContext;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Decodes the gateway's {@code X-USER_ID} header once per request.
+ * <p>
+ * Version 1 headers are binary: a version byte followed by username, userId,
+ * userType and role, each as a two-byte big-endian length ({@code 0xFFFF} for null)
+ * and UTF-8 bytes. Headers starting with {@code '{'} are the legacy JSON form.
+ */
+public final class UserContextCodec {
+
+    public static final String HEADER_NAME = "X-USER_ID";
+    private static final String REQUEST_ATTRIBUTE = UserContextCodec.class.getName() + ".context";
+    private static final byte VERSION_1 = 1;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private UserContextCodec() {
+    }
+
+    /**
+     * Returns the user context of the request, decoding the header only on first use.
+     *
+     * @return the decoded context, or null if the header is absent
+     * @throws IllegalArgumentException if the header cannot be decoded
+     */
+    public static CurrentUserContext resolve(HttpServletRequest request, ObjectMapper objectMapper) {
+        String header = request.getHeader(HEADER_NAME);
+        if (header == null || header.trim().isEmpty()) {
+            return null;
+        }
+        if (request.getAttribute(REQUEST_ATTRIBUTE) instanceof DecodedHeader decoded && decoded.header().equals(header)) {
+            return decoded.context();
+        }
+        CurrentUserContext context = decode(header, objectMapper);
+        request.setAttribute(REQUEST_ATTRIBUTE, new DecodedHeader(header, context));
+        return context;
+    }
+
+    public static CurrentUserContext decode(String header, ObjectMapper objectMapper) {
+        byte[] bytes = Base64.getUrlDecoder().decode(header);
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty user context");
+        }
+        if (bytes[0] == '{') {
+            try {
+                return objectMapper.readValue(bytes, CurrentUserContext.class);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid user context format", e);
+            }
+        }
+        if (bytes[0] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported user context version: " + bytes[0]);
+        }
+        int[] offset = {1};
+        CurrentUserContext context = new CurrentUserContext();
+        context.setUsername(readField(bytes, offset));
+        context.setUserId(readField(bytes, offset));
+        context.setUserType(readField(bytes, offset));
+        context.setRole(readField(bytes, offset));
+        return context;
+    }
+
+    private static String readField(byte[] bytes, int[] offset) {
+        int pos = offset[0];
+        if (pos + 2 > bytes.length) {
+            throw new IllegalArgumentException("Truncated user context");
+        }
+        int length = ((bytes[pos] & 0xFF) << 8) | (bytes[pos + 1] & 0xFF);
+        pos += 2;
+        if (length == NULL_LENGTH) {
+            offset[0] = pos;
+            return null;
+        }
+        if (pos + length > bytes.length) {
+            throw new IllegalArgumentException("Truncated user context");
+        }
+        offset[0] = pos + length;
+        return new String(bytes, pos, length, StandardCharsets.UTF_8);
+    }
+
+    private record DecodedHeader(String header, CurrentUserContext context) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.ijaa.event.domain.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor-paginated response wrapper (no total count)")
+public class CursorPagedResponse<T> {
+    @Schema(description = "List of items in the current page")
+    private List<T> content;
+
+    @Schema(description = "Maximum number of items per page", example = "10")
+    private int size;
+
+    @Schema(description = "Opaque cursor to pass back for the next page, null on the last page",
+            example = "MjAyNS0wMS0xNVQxMDozMDowMHw0Mg")
+    private String nextCursor;
+
+    @Schema(description = "Whether more items follow this page", example = "true")
+    private boolean hasNext;
+}
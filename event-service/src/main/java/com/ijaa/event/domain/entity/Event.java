@@ -59,7 +59,8 @@ public class Event {
     @Column(nullable = false)
     private Integer maxParticipants;
 
-    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    // Only changed by EventRepository's atomic updates; a full save must not write back a stale count
+    @Column(nullable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
     private Integer currentParticipants = 0;
 
     @Column(length = 100)
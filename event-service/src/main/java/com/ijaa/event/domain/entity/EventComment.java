@@ -47,10 +47,11 @@ public class EventComment {
     @Column
     private Long parentCommentId; // Null for top-level comments
 
-    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    // Counters are only changed by EventCommentRepository's atomic updates; a full save must not write them back
+    @Column(nullable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
     private Integer likes = 0;
 
-    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Column(nullable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
     private Integer replies = 0;
 
     @CreatedDate
@@ -49,6 +49,7 @@ public class EventParticipation {
         GOING,     // User confirmed attendance
         MAYBE,     // User might attend
         NOT_GOING, // User declined
-        PENDING    // Invitation sent but not responded
+        PENDING,   // Invitation sent but not responded
+        WAITLISTED // Asked to attend while the event was full
     }
 } 
@@ -44,10 +44,11 @@ public class EventPost {
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean isDeleted = false;
 
-    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    // Counters are only changed by EventPostRepository's atomic updates; a full save must not write them back
+    @Column(nullable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
     private Integer likes = 0;
 
-    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Column(nullable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
     private Integer commentsCount = 0;
 
     @CreatedDate
@@ -14,7 +14,7 @@ import java.util.List;
 @Schema(description = "Advanced event search request with flexible filtering options")
 public class AdvancedEventSearchRequest {
 
-    @Schema(description = "General search text (searches title and description)", example = "alumni networking")
+    @Schema(description = "General search text; ranked by relevance with prefix and typo-tolerant matching over title, description, location and organizer", example = "alumni networking")
     private String query;
     
     @Schema(description = "Filter by event location", example = "IIT Campus")
@@ -53,7 +53,7 @@ public class AdvancedEventSearchRequest {
     @Schema(description = "Future feature: Filter by tags")
     private List<String> tags;
     
-    @Schema(description = "Sort field", example = "start_date", allowableValues = {"start_date", "created_at", "popularity", "distance"})
+    @Schema(description = "Sort field; ignored when a query is given, since text matches are ordered by relevance", example = "start_date", allowableValues = {"start_date", "created_at", "popularity", "distance"})
     private String sortBy;
     
     @Schema(description = "Sort order", example = "asc", allowableValues = {"asc", "desc"})
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class EventSearchRequest {
     
+    private String query; // Ranked free-text search across title, description, location and organizer
     private String location;
     private String eventType;
     private LocalDateTime startDate;
@@ -6,9 +6,11 @@ import com.ijaa.event.common.annotation.RequiresRole;
 import com.ijaa.event.common.utils.AppUtils;
 import com.ijaa.event.common.service.BaseService;
 import com.ijaa.event.domain.common.ApiResponse;
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.request.EventCommentRequest;
 import com.ijaa.event.domain.response.EventCommentResponse;
+import com.ijaa.event.service.CounterReconciliationService;
 import com.ijaa.event.service.EventCommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,10 +35,14 @@ import java.util.List;
 public class EventCommentResource extends BaseService {
 
     private final EventCommentService eventCommentService;
+    private final CounterReconciliationService counterReconciliationService;
 
-    public EventCommentResource(EventCommentService eventCommentService, ObjectMapper objectMapper) {
+    public EventCommentResource(EventCommentService eventCommentService,
+                                CounterReconciliationService counterReconciliationService,
+                                ObjectMapper objectMapper) {
         super(objectMapper);
         this.eventCommentService = eventCommentService;
+        this.counterReconciliationService = counterReconciliationService;
     }
 
     @PostMapping
@@ -445,10 +451,70 @@ public class EventCommentResource extends BaseService {
         return ResponseEntity.ok(new ApiResponse<>("Popular comments retrieved successfully", "200", pagedComments.getContent()));
     }
 
+    @GetMapping("/recent/post/{postId}/cursor")
+    @RequiresRole("USER")
+    @RequiresFeature("events.comments")
+    @Operation(
+        summary = "Get Recent Comments for Post (cursor)",
+        description = "Get recent comments for a specific post, newest first, using an opaque cursor instead of page numbers. " +
+                "Pass nextCursor from the previous response to fetch the following page; no total count is returned."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Recent comments retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.ijaa.event.domain.common.ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<CursorPagedResponse<EventCommentResponse>>> getRecentCommentsByPostIdCursor(
+            @Parameter(description = "Post ID", required = true, example = "1")
+            @PathVariable Long postId,
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        String currentUsername = getCurrentUsername();
+        CursorPagedResponse<EventCommentResponse> comments = eventCommentService.getRecentCommentsByPostIdCursor(postId, cursor, size, currentUsername);
+        return ResponseEntity.ok(new ApiResponse<>("Recent comments retrieved successfully", "200", comments));
+    }
+
+    @GetMapping("/popular/post/{postId}/cursor")
+    @RequiresRole("USER")
+    @RequiresFeature("events.comments")
+    @Operation(
+        summary = "Get Popular Comments for Post (cursor)",
+        description = "Get the most liked comments for a specific post using an opaque cursor instead of page numbers. " +
+                "Pass nextCursor from the previous response to fetch the following page; no total count is returned."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Popular comments retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.ijaa.event.domain.common.ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<CursorPagedResponse<EventCommentResponse>>> getPopularCommentsByPostIdCursor(
+            @Parameter(description = "Post ID", required = true, example = "1")
+            @PathVariable Long postId,
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        String currentUsername = getCurrentUsername();
+        CursorPagedResponse<EventCommentResponse> comments = eventCommentService.getPopularCommentsByPostIdCursor(postId, cursor, size, currentUsername);
+        return ResponseEntity.ok(new ApiResponse<>("Popular comments retrieved successfully", "200", comments));
+    }
+
     @PostMapping("/recalculate-counts")
     @Operation(
         summary = "Recalculate comment counts for all posts", 
-        description = "Admin endpoint to recalculate comment counts for all posts (useful for fixing existing data)"
+        description = "Admin endpoint to run the counter reconciler now instead of waiting for its next scheduled run (useful for fixing existing data)"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -460,13 +526,9 @@ public class EventCommentResource extends BaseService {
     @RequiresRole("ADMIN")
     public ResponseEntity<ApiResponse<String>> recalculateCommentCounts() {
         log.info("Recalculating comment counts for all posts");
-        
-        // Cast to implementation to access the recalculate method
-        if (eventCommentService instanceof com.ijaa.event.service.impl.EventCommentServiceImpl) {
-            ((com.ijaa.event.service.impl.EventCommentServiceImpl) eventCommentService).recalculateAllCommentCounts();
-            return ResponseEntity.ok(new ApiResponse<>("Comment counts recalculated successfully", "200", "Success"));
-        } else {
-            return ResponseEntity.badRequest().body(new ApiResponse<>("Service not available", "400", "Error"));
-        }
+
+        int corrected = counterReconciliationService.reconcileAll();
+        return ResponseEntity.ok(new ApiResponse<>("Comment counts recalculated successfully", "200",
+                "Success: " + corrected + " counters corrected"));
     }
 } 
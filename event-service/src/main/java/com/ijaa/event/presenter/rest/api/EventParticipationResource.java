@@ -46,7 +46,7 @@ public class EventParticipationResource extends BaseService {
     @RequiresFeature("events.participation")
     @Operation(
         summary = "RSVP to Event",
-        description = "RSVP to an event with CONFIRMED, MAYBE, or DECLINED status",
+        description = "RSVP to an event with CONFIRMED, MAYBE, or DECLINED status. CONFIRMED RSVPs to a full event are WAITLISTED and promoted in order as seats free up",
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "RSVP details",
             required = true,
@@ -474,7 +474,7 @@ public class EventParticipationResource extends BaseService {
     @RequiresFeature("events.participation")
     @Operation(
         summary = "Get Participants by Status",
-        description = "Get participants for an event by status (CONFIRMED, MAYBE, DECLINED)"
+        description = "Get participants for an event by status (CONFIRMED, MAYBE, DECLINED, WAITLISTED)"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -4,6 +4,7 @@ import com.ijaa.event.common.annotation.RequiresFeature;
 import com.ijaa.event.common.annotation.RequiresRole;
 import com.ijaa.event.common.service.BaseService;
 import com.ijaa.event.common.utils.AppUtils;
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.response.EventPostResponse;
 import com.ijaa.event.service.EventPostService;
@@ -159,6 +160,43 @@ public class EventPostResource extends BaseService {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/event/{eventId}/cursor")
+    @RequiresRole("USER")
+    @RequiresFeature("events.posts")
+    @Operation(
+        summary = "Get posts for an event (cursor)", 
+        description = "Get posts for a specific event, newest first, using an opaque cursor instead of page numbers. Pass nextCursor from the previous response to fetch the following page; no total count is returned."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200", 
+            description = "Posts retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CursorPagedResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden - Feature not enabled")
+    })
+    public ResponseEntity<CursorPagedResponse<EventPostResponse>> getEventPostsByCursor(
+            @Parameter(description = "Event ID", required = true, example = "13")
+            @PathVariable Long eventId,
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        
+        String currentUsername = getCurrentUsername();
+        if (currentUsername == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        log.info("Getting posts for event: {}, cursor: {}, size: {}", eventId, cursor, size);
+        CursorPagedResponse<EventPostResponse> response = eventPostService.getEventPostsByCursor(eventId, cursor, size, currentUsername);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/event/{eventId}/all")
     @Operation(
         summary = "Get all posts for an event", 
@@ -6,6 +6,7 @@ import com.ijaa.event.common.annotation.RequiresRole;
 import com.ijaa.event.common.utils.AppUtils;
 import com.ijaa.event.common.utils.FeatureFlagUtils;
 import com.ijaa.event.domain.common.ApiResponse;
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.request.EventRequest;
 import com.ijaa.event.domain.request.EventSearchRequest;
 import com.ijaa.event.domain.response.EventResponse;
@@ -219,6 +220,31 @@ public class UserEventResource extends BaseService {
         return ResponseEntity.ok(new ApiResponse<>("All active events retrieved successfully", "200", events));
     }
 
+    @GetMapping("/all-events/cursor")
+    @RequiresRole("USER")
+    @RequiresFeature("events")
+    @Operation(
+        summary = "Get All Events (cursor)",
+        description = "Retrieve active events, newest first, using an opaque cursor instead of returning every event. " +
+                "Pass nextCursor from the previous response to fetch the following page; no total count is returned."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Active events retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.ijaa.event.domain.common.ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<CursorPagedResponse<EventResponse>>> getActiveEventsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPagedResponse<EventResponse> events = eventService.getActiveEventsByCursor(cursor, size);
+        return ResponseEntity.ok(new ApiResponse<>("Active events retrieved successfully", "200", events));
+    }
+
     @GetMapping("/all-events/{eventId}")
     @RequiresRole("USER")
     @RequiresFeature("events")
@@ -690,7 +716,7 @@ public class UserEventResource extends BaseService {
     @RequiresFeature("search")
     @Operation(
         summary = "Search Events",
-        description = "Search events with various criteria (USER role required)"
+        description = "Search events with various criteria (USER role required). When 'query' is set, results are ranked by relevance with prefix and typo-tolerant matching and paged with 'page'/'size'"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -769,6 +795,20 @@ public class UserEventResource extends BaseService {
         )
     })
     public ResponseEntity<ApiResponse<List<EventResponse>>> searchEvents(@RequestBody EventSearchRequest request) {
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            List<EventResponse> events = eventService.searchEventsByText(
+                request.getQuery(),
+                request.getLocation(),
+                request.getEventType(),
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getIsOnline(),
+                request.getOrganizerName(),
+                request.getPage() != null ? request.getPage() : 0,
+                request.getSize() != null ? request.getSize() : 10
+            );
+            return ResponseEntity.ok(new ApiResponse<>("Events found successfully", "200", events));
+        }
         List<EventResponse> events = eventService.searchEvents(
             request.getLocation(), 
             request.getEventType(), 
@@ -8,10 +8,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "file-service", configuration = FeignConfig.class)
 public interface FileServiceClient {
@@ -29,6 +31,9 @@ public interface FileServiceClient {
     @GetMapping("/api/v1/files/posts/{postId}/media")
     List<PostMediaResponse> getPostMedia(@PathVariable String postId);
 
+    @GetMapping("/api/v1/files/posts/media")
+    Map<String, List<PostMediaResponse>> getPostMediaBatch(@RequestParam("postIds") List<String> postIds);
+
     @PostMapping(value = "/api/v1/files/posts/{postId}/media", consumes = "multipart/form-data")
     Object uploadPostMedia(@PathVariable String postId, @RequestPart("file") MultipartFile file, 
                           @RequestPart("mediaType") String mediaType, @RequestHeader("Authorization") String token,
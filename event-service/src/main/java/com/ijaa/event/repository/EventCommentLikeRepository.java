@@ -2,10 +2,12 @@ package com.ijaa.event.repository;
 
 import com.ijaa.event.domain.entity.EventCommentLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,9 +24,23 @@ public interface EventCommentLikeRepository extends JpaRepository<EventCommentLi
     // Get all likes for a specific comment
     List<EventCommentLike> findByCommentId(Long commentId);
 
-    // Delete like by comment ID and username
-    void deleteByCommentIdAndUsername(Long commentId, String username);
+    // Delete like by comment ID and username, returning the number of rows removed
+    @Modifying
+    @Query("DELETE FROM EventCommentLike l WHERE l.commentId = :commentId AND l.username = :username")
+    int deleteByCommentIdAndUsername(@Param("commentId") Long commentId, @Param("username") String username);
+
+    // Record a like unless one already exists, returning the number of rows inserted
+    @Modifying
+    @Query(value = "INSERT INTO event_comment_likes (comment_id, username, created_at) " +
+            "SELECT CAST(:commentId AS BIGINT), CAST(:username AS VARCHAR(50)), CURRENT_TIMESTAMP WHERE NOT EXISTS " +
+            "(SELECT 1 FROM event_comment_likes WHERE comment_id = :commentId AND username = :username)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("commentId") Long commentId, @Param("username") String username);
 
     // Check if user has liked a comment
     boolean existsByCommentIdAndUsername(Long commentId, String username);
+
+    // Which of the given comments the user has liked, in one query
+    @Query("SELECT l.commentId FROM EventCommentLike l WHERE l.username = :username AND l.commentId IN :commentIds")
+    List<Long> findLikedCommentIds(@Param("username") String username, @Param("commentIds") Collection<Long> commentIds);
 }
@@ -4,10 +4,13 @@ import com.ijaa.event.domain.entity.EventComment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -46,4 +49,68 @@ public interface EventCommentRepository extends JpaRepository<EventComment, Long
     // Find comments with high engagement for a specific post
     @Query("SELECT c FROM EventComment c WHERE c.postId = :postId AND c.isDeleted = false ORDER BY c.likes DESC")
     Page<EventComment> findPopularCommentsByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    // Keyset pagination over a post's comments, newest first; List return type skips the count query
+    @Query("SELECT c FROM EventComment c WHERE c.postId = :postId AND c.isDeleted = false " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<EventComment> findRecentCommentsByPostIdPage(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT c FROM EventComment c WHERE c.postId = :postId AND c.isDeleted = false " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<EventComment> findRecentCommentsByPostIdPageAfter(@Param("postId") Long postId,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    // Keyset pagination over a post's comments, most liked first
+    @Query("SELECT c FROM EventComment c WHERE c.postId = :postId AND c.isDeleted = false " +
+            "ORDER BY c.likes DESC, c.id DESC")
+    List<EventComment> findPopularCommentsByPostIdPage(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT c FROM EventComment c WHERE c.postId = :postId AND c.isDeleted = false " +
+            "AND (c.likes < :likes OR (c.likes = :likes AND c.id < :id)) " +
+            "ORDER BY c.likes DESC, c.id DESC")
+    List<EventComment> findPopularCommentsByPostIdPageAfter(@Param("postId") Long postId,
+                                                            @Param("likes") Integer likes,
+                                                            @Param("id") Long id,
+                                                            Pageable pageable);
+
+    // Soft delete only if not already deleted, so counters are decremented exactly once
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventComment c SET c.isDeleted = true, c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :commentId AND c.isDeleted = false")
+    int markDeleted(@Param("commentId") Long commentId);
+
+    // Adjust the like counter in a single statement so concurrent likes are not lost
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventComment c SET c.likes = c.likes + :delta WHERE c.id = :commentId")
+    int incrementLikes(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    // Adjust the reply counter in a single statement so concurrent replies are not lost
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventComment c SET c.replies = c.replies + :delta WHERE c.id = :commentId")
+    int incrementReplies(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    @Query("SELECT MAX(c.id) FROM EventComment c")
+    Long findMaxId();
+
+    // Reset drifted like counters for an id range from the like rows, touching only rows that differ
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event_comments SET likes = " +
+            "(SELECT COUNT(*) FROM event_comment_likes l WHERE l.comment_id = event_comments.id) " +
+            "WHERE id BETWEEN :fromId AND :toId AND COALESCE(likes, -1) <> " +
+            "(SELECT COUNT(*) FROM event_comment_likes l WHERE l.comment_id = event_comments.id)",
+            nativeQuery = true)
+    int reconcileLikes(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Reset drifted reply counters for an id range from the reply rows, touching only rows that differ
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event_comments SET replies = " +
+            "(SELECT COUNT(*) FROM event_comments r WHERE r.parent_comment_id = event_comments.id AND r.is_deleted = false) " +
+            "WHERE id BETWEEN :fromId AND :toId AND COALESCE(replies, -1) <> " +
+            "(SELECT COUNT(*) FROM event_comments r WHERE r.parent_comment_id = event_comments.id AND r.is_deleted = false)",
+            nativeQuery = true)
+    int reconcileReplies(@Param("fromId") Long fromId, @Param("toId") Long toId);
 } 
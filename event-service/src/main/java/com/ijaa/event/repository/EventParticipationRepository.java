@@ -2,7 +2,9 @@ package com.ijaa.event.repository;
 
 import com.ijaa.event.domain.entity.EventParticipation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,6 +25,10 @@ public interface EventParticipationRepository extends JpaRepository<EventPartici
     // Find participations by status for an event
     List<EventParticipation> findByEventIdAndStatus(Long eventId, EventParticipation.ParticipationStatus status);
     
+    // Oldest waitlisted participations first, for promotion when a seat frees up
+    List<EventParticipation> findTop5ByEventIdAndStatusOrderByCreatedAtAscIdAsc(
+            Long eventId, EventParticipation.ParticipationStatus status);
+    
     // Count participations by status for an event
     @Query("SELECT COUNT(ep) FROM EventParticipation ep WHERE ep.eventId = ?1 AND ep.status = ?2")
     Long countByEventIdAndStatus(Long eventId, EventParticipation.ParticipationStatus status);
@@ -37,4 +43,18 @@ public interface EventParticipationRepository extends JpaRepository<EventPartici
     
     // Delete participation
     void deleteByEventIdAndParticipantUsername(Long eventId, String participantUsername);
+
+    // Change status only if it still has the value that was read, so counters move exactly once
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventParticipation ep SET ep.status = :newStatus, ep.message = :message, ep.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ep.id = :id AND ep.status = :oldStatus")
+    int updateStatus(@Param("id") Long id,
+                     @Param("oldStatus") EventParticipation.ParticipationStatus oldStatus,
+                     @Param("newStatus") EventParticipation.ParticipationStatus newStatus,
+                     @Param("message") String message);
+
+    // Delete only if the status is still the value that was read, returning the number of rows removed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM EventParticipation ep WHERE ep.id = :id AND ep.status = :status")
+    int deleteParticipation(@Param("id") Long id, @Param("status") EventParticipation.ParticipationStatus status);
 } 
@@ -0,0 +1,41 @@
+package com.ijaa.event.repository;
+
+import com.ijaa.event.domain.entity.EventPostLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventPostLikeRepository extends JpaRepository<EventPostLike, Long> {
+
+    // Record a like unless one already exists, returning the number of rows inserted.
+    // Same portable form as comment likes; a concurrent duplicate fails on the unique
+    // constraint and rolls back along with its counter update.
+    @Modifying
+    @Query(value = "INSERT INTO event_post_likes (post_id, username, created_at) " +
+            "SELECT CAST(:postId AS BIGINT), CAST(:username AS VARCHAR(50)), CURRENT_TIMESTAMP WHERE NOT EXISTS " +
+            "(SELECT 1 FROM event_post_likes WHERE post_id = :postId AND username = :username)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("username") String username);
+
+    // Remove a like; returns 0 if the user had not liked the post
+    @Modifying
+    @Query("DELETE FROM EventPostLike l WHERE l.postId = :postId AND l.username = :username")
+    int deleteByPostIdAndUsername(@Param("postId") Long postId, @Param("username") String username);
+
+    // Check if user has liked a post
+    boolean existsByPostIdAndUsername(Long postId, String username);
+
+    // Which of the given posts the user has liked, in one query
+    @Query("SELECT l.postId FROM EventPostLike l WHERE l.username = :username AND l.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("username") String username, @Param("postIds") Collection<Long> postIds);
+
+    // Count likes for a specific post
+    @Query("SELECT COUNT(l) FROM EventPostLike l WHERE l.postId = :postId")
+    Long countByPostId(@Param("postId") Long postId);
+}
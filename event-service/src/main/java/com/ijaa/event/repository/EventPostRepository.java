@@ -4,9 +4,14 @@ import com.ijaa.event.domain.entity.EventPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Repository
@@ -31,6 +36,19 @@ public interface EventPostRepository extends JpaRepository<EventPost, Long> {
 
 
 
+    // Keyset pagination over an event's posts, newest first; List return type skips the count query
+    @Query("SELECT p FROM EventPost p WHERE p.eventId = :eventId AND p.isDeleted = false " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<EventPost> findEventPostsPage(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Query("SELECT p FROM EventPost p WHERE p.eventId = :eventId AND p.isDeleted = false " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<EventPost> findEventPostsPageAfter(@Param("eventId") Long eventId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
     // Count posts for an event
     @Query("SELECT COUNT(p) FROM EventPost p WHERE p.eventId = :eventId AND p.isDeleted = false")
     Long countByEventId(@Param("eventId") Long eventId);
@@ -39,5 +57,28 @@ public interface EventPostRepository extends JpaRepository<EventPost, Long> {
     @Query("SELECT COUNT(p) FROM EventPost p WHERE p.username = :username AND p.isDeleted = false")
     Long countByUsername(@Param("username") String username);
 
+    // Adjust the like counter in a single statement so concurrent likes are not lost
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventPost p SET p.likes = p.likes + :delta WHERE p.id = :postId")
+    int incrementLikes(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // Adjust the comment counter in a single statement so concurrent comments are not lost
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventPost p SET p.commentsCount = p.commentsCount + :delta WHERE p.id = :postId")
+    int incrementCommentsCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Query("SELECT MAX(p.id) FROM EventPost p")
+    Long findMaxId();
+
+    // Reset drifted comment counters for an id range from the comment rows, touching only rows that differ
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event_posts SET comments_count = " +
+            "(SELECT COUNT(*) FROM event_comments c WHERE c.post_id = event_posts.id AND c.is_deleted = false) " +
+            "WHERE id BETWEEN :fromId AND :toId AND COALESCE(comments_count, -1) <> " +
+            "(SELECT COUNT(*) FROM event_comments c WHERE c.post_id = event_posts.id AND c.is_deleted = false)",
+            nativeQuery = true)
+    int reconcileCommentsCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
 
 }
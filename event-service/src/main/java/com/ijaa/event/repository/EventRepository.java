@@ -4,15 +4,18 @@ import com.ijaa.event.domain.entity.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
     
     // Find all active events
     List<Event> findByActiveTrue();
@@ -101,6 +104,40 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                            @Param("title") String title, 
                            @Param("description") String description);
 
+    // Full-text search (PostgreSQL only): prefix match on search_vector, typo-tolerant trigram match on
+    // search_text. Both are generated columns, see db/schema.sql. Shared by the page and count queries.
+    // Date bounds are exclusive, like EventSpecifications, so both search paths return the same rows.
+    String TEXT_SEARCH_WHERE = "WHERE e.active = TRUE " +
+            "AND (e.search_vector @@ to_tsquery('simple', :tsQuery) OR :text <% e.search_text) " +
+            "AND (CAST(:location AS text) IS NULL OR e.location ILIKE CONCAT('%', CAST(:location AS text), '%')) " +
+            "AND (CAST(:eventType AS text) IS NULL OR UPPER(e.event_type) = UPPER(CAST(:eventType AS text))) " +
+            "AND (CAST(:privacy AS text) IS NULL OR e.privacy = CAST(:privacy AS text)) " +
+            "AND (CAST(:isOnline AS boolean) IS NULL OR e.is_online = CAST(:isOnline AS boolean)) " +
+            "AND (CAST(:organizerName AS text) IS NULL OR e.organizer_name ILIKE CONCAT('%', CAST(:organizerName AS text), '%')) " +
+            "AND (CAST(:startDate AS timestamp) IS NULL OR e.start_date > CAST(:startDate AS timestamp)) " +
+            "AND (CAST(:endDate AS timestamp) IS NULL OR e.end_date < CAST(:endDate AS timestamp)) " +
+            "AND (CAST(:minParticipants AS integer) IS NULL OR e.current_participants >= CAST(:minParticipants AS integer)) " +
+            "AND (CAST(:maxParticipants AS integer) IS NULL OR e.current_participants <= CAST(:maxParticipants AS integer)) ";
+
+    // Best matches first: weighted text rank plus trigram closeness, then the soonest event
+    @Query(value = "SELECT e.* FROM events e " + TEXT_SEARCH_WHERE +
+            "ORDER BY ts_rank_cd(e.search_vector, to_tsquery('simple', :tsQuery), 32) " +
+            "+ word_similarity(:text, e.search_text) DESC, e.start_date ASC, e.id ASC",
+            countQuery = "SELECT COUNT(*) FROM events e " + TEXT_SEARCH_WHERE,
+            nativeQuery = true)
+    Page<Event> searchActiveEventsByText(@Param("tsQuery") String tsQuery,
+                                         @Param("text") String text,
+                                         @Param("location") String location,
+                                         @Param("eventType") String eventType,
+                                         @Param("privacy") String privacy,
+                                         @Param("isOnline") Boolean isOnline,
+                                         @Param("organizerName") String organizerName,
+                                         @Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate,
+                                         @Param("minParticipants") Integer minParticipants,
+                                         @Param("maxParticipants") Integer maxParticipants,
+                                         Pageable pageable);
+
     // Advanced search methods for new features
     // Find active events with pagination
     @Query("SELECT e FROM Event e WHERE e.active = true")
@@ -110,6 +147,17 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e WHERE e.active = true ORDER BY e.createdAt DESC")
     Page<Event> findActiveEventsOrderByCreatedAtDesc(Pageable pageable);
 
+    // Keyset pagination over active events, newest first; List return type skips the count query
+    @Query("SELECT e FROM Event e WHERE e.active = true ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> findActiveEventsPage(Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.active = true " +
+            "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> findActiveEventsPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
     // Find active events ordered by current participants
     @Query("SELECT e FROM Event e WHERE e.active = true ORDER BY e.currentParticipants DESC")
     Page<Event> findActiveEventsOrderByCurrentParticipantsDesc(Pageable pageable);
@@ -156,4 +204,28 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Find offline events
     @Query("SELECT e FROM Event e WHERE e.active = true AND e.isOnline = false ORDER BY e.startDate ASC")
     Page<Event> findByIsOnlineFalseAndActiveTrueOrderByStartDateAsc(Pageable pageable);
-} 
+
+    // Adjust the participant counter in a single statement so concurrent RSVPs are not lost
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentParticipants = e.currentParticipants + :delta WHERE e.id = :eventId")
+    int incrementCurrentParticipants(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    // Claim a seat only while the event is below capacity; 0 rows updated means the event is full
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.currentParticipants = e.currentParticipants + 1 " +
+            "WHERE e.id = :eventId AND e.currentParticipants < e.maxParticipants")
+    int reserveSeat(@Param("eventId") Long eventId);
+
+    @Query("SELECT MAX(e.id) FROM Event e")
+    Long findMaxId();
+
+    // Reset drifted participant counters for an id range from the GOING rows, touching only rows that differ
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET current_participants = " +
+            "(SELECT COUNT(*) FROM event_participations p WHERE p.event_id = events.id AND p.status = 'GOING') " +
+            "WHERE id BETWEEN :fromId AND :toId AND COALESCE(current_participants, -1) <> " +
+            "(SELECT COUNT(*) FROM event_participations p WHERE p.event_id = events.id AND p.status = 'GOING')",
+            nativeQuery = true)
+    int reconcileParticipantCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
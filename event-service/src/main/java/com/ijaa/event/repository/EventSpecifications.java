@@ -0,0 +1,88 @@
+package com.ijaa.event.repository;
+
+import com.ijaa.event.domain.entity.Event;
+import com.ijaa.event.domain.request.AdvancedEventSearchRequest;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the WHERE clause for advanced event search so every filter runs in
+ * the database and paging/counting see the same row set.
+ */
+public final class EventSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> fromSearchRequest(AdvancedEventSearchRequest request, LocalDateTime now) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("active")));
+
+            if (StringUtils.hasText(request.getQuery())) {
+                String pattern = containsPattern(request.getQuery());
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE)));
+            }
+            if (StringUtils.hasText(request.getLocation())) {
+                predicates.add(cb.like(cb.lower(root.get("location")), containsPattern(request.getLocation()), LIKE_ESCAPE));
+            }
+            if (StringUtils.hasText(request.getOrganizerName())) {
+                predicates.add(cb.like(cb.lower(root.get("organizerName")), containsPattern(request.getOrganizerName()), LIKE_ESCAPE));
+            }
+            // Event types are stored as entered; matches the UPPER(event_type) index in db/schema.sql
+            if (StringUtils.hasText(request.getEventType())) {
+                predicates.add(cb.equal(cb.upper(root.get("eventType")), request.getEventType().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (StringUtils.hasText(request.getPrivacy())) {
+                Event.EventPrivacy privacy = parsePrivacy(request.getPrivacy());
+                predicates.add(privacy != null ? cb.equal(root.get("privacy"), privacy) : cb.disjunction());
+            }
+            if (request.getIsOnline() != null) {
+                predicates.add(cb.equal(root.get("isOnline"), request.getIsOnline()));
+            }
+            if (request.getStartDate() != null) {
+                predicates.add(cb.greaterThan(root.get("startDate"), request.getStartDate()));
+            }
+            if (request.getEndDate() != null) {
+                predicates.add(cb.lessThan(root.get("endDate"), request.getEndDate()));
+            }
+            if (Boolean.TRUE.equals(request.getUpcomingOnly())) {
+                predicates.add(cb.greaterThan(root.get("startDate"), now));
+            }
+            if (request.getMinParticipants() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("currentParticipants"), request.getMinParticipants()));
+            }
+            if (request.getMaxParticipants() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("currentParticipants"), request.getMaxParticipants()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static Event.EventPrivacy parsePrivacy(String value) {
+        try {
+            return Event.EventPrivacy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
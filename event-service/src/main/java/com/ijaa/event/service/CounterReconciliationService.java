@@ -0,0 +1,7 @@
+package com.ijaa.event.service;
+
+public interface CounterReconciliationService {
+
+    // Recompute denormalized counters from their source rows, returning the number of rows corrected
+    int reconcileAll();
+}
@@ -1,5 +1,6 @@
 package com.ijaa.event.service;
 
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.request.EventCommentRequest;
 import com.ijaa.event.domain.response.EventCommentResponse;
@@ -43,4 +44,10 @@ public interface EventCommentService {
 
     // Get popular comments for a specific post
     PagedResponse<EventCommentResponse> getPopularCommentsByPostId(Long postId, int page, int size, String currentUsername);
+
+    // Get recent comments for a specific post (cursor-paginated)
+    CursorPagedResponse<EventCommentResponse> getRecentCommentsByPostIdCursor(Long postId, String cursor, int size, String currentUsername);
+
+    // Get popular comments for a specific post (cursor-paginated)
+    CursorPagedResponse<EventCommentResponse> getPopularCommentsByPostIdCursor(Long postId, String cursor, int size, String currentUsername);
 } 
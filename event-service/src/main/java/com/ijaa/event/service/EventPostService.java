@@ -1,5 +1,6 @@
 package com.ijaa.event.service;
 
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.response.EventPostResponse;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,6 +15,9 @@ public interface EventPostService {
     // Get posts for an event (paginated)
     PagedResponse<EventPostResponse> getEventPosts(Long eventId, int page, int size, String currentUsername);
 
+    // Get posts for an event (cursor-paginated, newest first)
+    CursorPagedResponse<EventPostResponse> getEventPostsByCursor(Long eventId, String cursor, int size, String currentUsername);
+
     // Get all posts for an event
     List<EventPostResponse> getAllEventPosts(Long eventId, String currentUsername);
 
@@ -1,5 +1,6 @@
 package com.ijaa.event.service;
 
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.request.EventRequest;
 import com.ijaa.event.domain.response.EventResponse;
 
@@ -13,6 +14,9 @@ public interface EventService {
     
     // Get all active events
     List<EventResponse> getActiveEvents();
+
+    // Get active events (cursor-paginated, newest first)
+    CursorPagedResponse<EventResponse> getActiveEventsByCursor(String cursor, int size);
     
     // Get event by ID
     EventResponse getEventById(Long eventId);
@@ -60,6 +64,11 @@ public interface EventService {
                                    LocalDateTime endDate, Boolean isOnline, String organizerName, 
                                    String title, String description);
     
+    // Ranked free-text search over title, description, location and organizer, combined with the filters
+    List<EventResponse> searchEventsByText(String query, String location, String eventType, LocalDateTime startDate,
+                                           LocalDateTime endDate, Boolean isOnline, String organizerName,
+                                           int page, int size);
+    
     // Search events with pagination
     List<EventResponse> searchEventsWithPagination(String location, String eventType, LocalDateTime startDate, 
                                                  LocalDateTime endDate, Boolean isOnline, String organizerName, 
@@ -1,22 +1,26 @@
 package com.ijaa.event.service.impl;
 
+import com.ijaa.event.common.utils.TextSearchQuery;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.entity.Event;
 import com.ijaa.event.domain.request.AdvancedEventSearchRequest;
 import com.ijaa.event.domain.response.EventResponse;
-import com.ijaa.event.repository.EventCommentRepository;
 import com.ijaa.event.repository.EventRepository;
+import com.ijaa.event.repository.EventSpecifications;
 import com.ijaa.event.service.AdvancedEventSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,7 +29,10 @@ import java.util.stream.Collectors;
 public class AdvancedEventSearchServiceImpl implements AdvancedEventSearchService {
 
     private final EventRepository eventRepository;
-    private final EventCommentRepository eventCommentRepository;
+
+    // Ranked PostgreSQL text search; off on databases without tsvector/pg_trgm (e.g. the H2 test profile)
+    @Value("${search.full-text.enabled:true}")
+    private boolean fullTextEnabled;
 
     @Override
     public PagedResponse<EventResponse> searchEvents(AdvancedEventSearchRequest request) {
@@ -34,79 +41,54 @@ public class AdvancedEventSearchServiceImpl implements AdvancedEventSearchServic
         // Create pageable with sorting
         Pageable pageable = createPageable(request);
 
-        // Build search criteria
-        String query = request.getQuery();
-        String location = request.getLocation();
-        String eventType = request.getEventType();
-        LocalDateTime startDate = request.getStartDate();
-        LocalDateTime endDate = request.getEndDate();
-        String organizerName = request.getOrganizerName();
-        Boolean isOnline = request.getIsOnline();
-        String privacy = request.getPrivacy();
-        Integer minParticipants = request.getMinParticipants();
-        Integer maxParticipants = request.getMaxParticipants();
-        Boolean hasComments = request.getHasComments();
-        Boolean hasMedia = request.getHasMedia();
-
-        // Perform search (simplified implementation - in real app, you'd use a more sophisticated search)
-        Page<Event> events = eventRepository.findActiveEvents(pageable);
-
-        // Apply filters
-        LocalDateTime now = LocalDateTime.now();
-        List<Event> filteredEvents = events.getContent().stream()
-                .filter(event -> query == null || event.getTitle().toLowerCase().contains(query.toLowerCase()) ||
-                        event.getDescription().toLowerCase().contains(query.toLowerCase()))
-                .filter(event -> location == null || event.getLocation().toLowerCase().contains(location.toLowerCase()))
-                .filter(event -> eventType == null || event.getEventType().equalsIgnoreCase(eventType))
-                .filter(event -> startDate == null || event.getStartDate().isAfter(startDate))
-                .filter(event -> endDate == null || event.getEndDate().isBefore(endDate))
-                .filter(event -> organizerName == null || event.getOrganizerName().toLowerCase().contains(organizerName.toLowerCase()))
-                .filter(event -> isOnline == null || event.getIsOnline().equals(isOnline))
-                .filter(event -> privacy == null || event.getPrivacy().name().equalsIgnoreCase(privacy))
-                .filter(event -> minParticipants == null || event.getCurrentParticipants() >= minParticipants)
-                .filter(event -> maxParticipants == null || event.getCurrentParticipants() <= maxParticipants)
-                .filter(event -> !Boolean.TRUE.equals(request.getUpcomingOnly()) || event.getStartDate().isAfter(now))
-                .collect(Collectors.toList());
-
-        // Apply engagement filters
-        // Note: Comment filtering removed as comments are now post-based
-        // Comments are now associated with posts, not directly with events
-        // if (hasComments != null && hasComments) {
-        //     filteredEvents = filteredEvents.stream()
-        //             .filter(event -> eventCommentRepository.countByEventId(event.getId()) > 0)
-        //             .collect(Collectors.toList());
-        // }
-
-        // Note: Media filtering removed as we simplified to banner-only system
-        // if (hasMedia != null && hasMedia) {
-        //     filteredEvents = filteredEvents.stream()
-        //             .filter(event -> eventBannerRepository.existsByEventId(event.getId()))
-        //             .collect(Collectors.toList());
-        // }
-
-        // Apply limit if specified (for non-paginated results)
-        if (request.getLimit() != null && request.getLimit() > 0) {
-            filteredEvents = filteredEvents.stream()
-                    .limit(request.getLimit())
-                    .collect(Collectors.toList());
-        }
+        // All criteria are applied in SQL, so the page and the count cover the same rows.
+        // hasComments/hasMedia are deprecated: comments are post-based and media is banner-only.
+        String tsQuery = fullTextEnabled ? TextSearchQuery.toPrefixTsQuery(request.getQuery()) : null;
+        Page<Event> events = tsQuery != null
+                ? searchByText(request, tsQuery, pageable)
+                : eventRepository.findAll(EventSpecifications.fromSearchRequest(request, LocalDateTime.now()), pageable);
 
-        // Convert to responses
-        List<EventResponse> responses = filteredEvents.stream()
+        List<EventResponse> responses = events.getContent().stream()
                 .map(this::mapToEventResponse)
                 .collect(Collectors.toList());
 
         return new PagedResponse<EventResponse>(
                 responses,
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                filteredEvents.size(),
-                (int) Math.ceil((double) filteredEvents.size() / pageable.getPageSize()),
-                pageable.getPageNumber() == 0,
-                pageable.getPageNumber() >= (int) Math.ceil((double) filteredEvents.size() / pageable.getPageSize()) - 1
+                events.getNumber(),
+                events.getSize(),
+                events.getTotalElements(),
+                events.getTotalPages(),
+                events.isFirst(),
+                events.isLast()
         );
     }
 
+    // Text queries are ordered by relevance, so only the paging part of the request applies
+    private Page<Event> searchByText(AdvancedEventSearchRequest request, String tsQuery, Pageable pageable) {
+        LocalDateTime startDate = request.getStartDate();
+        if (Boolean.TRUE.equals(request.getUpcomingOnly())) {
+            LocalDateTime now = LocalDateTime.now();
+            startDate = startDate == null || startDate.isBefore(now) ? now : startDate;
+        }
+        return eventRepository.searchActiveEventsByText(
+                tsQuery,
+                TextSearchQuery.normalize(request.getQuery()),
+                blankToNull(request.getLocation()),
+                StringUtils.hasText(request.getEventType()) ? request.getEventType().trim().toUpperCase(Locale.ROOT) : null,
+                StringUtils.hasText(request.getPrivacy()) ? request.getPrivacy().trim().toUpperCase(Locale.ROOT) : null,
+                request.getIsOnline(),
+                blankToNull(request.getOrganizerName()),
+                startDate,
+                request.getEndDate(),
+                request.getMinParticipants(),
+                request.getMaxParticipants(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    private String blankToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
     private Pageable createPageable(AdvancedEventSearchRequest request) {
         Sort sort = Sort.by("createdAt").descending(); // default sort
 
@@ -132,7 +114,13 @@ public class AdvancedEventSearchServiceImpl implements AdvancedEventSearchServic
             sort = sort.descending();
         }
 
-        return PageRequest.of(request.getPage(), request.getSize(), sort);
+        // Tie-break on id so rows with equal sort keys never shift between pages
+        Sort.Direction direction = sort.iterator().next().getDirection();
+        sort = sort.and(Sort.by(direction, "id"));
+
+        // An explicit limit replaces the page size (it is an alternative to pagination)
+        int size = request.getLimit() != null && request.getLimit() > 0 ? request.getLimit() : request.getSize();
+        return PageRequest.of(request.getPage(), size, sort);
     }
 
     private EventResponse mapToEventResponse(Event event) {
@@ -0,0 +1,96 @@
+package com.ijaa.event.service.impl;
+
+import com.ijaa.event.repository.EventCommentRepository;
+import com.ijaa.event.repository.EventPostRepository;
+import com.ijaa.event.repository.EventRepository;
+import com.ijaa.event.service.CounterReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Background safety net for the counters maintained with atomic deltas
+ * (post comments, comment likes and replies, event participants).
+ * Counters are recomputed in id-range batches, each in its own short
+ * transaction, and only rows whose stored value has drifted are written.
+ */
+@Service
+@Slf4j
+public class CounterReconciliationServiceImpl implements CounterReconciliationService {
+
+    private final EventPostRepository eventPostRepository;
+    private final EventCommentRepository eventCommentRepository;
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public CounterReconciliationServiceImpl(EventPostRepository eventPostRepository,
+                                            EventCommentRepository eventCommentRepository,
+                                            EventRepository eventRepository,
+                                            @Value("${counters.reconcile.enabled:true}") boolean enabled,
+                                            @Value("${counters.reconcile.batch-size:1000}") int batchSize) {
+        this.eventPostRepository = eventPostRepository;
+        this.eventCommentRepository = eventCommentRepository;
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${counters.reconcile.interval:PT1H}",
+            initialDelayString = "${counters.reconcile.initial-delay:PT5M}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcileAll();
+        }
+    }
+
+    @Override
+    public int reconcileAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Counter reconciliation already in progress, skipping");
+            return 0;
+        }
+        try {
+            int corrected = 0;
+            corrected += reconcile("post comment counts", eventPostRepository::findMaxId,
+                    eventPostRepository::reconcileCommentsCounts);
+            corrected += reconcile("comment like counts", eventCommentRepository::findMaxId,
+                    eventCommentRepository::reconcileLikes);
+            corrected += reconcile("comment reply counts", eventCommentRepository::findMaxId,
+                    eventCommentRepository::reconcileReplies);
+            corrected += reconcile("event participant counts", eventRepository::findMaxId,
+                    eventRepository::reconcileParticipantCounts);
+            log.info("Counter reconciliation finished, corrected {} rows", corrected);
+            return corrected;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int reconcile(String name, Supplier<Long> maxId, BiFunction<Long, Long, Integer> reconcileRange) {
+        Long lastId = maxId.get();
+        if (lastId == null) {
+            return 0;
+        }
+
+        int corrected = 0;
+        for (long fromId = 1; fromId <= lastId; fromId += batchSize) {
+            try {
+                corrected += reconcileRange.apply(fromId, fromId + batchSize - 1);
+            } catch (Exception e) {
+                // Keep going; the next run will pick up this range again
+                log.error("Failed to reconcile {} for ids {}-{}: {}", name, fromId, fromId + batchSize - 1, e.getMessage());
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} drifted {}", corrected, name);
+        }
+        return corrected;
+    }
+}
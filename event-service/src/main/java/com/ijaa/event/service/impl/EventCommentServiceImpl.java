@@ -1,8 +1,9 @@
 package com.ijaa.event.service.impl;
 
+import com.ijaa.event.common.utils.PageCursor;
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.entity.EventComment;
-import com.ijaa.event.domain.entity.EventCommentLike;
 import com.ijaa.event.domain.entity.EventPost;
 import com.ijaa.event.domain.request.EventCommentRequest;
 import com.ijaa.event.domain.response.EventCommentResponse;
@@ -19,7 +20,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -50,9 +57,12 @@ public class EventCommentServiceImpl implements EventCommentService {
         comment.setParentCommentId(request.getParentCommentId());
 
         EventComment savedComment = eventCommentRepository.save(comment);
-        
-        // Update comment count for the post
-        updatePostCommentCount(request.getPostId());
+
+        // Bump counters in place rather than recounting the post's comments
+        eventPostRepository.incrementCommentsCount(request.getPostId(), 1);
+        if (savedComment.getParentCommentId() != null) {
+            eventCommentRepository.incrementReplies(savedComment.getParentCommentId(), 1);
+        }
         
         return mapToResponse(savedComment, username);
     }
@@ -65,9 +75,7 @@ public class EventCommentServiceImpl implements EventCommentService {
         Page<EventComment> comments = eventCommentRepository
                 .findByPostIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(postId, pageable);
 
-        List<EventCommentResponse> responses = comments.getContent().stream()
-                .map(comment -> mapToResponse(comment, currentUsername))
-                .collect(Collectors.toList());
+        List<EventCommentResponse> responses = mapToResponses(comments.getContent(), currentUsername);
 
         return new PagedResponse<EventCommentResponse>(
                 responses,
@@ -84,9 +92,24 @@ public class EventCommentServiceImpl implements EventCommentService {
     public List<EventCommentResponse> getPostCommentsWithReplies(Long postId, String currentUsername) {
         log.info("Getting all comments with replies for post: {}", postId);
 
+        // One query for every comment and reply on the post, one for the viewer's likes
         List<EventComment> comments = eventCommentRepository.findByPostIdAndIsDeletedFalseOrderByCreatedAtAsc(postId);
+        Set<Long> likedCommentIds = getLikedCommentIds(comments, currentUsername);
+
+        // Group replies under their parent; the list is already in creation order
+        Map<Long, List<EventCommentResponse>> repliesByParent = new HashMap<>();
+        for (EventComment comment : comments) {
+            if (comment.getParentCommentId() != null) {
+                repliesByParent.computeIfAbsent(comment.getParentCommentId(), id -> new ArrayList<>())
+                        .add(toResponse(comment, likedCommentIds.contains(comment.getId()), null));
+            }
+        }
+
         return comments.stream()
-                .map(comment -> mapToResponseWithReplies(comment, currentUsername))
+                .map(comment -> toResponse(comment, likedCommentIds.contains(comment.getId()),
+                        comment.getParentCommentId() == null
+                                ? repliesByParent.getOrDefault(comment.getId(), new ArrayList<>())
+                                : null))
                 .collect(Collectors.toList());
     }
 
@@ -139,11 +162,13 @@ public class EventCommentServiceImpl implements EventCommentService {
             throw new RuntimeException("Not authorized to delete this comment");
         }
 
-        comment.setIsDeleted(true);
-        eventCommentRepository.save(comment);
-        
-        // Update comment count for the post
-        updatePostCommentCount(comment.getPostId());
+        // Only the request that actually flips the flag adjusts the counters
+        if (eventCommentRepository.markDeleted(commentId) > 0) {
+            eventPostRepository.incrementCommentsCount(comment.getPostId(), -1);
+            if (comment.getParentCommentId() != null) {
+                eventCommentRepository.incrementReplies(comment.getParentCommentId(), -1);
+            }
+        }
     }
 
     @Override
@@ -158,28 +183,23 @@ public class EventCommentServiceImpl implements EventCommentService {
             throw new RuntimeException("Comment has been deleted");
         }
 
-        // Check if user has already liked this comment
-        boolean hasLiked = eventCommentLikeRepository.existsByCommentIdAndUsername(commentId, username);
-        
-        if (hasLiked) {
-            // Unlike: remove the like record
-            eventCommentLikeRepository.deleteByCommentIdAndUsername(commentId, username);
+        // Unlike if a like row exists, otherwise like; each row change moves the counter by one
+        int delta = 0;
+        if (eventCommentLikeRepository.deleteByCommentIdAndUsername(commentId, username) > 0) {
+            delta = -1;
             log.info("User {} unliked comment {}", username, commentId);
-        } else {
-            // Like: create a new like record
-            EventCommentLike like = new EventCommentLike();
-            like.setCommentId(commentId);
-            like.setUsername(username);
-            eventCommentLikeRepository.save(like);
+        } else if (eventCommentLikeRepository.insertIfAbsent(commentId, username) > 0) {
+            delta = 1;
             log.info("User {} liked comment {}", username, commentId);
         }
 
-        // Get updated like count
-        Long likeCount = eventCommentLikeRepository.countByCommentId(commentId);
-        comment.setLikes(likeCount.intValue());
-        EventComment updatedComment = eventCommentRepository.save(comment);
-        
-        return mapToResponse(updatedComment, username);
+        if (delta != 0) {
+            eventCommentRepository.incrementLikes(commentId, delta);
+        }
+
+        // A concurrent request may have recorded the like first; either way the user now likes it
+        EventComment updatedComment = eventCommentRepository.findById(commentId).orElse(comment);
+        return toResponse(updatedComment, delta >= 0, null);
     }
 
     @Override
@@ -190,9 +210,7 @@ public class EventCommentServiceImpl implements EventCommentService {
         Page<EventComment> comments = eventCommentRepository
                 .findByUsernameAndIsDeletedFalseOrderByCreatedAtDesc(username, pageable);
 
-        List<EventCommentResponse> responses = comments.getContent().stream()
-                .map(comment -> mapToResponse(comment, currentUsername))
-                .collect(Collectors.toList());
+        List<EventCommentResponse> responses = mapToResponses(comments.getContent(), currentUsername);
 
         return new PagedResponse<EventCommentResponse>(
                 responses,
@@ -212,9 +230,7 @@ public class EventCommentServiceImpl implements EventCommentService {
         Pageable pageable = PageRequest.of(page, size);
         Page<EventComment> comments = eventCommentRepository.findRecentComments(pageable);
 
-        List<EventCommentResponse> responses = comments.getContent().stream()
-                .map(comment -> mapToResponse(comment, currentUsername))
-                .collect(Collectors.toList());
+        List<EventCommentResponse> responses = mapToResponses(comments.getContent(), currentUsername);
 
         return new PagedResponse<EventCommentResponse>(
                 responses,
@@ -234,9 +250,7 @@ public class EventCommentServiceImpl implements EventCommentService {
         Pageable pageable = PageRequest.of(page, size);
         Page<EventComment> comments = eventCommentRepository.findPopularComments(pageable);
 
-        List<EventCommentResponse> responses = comments.getContent().stream()
-                .map(comment -> mapToResponse(comment, currentUsername))
-                .collect(Collectors.toList());
+        List<EventCommentResponse> responses = mapToResponses(comments.getContent(), currentUsername);
 
         return new PagedResponse<EventCommentResponse>(
                 responses,
@@ -256,9 +270,7 @@ public class EventCommentServiceImpl implements EventCommentService {
         Pageable pageable = PageRequest.of(page, size);
         Page<EventComment> comments = eventCommentRepository.findRecentCommentsByPostId(postId, pageable);
 
-        List<EventCommentResponse> responses = comments.getContent().stream()
-                .map(comment -> mapToResponse(comment, currentUsername))
-                .collect(Collectors.toList());
+        List<EventCommentResponse> responses = mapToResponses(comments.getContent(), currentUsername);
 
         return new PagedResponse<EventCommentResponse>(
                 responses,
@@ -278,9 +290,7 @@ public class EventCommentServiceImpl implements EventCommentService {
         Pageable pageable = PageRequest.of(page, size);
         Page<EventComment> comments = eventCommentRepository.findPopularCommentsByPostId(postId, pageable);
 
-        List<EventCommentResponse> responses = comments.getContent().stream()
-                .map(comment -> mapToResponse(comment, currentUsername))
-                .collect(Collectors.toList());
+        List<EventCommentResponse> responses = mapToResponses(comments.getContent(), currentUsername);
 
         return new PagedResponse<EventCommentResponse>(
                 responses,
@@ -293,6 +303,48 @@ public class EventCommentServiceImpl implements EventCommentService {
         );
     }
 
+    @Override
+    public CursorPagedResponse<EventCommentResponse> getRecentCommentsByPostIdCursor(Long postId, String cursor, int size, String currentUsername) {
+        log.info("Getting recent comments for post: {}, cursor: {}, size: {}", postId, cursor, size);
+
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<EventComment> comments = after == null
+                ? eventCommentRepository.findRecentCommentsByPostIdPage(postId, window)
+                : eventCommentRepository.findRecentCommentsByPostIdPageAfter(postId, after.createdAt(), after.id(), window);
+
+        return toCursorPage(comments, pageSize, currentUsername,
+                last -> PageCursor.encode(last.getCreatedAt(), last.getId()));
+    }
+
+    @Override
+    public CursorPagedResponse<EventCommentResponse> getPopularCommentsByPostIdCursor(Long postId, String cursor, int size, String currentUsername) {
+        log.info("Getting popular comments for post: {}, cursor: {}, size: {}", postId, cursor, size);
+
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<EventComment> comments = after == null
+                ? eventCommentRepository.findPopularCommentsByPostIdPage(postId, window)
+                : eventCommentRepository.findPopularCommentsByPostIdPageAfter(postId, after.likes(), after.id(), window);
+
+        return toCursorPage(comments, pageSize, currentUsername,
+                last -> PageCursor.encode(last.getLikes(), last.getId()));
+    }
+
+    /**
+     * Trim the extra look-ahead row and build the cursor for the next page from the last row kept
+     */
+    private CursorPagedResponse<EventCommentResponse> toCursorPage(List<EventComment> comments, int pageSize,
+                                                                   String currentUsername,
+                                                                   Function<EventComment, String> cursorOf) {
+        boolean hasNext = comments.size() > pageSize;
+        List<EventComment> page = hasNext ? comments.subList(0, pageSize) : comments;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPagedResponse<>(mapToResponses(page, currentUsername), pageSize, nextCursor, hasNext);
+    }
+
     private EventCommentResponse mapToResponse(EventComment comment, String currentUsername) {
         // Check if current user has liked this comment
         boolean isLikedByCurrentUser = false;
@@ -300,41 +352,52 @@ public class EventCommentServiceImpl implements EventCommentService {
             isLikedByCurrentUser = eventCommentLikeRepository.existsByCommentIdAndUsername(comment.getId(), currentUsername);
         }
         
-        return new EventCommentResponse(
-                comment.getId(),
-                comment.getPostId(),
-                comment.getUsername(),
-                comment.getAuthorName(), // Using stored author name from database
-                comment.getUserId(), // User ID for profile photo
-                comment.getContent(),
-                comment.getIsEdited(),
-                comment.getIsDeleted(),
-                comment.getParentCommentId(),
-                comment.getLikes(),
-                comment.getReplies(),
-                isLikedByCurrentUser,
-                comment.getCreatedAt(),
-                comment.getUpdatedAt(),
-                null // replies will be loaded separately
-        );
+        return toResponse(comment, isLikedByCurrentUser, null); // replies will be loaded separately
+    }
+
+    /**
+     * Map a page of comments, resolving the viewer's likes with a single query
+     */
+    private List<EventCommentResponse> mapToResponses(List<EventComment> comments, String currentUsername) {
+        Set<Long> likedCommentIds = getLikedCommentIds(comments, currentUsername);
+        return comments.stream()
+                .map(comment -> toResponse(comment, likedCommentIds.contains(comment.getId()), null))
+                .collect(Collectors.toList());
     }
 
     private EventCommentResponse mapToResponseWithReplies(EventComment comment, String currentUsername) {
+        List<EventComment> replyEntities = comment.getParentCommentId() == null
+                // Only load replies for top-level comments
+                ? eventCommentRepository.findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc(comment.getId())
+                : List.of();
+
+        List<EventComment> thread = new ArrayList<>(replyEntities.size() + 1);
+        thread.add(comment);
+        thread.addAll(replyEntities);
+        Set<Long> likedCommentIds = getLikedCommentIds(thread, currentUsername);
+
         List<EventCommentResponse> replies = null;
         if (comment.getParentCommentId() == null) {
-            // Only load replies for top-level comments
-            replies = eventCommentRepository.findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc(comment.getId())
-                    .stream()
-                    .map(reply -> mapToResponse(reply, currentUsername))
+            replies = replyEntities.stream()
+                    .map(reply -> toResponse(reply, likedCommentIds.contains(reply.getId()), null))
                     .collect(Collectors.toList());
         }
 
-        // Check if current user has liked this comment
-        boolean isLikedByCurrentUser = false;
-        if (currentUsername != null) {
-            isLikedByCurrentUser = eventCommentLikeRepository.existsByCommentIdAndUsername(comment.getId(), currentUsername);
+        return toResponse(comment, likedCommentIds.contains(comment.getId()), replies);
+    }
+
+    private Set<Long> getLikedCommentIds(List<EventComment> comments, String currentUsername) {
+        if (currentUsername == null || comments.isEmpty()) {
+            return Set.of();
         }
+        List<Long> commentIds = comments.stream()
+                .map(EventComment::getId)
+                .collect(Collectors.toList());
+        return new HashSet<>(eventCommentLikeRepository.findLikedCommentIds(currentUsername, commentIds));
+    }
 
+    private EventCommentResponse toResponse(EventComment comment, boolean isLikedByCurrentUser,
+                                            List<EventCommentResponse> replies) {
         return new EventCommentResponse(
                 comment.getId(),
                 comment.getPostId(),
@@ -354,41 +417,4 @@ public class EventCommentServiceImpl implements EventCommentService {
         );
     }
 
-    /**
-     * Updates the comment count for a post by counting all non-deleted comments
-     */
-    private void updatePostCommentCount(Long postId) {
-        try {
-            Long commentCount = eventCommentRepository.countByPostId(postId);
-            EventPost post = eventPostRepository.findById(postId).orElse(null);
-            if (post != null) {
-                post.setCommentsCount(commentCount.intValue());
-                eventPostRepository.save(post);
-                log.debug("Updated comment count for post {} to {}", postId, commentCount);
-            }
-        } catch (Exception e) {
-            log.error("Failed to update comment count for post {}: {}", postId, e.getMessage());
-        }
-    }
-
-    /**
-     * Recalculates comment counts for all posts (useful for fixing existing data)
-     */
-    @Transactional
-    public void recalculateAllCommentCounts() {
-        log.info("Recalculating comment counts for all posts");
-        try {
-            List<EventPost> allPosts = eventPostRepository.findAll();
-            for (EventPost post : allPosts) {
-                Long commentCount = eventCommentRepository.countByPostId(post.getId());
-                post.setCommentsCount(commentCount.intValue());
-                eventPostRepository.save(post);
-                log.debug("Updated comment count for post {} to {}", post.getId(), commentCount);
-            }
-            log.info("Successfully recalculated comment counts for {} posts", allPosts.size());
-        } catch (Exception e) {
-            log.error("Failed to recalculate comment counts: {}", e.getMessage());
-        }
-    }
-
 } 
@@ -8,7 +8,9 @@ import com.ijaa.event.repository.EventParticipationRepository;
 import com.ijaa.event.repository.EventRepository;
 import com.ijaa.event.service.EventParticipationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,7 @@ public class EventParticipationServiceImpl implements EventParticipationService
     private final EventRepository eventRepository;
 
     @Override
+    @Transactional
     public EventParticipationResponse rsvpToEvent(EventParticipationRequest request, String username) {
         // Validate event exists
         Event event = eventRepository.findById(request.getEventId())
@@ -47,44 +50,68 @@ public class EventParticipationServiceImpl implements EventParticipationService
         participation.setStatus(mapIncomingStatus(request.getStatus()));
         participation.setMessage(request.getMessage());
         
-        EventParticipation savedParticipation = eventParticipationRepository.save(participation);
+        EventParticipation savedParticipation;
+        try {
+            savedParticipation = eventParticipationRepository.saveAndFlush(participation);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent RSVP from the same user got in first
+            throw new RuntimeException("User is already participating in this event");
+        }
         
-        // Update event participant count if status is GOING
-        if (savedParticipation.getStatus() == EventParticipation.ParticipationStatus.GOING) {
-            updateEventParticipantCount(request.getEventId());
+        // Claim a seat last so the event row stays locked only until commit; waitlist if the event is full
+        if (savedParticipation.getStatus() == EventParticipation.ParticipationStatus.GOING
+                && eventRepository.reserveSeat(request.getEventId()) == 0) {
+            savedParticipation.setStatus(EventParticipation.ParticipationStatus.WAITLISTED);
+            savedParticipation = eventParticipationRepository.save(savedParticipation);
         }
         
         return createParticipationResponse(savedParticipation);
     }
 
     @Override
+    @Transactional
     public EventParticipationResponse updateRsvp(Long eventId, String status, String message, String username) {
         EventParticipation participation = eventParticipationRepository.findByEventIdAndParticipantUsername(eventId, username)
                 .orElseThrow(() -> new RuntimeException("Participation not found"));
         
         EventParticipation.ParticipationStatus oldStatus = participation.getStatus();
-        participation.setStatus(mapIncomingStatus(status));
-        participation.setMessage(message);
-        
-        EventParticipation savedParticipation = eventParticipationRepository.save(participation);
+        EventParticipation.ParticipationStatus newStatus = mapIncomingStatus(status);
+
+        // Conditional on the status we read, so a concurrent change cannot move the counter twice
+        if (eventParticipationRepository.updateStatus(participation.getId(), oldStatus, newStatus, message) == 0) {
+            throw new RuntimeException("Participation was modified concurrently, please retry");
+        }
         
         // Update event participant count if status changed
-        if (oldStatus != savedParticipation.getStatus()) {
-            updateEventParticipantCount(eventId);
+        boolean heldSeat = oldStatus == EventParticipation.ParticipationStatus.GOING;
+        if (newStatus == EventParticipation.ParticipationStatus.GOING && !heldSeat
+                && eventRepository.reserveSeat(eventId) == 0) {
+            // Event is full: keep the request on the waitlist instead
+            eventParticipationRepository.updateStatus(participation.getId(), newStatus,
+                    EventParticipation.ParticipationStatus.WAITLISTED, message);
+        } else if (heldSeat && newStatus != EventParticipation.ParticipationStatus.GOING) {
+            releaseSeat(eventId);
         }
-        
+
+        EventParticipation savedParticipation = eventParticipationRepository.findById(participation.getId())
+                .orElseThrow(() -> new RuntimeException("Participation not found"));
         return createParticipationResponse(savedParticipation);
     }
 
     @Override
+    @Transactional
     public void cancelRsvp(Long eventId, String username) {
         EventParticipation participation = eventParticipationRepository.findByEventIdAndParticipantUsername(eventId, username)
                 .orElseThrow(() -> new RuntimeException("Participation not found"));
         
-        eventParticipationRepository.delete(participation);
+        if (eventParticipationRepository.deleteParticipation(participation.getId(), participation.getStatus()) == 0) {
+            throw new RuntimeException("Participation was modified concurrently, please retry");
+        }
         
         // Update event participant count
-        updateEventParticipantCount(eventId);
+        if (participation.getStatus() == EventParticipation.ParticipationStatus.GOING) {
+            releaseSeat(eventId);
+        }
     }
 
     @Override
@@ -109,7 +136,7 @@ public class EventParticipationServiceImpl implements EventParticipationService
 
     @Override
     public List<EventParticipationResponse> getEventParticipationsByStatus(Long eventId, String status) {
-        EventParticipation.ParticipationStatus participationStatus = mapIncomingStatus(status);
+        EventParticipation.ParticipationStatus participationStatus = mapQueryStatus(status);
         return eventParticipationRepository.findByEventIdAndStatus(eventId, participationStatus).stream()
                 .map(this::createParticipationResponse)
                 .collect(Collectors.toList());
@@ -117,7 +144,7 @@ public class EventParticipationServiceImpl implements EventParticipationService
 
     @Override
     public Long countParticipationsByStatus(Long eventId, String status) {
-        EventParticipation.ParticipationStatus participationStatus = mapIncomingStatus(status);
+        EventParticipation.ParticipationStatus participationStatus = mapQueryStatus(status);
         return eventParticipationRepository.countByEventIdAndStatus(eventId, participationStatus);
     }
 
@@ -148,6 +175,14 @@ public class EventParticipationServiceImpl implements EventParticipationService
         }
     }
 
+    // Waitlisted is assigned by the server, so it can be queried but not requested
+    private EventParticipation.ParticipationStatus mapQueryStatus(String status) {
+        if ("WAITLISTED".equals(status)) {
+            return EventParticipation.ParticipationStatus.WAITLISTED;
+        }
+        return mapIncomingStatus(status);
+    }
+
     private String mapOutgoingStatus(EventParticipation.ParticipationStatus status) {
         if (status == null) return null;
         switch (status) {
@@ -159,6 +194,8 @@ public class EventParticipationServiceImpl implements EventParticipationService
                 return "DECLINED";
             case PENDING:
                 return "MAYBE"; // normalize legacy pending to supported value
+            case WAITLISTED:
+                return "WAITLISTED";
             default:
                 return null;
         }
@@ -176,12 +213,23 @@ public class EventParticipationServiceImpl implements EventParticipationService
         );
     }
 
-    private void updateEventParticipantCount(Long eventId) {
-        Event event = eventRepository.findById(eventId).orElse(null);
-        if (event != null) {
-            Long goingCount = eventParticipationRepository.countByEventIdAndStatus(eventId, EventParticipation.ParticipationStatus.GOING);
-            event.setCurrentParticipants(goingCount.intValue());
-            eventRepository.save(event);
+    // Hand a freed seat to the longest-waiting participant, or give it back to the event
+    private void releaseSeat(Long eventId) {
+        while (true) {
+            List<EventParticipation> waitlist = eventParticipationRepository
+                    .findTop5ByEventIdAndStatusOrderByCreatedAtAscIdAsc(eventId, EventParticipation.ParticipationStatus.WAITLISTED);
+            if (waitlist.isEmpty()) {
+                eventRepository.incrementCurrentParticipants(eventId, -1);
+                return;
+            }
+            for (EventParticipation candidate : waitlist) {
+                // Concurrent releases may race for the same candidate; only one conditional update wins,
+                // and every lost race means the waitlist has shrunk, so the loop terminates
+                if (eventParticipationRepository.updateStatus(candidate.getId(), EventParticipation.ParticipationStatus.WAITLISTED,
+                        EventParticipation.ParticipationStatus.GOING, candidate.getMessage()) > 0) {
+                    return;
+                }
+            }
         }
     }
 } 
@@ -1,12 +1,15 @@
 package com.ijaa.event.service.impl;
 
 import com.ijaa.event.common.service.BaseService;
+import com.ijaa.event.common.utils.PageCursor;
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.common.PagedResponse;
 import com.ijaa.event.domain.entity.Event;
 import com.ijaa.event.domain.entity.EventPost;
 import com.ijaa.event.domain.response.EventPostResponse;
 import com.ijaa.event.domain.response.PostMediaResponse;
 import com.ijaa.event.presenter.rest.client.FileServiceClient;
+import com.ijaa.event.repository.EventPostLikeRepository;
 import com.ijaa.event.repository.EventPostRepository;
 import com.ijaa.event.repository.EventRepository;
 import com.ijaa.event.service.EventPostService;
@@ -19,7 +22,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,15 +35,20 @@ import java.util.stream.Collectors;
 public class EventPostServiceImpl extends BaseService implements EventPostService {
 
     private final EventPostRepository eventPostRepository;
+    private final EventPostLikeRepository eventPostLikeRepository;
     private final EventRepository eventRepository;
     private final FileServiceClient fileServiceClient;
 
+    private static final int MAX_MEDIA_BATCH = 100;
+
     public EventPostServiceImpl(EventPostRepository eventPostRepository, 
+                               EventPostLikeRepository eventPostLikeRepository,
                                EventRepository eventRepository, 
                                FileServiceClient fileServiceClient, 
                                com.fasterxml.jackson.databind.ObjectMapper objectMapper) {
         super(objectMapper);
         this.eventPostRepository = eventPostRepository;
+        this.eventPostLikeRepository = eventPostLikeRepository;
         this.eventRepository = eventRepository;
         this.fileServiceClient = fileServiceClient;
     }
@@ -179,9 +192,7 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         Pageable pageable = PageRequest.of(page, size);
         Page<EventPost> posts = eventPostRepository.findByEventIdAndIsDeletedFalseOrderByCreatedAtDesc(eventId, pageable);
 
-        List<EventPostResponse> responses = posts.getContent().stream()
-                .map(post -> mapToResponse(post, currentUsername))
-                .collect(Collectors.toList());
+        List<EventPostResponse> responses = mapToResponses(posts.getContent(), currentUsername);
 
         return new PagedResponse<>(
                 responses,
@@ -194,6 +205,29 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         );
     }
 
+    @Override
+    public CursorPagedResponse<EventPostResponse> getEventPostsByCursor(Long eventId, String cursor, int size, String currentUsername) {
+        log.info("Getting posts for event: {}, cursor: {}, size: {}", eventId, cursor, size);
+
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<EventPost> posts = after == null
+                ? eventPostRepository.findEventPostsPage(eventId, window)
+                : eventPostRepository.findEventPostsPageAfter(eventId, after.createdAt(), after.id(), window);
+
+        boolean hasNext = posts.size() > pageSize;
+        List<EventPost> page = hasNext ? posts.subList(0, pageSize) : posts;
+        String nextCursor = null;
+        if (hasNext) {
+            EventPost last = page.get(page.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorPagedResponse<>(mapToResponses(page, currentUsername), pageSize, nextCursor, hasNext);
+    }
+
     @Override
     public List<EventPostResponse> getAllEventPosts(Long eventId, String currentUsername) {
         log.info("Getting all posts for event: {}", eventId);
@@ -201,9 +235,7 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         List<EventPost> posts = eventPostRepository.findByEventIdAndIsDeletedFalseOrderByCreatedAtDesc(
                 eventId, PageRequest.of(0, Integer.MAX_VALUE)).getContent();
 
-        return posts.stream()
-                .map(post -> mapToResponse(post, currentUsername))
-                .collect(Collectors.toList());
+        return mapToResponses(posts, currentUsername);
     }
 
     @Override
@@ -365,12 +397,21 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
             throw new RuntimeException("Post has been deleted");
         }
 
-        // For now, we'll just increment/decrement likes
-        // In a real implementation, you'd have a separate likes table
-        post.setLikes(post.getLikes() + 1);
-        EventPost updatedPost = eventPostRepository.save(post);
+        // One write decides the outcome: removing an existing like, or inserting a new one.
+        // The counter moves only when a row actually changed, so repeated or concurrent
+        // toggles cannot drift from the like rows.
+        if (eventPostLikeRepository.deleteByPostIdAndUsername(postId, username) > 0) {
+            eventPostRepository.incrementLikes(postId, -1);
+            log.info("User {} unliked post {}", username, postId);
+        } else if (eventPostLikeRepository.insertIfAbsent(postId, username) > 0) {
+            eventPostRepository.incrementLikes(postId, 1);
+            log.info("User {} liked post {}", username, postId);
+        } else {
+            log.info("Like by user {} on post {} already recorded", username, postId);
+        }
 
-        log.info("Post like toggled successfully: {}", postId);
+        EventPost updatedPost = eventPostRepository.findById(postId)
+                .orElseThrow(() -> new RuntimeException("Post not found"));
         return mapToResponse(updatedPost, username);
     }
 
@@ -381,9 +422,7 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         Pageable pageable = PageRequest.of(page, size);
         Page<EventPost> posts = eventPostRepository.findByUsernameAndIsDeletedFalseOrderByCreatedAtDesc(username, pageable);
 
-        List<EventPostResponse> responses = posts.getContent().stream()
-                .map(post -> mapToResponse(post, currentUsername))
-                .collect(Collectors.toList());
+        List<EventPostResponse> responses = mapToResponses(posts.getContent(), currentUsername);
 
         return new PagedResponse<>(
                 responses,
@@ -403,9 +442,7 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         Pageable pageable = PageRequest.of(page, size);
         Page<EventPost> posts = eventPostRepository.findByUsernameAndEventIdAndIsDeletedFalseOrderByCreatedAtDesc(username, eventId, pageable);
 
-        List<EventPostResponse> responses = posts.getContent().stream()
-                .map(post -> mapToResponse(post, currentUsername))
-                .collect(Collectors.toList());
+        List<EventPostResponse> responses = mapToResponses(posts.getContent(), currentUsername);
 
         return new PagedResponse<>(
                 responses,
@@ -482,6 +519,52 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         // Fetch the actual creator name
         String creatorName = getEventCreatorName(post.getEventId());
         
+        boolean likedByUser = currentUsername != null
+                && eventPostLikeRepository.existsByPostIdAndUsername(post.getId(), currentUsername);
+        
+        return buildResponse(post, mediaFiles, creatorName, likedByUser);
+    }
+
+    /**
+     * Map a page of posts with one batched media call, one event query and one
+     * liked-by-viewer query, instead of one of each per post.
+     */
+    private List<EventPostResponse> mapToResponses(List<EventPost> posts, String currentUsername) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, List<PostMediaResponse>> mediaByPost = getPostMediaFiles(posts);
+
+        List<Long> eventIds = posts.stream()
+                .map(EventPost::getEventId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Event> eventsById = eventRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+
+        Set<Long> likedPostIds = getLikedPostIds(posts, currentUsername);
+
+        return posts.stream()
+                .map(post -> buildResponse(post,
+                        mediaByPost.getOrDefault(post.getId().toString(), List.of()),
+                        resolveCreatorName(eventsById.get(post.getEventId())),
+                        likedPostIds.contains(post.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private Set<Long> getLikedPostIds(List<EventPost> posts, String currentUsername) {
+        if (currentUsername == null) {
+            return Set.of();
+        }
+        List<Long> postIds = posts.stream()
+                .map(EventPost::getId)
+                .collect(Collectors.toList());
+        return new HashSet<>(eventPostLikeRepository.findLikedPostIds(currentUsername, postIds));
+    }
+
+    private EventPostResponse buildResponse(EventPost post, List<PostMediaResponse> mediaFiles,
+                                            String creatorName, boolean likedByUser) {
         // Use stored userId, fallback to fetching if not available
         String userId = post.getUserId();
         if (userId == null) {
@@ -502,7 +585,7 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
                 .commentsCount(post.getCommentsCount())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
-                .isLikedByUser(false) // TODO: Implement actual like status check
+                .isLikedByUser(likedByUser)
                 .mediaFiles(mediaFiles)
                 .recentComments(List.of()) // TODO: Implement recent comments retrieval
                 .creatorName(creatorName)
@@ -511,18 +594,27 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
 
     private String getEventCreatorName(Long eventId) {
         try {
-            Event event = eventRepository.findById(eventId).orElse(null);
-            if (event != null && event.getCreatedByUsername() != null) {
-                // For now, return the actual name since we know the current user is the creator
-                // TODO: Implement proper user service call to get the actual name
-                return "Md Sahal";
-            }
+            return resolveCreatorName(eventRepository.findById(eventId).orElse(null));
         } catch (Exception e) {
             log.warn("Failed to fetch event creator name for event: {} - Error: {}", eventId, e.getMessage());
         }
         return "Unknown Creator";
     }
 
+    // The event keeps its creator's display name, so no user-service call is needed per page
+    private String resolveCreatorName(Event event) {
+        if (event == null) {
+            return "Unknown Creator";
+        }
+        if (event.getOrganizerName() != null && !event.getOrganizerName().isBlank()) {
+            return event.getOrganizerName();
+        }
+        if (event.getCreatedByUsername() != null) {
+            return event.getCreatedByUsername();
+        }
+        return "Unknown Creator";
+    }
+
     private String getUserIdByUsername(String username) {
         try {
             log.info("Getting current user ID from JWT token for username: {}", username);
@@ -553,6 +645,28 @@ public class EventPostServiceImpl extends BaseService implements EventPostServic
         }
     }
 
+    private Map<String, List<PostMediaResponse>> getPostMediaFiles(List<EventPost> posts) {
+        Map<String, List<PostMediaResponse>> mediaByPost = new HashMap<>();
+        List<String> postIds = posts.stream()
+                .map(post -> post.getId().toString())
+                .collect(Collectors.toList());
+
+        // file-service caps a batch at MAX_MEDIA_BATCH post IDs
+        for (int from = 0; from < postIds.size(); from += MAX_MEDIA_BATCH) {
+            List<String> chunk = postIds.subList(from, Math.min(from + MAX_MEDIA_BATCH, postIds.size()));
+            try {
+                log.debug("Fetching media files for {} posts", chunk.size());
+                Map<String, List<PostMediaResponse>> result = fileServiceClient.getPostMediaBatch(chunk);
+                if (result != null) {
+                    mediaByPost.putAll(result);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to fetch media files for {} posts - Error: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return mediaByPost;
+    }
+
     private String getAuthorizationToken() {
         try {
             org.springframework.web.context.request.RequestAttributes requestAttributes = org.springframework.web.context.request.RequestContextHolder.getRequestAttributes();
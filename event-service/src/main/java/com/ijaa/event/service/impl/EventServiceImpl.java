@@ -1,18 +1,30 @@
 package com.ijaa.event.service.impl;
 
 
+import com.ijaa.event.common.utils.PageCursor;
+import com.ijaa.event.common.utils.TextSearchQuery;
+import com.ijaa.event.domain.common.CursorPagedResponse;
 import com.ijaa.event.domain.entity.Event;
+import com.ijaa.event.domain.request.AdvancedEventSearchRequest;
 import com.ijaa.event.domain.request.EventRequest;
 import com.ijaa.event.domain.response.EventResponse;
 import com.ijaa.event.repository.EventRepository;
+import com.ijaa.event.repository.EventSpecifications;
 import com.ijaa.event.service.EventService;
 import com.ijaa.event.common.utils.FeatureFlagUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +35,9 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final FeatureFlagUtils featureFlagUtils;
 
+    @Value("${search.full-text.enabled:true}")
+    private boolean fullTextEnabled;
+
     @Override
     public List<EventResponse> getAllEvents() {
         return eventRepository.findAll().stream()
@@ -37,6 +52,30 @@ public class EventServiceImpl implements EventService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPagedResponse<EventResponse> getActiveEventsByCursor(String cursor, int size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Event> events = after == null
+                ? eventRepository.findActiveEventsPage(window)
+                : eventRepository.findActiveEventsPageAfter(after.createdAt(), after.id(), window);
+
+        boolean hasNext = events.size() > pageSize;
+        List<Event> page = hasNext ? events.subList(0, pageSize) : events;
+        String nextCursor = null;
+        if (hasNext) {
+            Event last = page.get(page.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        List<EventResponse> responses = page.stream()
+                .map(this::createEventResponse)
+                .collect(Collectors.toList());
+        return new CursorPagedResponse<>(responses, pageSize, nextCursor, hasNext);
+    }
+
     @Override
     public EventResponse getEventById(Long eventId) {
         Event event = eventRepository.findById(eventId)
@@ -307,6 +346,48 @@ public class EventServiceImpl implements EventService {
         return results;
     }
 
+    @Override
+    public List<EventResponse> searchEventsByText(String query, String location, String eventType, LocalDateTime startDate,
+                                                  LocalDateTime endDate, Boolean isOnline, String organizerName,
+                                                  int page, int size) {
+        if (!featureFlagUtils.isAdvancedSearchEnabled()) {
+            log.warn("Advanced search is disabled, returning basic search results");
+            return getActiveEvents();
+        }
+
+        Pageable pageable = PageRequest.of(page, size);
+        String tsQuery = fullTextEnabled ? TextSearchQuery.toPrefixTsQuery(query) : null;
+        Page<Event> events;
+        if (tsQuery != null) {
+            events = eventRepository.searchActiveEventsByText(tsQuery, TextSearchQuery.normalize(query),
+                    blankToNull(location), StringUtils.hasText(eventType) ? eventType.trim().toUpperCase(Locale.ROOT) : null,
+                    null, isOnline, blankToNull(organizerName),
+                    startDate, endDate, null, null, pageable);
+        } else {
+            // Substring matching for databases without full-text support
+            AdvancedEventSearchRequest criteria = new AdvancedEventSearchRequest();
+            criteria.setQuery(query);
+            criteria.setLocation(location);
+            criteria.setEventType(eventType);
+            criteria.setStartDate(startDate);
+            criteria.setEndDate(endDate);
+            criteria.setIsOnline(isOnline);
+            criteria.setOrganizerName(organizerName);
+            events = eventRepository.findAll(EventSpecifications.fromSearchRequest(criteria, LocalDateTime.now()),
+                    PageRequest.of(page, size, Sort.by("startDate").ascending().and(Sort.by("id"))));
+        }
+
+        featureFlagUtils.logFeatureUsage(FeatureFlagUtils.ADVANCED_SEARCH, null);
+
+        return events.getContent().stream()
+                .map(this::createEventResponse)
+                .collect(Collectors.toList());
+    }
+
+    private String blankToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
     @Override
     public List<EventResponse> searchEventsWithPagination(String location, String eventType, LocalDateTime startDate, 
                                                         LocalDateTime endDate, Boolean isOnline, String organizerName, 
@@ -58,6 +58,24 @@ CREATE TABLE IF NOT EXISTS event_comments (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Comment likes table (one row per user per comment)
+CREATE TABLE IF NOT EXISTS event_comment_likes (
+    id BIGSERIAL PRIMARY KEY,
+    comment_id BIGINT NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(comment_id, username)
+);
+
+-- Post likes table (one row per user per post)
+CREATE TABLE IF NOT EXISTS event_post_likes (
+    id BIGSERIAL PRIMARY KEY,
+    post_id BIGINT NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(post_id, username)
+);
+
 -- Event participations table
 CREATE TABLE IF NOT EXISTS event_participations (
     id BIGSERIAL PRIMARY KEY,
@@ -82,5 +100,37 @@ CREATE INDEX IF NOT EXISTS idx_event_posts_created_at ON event_posts(created_at)
 CREATE INDEX IF NOT EXISTS idx_event_comments_post_id ON event_comments(post_id);
 CREATE INDEX IF NOT EXISTS idx_event_comments_username ON event_comments(username);
 CREATE INDEX IF NOT EXISTS idx_event_comments_parent ON event_comments(parent_comment_id);
+CREATE INDEX IF NOT EXISTS idx_event_comment_likes_username ON event_comment_likes(username, comment_id);
+CREATE INDEX IF NOT EXISTS idx_event_post_likes_username ON event_post_likes(username, post_id);
 CREATE INDEX IF NOT EXISTS idx_event_participations_event_id ON event_participations(event_id);
 CREATE INDEX IF NOT EXISTS idx_event_participations_username ON event_participations(participant_username);
+
+-- Keyset pagination: seek indexes matching the (sort key, id) order of the cursor feeds
+CREATE INDEX IF NOT EXISTS idx_event_posts_feed ON event_posts(event_id, created_at DESC, id DESC) WHERE is_deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_event_comments_recent ON event_comments(post_id, created_at DESC, id DESC) WHERE is_deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_event_comments_popular ON event_comments(post_id, likes DESC, id DESC) WHERE is_deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_events_active_created ON events(created_at DESC, id DESC) WHERE active = TRUE;
+
+-- Advanced search: composite indexes led by the equality filters and ending in the sort key
+CREATE INDEX IF NOT EXISTS idx_events_search_start ON events(active, start_date, id);
+DROP INDEX IF EXISTS idx_events_search_type;
+CREATE INDEX IF NOT EXISTS idx_events_search_type_ci ON events(active, UPPER(event_type), start_date);
+CREATE INDEX IF NOT EXISTS idx_events_search_online ON events(active, is_online, start_date);
+CREATE INDEX IF NOT EXISTS idx_events_search_privacy ON events(active, privacy, start_date);
+CREATE INDEX IF NOT EXISTS idx_events_search_popularity ON events(active, current_participants DESC, id DESC);
+
+-- Full-text event search. Both columns are generated, so PostgreSQL refreshes them on every
+-- insert and on any update of the source columns; the application never writes them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', COALESCE(title, '')), 'A') ||
+    setweight(to_tsvector('simple', COALESCE(organizer_name, '')), 'B') ||
+    setweight(to_tsvector('simple', COALESCE(location, '')), 'B') ||
+    setweight(to_tsvector('simple', COALESCE(description, '')), 'C')
+) STORED;
+-- Short fields only: trigram matching over descriptions would bloat the index for little gain
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_text TEXT GENERATED ALWAYS AS (
+    LOWER(COALESCE(title, '') || ' ' || COALESCE(location, '') || ' ' || COALESCE(organizer_name, ''))
+) STORED;
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_events_search_text_trgm ON events USING GIN (search_text gin_trgm_ops);
@@ -0,0 +1,122 @@
+package com.ijaa.event.common.utils;
+
+import com.ijaa.event.client.FeatureFlagClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeatureFlagUtilsTest {
+
+    @Mock
+    private FeatureFlagClient featureFlagClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeatureFlagUtils featureFlagUtils;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        featureFlagUtils = new FeatureFlagUtils(featureFlagClient, meterRegistry, true, true);
+    }
+
+    @Test
+    void isFeatureEnabled_BeforeFirstRefresh_UsesDefault() {
+        // When
+        boolean enabled = featureFlagUtils.isEventMediaEnabled();
+
+        // Then
+        assertTrue(enabled);
+        assertEquals(1.0, meterRegistry.get("ijaa.feature.flags.lookups").tag("result", "miss").counter().count());
+        assertEquals(-1.0, meterRegistry.get("ijaa.feature.flags.snapshot.age").gauge().value());
+        verifyNoInteractions(featureFlagClient);
+    }
+
+    @Test
+    void isFeatureEnabled_AfterRefresh_ReadsSnapshot() {
+        // Given
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                5L, Map.of(FeatureFlagUtils.SEARCH_ADVANCED_FILTERS, false, FeatureFlagUtils.EVENT_MEDIA, true));
+        when(featureFlagClient.getFeatureFlagSnapshot(null))
+                .thenReturn(ResponseEntity.ok().eTag("\"v5\"")
+                        .body(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)));
+
+        // When
+        boolean refreshed = featureFlagUtils.refreshSnapshot();
+
+        // Then
+        assertTrue(refreshed);
+        assertFalse(featureFlagUtils.isSearchAdvancedFiltersEnabled());
+        assertTrue(featureFlagUtils.isEventMediaEnabled());
+        assertEquals(2.0, meterRegistry.get("ijaa.feature.flags.lookups").tag("result", "hit").counter().count());
+        assertTrue(meterRegistry.get("ijaa.feature.flags.snapshot.age").gauge().value() >= 0);
+    }
+
+    @Test
+    void isFeatureEnabled_FlagMissingFromLoadedSnapshot_IsDisabled() {
+        // Given
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                3L, Map.of(FeatureFlagUtils.EVENT_CREATION, true));
+        when(featureFlagClient.getFeatureFlagSnapshot(null))
+                .thenReturn(ResponseEntity.ok(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)));
+        featureFlagUtils.refreshSnapshot();
+
+        // When
+        boolean enabled = featureFlagUtils.isEventMediaEnabled();
+
+        // Then
+        assertFalse(enabled);
+        assertEquals(1.0, meterRegistry.get("ijaa.feature.flags.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void refreshSnapshot_WhenUserServiceDown_KeepsLastKnownGoodState() {
+        // Given
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                1L, Map.of(FeatureFlagUtils.EVENT_COMMENTS, false));
+        when(featureFlagClient.getFeatureFlagSnapshot(any()))
+                .thenReturn(ResponseEntity.ok(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)))
+                .thenThrow(new RuntimeException("Connection refused"));
+        assertTrue(featureFlagUtils.refreshSnapshot());
+
+        // When
+        boolean refreshed = featureFlagUtils.refreshSnapshot();
+
+        // Then
+        assertFalse(refreshed);
+        assertFalse(featureFlagUtils.isEventCommentsEnabled());
+        assertEquals(1.0, meterRegistry.get("ijaa.feature.flags.refresh.failures").counter().count());
+    }
+
+    @Test
+    void refreshSnapshot_WhenNotModified_SendsEtagAndKeepsSnapshot() {
+        // Given
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                2L, Map.of(FeatureFlagUtils.EVENT_CREATION, false));
+        when(featureFlagClient.getFeatureFlagSnapshot(null))
+                .thenReturn(ResponseEntity.ok().eTag("\"v2\"")
+                        .body(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)));
+        when(featureFlagClient.getFeatureFlagSnapshot("\"v2\""))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        featureFlagUtils.refreshSnapshot();
+
+        // When
+        boolean refreshed = featureFlagUtils.refreshSnapshot();
+
+        // Then
+        assertTrue(refreshed);
+        assertFalse(featureFlagUtils.isEventCreationEnabled());
+        verify(featureFlagClient).getFeatureFlagSnapshot("\"v2\"");
+    }
+}
@@ -0,0 +1,53 @@
+package com.ijaa.event.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void testCreatedAtCursorRoundTrips() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123456000);
+
+        // When
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(createdAt, 42L));
+
+        // Then
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void testLikesCursorRoundTrips() {
+        // When
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(17, 7L));
+
+        // Then
+        assertEquals(17, cursor.likes());
+        assertEquals(7L, cursor.id());
+    }
+
+    @Test
+    void testBlankCursorMeansFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(PageCursor.encode(3, 1L)).createdAt());
+    }
+
+    @Test
+    void testPageSizeIsClamped() {
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.pageSize(0));
+        assertEquals(25, PageCursor.pageSize(25));
+        assertEquals(PageCursor.MAX_PAGE_SIZE, PageCursor.pageSize(10_000));
+    }
+}
@@ -0,0 +1,42 @@
+package com.ijaa.event.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSearchQueryTest {
+
+    @Test
+    void testEveryTermBecomesARequiredPrefix() {
+        assertEquals("alumni:* & meet:*", TextSearchQuery.toPrefixTsQuery("Alumni  Meet"));
+    }
+
+    @Test
+    void testOperatorsInUserInputAreStripped() {
+        // When
+        String tsQuery = TextSearchQuery.toPrefixTsQuery("tech' | !webinar:* & (2024)");
+
+        // Then
+        assertEquals("tech:* & webinar:* & 2024:*", tsQuery);
+    }
+
+    @Test
+    void testNothingSearchableYieldsNoQuery() {
+        assertNull(TextSearchQuery.toPrefixTsQuery(null));
+        assertNull(TextSearchQuery.toPrefixTsQuery(" &|!() "));
+        assertEquals("", TextSearchQuery.normalize("***"));
+    }
+
+    @Test
+    void testNormalizeKeepsUnicodeLettersAndCapsTermCount() {
+        // Given
+        String text = "Ünïcode Ďhaka a b c d e f g h";
+
+        // When
+        String normalized = TextSearchQuery.normalize(text);
+
+        // Then
+        assertEquals("ünïcode ďhaka a b c d e f", normalized);
+        assertEquals(TextSearchQuery.MAX_TERMS, normalized.split(" ").length);
+    }
+}
@@ -122,6 +122,36 @@ class AdvancedEventSearchResourceIntegrationTest {
                 .andExpect(jsonPath("$.data.content[0].eventType").value("MEETING"));
     }
 
+    @Test
+    void testAdvancedSearch_EventTypeMatchesRegardlessOfStoredCase() throws Exception {
+        // Given - event types are free text, so older rows may not be upper-case
+        Event mixedCase = new Event();
+        mixedCase.setTitle("Spring Networking Night");
+        mixedCase.setStartDate(LocalDateTime.now().plusDays(10));
+        mixedCase.setEndDate(LocalDateTime.now().plusDays(10).plusHours(3));
+        mixedCase.setEventType("Networking");
+        mixedCase.setActive(true);
+        mixedCase.setIsOnline(false);
+        mixedCase.setMaxParticipants(40);
+        mixedCase.setCurrentParticipants(0);
+        mixedCase.setCreatedByUsername("johndoe");
+        mixedCase.setPrivacy(Event.EventPrivacy.PUBLIC);
+        eventRepository.save(mixedCase);
+
+        AdvancedEventSearchRequest request = new AdvancedEventSearchRequest();
+        request.setEventType("NETWORKING");
+        request.setPage(0);
+        request.setSize(10);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/user/events/advanced-search/advanced")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.content[0].title").value("Spring Networking Night"));
+    }
+
     @Test
     // @WithMockUser(roles = "USER") // Removed as Spring Security test is not available
     void testAdvancedSearch_WithOnlineFilter_ShouldReturnOnlineEvents() throws Exception {
@@ -303,6 +333,28 @@ class AdvancedEventSearchResourceIntegrationTest {
                 .andExpect(jsonPath("$.data.page").value(0));
     }
 
+    @Test
+    void testAdvancedSearch_CountsMatchesAcrossPages() throws Exception {
+        // Given
+        AdvancedEventSearchRequest request = new AdvancedEventSearchRequest();
+        request.setLocation("iit campus");
+        request.setIsOnline(false);
+        request.setSortBy("start_date");
+        request.setPage(0);
+        request.setSize(1);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/user/events/advanced-search/advanced")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].title").value("Alumni Meet 2024"))
+                .andExpect(jsonPath("$.data.totalElements").value(2))
+                .andExpect(jsonPath("$.data.totalPages").value(2))
+                .andExpect(jsonPath("$.data.last").value(false));
+    }
+
     @Test
     void testAdvancedSearch_WithSorting_ShouldReturnSortedResults() throws Exception {
         // Given
@@ -158,8 +158,7 @@ public class EventCommentResourceIntegrationTest {
         eventCommentRepository.save(reply);
 
         // Update the parent comment's reply count
-        testComment.setReplies(1);
-        eventCommentRepository.save(testComment);
+        eventCommentRepository.incrementReplies(testComment.getId(), 1);
 
         mockMvc.perform(get("/api/v1/user/events/comments/event/{eventId}", testEvent.getId()))
                 .andExpect(status().isOk())
@@ -0,0 +1,127 @@
+package com.ijaa.event.repository;
+
+import com.ijaa.event.domain.entity.Event;
+import com.ijaa.event.domain.entity.EventComment;
+import com.ijaa.event.domain.entity.EventPost;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counters are moved by atomic UPDATE statements, so an entity loaded before the
+ * increment holds a stale count. Saving that entity must not write the count back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CounterColumnsIntegrationTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventPostRepository eventPostRepository;
+
+    @Autowired
+    private EventCommentRepository eventCommentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Event testEvent;
+    private EventPost testPost;
+    private EventComment testComment;
+
+    @BeforeEach
+    void setUp() {
+        Event event = new Event();
+        event.setTitle("Reunion");
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(30).plusHours(4));
+        event.setIsOnline(false);
+        event.setMaxParticipants(100);
+        event.setCreatedByUsername("organizer");
+        event.setActive(true);
+        event.setPrivacy(Event.EventPrivacy.PUBLIC);
+        testEvent = eventRepository.saveAndFlush(event);
+
+        EventPost post = new EventPost();
+        post.setEventId(testEvent.getId());
+        post.setUsername("organizer");
+        post.setContent("See you all there");
+        post.setPostType(EventPost.PostType.TEXT);
+        testPost = eventPostRepository.saveAndFlush(post);
+
+        EventComment comment = new EventComment();
+        comment.setPostId(testPost.getId());
+        comment.setUsername("alice");
+        comment.setAuthorName("Alice");
+        comment.setUserId("USER_ALICE");
+        comment.setContent("Can't wait");
+        testComment = eventCommentRepository.saveAndFlush(comment);
+    }
+
+    @Test
+    void testSavingStaleEventKeepsParticipantIncrement() {
+        // Given
+        Event stale = eventRepository.findById(testEvent.getId()).orElseThrow();
+        eventRepository.incrementCurrentParticipants(testEvent.getId(), 1);
+
+        // When
+        stale.setTitle("Reunion 2026");
+        eventRepository.saveAndFlush(stale);
+        entityManager.clear();
+
+        // Then
+        Event reloaded = eventRepository.findById(testEvent.getId()).orElseThrow();
+        assertEquals("Reunion 2026", reloaded.getTitle());
+        assertEquals(1, reloaded.getCurrentParticipants());
+    }
+
+    @Test
+    void testSavingStalePostKeepsLikeAndCommentIncrements() {
+        // Given
+        EventPost stale = eventPostRepository.findById(testPost.getId()).orElseThrow();
+        eventPostRepository.incrementLikes(testPost.getId(), 1);
+        eventPostRepository.incrementCommentsCount(testPost.getId(), 1);
+
+        // When
+        stale.setContent("See you all there, bring photos");
+        eventPostRepository.saveAndFlush(stale);
+        entityManager.clear();
+
+        // Then
+        EventPost reloaded = eventPostRepository.findById(testPost.getId()).orElseThrow();
+        assertEquals("See you all there, bring photos", reloaded.getContent());
+        assertEquals(1, reloaded.getLikes());
+        assertEquals(1, reloaded.getCommentsCount());
+    }
+
+    @Test
+    void testSavingStaleCommentKeepsLikeAndReplyIncrements() {
+        // Given
+        EventComment stale = eventCommentRepository.findById(testComment.getId()).orElseThrow();
+        eventCommentRepository.incrementLikes(testComment.getId(), 1);
+        eventCommentRepository.incrementReplies(testComment.getId(), 1);
+
+        // When
+        stale.setContent("Can't wait!");
+        stale.setIsEdited(true);
+        eventCommentRepository.saveAndFlush(stale);
+        entityManager.clear();
+
+        // Then
+        EventComment reloaded = eventCommentRepository.findById(testComment.getId()).orElseThrow();
+        assertEquals("Can't wait!", reloaded.getContent());
+        assertEquals(1, reloaded.getLikes());
+        assertEquals(1, reloaded.getReplies());
+    }
+}
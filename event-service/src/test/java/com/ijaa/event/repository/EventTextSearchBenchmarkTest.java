@@ -0,0 +1,162 @@
+package com.ijaa.event.repository;
+
+import com.ijaa.event.common.utils.TextSearchQuery;
+import com.ijaa.event.domain.entity.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the legacy LIKE search with the ranked full-text search on a seeded table of events.
+ * Needs a scratch PostgreSQL database with pg_trgm available; the schema is applied from db/schema.sql.
+ * <pre>
+ * EVENT_SEARCH_BENCHMARK_URL=jdbc:postgresql://localhost:5432/ijaa_events_bench \
+ * EVENT_SEARCH_BENCHMARK_USERNAME=root EVENT_SEARCH_BENCHMARK_PASSWORD=... \
+ * mvn test -Dtest=EventTextSearchBenchmarkTest
+ * </pre>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${EVENT_SEARCH_BENCHMARK_URL:}",
+        "spring.datasource.username=${EVENT_SEARCH_BENCHMARK_USERNAME:root}",
+        "spring.datasource.password=${EVENT_SEARCH_BENCHMARK_PASSWORD:}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.sql.init.mode=always",
+        "search.full-text.enabled=true"
+})
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "EVENT_SEARCH_BENCHMARK_URL", matches = ".+")
+class EventTextSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventTextSearchBenchmarkTest.class);
+
+    private static final int ROWS = Integer.parseInt(System.getenv().getOrDefault("EVENT_SEARCH_BENCHMARK_ROWS", "1000000"));
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    // Each title ends in md5(n), which gives every row a rare, searchable token
+    private static final String SEED_SQL = "INSERT INTO events (title, description, start_date, end_date, location, " +
+            "event_type, active, privacy, is_online, max_participants, current_participants, organizer_name, " +
+            "organizer_email, created_by_username, created_at, updated_at) " +
+            "SELECT (ARRAY['Alumni','Tech','Career','Startup','Research','Sports','Cultural','Networking'])[1 + g % 8] " +
+            "|| ' ' || (ARRAY['Meetup','Webinar','Workshop','Conference','Reunion','Seminar','Hackathon'])[1 + (g / 8) % 7] " +
+            "|| ' ' || md5(g::text), " +
+            "'Session ' || g || ' on ' || (ARRAY['machine learning','robotics','entrepreneurship','software design'," +
+            "'public health','finance'])[1 + (g / 56) % 6], " +
+            "now() + (g % 365) * interval '1 day', now() + (g % 365) * interval '1 day' + interval '3 hours', " +
+            "(ARRAY['IIT Campus','Dhaka','Chittagong','Sylhet','Virtual'])[1 + g % 5], " +
+            "(ARRAY['MEETING','WEBINAR','NETWORKING','WORKSHOP','CONFERENCE'])[1 + g % 5], " +
+            "TRUE, 'PUBLIC', g % 5 = 4, 100 + g % 400, g % 100, 'Organizer ' || (g % 5000), " +
+            "'organizer' || (g % 5000) || '@example.com', 'user' || (g % 5000), now(), now() " +
+            "FROM generate_series(?, ?) AS g";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Integer.class);
+        if (existing != null && existing >= ROWS) {
+            return;
+        }
+        int from = existing == null ? 1 : existing + 1;
+        for (int start = from; start <= ROWS; start += 100_000) {
+            jdbcTemplate.update(SEED_SQL, start, Math.min(start + 99_999, ROWS));
+        }
+        jdbcTemplate.execute("ANALYZE events");
+    }
+
+    @Test
+    void benchmarkPrefixSearch() {
+        String code = md5Of(ROWS / 2).substring(0, 7);
+        compare("prefix '" + code + "'", code);
+    }
+
+    @Test
+    void benchmarkMultiWordSearch() {
+        String code = md5Of(ROWS / 3);
+        String title = jdbcTemplate.queryForObject("SELECT title FROM events WHERE title LIKE ? LIMIT 1",
+                String.class, "%" + code);
+        String[] words = title.split(" ");
+        String query = words[0] + " " + words[1] + " " + code.substring(0, 10);
+        compare("multi-word '" + query + "'", query);
+    }
+
+    @Test
+    void benchmarkTypoTolerance() {
+        String code = md5Of(ROWS / 4);
+        // One wrong character: no tsvector hit, so only the trigram branch can find it
+        String typo = code.substring(0, 16) + (code.charAt(16) == 'a' ? 'b' : 'a') + code.substring(17);
+
+        Page<Event> result = textSearch(typo);
+
+        assertFalse(result.isEmpty(), "Expected a trigram match for " + typo);
+        assertTrue(result.getContent().get(0).getTitle().endsWith(code));
+        log.info("Typo '{}': text search median {} ms", typo, median(() -> textSearch(typo)));
+    }
+
+    @Test
+    void textSearchUsesGinIndexes() {
+        String code = md5Of(ROWS / 5).substring(0, 8);
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM events WHERE active = TRUE " +
+                        "AND (search_vector @@ to_tsquery('simple', ?) OR ? <% search_text)",
+                String.class, code + ":*", code));
+
+        assertTrue(plan.contains("idx_events_search_vector"), plan);
+        assertTrue(plan.contains("idx_events_search_text_trgm"), plan);
+    }
+
+    private void compare(String label, String query) {
+        long like = median(() -> eventRepository.searchEvents(null, null, null, null, null, null, query, null));
+        long text = median(() -> textSearch(query));
+        log.info("{} over {} rows: LIKE median {} ms, text search median {} ms", label, ROWS, like, text);
+
+        assertFalse(textSearch(query).isEmpty());
+        assertTrue(text < like, "Text search (" + text + " ms) should beat the LIKE scan (" + like + " ms)");
+    }
+
+    private Page<Event> textSearch(String query) {
+        return eventRepository.searchActiveEventsByText(TextSearchQuery.toPrefixTsQuery(query),
+                TextSearchQuery.normalize(query), null, null, null, null, null, null, null, null, null,
+                PageRequest.of(0, 20));
+    }
+
+    private long median(Supplier<?> search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.get();
+        }
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            search.get();
+            timings.add((System.nanoTime() - startedAt) / 1_000_000);
+        }
+        Collections.sort(timings);
+        return timings.get(timings.size() / 2);
+    }
+
+    private String md5Of(int n) {
+        return jdbcTemplate.queryForObject("SELECT md5(?::text)", String.class, String.valueOf(n));
+    }
+}
@@ -10,6 +10,7 @@ import com.ijaa.event.service.impl.AdvancedEventSearchServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +18,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -110,7 +114,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent1, testEvent3));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -120,7 +124,7 @@ class AdvancedEventSearchServiceTest {
         assertEquals(2, result.getContent().size());
         assertEquals("Alumni Meet 2024", result.getContent().get(0).getTitle());
         assertEquals("Career Workshop", result.getContent().get(1).getTitle());
-        verify(eventRepository).findActiveEvents(any(Pageable.class));
+        verify(eventRepository).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -132,7 +136,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent2));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -153,7 +157,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent2));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -174,7 +178,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent1));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -195,7 +199,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent1, testEvent2));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -213,7 +217,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(2);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent1, testEvent2), PageRequest.of(0, 2), 3);
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -223,6 +227,32 @@ class AdvancedEventSearchServiceTest {
         assertEquals(2, result.getContent().size());
         assertEquals(0, result.getPage());
         assertEquals(2, result.getSize());
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        assertFalse(result.isLast());
+    }
+
+    @Test
+    void testSearchEvents_WithLimit_ShouldFetchOnlyLimitedRowsInStableOrder() {
+        // Given
+        AdvancedEventSearchRequest request = new AdvancedEventSearchRequest();
+        request.setSortBy("popularity");
+        request.setLimit(5);
+
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(testEvent2), PageRequest.of(0, 5), 1));
+
+        // When
+        PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(eventRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(5, pageable.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "currentParticipants").and(Sort.by(Sort.Direction.DESC, "id")),
+                pageable.getValue().getSort());
+        assertEquals(1, result.getTotalElements());
+        verify(eventRepository, never()).findActiveEvents(any(Pageable.class));
     }
 
     @Test
@@ -235,7 +265,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent1, testEvent2, testEvent3));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
 
         // When
         PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
@@ -243,7 +273,7 @@ class AdvancedEventSearchServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(3, result.getContent().size());
-        verify(eventRepository).findActiveEvents(any(Pageable.class));
+        verify(eventRepository).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -256,7 +286,7 @@ class AdvancedEventSearchServiceTest {
         request.setSize(10);
 
         Page<Event> eventPage = new PageImpl<>(Arrays.asList(testEvent1, testEvent2, testEvent3));
-        when(eventRepository.findActiveEvents(any(Pageable.class))).thenReturn(eventPage);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
         // Note: Comment counting removed as comments are now post-based
         // when(eventCommentRepository.countByEventId(anyLong())).thenReturn(5L);
 
@@ -266,8 +296,56 @@ class AdvancedEventSearchServiceTest {
         // Then
         assertNotNull(result);
         assertTrue(result.getContent().size() > 0);
-        verify(eventRepository).findActiveEvents(any(Pageable.class));
+        verify(eventRepository).findAll(any(Specification.class), any(Pageable.class));
         // Note: Comment verification removed as comments are now post-based
         // verify(eventCommentRepository, atLeastOnce()).countByEventId(anyLong());
     }
+
+    @Test
+    void testSearchEvents_WithQueryAndFullText_ShouldUseRankedTextSearch() {
+        // Given
+        ReflectionTestUtils.setField(advancedEventSearchService, "fullTextEnabled", true);
+        AdvancedEventSearchRequest request = new AdvancedEventSearchRequest();
+        request.setQuery("Alumni  me");
+        request.setEventType("meeting");
+        request.setSortBy("popularity");
+        request.setPage(1);
+        request.setSize(10);
+
+        when(eventRepository.searchActiveEventsByText(anyString(), anyString(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(testEvent1), PageRequest.of(1, 10), 11));
+
+        // When
+        PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(eventRepository).searchActiveEventsByText(eq("alumni:* & me:*"), eq("alumni me"), isNull(), eq("MEETING"),
+                isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), pageable.capture());
+        assertTrue(pageable.getValue().getSort().isUnsorted());
+        assertEquals(1, pageable.getValue().getPageNumber());
+        assertEquals(11, result.getTotalElements());
+        assertEquals("Alumni Meet 2024", result.getContent().get(0).getTitle());
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchEvents_WithUnsearchableQuery_ShouldFallBackToFilters() {
+        // Given
+        ReflectionTestUtils.setField(advancedEventSearchService, "fullTextEnabled", true);
+        AdvancedEventSearchRequest request = new AdvancedEventSearchRequest();
+        request.setQuery("  !! ");
+
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(testEvent1, testEvent2)));
+
+        // When
+        PagedResponse<EventResponse> result = advancedEventSearchService.searchEvents(request);
+
+        // Then
+        assertEquals(2, result.getContent().size());
+        verify(eventRepository, never()).searchActiveEventsByText(any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any());
+    }
 }
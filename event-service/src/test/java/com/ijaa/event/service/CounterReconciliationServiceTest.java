@@ -0,0 +1,71 @@
+package com.ijaa.event.service;
+
+import com.ijaa.event.repository.EventCommentRepository;
+import com.ijaa.event.repository.EventPostRepository;
+import com.ijaa.event.repository.EventRepository;
+import com.ijaa.event.service.impl.CounterReconciliationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CounterReconciliationServiceTest {
+
+    @Mock
+    private EventPostRepository eventPostRepository;
+
+    @Mock
+    private EventCommentRepository eventCommentRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private CounterReconciliationServiceImpl counterReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        counterReconciliationService = new CounterReconciliationServiceImpl(
+                eventPostRepository, eventCommentRepository, eventRepository, true, 100);
+    }
+
+    @Test
+    void testReconcileAllWalksIdRangesInBatches() {
+        // Given
+        when(eventPostRepository.findMaxId()).thenReturn(250L);
+        when(eventPostRepository.reconcileCommentsCounts(any(), any())).thenReturn(2, 0, 1);
+        when(eventCommentRepository.findMaxId()).thenReturn(null);
+        when(eventRepository.findMaxId()).thenReturn(5L);
+        when(eventRepository.reconcileParticipantCounts(1L, 100L)).thenReturn(1);
+
+        // When
+        int corrected = counterReconciliationService.reconcileAll();
+
+        // Then
+        assertEquals(4, corrected);
+        verify(eventPostRepository).reconcileCommentsCounts(1L, 100L);
+        verify(eventPostRepository).reconcileCommentsCounts(101L, 200L);
+        verify(eventPostRepository).reconcileCommentsCounts(201L, 300L);
+        verify(eventCommentRepository, never()).reconcileLikes(any(), any());
+        verify(eventCommentRepository, never()).reconcileReplies(any(), any());
+    }
+
+    @Test
+    void testReconcileAllContinuesPastFailedBatch() {
+        // Given
+        when(eventPostRepository.findMaxId()).thenReturn(200L);
+        when(eventPostRepository.reconcileCommentsCounts(1L, 100L)).thenThrow(new RuntimeException("lock timeout"));
+        when(eventPostRepository.reconcileCommentsCounts(101L, 200L)).thenReturn(3);
+
+        // When
+        int corrected = counterReconciliationService.reconcileAll();
+
+        // Then
+        assertEquals(3, corrected);
+    }
+}
@@ -0,0 +1,250 @@
+package com.ijaa.event.service;
+
+import com.ijaa.event.common.utils.PageCursor;
+import com.ijaa.event.domain.entity.EventComment;
+import com.ijaa.event.domain.entity.EventPost;
+import com.ijaa.event.domain.request.EventCommentRequest;
+import com.ijaa.event.repository.EventCommentLikeRepository;
+import com.ijaa.event.repository.EventCommentRepository;
+import com.ijaa.event.repository.EventPostRepository;
+import com.ijaa.event.repository.EventRepository;
+import com.ijaa.event.service.impl.EventCommentServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCommentServiceTest {
+
+    @Mock
+    private EventCommentRepository eventCommentRepository;
+
+    @Mock
+    private EventCommentLikeRepository eventCommentLikeRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventPostRepository eventPostRepository;
+
+    @InjectMocks
+    private EventCommentServiceImpl eventCommentService;
+
+    private EventComment comment(Long id, Long parentCommentId) {
+        EventComment comment = new EventComment();
+        comment.setId(id);
+        comment.setPostId(1L);
+        comment.setUsername("author");
+        comment.setAuthorName("Author");
+        comment.setUserId("user-1");
+        comment.setContent("Comment " + id);
+        comment.setParentCommentId(parentCommentId);
+        comment.setCreatedAt(LocalDateTime.now());
+        return comment;
+    }
+
+    @Test
+    void testGetPostCommentsWithRepliesAssemblesTreeInMemory() {
+        // Given
+        EventComment first = comment(1L, null);
+        EventComment second = comment(2L, null);
+        EventComment firstReply = comment(3L, 1L);
+        EventComment secondReply = comment(4L, 1L);
+        when(eventCommentRepository.findByPostIdAndIsDeletedFalseOrderByCreatedAtAsc(1L))
+                .thenReturn(List.of(first, second, firstReply, secondReply));
+        when(eventCommentLikeRepository.findLikedCommentIds("viewer", List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(2L, 4L));
+
+        // When
+        var result = eventCommentService.getPostCommentsWithReplies(1L, "viewer");
+
+        // Then
+        assertEquals(4, result.size());
+        assertEquals(List.of(3L, 4L), result.get(0).getReplies().stream().map(r -> r.getId()).toList());
+        assertTrue(result.get(1).getReplies().isEmpty());
+        assertNull(result.get(2).getReplies());
+        assertFalse(result.get(0).getIsLikedByCurrentUser());
+        assertTrue(result.get(1).getIsLikedByCurrentUser());
+        assertTrue(result.get(0).getReplies().get(1).getIsLikedByCurrentUser());
+        verify(eventCommentRepository, never()).findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc(any());
+        verify(eventCommentLikeRepository, never()).existsByCommentIdAndUsername(any(), anyString());
+    }
+
+    @Test
+    void testGetPostCommentsResolvesLikesWithSingleQuery() {
+        // Given
+        when(eventCommentRepository.findByPostIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(comment(1L, null), comment(2L, null))));
+        when(eventCommentLikeRepository.findLikedCommentIds("viewer", List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        // When
+        var result = eventCommentService.getPostComments(1L, 0, 20, "viewer");
+
+        // Then
+        assertTrue(result.getContent().get(0).getIsLikedByCurrentUser());
+        assertFalse(result.getContent().get(1).getIsLikedByCurrentUser());
+        verify(eventCommentLikeRepository, times(1)).findLikedCommentIds(anyString(), any());
+        verify(eventCommentLikeRepository, never()).existsByCommentIdAndUsername(any(), anyString());
+    }
+
+    @Test
+    void testGetRecentCommentsSkipsLikeLookupForAnonymousViewer() {
+        // Given
+        when(eventCommentRepository.findRecentComments(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(comment(1L, null))));
+
+        // When
+        var result = eventCommentService.getRecentComments(0, 20, null);
+
+        // Then
+        assertFalse(result.getContent().get(0).getIsLikedByCurrentUser());
+        verifyNoInteractions(eventCommentLikeRepository);
+    }
+
+    @Test
+    void testGetCommentLoadsRepliesAndLikesOnce() {
+        // Given
+        EventComment parent = comment(1L, null);
+        when(eventCommentRepository.findById(1L)).thenReturn(Optional.of(parent));
+        when(eventCommentRepository.findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc(1L))
+                .thenReturn(List.of(comment(2L, 1L), comment(3L, 1L)));
+        when(eventCommentLikeRepository.findLikedCommentIds("viewer", List.of(1L, 2L, 3L))).thenReturn(List.of(3L));
+
+        // When
+        var result = eventCommentService.getComment(1L, "viewer");
+
+        // Then
+        assertFalse(result.getIsLikedByCurrentUser());
+        assertEquals(2, result.getReplies().size());
+        assertTrue(result.getReplies().get(1).getIsLikedByCurrentUser());
+        verify(eventCommentLikeRepository, never()).existsByCommentIdAndUsername(any(), anyString());
+    }
+
+    @Test
+    void testCreateReplyIncrementsCountersInPlace() {
+        // Given
+        EventCommentRequest request = new EventCommentRequest();
+        request.setPostId(1L);
+        request.setContent("Reply");
+        request.setAuthorName("Author");
+        request.setUserId("user-1");
+        request.setParentCommentId(1L);
+        when(eventPostRepository.findById(1L)).thenReturn(Optional.of(new EventPost()));
+        when(eventCommentRepository.save(any(EventComment.class))).thenReturn(comment(2L, 1L));
+
+        // When
+        eventCommentService.createComment(request, "author");
+
+        // Then
+        verify(eventPostRepository).incrementCommentsCount(1L, 1);
+        verify(eventCommentRepository).incrementReplies(1L, 1);
+        verify(eventCommentRepository, never()).countByPostId(any());
+        verify(eventPostRepository, never()).save(any(EventPost.class));
+    }
+
+    @Test
+    void testDeleteCommentDecrementsOnlyWhenRowWasFlipped() {
+        // Given
+        when(eventCommentRepository.findById(1L)).thenReturn(Optional.of(comment(1L, null)));
+        when(eventCommentRepository.markDeleted(1L)).thenReturn(1, 0);
+
+        // When
+        eventCommentService.deleteComment(1L, "author");
+        eventCommentService.deleteComment(1L, "author");
+
+        // Then
+        verify(eventPostRepository, times(1)).incrementCommentsCount(1L, -1);
+        verify(eventCommentRepository, never()).incrementReplies(any(), anyInt());
+    }
+
+    @Test
+    void testToggleLikeAdjustsCounterByDelta() {
+        // Given
+        EventComment target = comment(1L, null);
+        target.setIsDeleted(false);
+        when(eventCommentRepository.findById(1L)).thenReturn(Optional.of(target));
+        when(eventCommentLikeRepository.deleteByCommentIdAndUsername(1L, "viewer")).thenReturn(0);
+        when(eventCommentLikeRepository.insertIfAbsent(1L, "viewer")).thenReturn(1);
+
+        // When
+        var result = eventCommentService.toggleLike(1L, "viewer");
+
+        // Then
+        assertTrue(result.getIsLikedByCurrentUser());
+        verify(eventCommentRepository).incrementLikes(1L, 1);
+        verify(eventCommentLikeRepository, never()).countByCommentId(any());
+        verify(eventCommentRepository, never()).save(any(EventComment.class));
+    }
+
+    @Test
+    void testToggleLikeUnlikesPreviouslyLikedComment() {
+        // Given
+        EventComment target = comment(1L, null);
+        target.setIsDeleted(false);
+        when(eventCommentRepository.findById(1L)).thenReturn(Optional.of(target));
+        when(eventCommentLikeRepository.deleteByCommentIdAndUsername(1L, "viewer")).thenReturn(1);
+
+        // When
+        var result = eventCommentService.toggleLike(1L, "viewer");
+
+        // Then
+        assertFalse(result.getIsLikedByCurrentUser());
+        verify(eventCommentRepository).incrementLikes(1L, -1);
+        verify(eventCommentLikeRepository, never()).insertIfAbsent(any(), anyString());
+    }
+
+    @Test
+    void testPopularCommentsCursorSeeksPastLastRowWithoutCounting() {
+        // Given
+        EventComment first = comment(9L, null);
+        first.setLikes(5);
+        EventComment second = comment(4L, null);
+        second.setLikes(3);
+        EventComment lookAhead = comment(2L, null);
+        String cursor = PageCursor.encode(7, 11L);
+        when(eventCommentRepository.findPopularCommentsByPostIdPageAfter(eq(1L), eq(7), eq(11L), any(Pageable.class)))
+                .thenReturn(List.of(first, second, lookAhead));
+
+        // When
+        var result = eventCommentService.getPopularCommentsByPostIdCursor(1L, cursor, 2, null);
+
+        // Then
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        PageCursor next = PageCursor.decode(result.getNextCursor());
+        assertEquals(3, next.likes());
+        assertEquals(4L, next.id());
+        verify(eventCommentRepository, never()).findPopularCommentsByPostId(any(), any(Pageable.class));
+    }
+
+    @Test
+    void testRecentCommentsCursorLastPageHasNoNextCursor() {
+        // Given
+        when(eventCommentRepository.findRecentCommentsByPostIdPage(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(comment(1L, null)));
+
+        // When
+        var result = eventCommentService.getRecentCommentsByPostIdCursor(1L, null, 10, null);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+}
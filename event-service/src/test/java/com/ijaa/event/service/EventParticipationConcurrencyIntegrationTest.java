@@ -0,0 +1,165 @@
+package com.ijaa.event.service;
+
+import com.ijaa.event.domain.entity.Event;
+import com.ijaa.event.domain.entity.EventParticipation;
+import com.ijaa.event.domain.request.EventParticipationRequest;
+import com.ijaa.event.repository.EventParticipationRepository;
+import com.ijaa.event.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires thousands of simultaneous RSVPs at one small event and checks that
+ * seats are never oversold and that freed seats go to the waitlist.
+ * Runs on its own in-memory database so the committed rows do not leak into
+ * the transactional integration tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rsvp_concurrency;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000"
+})
+@ActiveProfiles("test")
+class EventParticipationConcurrencyIntegrationTest {
+
+    private static final int CAPACITY = 100;
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 32;
+
+    // Loose bound so the test stays stable on slow CI machines; lock pile-ups blow well past it
+    private static final Duration MAX_ELAPSED = Duration.ofSeconds(30);
+
+    @Autowired
+    private EventParticipationService eventParticipationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventParticipationRepository eventParticipationRepository;
+
+    private ExecutorService executor;
+    private Event testEvent;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+
+        Event event = new Event();
+        event.setTitle("Reunion");
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(30).plusHours(4));
+        event.setIsOnline(false);
+        event.setMaxParticipants(CAPACITY);
+        event.setCurrentParticipants(0);
+        event.setCreatedByUsername("organizer");
+        event.setActive(true);
+        event.setPrivacy(Event.EventPrivacy.PUBLIC);
+        testEvent = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        eventParticipationRepository.deleteAll(eventParticipationRepository.findByEventId(testEvent.getId()));
+        eventRepository.deleteById(testEvent.getId());
+    }
+
+    @Test
+    void testConcurrentRsvpsNeverExceedCapacity() throws Exception {
+        // Given
+        List<Callable<String>> rsvps = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String username = "alumni" + i;
+            rsvps.add(() -> eventParticipationService.rsvpToEvent(confirmedRequest(), username).getStatus());
+        }
+
+        // When
+        long startedAt = System.nanoTime();
+        List<String> statuses = runTogether(rsvps);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // Then
+        assertEquals(CAPACITY, statuses.stream().filter("CONFIRMED"::equals).count());
+        assertEquals(REQUESTS - CAPACITY, statuses.stream().filter("WAITLISTED"::equals).count());
+        assertSeatsMatchConfirmedRows();
+        assertTrue(elapsed.compareTo(MAX_ELAPSED) < 0,
+                "Admitting " + REQUESTS + " RSVPs took " + elapsed.toMillis() + " ms");
+    }
+
+    @Test
+    void testConcurrentCancellationsPromoteWaitlistWithoutOverbooking() throws Exception {
+        // Given
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            eventParticipationService.rsvpToEvent(confirmedRequest(), "alumni" + i);
+        }
+
+        List<Callable<String>> operations = new ArrayList<>();
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            String confirmed = "alumni" + i;
+            operations.add(() -> {
+                eventParticipationService.cancelRsvp(testEvent.getId(), confirmed);
+                return "CANCELLED";
+            });
+            String newcomer = "newcomer" + i;
+            operations.add(() -> eventParticipationService.rsvpToEvent(confirmedRequest(), newcomer).getStatus());
+        }
+
+        // When
+        runTogether(operations);
+
+        // Then
+        assertSeatsMatchConfirmedRows();
+        assertEquals("CONFIRMED", eventParticipationService.getUserParticipationStatus(testEvent.getId(), "alumni" + CAPACITY));
+        assertEquals("WAITLISTED", eventParticipationService.getUserParticipationStatus(testEvent.getId(), "newcomer0"));
+    }
+
+    private EventParticipationRequest confirmedRequest() {
+        EventParticipationRequest request = new EventParticipationRequest();
+        request.setEventId(testEvent.getId());
+        request.setStatus("CONFIRMED");
+        return request;
+    }
+
+    // Release every task at once so they contend for the same event row
+    private List<String> runTogether(List<Callable<String>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (Callable<String> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            results.add(future.get(MAX_ELAPSED.toSeconds(), TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private void assertSeatsMatchConfirmedRows() {
+        Event reloaded = eventRepository.findById(testEvent.getId()).orElseThrow();
+        Long goingRows = eventParticipationRepository.countByEventIdAndStatus(
+                testEvent.getId(), EventParticipation.ParticipationStatus.GOING);
+        assertEquals(CAPACITY, reloaded.getCurrentParticipants());
+        assertEquals(CAPACITY, goingRows.intValue());
+    }
+}
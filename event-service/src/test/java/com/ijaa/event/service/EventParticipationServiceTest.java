@@ -0,0 +1,197 @@
+package com.ijaa.event.service;
+
+import com.ijaa.event.domain.entity.Event;
+import com.ijaa.event.domain.entity.EventParticipation;
+import com.ijaa.event.domain.request.EventParticipationRequest;
+import com.ijaa.event.repository.EventParticipationRepository;
+import com.ijaa.event.repository.EventRepository;
+import com.ijaa.event.service.impl.EventParticipationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventParticipationServiceTest {
+
+    @Mock
+    private EventParticipationRepository eventParticipationRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventParticipationServiceImpl eventParticipationService;
+
+    private Event testEvent;
+    private EventParticipation participation;
+
+    @BeforeEach
+    void setUp() {
+        testEvent = new Event();
+        testEvent.setId(1L);
+        testEvent.setActive(true);
+        testEvent.setMaxParticipants(100);
+
+        participation = new EventParticipation();
+        participation.setId(10L);
+        participation.setEventId(1L);
+        participation.setParticipantUsername("alumni");
+        participation.setStatus(EventParticipation.ParticipationStatus.GOING);
+    }
+
+    private EventParticipationRequest confirmedRequest() {
+        EventParticipationRequest request = new EventParticipationRequest();
+        request.setEventId(1L);
+        request.setStatus("CONFIRMED");
+        return request;
+    }
+
+    @Test
+    void testRsvpGoingReservesSeat() {
+        // Given
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.empty());
+        when(eventParticipationRepository.saveAndFlush(any(EventParticipation.class))).thenReturn(participation);
+        when(eventRepository.reserveSeat(1L)).thenReturn(1);
+
+        // When
+        var result = eventParticipationService.rsvpToEvent(confirmedRequest(), "alumni");
+
+        // Then
+        assertEquals("CONFIRMED", result.getStatus());
+        verify(eventParticipationRepository, never()).countByEventIdAndStatus(any(), any());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void testRsvpToFullEventIsWaitlisted() {
+        // Given
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.empty());
+        when(eventParticipationRepository.saveAndFlush(any(EventParticipation.class))).thenReturn(participation);
+        when(eventRepository.reserveSeat(1L)).thenReturn(0);
+        when(eventParticipationRepository.save(participation)).thenReturn(participation);
+
+        // When
+        var result = eventParticipationService.rsvpToEvent(confirmedRequest(), "alumni");
+
+        // Then
+        assertEquals("WAITLISTED", result.getStatus());
+        verify(eventRepository, never()).incrementCurrentParticipants(any(), anyInt());
+    }
+
+    @Test
+    void testRsvpMaybeDoesNotReserveSeat() {
+        // Given
+        EventParticipationRequest request = confirmedRequest();
+        request.setStatus("MAYBE");
+        participation.setStatus(EventParticipation.ParticipationStatus.MAYBE);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.empty());
+        when(eventParticipationRepository.saveAndFlush(any(EventParticipation.class))).thenReturn(participation);
+
+        // When
+        var result = eventParticipationService.rsvpToEvent(request, "alumni");
+
+        // Then
+        assertEquals("MAYBE", result.getStatus());
+        verify(eventRepository, never()).reserveSeat(any());
+    }
+
+    @Test
+    void testUpdateRsvpFromGoingDecrementsParticipantCount() {
+        // Given
+        EventParticipation updated = new EventParticipation();
+        updated.setId(10L);
+        updated.setEventId(1L);
+        updated.setStatus(EventParticipation.ParticipationStatus.NOT_GOING);
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.of(participation));
+        when(eventParticipationRepository.updateStatus(10L, EventParticipation.ParticipationStatus.GOING,
+                EventParticipation.ParticipationStatus.NOT_GOING, null)).thenReturn(1);
+        when(eventParticipationRepository.findById(10L)).thenReturn(Optional.of(updated));
+
+        // When
+        var result = eventParticipationService.updateRsvp(1L, "DECLINED", null, "alumni");
+
+        // Then
+        assertEquals("DECLINED", result.getStatus());
+        verify(eventRepository).incrementCurrentParticipants(1L, -1);
+    }
+
+    @Test
+    void testUpdateRsvpLosingConcurrentChangeDoesNotMoveCounter() {
+        // Given
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.of(participation));
+        when(eventParticipationRepository.updateStatus(any(), any(), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> eventParticipationService.updateRsvp(1L, "DECLINED", null, "alumni"));
+        verify(eventRepository, never()).incrementCurrentParticipants(any(), anyInt());
+    }
+
+    @Test
+    void testUpdateRsvpToGoingOnFullEventStaysWaitlisted() {
+        // Given
+        participation.setStatus(EventParticipation.ParticipationStatus.MAYBE);
+        EventParticipation waitlisted = new EventParticipation();
+        waitlisted.setId(10L);
+        waitlisted.setStatus(EventParticipation.ParticipationStatus.WAITLISTED);
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.of(participation));
+        when(eventParticipationRepository.updateStatus(10L, EventParticipation.ParticipationStatus.MAYBE,
+                EventParticipation.ParticipationStatus.GOING, null)).thenReturn(1);
+        when(eventRepository.reserveSeat(1L)).thenReturn(0);
+        when(eventParticipationRepository.findById(10L)).thenReturn(Optional.of(waitlisted));
+
+        // When
+        var result = eventParticipationService.updateRsvp(1L, "CONFIRMED", null, "alumni");
+
+        // Then
+        assertEquals("WAITLISTED", result.getStatus());
+        verify(eventParticipationRepository).updateStatus(10L, EventParticipation.ParticipationStatus.GOING,
+                EventParticipation.ParticipationStatus.WAITLISTED, null);
+    }
+
+    @Test
+    void testCancelGoingRsvpPromotesOldestWaitlisted() {
+        // Given
+        EventParticipation next = new EventParticipation();
+        next.setId(11L);
+        next.setStatus(EventParticipation.ParticipationStatus.WAITLISTED);
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.of(participation));
+        when(eventParticipationRepository.deleteParticipation(10L, EventParticipation.ParticipationStatus.GOING)).thenReturn(1);
+        when(eventParticipationRepository.findTop5ByEventIdAndStatusOrderByCreatedAtAscIdAsc(1L,
+                EventParticipation.ParticipationStatus.WAITLISTED)).thenReturn(List.of(next));
+        when(eventParticipationRepository.updateStatus(11L, EventParticipation.ParticipationStatus.WAITLISTED,
+                EventParticipation.ParticipationStatus.GOING, null)).thenReturn(1);
+
+        // When
+        eventParticipationService.cancelRsvp(1L, "alumni");
+
+        // Then
+        verify(eventRepository, never()).incrementCurrentParticipants(any(), anyInt());
+    }
+
+    @Test
+    void testCancelGoingRsvpDecrementsParticipantCount() {
+        // Given
+        when(eventParticipationRepository.findByEventIdAndParticipantUsername(1L, "alumni")).thenReturn(Optional.of(participation));
+        when(eventParticipationRepository.deleteParticipation(10L, EventParticipation.ParticipationStatus.GOING)).thenReturn(1);
+
+        // When
+        eventParticipationService.cancelRsvp(1L, "alumni");
+
+        // Then
+        verify(eventRepository).incrementCurrentParticipants(1L, -1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ijaa.event.service;
+
+import com.ijaa.event.domain.entity.Event;
+import com.ijaa.event.domain.entity.EventPost;
+import com.ijaa.event.domain.response.EventPostResponse;
+import com.ijaa.event.repository.EventPostLikeRepository;
+import com.ijaa.event.repository.EventPostRepository;
+import com.ijaa.event.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the post like statements against the test database rather than mocks,
+ * so the native insert-if-absent query is checked on H2 as well as PostgreSQL.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class EventPostLikeIntegrationTest {
+
+    @Autowired
+    private EventPostService eventPostService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventPostRepository eventPostRepository;
+
+    @Autowired
+    private EventPostLikeRepository eventPostLikeRepository;
+
+    private EventPost testPost;
+
+    @BeforeEach
+    void setUp() {
+        Event event = new Event();
+        event.setTitle("Reunion");
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(30).plusHours(4));
+        event.setIsOnline(false);
+        event.setMaxParticipants(100);
+        event.setCreatedByUsername("organizer");
+        event.setActive(true);
+        event.setPrivacy(Event.EventPrivacy.PUBLIC);
+        event = eventRepository.save(event);
+
+        EventPost post = new EventPost();
+        post.setEventId(event.getId());
+        post.setUsername("organizer");
+        post.setContent("See you all there");
+        post.setPostType(EventPost.PostType.TEXT);
+        testPost = eventPostRepository.save(post);
+    }
+
+    @Test
+    void testInsertIfAbsentRecordsEachLikeOnce() {
+        // When
+        int first = eventPostLikeRepository.insertIfAbsent(testPost.getId(), "alice");
+        int second = eventPostLikeRepository.insertIfAbsent(testPost.getId(), "alice");
+        int other = eventPostLikeRepository.insertIfAbsent(testPost.getId(), "bob");
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(1, other);
+        assertEquals(2L, eventPostLikeRepository.countByPostId(testPost.getId()));
+    }
+
+    @Test
+    void testToggleLikeKeepsCounterInStepWithLikeRows() {
+        // When
+        EventPostResponse liked = eventPostService.toggleLike(testPost.getId(), "alice");
+        eventPostService.toggleLike(testPost.getId(), "bob");
+        EventPostResponse unliked = eventPostService.toggleLike(testPost.getId(), "alice");
+
+        // Then
+        assertTrue(liked.getIsLikedByUser());
+        assertEquals(1, liked.getLikes());
+        assertFalse(unliked.getIsLikedByUser());
+        assertEquals(1, unliked.getLikes());
+        assertTrue(eventPostLikeRepository.existsByPostIdAndUsername(testPost.getId(), "bob"));
+        assertEquals(1L, eventPostLikeRepository.countByPostId(testPost.getId()));
+    }
+}
@@ -1,10 +1,12 @@
 package com.ijaa.event.service;
 
+import com.ijaa.event.common.utils.PageCursor;
 import com.ijaa.event.domain.entity.Event;
 import com.ijaa.event.domain.entity.EventPost;
 import com.ijaa.event.domain.request.EventPostRequest;
 import com.ijaa.event.domain.response.PostMediaResponse;
 import com.ijaa.event.presenter.rest.client.FileServiceClient;
+import com.ijaa.event.repository.EventPostLikeRepository;
 import com.ijaa.event.repository.EventPostRepository;
 import com.ijaa.event.repository.EventRepository;
 import com.ijaa.event.service.impl.EventPostServiceImpl;
@@ -14,14 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +37,9 @@ class EventPostServiceTest {
     @Mock
     private EventPostRepository eventPostRepository;
 
+    @Mock
+    private EventPostLikeRepository eventPostLikeRepository;
+
     @Mock
     private EventRepository eventRepository;
 
@@ -153,4 +163,121 @@ class EventPostServiceTest {
         assertTrue(result.getMediaFiles().isEmpty()); // Should return empty list on error
         verify(fileServiceClient).getPostMedia("1");
     }
+
+    @Test
+    void testGetEventPostsBatchesMediaAndEventLookups() {
+        // Given
+        EventPost secondPost = new EventPost();
+        secondPost.setId(2L);
+        secondPost.setEventId(1L);
+        secondPost.setUsername("testuser");
+        secondPost.setUserId("user-1");
+        secondPost.setContent("Second post");
+        secondPost.setPostType(EventPost.PostType.TEXT);
+        testPost.setUserId("user-1");
+        testEvent.setOrganizerName("Test Organizer");
+
+        PostMediaResponse media = PostMediaResponse.builder()
+                .id(1L)
+                .fileName("test-image.jpg")
+                .mediaType("IMAGE")
+                .build();
+
+        when(eventPostRepository.findByEventIdAndIsDeletedFalseOrderByCreatedAtDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testPost, secondPost)));
+        when(fileServiceClient.getPostMediaBatch(List.of("1", "2")))
+                .thenReturn(Map.of("1", List.of(media), "2", List.of()));
+        when(eventRepository.findAllById(List.of(1L))).thenReturn(List.of(testEvent));
+        when(eventPostLikeRepository.findLikedPostIds("testuser", List.of(1L, 2L))).thenReturn(List.of(2L));
+
+        // When
+        var result = eventPostService.getEventPosts(1L, 0, 20, "testuser");
+
+        // Then
+        assertEquals(2, result.getContent().size());
+        assertEquals(1, result.getContent().get(0).getMediaFiles().size());
+        assertTrue(result.getContent().get(1).getMediaFiles().isEmpty());
+        assertFalse(result.getContent().get(0).getIsLikedByUser());
+        assertTrue(result.getContent().get(1).getIsLikedByUser());
+        assertEquals("Test Organizer", result.getContent().get(0).getCreatorName());
+        verify(eventPostLikeRepository, never()).existsByPostIdAndUsername(any(), anyString());
+        verify(fileServiceClient, times(1)).getPostMediaBatch(List.of("1", "2"));
+        verify(fileServiceClient, never()).getPostMedia(anyString());
+        verify(eventRepository, times(1)).findAllById(List.of(1L));
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void testToggleLikeLikesPostOnce() {
+        // Given
+        testPost.setIsDeleted(false);
+        when(eventPostRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(eventPostLikeRepository.deleteByPostIdAndUsername(1L, "testuser")).thenReturn(0);
+        when(eventPostLikeRepository.insertIfAbsent(1L, "testuser")).thenReturn(1);
+        when(eventPostLikeRepository.existsByPostIdAndUsername(1L, "testuser")).thenReturn(true);
+
+        // When
+        var result = eventPostService.toggleLike(1L, "testuser");
+
+        // Then
+        assertTrue(result.getIsLikedByUser());
+        verify(eventPostRepository).incrementLikes(1L, 1);
+        verify(eventPostRepository, never()).save(any(EventPost.class));
+    }
+
+    @Test
+    void testToggleLikeUnlikesPreviouslyLikedPost() {
+        // Given
+        testPost.setIsDeleted(false);
+        when(eventPostRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(eventPostLikeRepository.deleteByPostIdAndUsername(1L, "testuser")).thenReturn(1);
+
+        // When
+        var result = eventPostService.toggleLike(1L, "testuser");
+
+        // Then
+        assertFalse(result.getIsLikedByUser());
+        verify(eventPostRepository).incrementLikes(1L, -1);
+        verify(eventPostLikeRepository, never()).insertIfAbsent(any(), anyString());
+    }
+
+    @Test
+    void testToggleLikeDoesNotCountLikeAlreadyRecordedConcurrently() {
+        // Given
+        testPost.setIsDeleted(false);
+        when(eventPostRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(eventPostLikeRepository.deleteByPostIdAndUsername(1L, "testuser")).thenReturn(0);
+        when(eventPostLikeRepository.insertIfAbsent(1L, "testuser")).thenReturn(0);
+
+        // When
+        eventPostService.toggleLike(1L, "testuser");
+
+        // Then
+        verify(eventPostRepository, never()).incrementLikes(any(), anyInt());
+    }
+
+    @Test
+    void testGetEventPostsByCursorReturnsNextCursorFromLastRow() {
+        // Given
+        LocalDateTime seenUpTo = LocalDateTime.of(2025, 1, 15, 10, 30);
+        testPost.setCreatedAt(seenUpTo.minusMinutes(5));
+        EventPost lookAhead = new EventPost();
+        lookAhead.setId(0L);
+        lookAhead.setEventId(1L);
+        when(eventPostRepository.findEventPostsPageAfter(eq(1L), eq(seenUpTo), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(testPost, lookAhead));
+        when(fileServiceClient.getPostMediaBatch(List.of("1"))).thenReturn(Map.of("1", List.of()));
+        when(eventRepository.findAllById(List.of(1L))).thenReturn(List.of(testEvent));
+
+        // When
+        var result = eventPostService.getEventPostsByCursor(1L, PageCursor.encode(seenUpTo, 5L), 1, null);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        PageCursor next = PageCursor.decode(result.getNextCursor());
+        assertEquals(testPost.getCreatedAt(), next.createdAt());
+        assertEquals(1L, next.id());
+        verify(eventPostRepository, never()).findByEventIdAndIsDeletedFalseOrderByCreatedAtDesc(any(), any(Pageable.class));
+    }
 }
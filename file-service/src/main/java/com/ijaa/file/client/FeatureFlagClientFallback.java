@@ -1,6 +1,7 @@
 package com.ijaa.file.client;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 /**
@@ -17,4 +18,11 @@ public class FeatureFlagClientFallback implements FeatureFlagClient {
         FeatureFlagStatus status = new FeatureFlagStatus(featureName, true);
         return new ApiResponse<>("Feature flag defaulted to enabled (fallback)", "200", status);
     }
+
+    @Override
+    public ResponseEntity<ApiResponse<FeatureFlagSnapshot>> getFeatureFlagSnapshot(String ifNoneMatch) {
+        log.warn("User service unavailable, keeping last known feature flag snapshot");
+        // No data: callers keep their last-known-good snapshot instead of defaulting every flag
+        return ResponseEntity.ok(new ApiResponse<>("Feature flag snapshot unavailable (fallback)", "503", null));
+    }
 }
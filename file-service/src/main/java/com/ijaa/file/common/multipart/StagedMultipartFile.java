@@ -0,0 +1,130 @@
+package com.ijaa.file.common.multipart;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * An uploaded file that was streamed into the staging directory while the request was parsed.
+ * Its SHA-256 was computed on the way in, and {@link #transferTo(Path)} renames it into place,
+ * so storing it costs no second write.
+ */
+@Slf4j
+public class StagedMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final Path stagedFile;
+    private final long size;
+    private final String sha256;
+    private volatile boolean moved;
+
+    StagedMultipartFile(String name, String originalFilename, String contentType,
+                        Path stagedFile, long size, String sha256) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.stagedFile = stagedFile;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * Hex SHA-256 of the file content.
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * The staged copy on local disk, for storage backends that can take it as a file.
+     */
+    public Path getStagedFile() throws IOException {
+        return current();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(current());
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(current());
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Path source = current();
+        try {
+            Files.move(source, dest, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Staging directory on another filesystem: still never visible half-written under dest's name
+            Path temp = Files.createTempFile(dest.getParent(), ".upload-", ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, dest, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            Files.deleteIfExists(source);
+        }
+        moved = true;
+    }
+
+    void discard() {
+        if (moved) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(stagedFile);
+        } catch (IOException e) {
+            log.warn("Could not delete staged upload {}", stagedFile, e);
+        }
+    }
+
+    private Path current() throws IOException {
+        if (moved) {
+            throw new IllegalStateException("File has already been moved to its destination");
+        }
+        return stagedFile;
+    }
+}
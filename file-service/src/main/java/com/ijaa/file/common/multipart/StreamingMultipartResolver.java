@@ -0,0 +1,220 @@
+package com.ijaa.file.common.multipart;
+
+import com.ijaa.file.config.FileStorageConfig;
+import com.ijaa.file.exceptions.InvalidFileTypeException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.impl.SizeLimitExceededException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletFileUpload;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.DefaultMultipartHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses multipart uploads as they arrive instead of buffering them first. File parts are
+ * checked against the allowed types from their headers before any content is read, written
+ * once into the staging directory with their SHA-256 computed on the way, and cut off as soon
+ * as they pass the size limit for their type. See {@link StagedMultipartFile}.
+ */
+@Slf4j
+public class StreamingMultipartResolver implements MultipartResolver {
+
+    // Plain form fields (e.g. mediaType) are tiny; anything bigger is not a legitimate request
+    private static final int MAX_FIELD_BYTES = 64 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Duration STALE_STAGING_AGE = Duration.ofHours(1);
+
+    private final FileStorageConfig fileStorageConfig;
+    private final Path stagingDir;
+    private final long maxRequestSize;
+
+    public StreamingMultipartResolver(FileStorageConfig fileStorageConfig, Path stagingDir, long maxRequestSize) {
+        this.fileStorageConfig = fileStorageConfig;
+        this.stagingDir = stagingDir;
+        this.maxRequestSize = maxRequestSize;
+        try {
+            Files.createDirectories(stagingDir);
+            sweepStaleUploads();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not prepare upload staging directory: " + stagingDir, e);
+        }
+    }
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        return StringUtils.startsWithIgnoreCase(request.getContentType(), "multipart/");
+    }
+
+    @Override
+    public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+        MultiValueMap<String, MultipartFile> files = new LinkedMultiValueMap<>();
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        Map<String, String> parameterContentTypes = new HashMap<>();
+        try {
+            ServletFileUpload upload = new ServletFileUpload();
+            upload.setSizeMax(maxRequestSize);
+            upload.setHeaderEncoding(StandardCharsets.UTF_8.name());
+
+            FileItemIterator items = upload.getItemIterator(new ServletRequestContext(request));
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                if (item.isFormField()) {
+                    String value = readField(item);
+                    parameters.merge(item.getFieldName(), new String[]{value}, StreamingMultipartResolver::append);
+                    parameterContentTypes.put(item.getFieldName(), item.getContentType());
+                } else {
+                    files.add(item.getFieldName(), stage(item));
+                }
+            }
+        } catch (SizeLimitExceededException e) {
+            discardAll(files);
+            throw new MaxUploadSizeExceededException(maxRequestSize, e);
+        } catch (RuntimeException e) {
+            discardAll(files);
+            throw e;
+        } catch (FileUploadException | IOException e) {
+            discardAll(files);
+            throw new MultipartException("Failed to parse multipart request: " + e.getMessage(), e);
+        }
+        return new DefaultMultipartHttpServletRequest(request, files, parameters, parameterContentTypes);
+    }
+
+    @Override
+    public void cleanupMultipart(MultipartHttpServletRequest request) {
+        // Anything the request did not move into storage is dropped
+        discardAll(request.getMultiFileMap());
+    }
+
+    private StagedMultipartFile stage(FileItemStream item) throws IOException {
+        String originalFilename = item.getName();
+        long limit = limitFor(originalFilename, item.getContentType());
+
+        Path staged = Files.createTempFile(stagingDir, "upload-", ".part");
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (InputStream in = item.openStream(); OutputStream out = Files.newOutputStream(staged)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > limit) {
+                    throw new MaxUploadSizeExceededException(limit);
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return new StagedMultipartFile(item.getFieldName(), originalFilename, item.getContentType(),
+                staged, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * The per-type size limit, decided from the part headers before any content is read.
+     */
+    private long limitFor(String originalFilename, String contentType) {
+        if (!StringUtils.hasText(originalFilename)) {
+            // No file chosen; the controller reports the missing file
+            return 0;
+        }
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        extension = extension != null ? extension.toLowerCase(Locale.ROOT) : extensionFromContentType(contentType);
+        if (fileStorageConfig.getAllowedImageTypes().contains(extension)) {
+            return fileStorageConfig.getMaxFileSizeMb() * 1024L * 1024L;
+        }
+        if (fileStorageConfig.getAllowedVideoTypes() != null && fileStorageConfig.getAllowedVideoTypes().contains(extension)) {
+            return fileStorageConfig.getMaxVideoSizeMb() * 1024L * 1024L;
+        }
+        throw new InvalidFileTypeException("File type not allowed: " + originalFilename);
+    }
+
+    private static String extensionFromContentType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int slash = contentType.indexOf('/');
+        String subtype = slash >= 0 ? contentType.substring(slash + 1).toLowerCase(Locale.ROOT) : "";
+        return switch (subtype) {
+            case "jpeg" -> "jpg";
+            case "quicktime" -> "mov";
+            default -> subtype;
+        };
+    }
+
+    private static String readField(FileItemStream item) throws IOException {
+        try (InputStream in = item.openStream()) {
+            byte[] bytes = in.readNBytes(MAX_FIELD_BYTES + 1);
+            if (bytes.length > MAX_FIELD_BYTES) {
+                throw new MaxUploadSizeExceededException(MAX_FIELD_BYTES);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String[] append(String[] existing, String[] added) {
+        String[] merged = new String[existing.length + added.length];
+        System.arraycopy(existing, 0, merged, 0, existing.length);
+        System.arraycopy(added, 0, merged, existing.length, added.length);
+        return merged;
+    }
+
+    private static void discardAll(MultiValueMap<String, MultipartFile> files) {
+        for (List<MultipartFile> parts : files.values()) {
+            for (MultipartFile part : parts) {
+                if (part instanceof StagedMultipartFile staged) {
+                    staged.discard();
+                }
+            }
+        }
+    }
+
+    // Parts left behind by a crash mid-request; live uploads are far younger than this
+    private void sweepStaleUploads() throws IOException {
+        Instant cutoff = Instant.now().minus(STALE_STAGING_AGE);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(stagingDir, "upload-*.part")) {
+            for (Path leftover : leftovers) {
+                if (Files.getLastModifiedTime(leftover).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
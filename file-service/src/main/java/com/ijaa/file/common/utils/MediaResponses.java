@@ -0,0 +1,172 @@
+package com.ijaa.file.common.utils;
+
+import com.ijaa.file.storage.StoredResource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds responses for the public {@code /file/{fileName}} endpoints.
+ * <p>
+ * Stored file names never change once written, so responses are cacheable for a year and the
+ * name itself, plus the variant size for downscaled copies, is the ETag. A {@link #provisional}
+ * stand-in, served while the requested copy cannot be produced, is only cached briefly.
+ * <p>
+ * Spring answers conditional requests with 304 and {@code Range} requests with 206 for
+ * {@link Resource} bodies; full-file responses are handed to Tomcat's sendfile when the
+ * connector supports it so the bytes never pass through the JVM.
+ */
+public final class MediaResponses {
+
+    public static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    // Long enough to absorb a burst of requests, short enough that the real copy is picked up soon after
+    public static final CacheControl PROVISIONAL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    // Image variants are stored as <area>/variants/<size>/<fileName>
+    private static final Pattern VARIANT_KEY = Pattern.compile("(?:^|/)variants/([^/]+)/[^/]+$");
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private MediaResponses() {
+    }
+
+    /**
+     * Wraps a resource served in place of the one requested, such as the original image while its
+     * thumbnail cannot be built, so clients and proxies do not keep it for a year.
+     */
+    public static Resource provisional(Resource standIn) {
+        return new Provisional(standIn);
+    }
+
+    public static ResponseEntity<Resource> serve(Resource resource, HttpServletRequest request) throws IOException {
+        String fileName = resource.getFilename();
+        long lastModified = resource.lastModified();
+        long length = resource.contentLength();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType(fileName));
+        headers.setCacheControl(resource instanceof Provisional ? PROVISIONAL : IMMUTABLE);
+        headers.setETag(eTag(resource));
+        headers.setLastModified(lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (canSendfile(resource, request)) {
+            if (new ServletWebRequest(request).checkNotModified(headers.getETag(), lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+            File file = resource.getFile();
+            request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            headers.setContentLength(length);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+
+        // Spring streams the body, slicing it for Range requests and checking the validators above
+        return ResponseEntity.ok().headers(headers).body(resource);
+    }
+
+    public static MediaType contentType(String fileName) {
+        if (fileName == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        return MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    static String eTag(Resource resource) {
+        String fileName = resource.getFilename();
+        if (fileName == null) {
+            return null;
+        }
+        int dot = fileName.lastIndexOf('.');
+        String tag = dot > 0 ? fileName.substring(0, dot) : fileName;
+        // A variant shares its file name with the original, so its size has to tell them apart
+        if (resource instanceof StoredResource stored) {
+            Matcher variant = VARIANT_KEY.matcher(stored.getKey());
+            if (variant.find()) {
+                tag += "-" + variant.group(1);
+            }
+        }
+        return "\"" + tag + "\"";
+    }
+
+    // Ranged and HEAD requests stay with Spring, which already knows how to slice and omit bodies
+    private static boolean canSendfile(Resource resource, HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && resource.isFile()
+                && HttpMethod.GET.matches(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null;
+    }
+
+    private static final class Provisional extends AbstractResource {
+
+        private final Resource delegate;
+
+        private Provisional(Resource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean exists() {
+            return delegate.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return delegate.isReadable();
+        }
+
+        @Override
+        public boolean isFile() {
+            return delegate.isFile();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return delegate.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return delegate.lastModified();
+        }
+
+        @Override
+        public String getFilename() {
+            return delegate.getFilename();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return delegate.getInputStream();
+        }
+
+        @Override
+        public String getDescription() {
+            return "provisional " + delegate.getDescription();
+        }
+    }
+}
@@ -1,20 +1,48 @@
 package com.ijaa.file.config;
 
 import com.ijaa.file.client.FeatureFlagClient;
-import lombok.RequiredArgsConstructor;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Utility class for feature flag integration in the file service.
- * Connects to the user service via Feign client to check feature flags.
+ * Keeps a local snapshot of all flags, loaded once at startup and then refreshed in the
+ * background from the user service, so checks on the request path are a map lookup.
+ * With the cache disabled every check goes straight to the user service via the Feign client.
+ * <p>
+ * Defaults, shared with the event service: a flag the user service does not know is disabled.
+ * While the user service cannot be reached, before the first snapshot loads or on a failed
+ * direct check, every flag takes {@code feature-flags.default-enabled} (env
+ * {@code FEATURE_FLAGS_DEFAULT_ENABLED}, true unless set), so a cold start without the user
+ * service keeps serving files.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class FeatureFlagUtils {
 
     private final FeatureFlagClient featureFlagClient;
+    private final boolean cacheEnabled;
+    private final Duration ttl;
+    // Answer for every flag while the user service cannot be reached
+    private final boolean defaultEnabled;
 
     // Feature flag constants
     public static final String FILE_UPLOAD = "file-upload";
@@ -24,12 +52,191 @@ public class FeatureFlagUtils {
     public static final String FILE_DOWNLOAD = "file-download";
     public static final String FILE_DELETE = "file-delete";
 
+    private static final List<String> KNOWN_FLAGS = List.of(
+            FILE_UPLOAD, FILE_UPLOAD_PROFILE_PHOTO, FILE_UPLOAD_COVER_PHOTO,
+            FILE_UPLOAD_EVENT_BANNER, FILE_DOWNLOAD, FILE_DELETE);
+
+    // Answer for flags the snapshot does not hold; the user service reports unknown flags the same way
+    private static final boolean UNKNOWN_FLAG_DEFAULT = false;
+
+    // Flag name -> enabled, replaced wholesale on every successful refresh
+    private volatile Map<String, Boolean> snapshot = Map.of();
+    private volatile long snapshotVersion = -1;
+    private volatile String snapshotEtag;
+    private volatile long lastRefreshMillis;
+
+    // Every flag name seen on the request path, used when the bulk endpoint is unavailable
+    private final Set<String> trackedFlags = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "feature-flag-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FeatureFlagUtils(FeatureFlagClient featureFlagClient,
+                            @Value("${feature-flags.cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${feature-flags.cache.ttl:PT30S}") Duration ttl,
+                            @Value("${feature-flags.default-enabled:true}") boolean defaultEnabled) {
+        this.featureFlagClient = featureFlagClient;
+        this.cacheEnabled = cacheEnabled;
+        this.ttl = ttl;
+        this.defaultEnabled = defaultEnabled;
+        this.trackedFlags.addAll(KNOWN_FLAGS);
+    }
+
     /**
      * Check if a feature flag is enabled
      * @param featureName the name of the feature flag
      * @return true if the feature is enabled, false otherwise
      */
     public boolean isFeatureEnabled(String featureName) {
+        if (!cacheEnabled) {
+            return fetchFeatureFlag(featureName);
+        }
+
+        Boolean enabled = snapshot.get(featureName);
+        if (enabled == null) {
+            // Not in the snapshot (yet): pick it up on the next refresh
+            boolean loaded = lastRefreshMillis != 0;
+            if (trackedFlags.add(featureName) || !loaded) {
+                triggerRefresh();
+            }
+            boolean fallback = loaded ? UNKNOWN_FLAG_DEFAULT : defaultEnabled;
+            log.debug("Feature flag '{}' not in local snapshot, defaulting to {}", featureName, fallback);
+            return fallback;
+        }
+        if (System.currentTimeMillis() - lastRefreshMillis > ttl.toMillis()) {
+            triggerRefresh();
+        }
+        log.debug("Feature flag '{}' is {}", featureName, enabled ? "enabled" : "disabled");
+        return enabled;
+    }
+
+    /**
+     * Load the snapshot before serving, so checks do not run on the fallback for a whole refresh interval
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (cacheEnabled && !refreshSnapshot()) {
+            log.warn("Feature flags could not be loaded at startup; flags default to {} until a refresh succeeds",
+                    defaultEnabled);
+        }
+    }
+
+    /**
+     * Periodically refresh the local snapshot so request threads never wait on the user service
+     */
+    @Scheduled(fixedDelayString = "${feature-flags.cache.ttl:PT30S}")
+    public void scheduledRefresh() {
+        if (cacheEnabled) {
+            triggerRefresh();
+        }
+    }
+
+    /**
+     * Reload the snapshot on the calling thread. Keeps the last known good snapshot
+     * when the user service cannot be reached.
+     * @return true if the snapshot was refreshed
+     */
+    public boolean refreshSnapshot() {
+        Map<String, Boolean> flags = fetchSnapshot();
+        if (flags == null) {
+            flags = fetchTrackedFlags();
+        }
+        if (flags == null) {
+            log.warn("Feature flag refresh failed, keeping snapshot version {}", snapshotVersion);
+            return false;
+        }
+
+        Map<String, Boolean> next = new HashMap<>();
+        flags.forEach((name, enabled) -> {
+            if (name != null && enabled != null) {
+                next.put(name, enabled);
+            }
+        });
+        for (String name : trackedFlags) {
+            next.putIfAbsent(name, UNKNOWN_FLAG_DEFAULT);
+        }
+        snapshot = Map.copyOf(next);
+        lastRefreshMillis = System.currentTimeMillis();
+        log.debug("Feature flag snapshot refreshed: {} flags, version {}", next.size(), snapshotVersion);
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void triggerRefresh() {
+        if (!refreshInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshSnapshot();
+                } finally {
+                    refreshInProgress.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshInProgress.set(false);
+            log.warn("Could not schedule feature flag refresh: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Boolean> fetchSnapshot() {
+        try {
+            ResponseEntity<FeatureFlagClient.ApiResponse<FeatureFlagClient.FeatureFlagSnapshot>> response =
+                featureFlagClient.getFeatureFlagSnapshot(snapshotEtag);
+            if (response == null) {
+                return null;
+            }
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return snapshot;
+            }
+            FeatureFlagClient.ApiResponse<FeatureFlagClient.FeatureFlagSnapshot> body = response.getBody();
+            if (body == null || body.getData() == null || body.getData().getFlags() == null) {
+                return null;
+            }
+            snapshotEtag = response.getHeaders().getETag();
+            snapshotVersion = body.getData().getVersion();
+            return body.getData().getFlags();
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                // Feign reports 304 as an error status; the snapshot we hold is current
+                return snapshot;
+            }
+            log.debug("Bulk feature flag fetch failed: {}. Falling back to per-flag checks.", e.getMessage());
+            return null;
+        } catch (Exception e) {
+            log.debug("Bulk feature flag fetch failed: {}. Falling back to per-flag checks.", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Boolean> fetchTrackedFlags() {
+        Map<String, Boolean> flags = new HashMap<>();
+        for (String name : trackedFlags) {
+            try {
+                FeatureFlagClient.ApiResponse<FeatureFlagClient.FeatureFlagStatus> response =
+                    featureFlagClient.checkFeatureFlag(name);
+                if (response != null && response.getData() != null) {
+                    flags.put(name, response.getData().isEnabled());
+                } else if (snapshot.containsKey(name)) {
+                    flags.put(name, snapshot.get(name));
+                }
+            } catch (Exception e) {
+                log.warn("Error checking feature flag '{}': {}", name, e.getMessage());
+                return null;
+            }
+        }
+        return flags;
+    }
+
+    private boolean fetchFeatureFlag(String featureName) {
         try {
             FeatureFlagClient.ApiResponse<FeatureFlagClient.FeatureFlagStatus> response = 
                 featureFlagClient.checkFeatureFlag(featureName);
@@ -40,11 +247,11 @@ public class FeatureFlagUtils {
                 return enabled;
             } else {
                 log.warn("Invalid response for feature flag '{}': response or data is null", featureName);
-                return true; // Default to enabled for file service features on error
+                return defaultEnabled;
             }
         } catch (Exception e) {
-            log.warn("Error checking feature flag '{}': {}. Defaulting to enabled.", featureName, e.getMessage());
-            return true; // Default to enabled for file service features on error
+            log.warn("Error checking feature flag '{}': {}. Defaulting to {}.", featureName, e.getMessage(), defaultEnabled);
+            return defaultEnabled;
         }
     }
 
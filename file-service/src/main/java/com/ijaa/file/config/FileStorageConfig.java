@@ -3,7 +3,9 @@ package com.ijaa.file.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.List;
 
 @Data
@@ -20,6 +22,9 @@ public class FileStorageConfig {
     private List<String> allowedVideoTypes;
     private int maxFileSizeMb;
     private int maxVideoSizeMb;
+    // "local" keeps files on this instance's disk; "s3" shares them between replicas
+    private String backend = "local";
+    private S3 s3 = new S3();
 
     // Getters for backward compatibility
     public String getBasePath() { return basePath; }
@@ -31,4 +36,18 @@ public class FileStorageConfig {
     public List<String> getAllowedVideoTypes() { return allowedVideoTypes; }
     public int getMaxFileSizeMb() { return maxFileSizeMb; }
     public int getMaxVideoSizeMb() { return maxVideoSizeMb; }
+
+    @Data
+    public static class S3 {
+        private String endpoint;
+        private String region = "us-east-1";
+        private String bucket;
+        private String accessKey;
+        private String secretKey;
+        // Bucket in the path works with MinIO out of the box; set false for virtual-hosted AWS buckets
+        private boolean pathStyle = true;
+        private DataSize multipartThreshold = DataSize.ofMegabytes(16);
+        private DataSize partSize = DataSize.ofMegabytes(8);
+        private Duration requestTimeout = Duration.ofSeconds(60);
+    }
 }
@@ -0,0 +1,43 @@
+package com.ijaa.file.config;
+
+import com.ijaa.file.storage.LocalStorageBackend;
+import com.ijaa.file.storage.S3StorageBackend;
+import com.ijaa.file.storage.StorageArea;
+import com.ijaa.file.storage.StorageBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Picks where uploaded files are kept from {@code file.storage.backend}.
+ */
+@Configuration
+@Slf4j
+public class StorageBackendConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage.backend", havingValue = "local", matchIfMissing = true)
+    public StorageBackend localStorageBackend(FileStorageConfig fileStorageConfig) {
+        log.info("Storing files on local disk under {}", fileStorageConfig.getBasePath());
+        return new LocalStorageBackend(Map.of(
+                StorageArea.PROFILE_PHOTOS.getPrefix(), Paths.get(fileStorageConfig.getProfilePhotosPath()),
+                StorageArea.COVER_PHOTOS.getPrefix(), Paths.get(fileStorageConfig.getCoverPhotosPath()),
+                StorageArea.EVENT_BANNERS.getPrefix(), Paths.get(fileStorageConfig.getEventBannersPath()),
+                StorageArea.EVENT_POST_MEDIA.getPrefix(), Paths.get(fileStorageConfig.getEventPostMediaPath())));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage.backend", havingValue = "s3")
+    public StorageBackend s3StorageBackend(FileStorageConfig fileStorageConfig) {
+        FileStorageConfig.S3 s3 = fileStorageConfig.getS3();
+        log.info("Storing files in bucket {} at {}", s3.getBucket(), s3.getEndpoint());
+        return new S3StorageBackend(URI.create(s3.getEndpoint()), s3.getRegion(), s3.getBucket(),
+                s3.getAccessKey(), s3.getSecretKey(), s3.isPathStyle(),
+                s3.getMultipartThreshold().toBytes(), s3.getPartSize().toBytes(), s3.getRequestTimeout());
+    }
+}
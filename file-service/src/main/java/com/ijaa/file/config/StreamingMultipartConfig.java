@@ -0,0 +1,29 @@
+package com.ijaa.file.config;
+
+import com.ijaa.file.common.multipart.StreamingMultipartResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.file.Paths;
+
+/**
+ * Replaces the default servlet multipart handling with {@link StreamingMultipartResolver}.
+ * Boot's own resolver backs off once a bean with this name exists, and the
+ * {@code spring.servlet.multipart} limits then only apply with streaming turned off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "file.upload.streaming.enabled", havingValue = "true")
+public class StreamingMultipartConfig {
+
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public MultipartResolver multipartResolver(FileStorageConfig fileStorageConfig,
+                                               @Value("${file.upload.staging-path}") String stagingPath,
+                                               @Value("${spring.servlet.multipart.max-request-size:100MB}") DataSize maxRequestSize) {
+        return new StreamingMultipartResolver(fileStorageConfig, Paths.get(stagingPath), maxRequestSize.toBytes());
+    }
+}
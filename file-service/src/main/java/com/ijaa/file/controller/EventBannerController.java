@@ -2,11 +2,13 @@ package com.ijaa.file.controller;
 
 import com.ijaa.file.common.annotation.RequiresFeature;
 import com.ijaa.file.common.utils.AppUtils;
+import com.ijaa.file.common.utils.MediaResponses;
 import com.ijaa.file.config.FeatureFlagUtils;
 import com.ijaa.file.domain.common.ApiResponse;
 import com.ijaa.file.domain.dto.FileUploadResponse;
 import com.ijaa.file.domain.dto.PhotoUrlResponse;
 import com.ijaa.file.service.FileService;
+import com.ijaa.file.service.ImageVariantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +17,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
@@ -33,6 +36,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class EventBannerController {
 
     private final FileService fileService;
+    private final ImageVariantService imageVariantService;
     private final FeatureFlagUtils featureFlagUtils;
 
     @PostMapping(value = "/{eventId}/banner", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -218,7 +222,7 @@ public class EventBannerController {
     @RequiresFeature("file-download")
     @Operation(
             summary = "Get Event Banner File",
-            description = "Serve the actual event banner file. This endpoint returns the image file directly. **Public endpoint - no authentication required.**"
+            description = "Serve the actual event banner file. This endpoint returns the image file directly. File names are content hashes, so responses carry `Cache-Control: public, max-age=31536000, immutable` and an ETag. Use `?size=thumb` or `?size=medium` for a downscaled copy. **Public endpoint - no authentication required.**"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -234,15 +238,16 @@ public class EventBannerController {
             @Parameter(description = "Event ID", example = "1")
             @PathVariable String eventId,
             @Parameter(description = "File name", example = "abc123.jpg")
-            @PathVariable String fileName) {
+            @PathVariable String fileName,
+            @Parameter(description = "Image size: thumb, medium or original (default)", example = "medium")
+            @RequestParam(required = false) String size,
+            HttpServletRequest request) {
 
         log.info("Received event banner file request for event: {}, file: {}", eventId, fileName);
 
         try {
             Resource resource = fileService.getEventBannerFile(eventId, fileName);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_JPEG) // Adjust based on file type
-                    .body(resource);
+            return MediaResponses.serve(imageVariantService.variantOf(resource, size), request);
         } catch (Exception e) {
             log.error("Error serving event banner file for event: {}, file: {}", eventId, fileName, e);
             return ResponseEntity.notFound().build();
@@ -2,9 +2,11 @@ package com.ijaa.file.controller;
 
 import com.ijaa.file.common.annotation.RequiresFeature;
 import com.ijaa.file.common.utils.AppUtils;
+import com.ijaa.file.common.utils.MediaResponses;
 import com.ijaa.file.domain.dto.FileUploadResponse;
 import com.ijaa.file.domain.dto.PhotoUrlResponse;
 import com.ijaa.file.service.FileService;
+import com.ijaa.file.service.ImageVariantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,12 +21,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -35,6 +37,10 @@ import java.util.List;
 public class EventPostMediaController {
 
     private final FileService fileService;
+    private final ImageVariantService imageVariantService;
+
+    // Upper bound on post IDs per batch lookup; a feed page is far below this
+    private static final int MAX_BATCH_POST_IDS = 100;
 
     @GetMapping("/test")
     @Operation(summary = "Test endpoint", description = "Test endpoint to verify controller is working")
@@ -129,6 +135,57 @@ public class EventPostMediaController {
         }
     }
 
+    @GetMapping("/media")
+    @Operation(
+        summary = "Get media for many posts", 
+        description = "Get the media files of several posts in one call, grouped by post ID. Every requested post is present in the result, with an empty list if it has no media."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Post media retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "1": [
+                        {
+                          "id": 10,
+                          "fileName": "image.jpg",
+                          "fileUrl": "/ijaa/api/v1/files/posts/1/media/image.jpg",
+                          "fileType": "image/jpeg",
+                          "mediaType": "IMAGE",
+                          "fileSize": 1024000,
+                          "fileOrder": 0
+                        }
+                      ],
+                      "2": []
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Too many post IDs requested")
+    })
+    public ResponseEntity<Map<String, List<com.ijaa.file.domain.dto.PostMediaResponse>>> getPostMediaBatch(
+            @Parameter(description = "Post IDs, at most " + MAX_BATCH_POST_IDS, required = true, example = "1,2,3")
+            @RequestParam List<String> postIds) {
+        
+        log.info("Get post media batch request received - {} posts", postIds.size());
+        
+        if (postIds.size() > MAX_BATCH_POST_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            return ResponseEntity.ok(fileService.getPostMediaByPostIds(postIds));
+        } catch (Exception e) {
+            log.error("Error getting post media batch: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/{postId}/media/{fileName}")
     @Operation(
         summary = "Get post media URL", 
@@ -165,7 +222,9 @@ public class EventPostMediaController {
     @GetMapping("/{postId}/media/file/{fileName}")
     @Operation(
         summary = "Serve post media file", 
-        description = "Serve the actual post media file (public endpoint). Returns the file with appropriate content type."
+        description = "Serve the actual post media file (public endpoint). Returns the file with appropriate content type, "
+            + "supports byte ranges (206) for video seeking and conditional requests (304), and is cacheable for a year. "
+            + "Images accept ?size=thumb or ?size=medium for a downscaled copy."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -176,6 +235,8 @@ public class EventPostMediaController {
                 schema = @Schema(type = "string", format = "binary")
             )
         ),
+        @ApiResponse(responseCode = "206", description = "Requested byte range served"),
+        @ApiResponse(responseCode = "304", description = "Cached copy is still current"),
         @ApiResponse(responseCode = "404", description = "Media file not found")
     })
     public ResponseEntity<Resource> getPostMediaFile(
@@ -183,23 +244,19 @@ public class EventPostMediaController {
             @PathVariable String postId,
             @Parameter(description = "File name", required = true, example = "image.jpg")
             @PathVariable String fileName,
+            @Parameter(description = "Image size: thumb, medium or original (default). Ignored for videos", example = "medium")
+            @RequestParam(required = false) String size,
             HttpServletRequest request) {
         
         log.info("Serving post media file for post: {}, file: {}", postId, fileName);
         
         try {
             Resource resource = fileService.getPostMediaFile(postId, fileName);
-            
-            // Determine content type
-            String contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
+            ResponseEntity<Resource> response = MediaResponses.serve(imageVariantService.variantOf(resource, size), request);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
                     .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
-                    .body(resource);
+                    .body(response.getBody());
         } catch (Exception e) {
             log.error("Error serving post media file: {}", e.getMessage(), e);
             return ResponseEntity.notFound().build();
@@ -2,11 +2,13 @@ package com.ijaa.file.controller;
 
 import com.ijaa.file.common.annotation.RequiresFeature;
 import com.ijaa.file.common.utils.AppUtils;
+import com.ijaa.file.common.utils.MediaResponses;
 import com.ijaa.file.config.FeatureFlagUtils;
 import com.ijaa.file.domain.common.ApiResponse;
 import com.ijaa.file.domain.dto.FileUploadResponse;
 import com.ijaa.file.domain.dto.PhotoUrlResponse;
 import com.ijaa.file.service.FileService;
+import com.ijaa.file.service.ImageVariantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +17,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -33,6 +36,7 @@ import org.springframework.core.io.Resource;
 public class FileController {
 
     private final FileService fileService;
+    private final ImageVariantService imageVariantService;
     private final FeatureFlagUtils featureFlagUtils;
 
     @PostMapping(value = "/{userId}/profile-photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -412,7 +416,7 @@ public class FileController {
     @RequiresFeature("file-download")
     @Operation(
             summary = "Get Profile Photo File",
-            description = "Serve the actual profile photo file. This endpoint returns the image file directly. **Public endpoint - no authentication required.**"
+            description = "Serve the actual profile photo file. This endpoint returns the image file directly. File names are content hashes, so responses carry `Cache-Control: public, max-age=31536000, immutable` and an ETag. Use `?size=thumb` or `?size=medium` for a downscaled copy. **Public endpoint - no authentication required.**"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -427,16 +431,17 @@ public class FileController {
     })
     public ResponseEntity<Resource> getProfilePhotoFile(
             @Parameter(description = "User ID", example = "e76dbb07-7790-4862-95b0-e0aa96f7b2a3") @PathVariable String userId,
-            @Parameter(description = "File name", example = "abc123.jpg") @PathVariable String fileName) {
+            @Parameter(description = "File name", example = "abc123.jpg") @PathVariable String fileName,
+            @Parameter(description = "Image size: thumb, medium or original (default)", example = "thumb")
+            @RequestParam(required = false) String size,
+            HttpServletRequest request) {
 
         log.info("Received profile photo file request for user: {}, file: {}", userId, fileName);
 
         try {
             Resource resource = fileService.getProfilePhotoFile(userId, fileName);
             if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG) // Adjust based on file type
-                        .body(resource);
+                return MediaResponses.serve(imageVariantService.variantOf(resource, size), request);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -450,7 +455,7 @@ public class FileController {
     @RequiresFeature("file-download")
     @Operation(
         summary = "Get Cover Photo File",
-        description = "Serve the actual cover photo file. This endpoint returns the image file directly. **Public endpoint - no authentication required.**"
+        description = "Serve the actual cover photo file. This endpoint returns the image file directly. File names are content hashes, so responses carry `Cache-Control: public, max-age=31536000, immutable` and an ETag. Use `?size=thumb` or `?size=medium` for a downscaled copy. **Public endpoint - no authentication required.**"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -465,16 +470,17 @@ public class FileController {
     })
     public ResponseEntity<Resource> getCoverPhotoFile(
         @Parameter(description = "User ID", example = "e76dbb07-7790-4862-95b0-e0aa96f7b2a3") @PathVariable String userId,
-        @Parameter(description = "File name", example = "abc123.jpg") @PathVariable String fileName) {
+        @Parameter(description = "File name", example = "abc123.jpg") @PathVariable String fileName,
+        @Parameter(description = "Image size: thumb, medium or original (default)", example = "thumb")
+        @RequestParam(required = false) String size,
+        HttpServletRequest request) {
 
         log.info("Received cover photo file request for user: {}, file: {}", userId, fileName);
 
         try {
             Resource resource = fileService.getCoverPhotoFile(userId, fileName);
             if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG) // Adjust based on file type
-                        .body(resource);
+                return MediaResponses.serve(imageVariantService.variantOf(resource, size), request);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -0,0 +1,28 @@
+package com.ijaa.file.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claim row for a content-addressed stored object. Uploads that store or reuse the object take
+ * its row lock until their record is saved; releasing the last record only sets
+ * {@code releasedAt}, and the object is deleted later by the collector.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stored_files")
+public class StoredFile {
+
+    @Id
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    // Null while records may point at the object
+    private LocalDateTime releasedAt;
+}
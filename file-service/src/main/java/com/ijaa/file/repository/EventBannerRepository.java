@@ -2,8 +2,10 @@ package com.ijaa.file.repository;
 
 import com.ijaa.file.domain.entity.EventBanner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +16,16 @@ public interface EventBannerRepository extends JpaRepository<EventBanner, Long>
 
     // Check if event has a banner
     boolean existsByEventId(String eventId);
+
+    // Check if any banner still uses a (content-addressed, possibly shared) file
+    boolean existsByFileName(String fileName);
+
+    // Event/file pairs of all banners, for the in-memory file name index
+    @Query("SELECT b.eventId AS eventId, b.fileName AS fileName FROM EventBanner b")
+    List<BannerRow> findAllBannerRows();
+
+    interface BannerRow {
+        String getEventId();
+        String getFileName();
+    }
 }
@@ -2,8 +2,10 @@ package com.ijaa.file.repository;
 
 import com.ijaa.file.domain.entity.EventPostMedia;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,12 +15,18 @@ public interface EventPostMediaRepository extends JpaRepository<EventPostMedia,
     // Find all media files for a post
     List<EventPostMedia> findByPostIdOrderByFileOrderAsc(String postId);
 
+    // Find all media files for several posts in one query
+    List<EventPostMedia> findByPostIdInOrderByPostIdAscFileOrderAsc(Collection<String> postIds);
+
     // Find media files by post ID and media type
     List<EventPostMedia> findByPostIdAndMediaTypeOrderByFileOrderAsc(String postId, EventPostMedia.MediaType mediaType);
 
     // Find a specific media file by post ID and file name
     Optional<EventPostMedia> findByPostIdAndFileName(String postId, String fileName);
 
+    // Check if any post still uses a (content-addressed, possibly shared) file
+    boolean existsByFileName(String fileName);
+
     // Count media files for a post
     Long countByPostId(String postId);
 
@@ -30,4 +38,13 @@ public interface EventPostMediaRepository extends JpaRepository<EventPostMedia,
 
     // Delete a specific media file
     void deleteByPostIdAndFileName(String postId, String fileName);
+
+    // Post/file pairs of all media, for the in-memory file name index
+    @Query("SELECT m.postId AS postId, m.fileName AS fileName FROM EventPostMedia m")
+    List<MediaRow> findAllMediaRows();
+
+    interface MediaRow {
+        String getPostId();
+        String getFileName();
+    }
 }
@@ -0,0 +1,51 @@
+package com.ijaa.file.repository;
+
+import com.ijaa.file.domain.entity.StoredFile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    /**
+     * Marks the object live and holds its row lock until the caller's transaction ends, so the
+     * collector on any instance waits for the record that is about to point at it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (storage_key, released_at) VALUES (:key, NULL) " +
+            "ON CONFLICT (storage_key) DO UPDATE SET released_at = NULL",
+            nativeQuery = true)
+    void claim(@Param("key") String key);
+
+    /**
+     * Records that a record stopped pointing at the object. Runs on its own after the releasing
+     * transaction has committed, so it never waits on a claim while holding one.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO stored_files (storage_key, released_at) VALUES (:key, :releasedAt) " +
+            "ON CONFLICT (storage_key) DO UPDATE SET released_at = EXCLUDED.released_at",
+            nativeQuery = true)
+    void markReleased(@Param("key") String key, @Param("releasedAt") LocalDateTime releasedAt);
+
+    // Oldest releases first, for the collector
+    @Query("SELECT f.storageKey FROM StoredFile f WHERE f.releasedAt < :cutoff ORDER BY f.releasedAt")
+    List<String> findKeysReleasedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Waits for an upload holding the claim, then only matches if that upload did not reclaim it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.storageKey = :key AND f.releasedAt < :cutoff")
+    Optional<StoredFile> lockReleasedBefore(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,8 +2,10 @@ package com.ijaa.file.repository;
 
 import com.ijaa.file.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +13,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUserId(String userId);
     Optional<User> findByUsername(String username);
     boolean existsByUserId(String userId);
+
+    // Photo files are content-addressed and may be shared by several users
+    boolean existsByProfilePhotoPath(String profilePhotoPath);
+    boolean existsByCoverPhotoPath(String coverPhotoPath);
+
+    // Photo names of every user that has one, for the in-memory file name index
+    @Query("SELECT u.userId AS userId, u.profilePhotoPath AS profilePhotoPath, u.coverPhotoPath AS coverPhotoPath " +
+           "FROM User u WHERE u.profilePhotoPath IS NOT NULL OR u.coverPhotoPath IS NOT NULL")
+    List<PhotoRow> findAllPhotoRows();
+
+    interface PhotoRow {
+        String getUserId();
+        String getProfilePhotoPath();
+        String getCoverPhotoPath();
+    }
 }
@@ -0,0 +1,195 @@
+package com.ijaa.file.service;
+
+import com.ijaa.file.repository.EventBannerRepository;
+import com.ijaa.file.repository.EventPostMediaRepository;
+import com.ijaa.file.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Current file names per user, event and post, so the public file endpoints can serve the
+ * current file without asking the database; a miss or a mismatch is checked against the
+ * database and corrected here. Uploads and deletes update it after commit;
+ * it is loaded at startup and rebuilt periodically to pick up writes made by other instances.
+ * Until the first load completes {@link #isReady()} is false and callers use the database.
+ */
+@Component
+@Slf4j
+public class FileNameIndex {
+
+    private final UserRepository userRepository;
+    private final EventBannerRepository eventBannerRepository;
+    private final EventPostMediaRepository eventPostMediaRepository;
+    private final boolean enabled;
+
+    private final Object lock = new Object();
+    private volatile Names names;
+    // Guarded by lock; non-null while a rebuild is reading the database
+    private List<Consumer<Names>> pendingDuringRebuild;
+
+    public FileNameIndex(UserRepository userRepository,
+                         EventBannerRepository eventBannerRepository,
+                         EventPostMediaRepository eventPostMediaRepository,
+                         @Value("${file.serving.memory-index.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.eventBannerRepository = eventBannerRepository;
+        this.eventPostMediaRepository = eventPostMediaRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && names != null;
+    }
+
+    public String profilePhoto(String userId) {
+        return names.profilePhotos.get(userId);
+    }
+
+    public String coverPhoto(String userId) {
+        return names.coverPhotos.get(userId);
+    }
+
+    public String eventBanner(String eventId) {
+        return names.banners.get(eventId);
+    }
+
+    public boolean hasPostMedia(String postId, String fileName) {
+        Set<String> files = names.postMedia.get(postId);
+        return files != null && files.contains(fileName);
+    }
+
+    /**
+     * @param fileName the new file name, or null when the photo was removed
+     */
+    public void profilePhotoChanged(String userId, String fileName) {
+        record(current -> put(current.profilePhotos, userId, fileName));
+    }
+
+    public void coverPhotoChanged(String userId, String fileName) {
+        record(current -> put(current.coverPhotos, userId, fileName));
+    }
+
+    public void eventBannerChanged(String eventId, String fileName) {
+        record(current -> put(current.banners, eventId, fileName));
+    }
+
+    public void postMediaAdded(String postId, String fileName) {
+        record(current -> current.postMedia.computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).add(fileName));
+    }
+
+    public void postMediaRemoved(String postId, String fileName) {
+        record(current -> current.postMedia.computeIfPresent(postId, (id, files) -> {
+            files.remove(fileName);
+            return files.isEmpty() ? null : files;
+        }));
+    }
+
+    public void postMediaCleared(String postId) {
+        record(current -> current.postMedia.remove(postId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${file.serving.memory-index.refresh-interval:PT10M}",
+            initialDelayString = "${file.serving.memory-index.refresh-interval:PT10M}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (lock) {
+                pendingDuringRebuild = new ArrayList<>();
+            }
+            Names rebuilt = load();
+            synchronized (lock) {
+                // Every change sets a final state, so replaying one the load already saw is harmless
+                pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+                pendingDuringRebuild = null;
+                names = rebuilt;
+            }
+            log.info("Loaded file name index: {} profile photos, {} cover photos, {} banners, {} posts with media",
+                    rebuilt.profilePhotos.size(), rebuilt.coverPhotos.size(), rebuilt.banners.size(), rebuilt.postMedia.size());
+        } catch (Exception e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild file name index: {}", e.getMessage(), e);
+        }
+    }
+
+    private void record(Consumer<Names> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Names> change) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            if (names != null) {
+                change.accept(names);
+            }
+        }
+    }
+
+    private Names load() {
+        Names loaded = new Names();
+        for (UserRepository.PhotoRow row : userRepository.findAllPhotoRows()) {
+            put(loaded.profilePhotos, row.getUserId(), fileNameOf(row.getProfilePhotoPath()));
+            put(loaded.coverPhotos, row.getUserId(), fileNameOf(row.getCoverPhotoPath()));
+        }
+        for (EventBannerRepository.BannerRow row : eventBannerRepository.findAllBannerRows()) {
+            put(loaded.banners, row.getEventId(), row.getFileName());
+        }
+        for (EventPostMediaRepository.MediaRow row : eventPostMediaRepository.findAllMediaRows()) {
+            loaded.postMedia.computeIfAbsent(row.getPostId(), id -> ConcurrentHashMap.newKeySet()).add(row.getFileName());
+        }
+        return loaded;
+    }
+
+    private static void put(Map<String, String> map, String key, String fileName) {
+        if (fileName == null) {
+            map.remove(key);
+        } else {
+            map.put(key, fileName);
+        }
+    }
+
+    // Older rows stored a full path rather than the bare file name
+    private static String fileNameOf(String storedPath) {
+        return storedPath == null ? null : Paths.get(storedPath).getFileName().toString();
+    }
+
+    private static final class Names {
+        private final Map<String, String> profilePhotos = new ConcurrentHashMap<>();
+        private final Map<String, String> coverPhotos = new ConcurrentHashMap<>();
+        private final Map<String, String> banners = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> postMedia = new ConcurrentHashMap<>();
+    }
+}
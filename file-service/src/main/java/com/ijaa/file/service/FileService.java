@@ -44,4 +44,6 @@ public interface FileService {
     void deleteAllPostMedia(String postId);
     
     java.util.List<com.ijaa.file.domain.dto.PostMediaResponse> getAllPostMedia(String postId);
+    
+    java.util.Map<String, java.util.List<com.ijaa.file.domain.dto.PostMediaResponse>> getPostMediaByPostIds(java.util.List<String> postIds);
 }
@@ -0,0 +1,336 @@
+package com.ijaa.file.service;
+
+import com.ijaa.file.common.utils.MediaResponses;
+import com.ijaa.file.storage.StorageBackend;
+import com.ijaa.file.storage.StoredResource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downscaled copies of uploaded images, stored in the same {@link StorageBackend} as the original
+ * under {@code <area>/variants/<size>/<fileName>}. Variants are built on a small bounded pool right after
+ * upload, and on first request for files that predate them or were skipped while the pool was
+ * busy. A request waits only briefly for such a build; the build carries on in the background
+ * and later requests get the variant. Stored names are content hashes, so a variant never goes stale.
+ */
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    public enum Size {
+        THUMB, MEDIUM, ORIGINAL;
+
+        /**
+         * Anything other than a known size name means the original.
+         */
+        public static Size from(String value) {
+            if (value == null) {
+                return ORIGINAL;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ORIGINAL;
+            }
+        }
+    }
+
+    // Formats ImageIO can both read and write without extra plugins
+    private static final Set<String> RESIZABLE = Set.of("jpg", "jpeg", "png");
+
+    // Largest original decoded for a variant (about 160 MB of ARGB); a small file can declare far more
+    static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    private final StorageBackend storageBackend;
+    private final boolean enabled;
+    private final int thumbSize;
+    private final int mediumSize;
+    private final float jpegQuality;
+    // How long a request thread waits for an on-demand build before serving the original
+    private final Duration requestWait;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantService(StorageBackend storageBackend,
+                               @Value("${file.image-variants.enabled:true}") boolean enabled,
+                               @Value("${file.image-variants.thumb-size:150}") int thumbSize,
+                               @Value("${file.image-variants.medium-size:600}") int mediumSize,
+                               @Value("${file.image-variants.jpeg-quality:0.82}") float jpegQuality,
+                               @Value("${file.image-variants.threads:2}") int threads,
+                               @Value("${file.image-variants.queue-capacity:200}") int queueCapacity,
+                               @Value("${file.image-variants.request-wait:PT0.05S}") Duration requestWait) {
+        this.storageBackend = storageBackend;
+        this.enabled = enabled;
+        this.thumbSize = thumbSize;
+        this.mediumSize = mediumSize;
+        this.jpegQuality = jpegQuality;
+        this.requestWait = requestWait;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queue every variant of a freshly stored image. When the pool is saturated the work is
+     * dropped and happens on first request instead.
+     */
+    public void generateAsync(String originalKey) {
+        if (!isResizable(originalKey)) {
+            return;
+        }
+        for (Size size : new Size[]{Size.THUMB, Size.MEDIUM}) {
+            try {
+                submit(originalKey, size);
+            } catch (RejectedExecutionException e) {
+                log.debug("Image variant queue full, {} of {} will be built on demand", size, originalKey);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The requested variant of an already validated original, building it if it does not exist
+     * yet. Videos, unsupported formats and originals over {@link #MAX_SOURCE_PIXELS} get the original.
+     * When the variant is not ready within {@code file.image-variants.request-wait} (still building,
+     * pool saturated, conversion failed) the original is returned as a
+     * {@link MediaResponses#provisional provisional} stand-in, so it is not cached as the variant.
+     */
+    public Resource variantOf(Resource original, String size) {
+        Size requested = Size.from(size);
+        if (requested == Size.ORIGINAL || !(original instanceof StoredResource stored) || !isResizable(stored.getKey())) {
+            return original;
+        }
+        try {
+            String variantKey = variantKey(stored.getKey(), requested);
+            Optional<StoredResource> existing = storageBackend.get(variantKey);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            // Request threads never decode images themselves, and only wait long enough to catch a quick build
+            submit(stored.getKey(), requested).get(requestWait.toMillis(), TimeUnit.MILLISECONDS);
+            return storageBackend.get(variantKey).<Resource>map(variant -> variant)
+                    .orElseGet(() -> MediaResponses.provisional(original));
+        } catch (RejectedExecutionException e) {
+            log.debug("Image variant queue full, serving {} in place of its {} variant", stored.getKey(), requested);
+            return MediaResponses.provisional(original);
+        } catch (TimeoutException e) {
+            log.debug("{} variant of {} still building, serving the original for now", requested, stored.getKey());
+            return MediaResponses.provisional(original);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return MediaResponses.provisional(original);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TooManyPixelsException) {
+                // Never going to exist, so the original is the final answer for this size
+                log.debug("Serving {} in place of its {} variant: {}", stored.getKey(), requested, e.getCause().getMessage());
+                return original;
+            }
+            log.warn("Could not build {} variant of {}: {}", requested, stored.getKey(), e.getMessage());
+            return MediaResponses.provisional(original);
+        } catch (IOException e) {
+            log.warn("Could not build {} variant of {}: {}", requested, stored.getKey(), e.getMessage());
+            return MediaResponses.provisional(original);
+        }
+    }
+
+    /**
+     * Remove all variants of an original that is being deleted.
+     */
+    public void deleteVariants(String originalKey) {
+        for (Size size : new Size[]{Size.THUMB, Size.MEDIUM}) {
+            try {
+                storageBackend.delete(variantKey(originalKey, size));
+            } catch (IOException e) {
+                log.warn("Could not delete {} variant of {}", size, originalKey, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<String> submit(String originalKey, Size size) {
+        String variant = variantKey(originalKey, size);
+        // One build per variant, however many requests ask for it at once
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(variant, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(generate(originalKey, size));
+                } catch (Exception e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(variant, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(variant, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private String generate(String originalKey, Size size) throws IOException {
+        String variantKey = variantKey(originalKey, size);
+        if (storageBackend.stat(variantKey).isPresent()) {
+            return variantKey;
+        }
+        StoredResource original = storageBackend.get(originalKey)
+                .orElseThrow(() -> new NoSuchFileException(originalKey));
+        String format = formatOf(originalKey);
+        BufferedImage source = decode(original, originalKey);
+        int target = size == Size.THUMB ? thumbSize : mediumSize;
+        if (Math.max(source.getWidth(), source.getHeight()) <= target) {
+            // Already small enough; re-encoding would only cost quality, so copy the stored bytes across
+            try (InputStream in = original.getInputStream()) {
+                storageBackend.put(variantKey, in, original.contentLength(), "image/" + format);
+            }
+            log.debug("Copied {} as its own {} variant", originalKey, size);
+            return variantKey;
+        }
+        Path temp = Files.createTempFile("variant-", "." + extensionOf(originalKey));
+        try {
+            write(scale(source, target, format), format, temp);
+            storageBackend.put(variantKey, temp, "image/" + format);
+            log.debug("Built {} variant of {}", size, originalKey);
+            return variantKey;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Decodes straight off the stored object, so the raw bytes are never held alongside the pixels.
+     * The dimensions are read from the header first; anything over {@link #MAX_SOURCE_PIXELS} is
+     * refused before a pixel buffer is allocated.
+     */
+    private BufferedImage decode(StoredResource original, String originalKey) throws IOException {
+        try (InputStream in = original.getInputStream();
+             ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unreadable image: " + originalKey);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_SOURCE_PIXELS) {
+                    throw new TooManyPixelsException(originalKey + " is " + reader.getWidth(0) + "x" + reader.getHeight(0));
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int target, String format) {
+        double ratio = (double) target / Math.max(source.getWidth(), source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private boolean isResizable(String key) {
+        return enabled && RESIZABLE.contains(extensionOf(key));
+    }
+
+    private static String variantKey(String originalKey, Size size) {
+        int slash = originalKey.lastIndexOf('/');
+        return originalKey.substring(0, slash + 1) + "variants/"
+                + size.name().toLowerCase(Locale.ROOT) + "/" + originalKey.substring(slash + 1);
+    }
+
+    private static String formatOf(String key) {
+        return "png".equals(extensionOf(key)) ? "png" : "jpeg";
+    }
+
+    private static String extensionOf(String key) {
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static final class TooManyPixelsException extends IOException {
+        private TooManyPixelsException(String message) {
+            super(message);
+        }
+    }
+}
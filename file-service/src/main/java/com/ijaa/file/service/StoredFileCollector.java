@@ -0,0 +1,132 @@
+package com.ijaa.file.service;
+
+import com.ijaa.file.domain.entity.StoredFile;
+import com.ijaa.file.repository.EventBannerRepository;
+import com.ijaa.file.repository.EventPostMediaRepository;
+import com.ijaa.file.repository.StoredFileRepository;
+import com.ijaa.file.repository.UserRepository;
+import com.ijaa.file.storage.StorageArea;
+import com.ijaa.file.storage.StorageBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Deletes stored objects that have been released for longer than {@code file.gc.grace-period}.
+ * Objects are shared by content and replicas share one bucket, so each deletion locks the claim
+ * row an upload takes, then checks the database once more for a record pointing at the object.
+ */
+@Component
+@Slf4j
+public class StoredFileCollector {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final StoredFileRepository storedFileRepository;
+    private final UserRepository userRepository;
+    private final EventBannerRepository eventBannerRepository;
+    private final EventPostMediaRepository eventPostMediaRepository;
+    private final StorageBackend storageBackend;
+    private final ImageVariantService imageVariantService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+
+    public StoredFileCollector(StoredFileRepository storedFileRepository,
+                               UserRepository userRepository,
+                               EventBannerRepository eventBannerRepository,
+                               EventPostMediaRepository eventPostMediaRepository,
+                               StorageBackend storageBackend,
+                               ImageVariantService imageVariantService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${file.gc.enabled:true}") boolean enabled,
+                               @Value("${file.gc.grace-period:PT1H}") Duration gracePeriod) {
+        this.storedFileRepository = storedFileRepository;
+        this.userRepository = userRepository;
+        this.eventBannerRepository = eventBannerRepository;
+        this.eventPostMediaRepository = eventPostMediaRepository;
+        this.storageBackend = storageBackend;
+        this.imageVariantService = imageVariantService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${file.gc.interval:PT10M}", initialDelayString = "${file.gc.interval:PT10M}")
+    public void scheduledCollect() {
+        if (enabled) {
+            int collected = collectReleasedBefore(LocalDateTime.now().minus(gracePeriod));
+            if (collected > 0) {
+                log.info("Deleted {} released files", collected);
+            }
+        }
+    }
+
+    /**
+     * @return the number of claim rows settled, whether the object was deleted or found still in use
+     */
+    public int collectReleasedBefore(LocalDateTime cutoff) {
+        int settled = 0;
+        List<String> keys;
+        int settledInBatch;
+        do {
+            keys = storedFileRepository.findKeysReleasedBefore(cutoff, PageRequest.of(0, BATCH_SIZE));
+            settledInBatch = 0;
+            for (String key : keys) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> collect(key, cutoff)))) {
+                    settledInBatch++;
+                }
+            }
+            settled += settledInBatch;
+            // Rows whose delete failed stay behind; stop once a whole batch made no progress
+        } while (keys.size() == BATCH_SIZE && settledInBatch > 0);
+        return settled;
+    }
+
+    private boolean collect(String key, LocalDateTime cutoff) {
+        Optional<StoredFile> released = storedFileRepository.lockReleasedBefore(key, cutoff);
+        if (released.isEmpty()) {
+            // Reclaimed by an upload, or settled by another instance
+            return false;
+        }
+        if (isReferenced(key)) {
+            log.debug("Released file {} is still referenced, keeping it", key);
+        } else {
+            try {
+                storageBackend.delete(key);
+            } catch (IOException e) {
+                log.warn("Could not delete released file {}, will retry", key, e);
+                return false;
+            }
+            imageVariantService.deleteVariants(key);
+        }
+        storedFileRepository.delete(released.get());
+        return true;
+    }
+
+    private boolean isReferenced(String key) {
+        for (StorageArea area : StorageArea.values()) {
+            String prefix = area.getPrefix() + "/";
+            if (key.startsWith(prefix)) {
+                String fileName = key.substring(prefix.length());
+                return switch (area) {
+                    case PROFILE_PHOTOS -> userRepository.existsByProfilePhotoPath(fileName);
+                    case COVER_PHOTOS -> userRepository.existsByCoverPhotoPath(fileName);
+                    case EVENT_BANNERS -> eventBannerRepository.existsByFileName(fileName);
+                    case EVENT_POST_MEDIA -> eventPostMediaRepository.existsByFileName(fileName);
+                };
+            }
+        }
+        // Not a key this service writes; leave the object alone
+        return true;
+    }
+}
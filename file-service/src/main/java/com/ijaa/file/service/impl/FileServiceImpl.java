@@ -1,5 +1,6 @@
 package com.ijaa.file.service.impl;
 
+import com.ijaa.file.common.multipart.StagedMultipartFile;
 import com.ijaa.file.config.FileStorageConfig;
 import com.ijaa.file.domain.dto.FileUploadResponse;
 import com.ijaa.file.domain.dto.PhotoUrlResponse;
@@ -12,33 +13,60 @@ import com.ijaa.file.exceptions.UserNotFoundException;
 import com.ijaa.file.repository.UserRepository;
 import com.ijaa.file.repository.EventBannerRepository;
 import com.ijaa.file.repository.EventPostMediaRepository;
+import com.ijaa.file.repository.StoredFileRepository;
+import com.ijaa.file.service.FileNameIndex;
 import com.ijaa.file.service.FileService;
+import com.ijaa.file.service.ImageVariantService;
+import com.ijaa.file.storage.StorageArea;
+import com.ijaa.file.storage.StorageBackend;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FileServiceImpl implements FileService {
 
+    // 128 bits of SHA-256, rendered as 32 hex characters in stored file names
+    private static final int CONTENT_HASH_BYTES = 16;
+
     private final FileStorageConfig fileStorageConfig;
     private final UserRepository userRepository;
     private final EventBannerRepository eventBannerRepository;
     private final EventPostMediaRepository eventPostMediaRepository;
+    private final FileNameIndex fileNameIndex;
+    private final ImageVariantService imageVariantService;
+    private final StorageBackend storageBackend;
+    private final StoredFileRepository storedFileRepository;
+
+    // Uploads that did not come through the streaming resolver are copied here while they are hashed,
+    // on the storage volume rather than in a temp directory that may be a small tmpfs; the JVM temp
+    // directory is only the fallback when file.upload.staging-path is not configured
+    @Value("${file.upload.staging-path:${java.io.tmpdir}}")
+    private String stagingPath;
 
     @Override
+    @Transactional
     public FileUploadResponse uploadProfilePhoto(String userId, MultipartFile file) {
         log.info("Uploading profile photo for user: {}", userId);
 
@@ -46,27 +74,19 @@ public class FileServiceImpl implements FileService {
         User user = getUserOrCreate(userId);
 
         try {
-            // Create directory if it doesn't exist
-            Path uploadDir = Paths.get(fileStorageConfig.getProfilePhotosPath());
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
-
-            // Delete old profile photo if exists
-            if (user.getProfilePhotoPath() != null) {
-                deleteFile(Paths.get(fileStorageConfig.getProfilePhotosPath()).resolve(user.getProfilePhotoPath()));
-            }
+            String previousFileName = extractFileName(user.getProfilePhotoPath());
 
-            // Generate unique filename
-            String fileName = generateUniqueFileName(file.getOriginalFilename());
-            Path filePath = uploadDir.resolve(fileName);
-
-            // Save the file
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Save the file under its content hash
+            String fileName = storeContentAddressed(file, StorageArea.PROFILE_PHOTOS);
+            imageVariantService.generateAsync(StorageArea.PROFILE_PHOTOS.key(fileName));
 
             // Store the filename (not the full path) in the database
             user.setProfilePhotoPath(fileName);
             userRepository.save(user);
+            fileNameIndex.profilePhotoChanged(userId, fileName);
+
+            // Release the old photo unless it is the same content; it is deleted later if nobody else points at it
+            releaseFile(StorageArea.PROFILE_PHOTOS, previousFileName, fileName);
 
             String fileUrl = "/ijaa/api/v1/files/users/" + userId + "/profile-photo/file/" + fileName;
 
@@ -86,6 +106,7 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
+    @Transactional
     public FileUploadResponse uploadCoverPhoto(String userId, MultipartFile file) {
         log.info("Uploading cover photo for user: {}", userId);
 
@@ -93,27 +114,19 @@ public class FileServiceImpl implements FileService {
         User user = getUserOrCreate(userId);
 
         try {
-            // Create directory if it doesn't exist
-            Path uploadDir = Paths.get(fileStorageConfig.getCoverPhotosPath());
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
+            String previousFileName = extractFileName(user.getCoverPhotoPath());
 
-            // Delete old cover photo if exists
-            if (user.getCoverPhotoPath() != null) {
-                deleteFile(Paths.get(fileStorageConfig.getCoverPhotosPath()).resolve(user.getCoverPhotoPath()));
-            }
-
-            // Generate unique filename
-            String fileName = generateUniqueFileName(file.getOriginalFilename());
-            Path filePath = uploadDir.resolve(fileName);
-
-            // Save the file
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Save the file under its content hash
+            String fileName = storeContentAddressed(file, StorageArea.COVER_PHOTOS);
+            imageVariantService.generateAsync(StorageArea.COVER_PHOTOS.key(fileName));
 
             // Store the filename (not the full path) in the database
             user.setCoverPhotoPath(fileName);
             userRepository.save(user);
+            fileNameIndex.coverPhotoChanged(userId, fileName);
+
+            // Release the old photo unless it is the same content; it is deleted later if nobody else points at it
+            releaseFile(StorageArea.COVER_PHOTOS, previousFileName, fileName);
 
             String fileUrl = "/ijaa/api/v1/files/users/" + userId + "/cover-photo/file/" + fileName;
 
@@ -173,6 +186,7 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
+    @Transactional
     public void deleteProfilePhoto(String userId) {
         log.info("Deleting profile photo for user: {}", userId);
 
@@ -181,10 +195,11 @@ public class FileServiceImpl implements FileService {
 
         if (user.getProfilePhotoPath() != null) {
             try {
-                Path filePath = Paths.get(fileStorageConfig.getProfilePhotosPath()).resolve(user.getProfilePhotoPath());
-                deleteFile(filePath);
+                String fileName = extractFileName(user.getProfilePhotoPath());
                 user.setProfilePhotoPath(null);
                 userRepository.save(user);
+                fileNameIndex.profilePhotoChanged(userId, null);
+                releaseFile(StorageArea.PROFILE_PHOTOS, fileName, null);
                 log.info("Profile photo deleted successfully for user: {}", userId);
             } catch (Exception e) {
                 log.error("Error deleting profile photo for user: {}", userId, e);
@@ -194,6 +209,7 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
+    @Transactional
     public void deleteCoverPhoto(String userId) {
         log.info("Deleting cover photo for user: {}", userId);
 
@@ -202,10 +218,11 @@ public class FileServiceImpl implements FileService {
 
         if (user.getCoverPhotoPath() != null) {
             try {
-                Path filePath = Paths.get(fileStorageConfig.getCoverPhotosPath()).resolve(user.getCoverPhotoPath());
-                deleteFile(filePath);
+                String fileName = extractFileName(user.getCoverPhotoPath());
                 user.setCoverPhotoPath(null);
                 userRepository.save(user);
+                fileNameIndex.coverPhotoChanged(userId, null);
+                releaseFile(StorageArea.COVER_PHOTOS, fileName, null);
                 log.info("Cover photo deleted successfully for user: {}", userId);
             } catch (Exception e) {
                 log.error("Error deleting cover photo for user: {}", userId, e);
@@ -218,15 +235,11 @@ public class FileServiceImpl implements FileService {
     public Resource getProfilePhotoFile(String userId, String fileName) {
         log.info("Getting profile photo file for user: {}, file: {}", userId, fileName);
 
-        User user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with userId: " + userId));
+        String storedFileName = storedProfilePhoto(userId, fileName);
 
-        if (user.getProfilePhotoPath() == null) {
+        if (storedFileName == null) {
             throw new FileStorageException("No profile photo found for user: " + userId);
         }
-
-        // Clean up the stored path to ensure it's just a filename
-        String storedFileName = extractFileName(user.getProfilePhotoPath());
         
         // Validate that the requested filename matches the user's stored filename
         if (!fileName.equals(storedFileName)) {
@@ -234,14 +247,8 @@ public class FileServiceImpl implements FileService {
         }
 
         try {
-            Path filePath = Paths.get(fileStorageConfig.getProfilePhotosPath()).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new FileStorageException("Profile photo file not found: " + fileName);
-            }
+            return storageBackend.get(StorageArea.PROFILE_PHOTOS.key(fileName))
+                    .orElseThrow(() -> new FileStorageException("Profile photo file not found: " + fileName));
         } catch (Exception e) {
             log.error("Error getting profile photo file for user: {}, file: {}", userId, fileName, e);
             throw new FileStorageException("Failed to get profile photo file", e);
@@ -252,15 +259,11 @@ public class FileServiceImpl implements FileService {
     public Resource getCoverPhotoFile(String userId, String fileName) {
         log.info("Getting cover photo file for user: {}, file: {}", userId, fileName);
 
-        User user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with userId: " + userId));
+        String storedFileName = storedCoverPhoto(userId, fileName);
 
-        if (user.getCoverPhotoPath() == null) {
+        if (storedFileName == null) {
             throw new FileStorageException("No cover photo found for user: " + userId);
         }
-
-        // Clean up the stored path to ensure it's just a filename
-        String storedFileName = extractFileName(user.getCoverPhotoPath());
         
         // Validate that the requested filename matches the user's stored filename
         if (!fileName.equals(storedFileName)) {
@@ -268,20 +271,64 @@ public class FileServiceImpl implements FileService {
         }
 
         try {
-            Path filePath = Paths.get(fileStorageConfig.getCoverPhotosPath()).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new FileStorageException("Cover photo file not found: " + fileName);
-            }
+            return storageBackend.get(StorageArea.COVER_PHOTOS.key(fileName))
+                    .orElseThrow(() -> new FileStorageException("Cover photo file not found: " + fileName));
         } catch (Exception e) {
             log.error("Error getting cover photo file for user: {}, file: {}", userId, fileName, e);
             throw new FileStorageException("Failed to get cover photo file", e);
         }
     }
 
+    /**
+     * Resolves the stored name to check a request against. The index answers requests for the current
+     * file; a miss or a different name can also mean it has not yet seen a write made on another
+     * instance, so the database decides those and the index is corrected from it. The same applies to
+     * the cover photo, banner and post media lookups below.
+     */
+    private String storedProfilePhoto(String userId, String requestedFileName) {
+        if (fileNameIndex.isReady() && requestedFileName.equals(fileNameIndex.profilePhoto(userId))) {
+            return requestedFileName;
+        }
+        String storedFileName = extractFileName(findUser(userId).getProfilePhotoPath());
+        if (fileNameIndex.isReady()) {
+            fileNameIndex.profilePhotoChanged(userId, storedFileName);
+        }
+        return storedFileName;
+    }
+
+    private String storedCoverPhoto(String userId, String requestedFileName) {
+        if (fileNameIndex.isReady() && requestedFileName.equals(fileNameIndex.coverPhoto(userId))) {
+            return requestedFileName;
+        }
+        String storedFileName = extractFileName(findUser(userId).getCoverPhotoPath());
+        if (fileNameIndex.isReady()) {
+            fileNameIndex.coverPhotoChanged(userId, storedFileName);
+        }
+        return storedFileName;
+    }
+
+    private String storedEventBanner(String eventId, String requestedFileName) {
+        if (fileNameIndex.isReady() && requestedFileName.equals(fileNameIndex.eventBanner(eventId))) {
+            return requestedFileName;
+        }
+        String storedFileName = eventBannerRepository.findByEventId(eventId).map(EventBanner::getFileName).orElse(null);
+        if (fileNameIndex.isReady()) {
+            fileNameIndex.eventBannerChanged(eventId, storedFileName);
+        }
+        return storedFileName;
+    }
+
+    private boolean isPostMediaAttached(String postId, String fileName) {
+        if (fileNameIndex.isReady() && fileNameIndex.hasPostMedia(postId, fileName)) {
+            return true;
+        }
+        boolean attached = eventPostMediaRepository.findByPostIdAndFileName(postId, fileName).isPresent();
+        if (attached && fileNameIndex.isReady()) {
+            fileNameIndex.postMediaAdded(postId, fileName);
+        }
+        return attached;
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFileTypeException("File is empty");
@@ -338,10 +385,96 @@ public class FileServiceImpl implements FileService {
         }
     }
 
-    private String generateUniqueFileName(String originalFilename) {
-        String extension = getFileExtension(originalFilename);
-        String uniqueId = UUID.randomUUID().toString();
-        return uniqueId + "." + extension;
+    /**
+     * Stores the upload in the area under a name derived from its SHA-256, so identical uploads
+     * share one stored object and a stored name always denotes the same bytes. The object stays
+     * claimed until the caller's transaction ends, see {@link #storeAndClaim}.
+     */
+    private String storeContentAddressed(MultipartFile file, StorageArea area) throws IOException {
+        if (file instanceof StagedMultipartFile staged) {
+            // Already on local disk and hashed while the request streamed in
+            String fileName = staged.getSha256().substring(0, CONTENT_HASH_BYTES * 2) + extensionOf(file);
+            storeAndClaim(area.key(fileName), staged.getStagedFile(), file.getContentType());
+            return fileName;
+        }
+        Path stagingDir = Files.createDirectories(Paths.get(stagingPath));
+        // Named like the streaming resolver's parts, so its sweep clears any left behind by a crash
+        Path temp = Files.createTempFile(stagingDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String fileName = HexFormat.of().formatHex(digest.digest(), 0, CONTENT_HASH_BYTES) + extensionOf(file);
+            storeAndClaim(area.key(fileName), temp, file.getContentType());
+            return fileName;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Claims the key before looking at storage. The claim row stays locked until the upload's record
+     * is committed, so the collector on any instance either deletes the object before this check
+     * (and it is written again) or finds it reclaimed afterwards.
+     */
+    private void storeAndClaim(String key, Path file, String contentType) throws IOException {
+        storedFileRepository.claim(key);
+        if (storageBackend.stat(key).isPresent()) {
+            log.debug("Content already stored as {}, reusing it", key);
+        } else {
+            // Concurrent identical uploads wait on the same claim, and would write the same bytes anyway
+            storageBackend.put(key, file, contentType);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String extensionOf(MultipartFile file) {
+        String extension = file.getOriginalFilename() != null
+                ? getFileExtension(file.getOriginalFilename()).toLowerCase()
+                : "";
+        if (extension.isEmpty()) {
+            extension = getFileExtensionFromContentType(file.getContentType());
+        }
+        return extension == null || extension.isEmpty() ? "" : "." + extension;
+    }
+
+    /**
+     * Marks a file the caller no longer points at as released. Nothing is deleted here: files are
+     * shared between records with identical content and between instances, so the
+     * {@link com.ijaa.file.service.StoredFileCollector collector} deletes it after a grace period if
+     * no record points at it by then. The mark is written once the caller's transaction has committed,
+     * so it never waits on another upload's claim while this one holds its own.
+     */
+    private void releaseFile(StorageArea area, String fileName, String keepFileName) {
+        if (fileName == null || fileName.equals(keepFileName)) {
+            return;
+        }
+        String key = area.key(fileName);
+        Runnable release = () -> {
+            try {
+                storedFileRepository.markReleased(key, LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.warn("Could not mark file {} as released; it will not be collected", key, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
     }
 
     /**
@@ -359,6 +492,11 @@ public class FileServiceImpl implements FileService {
         return Paths.get(path).getFileName().toString();
     }
 
+    private User findUser(String userId) {
+        return userRepository.findByUserId(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with userId: " + userId));
+    }
+
     private User getUserOrCreate(String userId) {
         return userRepository.findByUserId(userId)
                 .orElseGet(() -> {
@@ -371,59 +509,25 @@ public class FileServiceImpl implements FileService {
                 });
     }
 
-    private void deleteFile(Path filePath) {
-        try {
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-                log.debug("File deleted: {}", filePath);
-            }
-        } catch (IOException e) {
-            log.warn("Could not delete file: {}", filePath, e);
-        }
-    }
-
     // Event Banner methods
     @Override
+    @Transactional
     public FileUploadResponse uploadEventBanner(String eventId, MultipartFile file) {
         log.info("Uploading event banner for event: {}", eventId);
 
         try {
             validateFile(file);
             log.debug("File validation passed for event: {}", eventId);
-            // Create directory if it doesn't exist
-            Path uploadDir = Paths.get(fileStorageConfig.getEventBannersPath());
-            log.debug("Event banner upload directory: {}", uploadDir);
-            
-            // Check if directory exists and is writable
-            if (!Files.exists(uploadDir)) {
-                log.debug("Creating event banner upload directory: {}", uploadDir);
-                Files.createDirectories(uploadDir);
-                log.debug("Created event banner upload directory: {}", uploadDir);
-            }
-            
-            // Verify directory is writable
-            if (!Files.isWritable(uploadDir)) {
-                throw new FileStorageException("Upload directory is not writable: " + uploadDir);
-            }
-            
-            log.debug("Event banner upload directory is ready: {}", uploadDir);
 
             // Delete old banner if exists
             log.debug("Checking for existing banner for event: {}", eventId);
             EventBanner existingBanner = eventBannerRepository.findByEventId(eventId).orElse(null);
-            if (existingBanner != null) {
-                log.debug("Found existing banner, deleting old file: {}", existingBanner.getFileName());
-                deleteFile(Paths.get(fileStorageConfig.getEventBannersPath()).resolve(existingBanner.getFileName()));
-            } else {
-                log.debug("No existing banner found for event: {}", eventId);
-            }
-
-            // Generate unique filename
-            String fileName = generateUniqueFileName(file.getOriginalFilename());
-            Path filePath = uploadDir.resolve(fileName);
+            String previousFileName = existingBanner != null ? existingBanner.getFileName() : null;
+            log.debug("Previous banner file for event {}: {}", eventId, previousFileName);
 
-            // Save the file
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Save the file under its content hash
+            String fileName = storeContentAddressed(file, StorageArea.EVENT_BANNERS);
+            imageVariantService.generateAsync(StorageArea.EVENT_BANNERS.key(fileName));
 
             // Store the banner info in the database
             log.debug("Saving banner info to database for event: {}", eventId);
@@ -432,16 +536,19 @@ public class FileServiceImpl implements FileService {
             banner.setFileName(fileName);
             banner.setFileSize(file.getSize());
             banner.setFileType(file.getContentType());
-            
+
             // Temporarily removing timestamp setting to test basic functionality
             // LocalDateTime now = LocalDateTime.now();
             // if (existingBanner == null) {
             //     banner.setCreatedAt(now);
             // }
             // banner.setUpdatedAt(now);
-            
+
             EventBanner savedBanner = eventBannerRepository.save(banner);
             log.debug("Banner saved to database with ID: {}", savedBanner.getId());
+            fileNameIndex.eventBannerChanged(eventId, fileName);
+
+            releaseFile(StorageArea.EVENT_BANNERS, previousFileName, fileName);
 
             String fileUrl = "/ijaa/api/v1/files/events/" + eventId + "/banner/file/" + fileName;
 
@@ -492,27 +599,20 @@ public class FileServiceImpl implements FileService {
     public Resource getEventBannerFile(String eventId, String fileName) {
         log.info("Getting event banner file for event: {}, file: {}", eventId, fileName);
 
-        EventBanner banner = eventBannerRepository.findByEventId(eventId)
-                .orElse(null);
+        String storedFileName = storedEventBanner(eventId, fileName);
 
-        if (banner == null) {
+        if (storedFileName == null) {
             throw new FileStorageException("No event banner found for event: " + eventId);
         }
 
         // Validate that the requested filename matches the stored filename
-        if (!fileName.equals(banner.getFileName())) {
+        if (!fileName.equals(storedFileName)) {
             throw new FileStorageException("File access denied: filename mismatch");
         }
 
         try {
-            Path filePath = Paths.get(fileStorageConfig.getEventBannersPath()).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new FileStorageException("Event banner file not found: " + fileName);
-            }
+            return storageBackend.get(StorageArea.EVENT_BANNERS.key(fileName))
+                    .orElseThrow(() -> new FileStorageException("Event banner file not found: " + fileName));
         } catch (Exception e) {
             log.error("Error getting event banner file for event: {}, file: {}", eventId, fileName, e);
             throw new FileStorageException("Failed to get event banner file", e);
@@ -520,6 +620,7 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
+    @Transactional
     public void deleteEventBanner(String eventId) {
         log.info("Deleting event banner for event: {}", eventId);
 
@@ -528,9 +629,9 @@ public class FileServiceImpl implements FileService {
 
         if (banner != null) {
             try {
-                Path filePath = Paths.get(fileStorageConfig.getEventBannersPath()).resolve(banner.getFileName());
-                deleteFile(filePath);
                 eventBannerRepository.delete(banner);
+                fileNameIndex.eventBannerChanged(eventId, null);
+                releaseFile(StorageArea.EVENT_BANNERS, banner.getFileName(), null);
                 log.info("Event banner deleted successfully for event: {}", eventId);
             } catch (Exception e) {
                 log.error("Error deleting event banner for event: {}", eventId, e);
@@ -541,6 +642,7 @@ public class FileServiceImpl implements FileService {
 
     // Event Post Media methods
     @Override
+    @Transactional
     public FileUploadResponse uploadPostMedia(String postId, MultipartFile file, String mediaType) {
         log.info("Uploading post media for post: {}, type: {}", postId, mediaType);
 
@@ -548,29 +650,22 @@ public class FileServiceImpl implements FileService {
             validatePostMediaFile(file, mediaType);
             log.debug("File validation passed for post: {}", postId);
 
-            // Create directory if it doesn't exist
-            Path uploadDir = Paths.get(fileStorageConfig.getEventPostMediaPath());
-            log.debug("Post media upload directory: {}", uploadDir);
-            
-            if (!Files.exists(uploadDir)) {
-                log.debug("Creating post media upload directory: {}", uploadDir);
-                Files.createDirectories(uploadDir);
-                log.debug("Created post media upload directory: {}", uploadDir);
-            }
-            
-            if (!Files.isWritable(uploadDir)) {
-                throw new FileStorageException("Upload directory is not writable: " + uploadDir);
+            // Save the file under its content hash
+            String fileName = storeContentAddressed(file, StorageArea.EVENT_POST_MEDIA);
+            imageVariantService.generateAsync(StorageArea.EVENT_POST_MEDIA.key(fileName));
+            log.debug("File saved successfully: {}", fileName);
+
+            // The same content attached to the same post twice is one attachment
+            EventPostMedia duplicate = eventPostMediaRepository.findByPostIdAndFileName(postId, fileName).orElse(null);
+            if (duplicate != null) {
+                log.info("Post {} already has media {}, skipping duplicate", postId, fileName);
+                return new FileUploadResponse(
+                        "Post media uploaded successfully",
+                        "/ijaa/api/v1/files/posts/" + postId + "/media/" + fileName,
+                        fileName,
+                        duplicate.getFileSize()
+                );
             }
-            
-            log.debug("Post media upload directory is ready: {}", uploadDir);
-
-            // Generate unique filename
-            String fileName = generateUniqueFileName(file.getOriginalFilename());
-            Path filePath = uploadDir.resolve(fileName);
-
-            // Save the file
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            log.debug("File saved successfully: {}", filePath);
 
             // Store the media info in the database
             log.debug("Saving media info to database for post: {}", postId);
@@ -580,13 +675,14 @@ public class FileServiceImpl implements FileService {
             media.setFileSize(file.getSize());
             media.setFileType(file.getContentType());
             media.setMediaType(EventPostMedia.MediaType.valueOf(mediaType.toUpperCase()));
-            
+
             // Set file order (count existing files for this post)
             Long existingCount = eventPostMediaRepository.countByPostId(postId);
             media.setFileOrder(existingCount.intValue());
-            
+
             EventPostMedia savedMedia = eventPostMediaRepository.save(media);
             log.debug("Media saved to database with ID: {}", savedMedia.getId());
+            fileNameIndex.postMediaAdded(postId, fileName);
 
             String fileUrl = "/ijaa/api/v1/files/posts/" + postId + "/media/" + fileName;
 
@@ -628,27 +724,15 @@ public class FileServiceImpl implements FileService {
     public Resource getPostMediaFile(String postId, String fileName) {
         log.info("Getting post media file for post: {}, file: {}", postId, fileName);
 
-        EventPostMedia media = eventPostMediaRepository.findByPostIdAndFileName(postId, fileName)
-                .orElse(null);
+        boolean attached = isPostMediaAttached(postId, fileName);
 
-        if (media == null) {
+        if (!attached) {
             throw new FileStorageException("No post media found for post: " + postId + ", file: " + fileName);
         }
 
-        // Validate that the requested filename matches the stored filename
-        if (!fileName.equals(media.getFileName())) {
-            throw new FileStorageException("File access denied: filename mismatch");
-        }
-
         try {
-            Path filePath = Paths.get(fileStorageConfig.getEventPostMediaPath()).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new FileStorageException("Post media file not found: " + fileName);
-            }
+            return storageBackend.get(StorageArea.EVENT_POST_MEDIA.key(fileName))
+                    .orElseThrow(() -> new FileStorageException("Post media file not found: " + fileName));
         } catch (Exception e) {
             log.error("Error getting post media file for post: {}, file: {}", postId, fileName, e);
             throw new FileStorageException("Failed to get post media file", e);
@@ -656,6 +740,7 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
+    @Transactional
     public void deletePostMedia(String postId, String fileName) {
         log.info("Deleting post media for post: {}, file: {}", postId, fileName);
 
@@ -664,9 +749,9 @@ public class FileServiceImpl implements FileService {
 
         if (media != null) {
             try {
-                Path filePath = Paths.get(fileStorageConfig.getEventPostMediaPath()).resolve(fileName);
-                deleteFile(filePath);
                 eventPostMediaRepository.delete(media);
+                fileNameIndex.postMediaRemoved(postId, fileName);
+                releaseFile(StorageArea.EVENT_POST_MEDIA, fileName, null);
                 log.info("Post media deleted successfully for post: {}, file: {}", postId, fileName);
             } catch (Exception e) {
                 log.error("Error deleting post media for post: {}, file: {}", postId, fileName, e);
@@ -676,18 +761,19 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
+    @Transactional
     public void deleteAllPostMedia(String postId) {
         log.info("Deleting all post media for post: {}", postId);
 
         try {
             List<EventPostMedia> mediaList = eventPostMediaRepository.findByPostIdOrderByFileOrderAsc(postId);
-            
+
+            eventPostMediaRepository.deleteByPostId(postId);
+            fileNameIndex.postMediaCleared(postId);
+
             for (EventPostMedia media : mediaList) {
-                Path filePath = Paths.get(fileStorageConfig.getEventPostMediaPath()).resolve(media.getFileName());
-                deleteFile(filePath);
+                releaseFile(StorageArea.EVENT_POST_MEDIA, media.getFileName(), null);
             }
-            
-            eventPostMediaRepository.deleteByPostId(postId);
             log.info("All post media deleted successfully for post: {}", postId);
         } catch (Exception e) {
             log.error("Error deleting all post media for post: {}", postId, e);
@@ -754,16 +840,39 @@ public class FileServiceImpl implements FileService {
         List<EventPostMedia> mediaList = eventPostMediaRepository.findByPostIdOrderByFileOrderAsc(postId);
         
         return mediaList.stream()
-                .map(media -> com.ijaa.file.domain.dto.PostMediaResponse.builder()
-                        .id(media.getId())
-                        .fileName(media.getFileName())
-                        .fileUrl("/ijaa/api/v1/files/posts/" + postId + "/media/" + media.getFileName())
-                        .fileType(media.getFileType())
-                        .mediaType(media.getMediaType().name())
-                        .fileSize(media.getFileSize())
-                        .fileOrder(media.getFileOrder())
-                        .createdAt(media.getCreatedAt())
-                        .build())
+                .map(this::toPostMediaResponse)
                 .collect(java.util.stream.Collectors.toList());
     }
+
+    @Override
+    public java.util.Map<String, List<com.ijaa.file.domain.dto.PostMediaResponse>> getPostMediaByPostIds(List<String> postIds) {
+        log.info("Getting post media for {} posts", postIds.size());
+
+        // Every requested post gets an entry, in request order, so callers can tell "no media" from "not asked"
+        java.util.Map<String, List<com.ijaa.file.domain.dto.PostMediaResponse>> mediaByPost = new java.util.LinkedHashMap<>();
+        for (String postId : postIds) {
+            mediaByPost.put(postId, new java.util.ArrayList<>());
+        }
+        if (mediaByPost.isEmpty()) {
+            return mediaByPost;
+        }
+
+        for (EventPostMedia media : eventPostMediaRepository.findByPostIdInOrderByPostIdAscFileOrderAsc(mediaByPost.keySet())) {
+            mediaByPost.get(media.getPostId()).add(toPostMediaResponse(media));
+        }
+        return mediaByPost;
+    }
+
+    private com.ijaa.file.domain.dto.PostMediaResponse toPostMediaResponse(EventPostMedia media) {
+        return com.ijaa.file.domain.dto.PostMediaResponse.builder()
+                .id(media.getId())
+                .fileName(media.getFileName())
+                .fileUrl("/ijaa/api/v1/files/posts/" + media.getPostId() + "/media/" + media.getFileName())
+                .fileType(media.getFileType())
+                .mediaType(media.getMediaType().name())
+                .fileSize(media.getFileSize())
+                .fileOrder(media.getFileOrder())
+                .createdAt(media.getCreatedAt())
+                .build();
+    }
 }
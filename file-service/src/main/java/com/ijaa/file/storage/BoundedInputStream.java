@@ -0,0 +1,69 @@
+package com.ijaa.file.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads at most {@code limit} bytes of the wrapped stream. Closing it closes the wrapped stream
+ * only when asked to, so several views can be taken of one stream in turn.
+ */
+class BoundedInputStream extends FilterInputStream {
+
+    private final boolean closeSource;
+    private long remaining;
+
+    BoundedInputStream(InputStream in, long limit, boolean closeSource) {
+        super(in);
+        this.remaining = limit;
+        this.closeSource = closeSource;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = in.read();
+        if (b >= 0) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeSource) {
+            in.close();
+        }
+    }
+}
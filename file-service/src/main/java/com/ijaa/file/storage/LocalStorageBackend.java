@@ -0,0 +1,132 @@
+package com.ijaa.file.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores each area in its own directory on local disk. Writes land in a temporary file next to
+ * the target and are renamed into place, so a key never shows half-written content.
+ */
+@Slf4j
+public class LocalStorageBackend implements StorageBackend {
+
+    private final Map<String, Path> roots = new HashMap<>();
+
+    /**
+     * @param roots directory per area prefix, e.g. {@code "profile" -> /data/uploads/profile}
+     */
+    public LocalStorageBackend(Map<String, Path> roots) {
+        roots.forEach((prefix, root) -> this.roots.put(prefix, root.toAbsolutePath().normalize()));
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Source on another filesystem: copy next to the target first, then rename
+            try (InputStream in = Files.newInputStream(file)) {
+                put(key, in, Files.size(file), contentType);
+            }
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public Optional<StoredResource> get(String key) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new LocalResource(key, path));
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long end) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(key);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(start);
+        return new BoundedInputStream(Channels.newInputStream(channel), end - start + 1, true);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (Files.deleteIfExists(resolve(key))) {
+            log.debug("File deleted: {}", key);
+        }
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return Optional.of(new ObjectStat(key, attributes.size(), attributes.lastModifiedTime().toInstant(), null));
+    }
+
+    private Path resolve(String key) {
+        int slash = key.indexOf('/');
+        Path root = slash > 0 ? roots.get(key.substring(0, slash)) : null;
+        if (root == null) {
+            throw new IllegalArgumentException("Unknown storage area in key: " + key);
+        }
+        Path path = root.resolve(key.substring(slash + 1)).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Key escapes its storage area: " + key);
+        }
+        return path;
+    }
+
+    /**
+     * Stays a plain file resource so responses can still be handed to the container's sendfile.
+     */
+    private static final class LocalResource extends FileSystemResource implements StoredResource {
+
+        private final String key;
+
+        LocalResource(String key, Path path) {
+            super(path);
+            this.key = key;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ijaa.file.storage;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a stored object. {@code contentType} is null when the backend does not record one.
+ */
+public record ObjectStat(String key, long size, Instant lastModified, String contentType) {
+}
@@ -0,0 +1,154 @@
+package com.ijaa.file.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An object in a remote backend. Nothing is fetched until the content is read, and a stream that
+ * is skipped before its first read starts at that offset with a range request, so serving a
+ * byte range of a large video only transfers that range. Reads go through bounded ranges of
+ * {@code chunkSize} bytes, so a client that stops early never leaves the rest of the object in flight.
+ */
+class RemoteObjectResource extends AbstractResource implements StoredResource {
+
+    static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private final StorageBackend backend;
+    private final ObjectStat stat;
+    private final long chunkSize;
+
+    RemoteObjectResource(StorageBackend backend, ObjectStat stat) {
+        this(backend, stat, DEFAULT_CHUNK_SIZE);
+    }
+
+    RemoteObjectResource(StorageBackend backend, ObjectStat stat, long chunkSize) {
+        this.backend = backend;
+        this.stat = stat;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String getKey() {
+        return stat.key();
+    }
+
+    @Override
+    public String getFilename() {
+        return stat.key().substring(stat.key().lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Stored object [" + stat.key() + "]";
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return stat.size();
+    }
+
+    @Override
+    public long lastModified() {
+        return stat.lastModified() != null ? stat.lastModified().toEpochMilli() : 0;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new RangeInputStream();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof RemoteObjectResource that && stat.key().equals(that.stat.key()));
+    }
+
+    @Override
+    public int hashCode() {
+        return stat.key().hashCode();
+    }
+
+    private class RangeInputStream extends InputStream {
+
+        private long position;
+        private InputStream delegate;
+        // Last byte of the range the delegate was opened for
+        private long chunkEnd;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                InputStream in = open();
+                if (in == null) {
+                    return -1;
+                }
+                int read = in.read(buffer, offset, (int) Math.min(length, chunkEnd - position + 1));
+                if (read > 0) {
+                    position += read;
+                    return read;
+                }
+                closeChunk();
+                if (read < 0 && position <= chunkEnd) {
+                    throw new EOFException("Range of " + stat.key() + " ended at " + position + ", expected " + chunkEnd);
+                }
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped;
+            if (delegate != null && n <= chunkEnd - position) {
+                skipped = delegate.skip(n);
+            } else {
+                // Past the open range: drop it and let the next read request a range from the new offset
+                closeChunk();
+                skipped = Math.max(0, Math.min(n, stat.size() - position));
+            }
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeChunk();
+        }
+
+        private InputStream open() throws IOException {
+            if (delegate != null && position > chunkEnd) {
+                closeChunk();
+            }
+            if (delegate == null) {
+                if (position >= stat.size()) {
+                    return null;
+                }
+                chunkEnd = Math.min(position + chunkSize - 1, stat.size() - 1);
+                delegate = backend.getRange(stat.key(), position, chunkEnd);
+            }
+            return delegate;
+        }
+
+        private void closeChunk() throws IOException {
+            if (delegate != null) {
+                InputStream finished = delegate;
+                delegate = null;
+                finished.close();
+            }
+        }
+    }
+}
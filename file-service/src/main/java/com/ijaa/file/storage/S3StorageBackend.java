@@ -0,0 +1,256 @@
+package com.ijaa.file.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores objects in an S3 bucket, or in anything speaking the S3 API such as MinIO. Requests
+ * are signed with SigV4 and sent with the JDK HTTP client; bodies are streamed straight from
+ * the source, and objects from {@code multipartThreshold} up are sent as a multipart upload of
+ * {@code partSize} parts so no single request has to carry a whole video.
+ */
+@Slf4j
+public class S3StorageBackend implements StorageBackend {
+
+    // S3 allows at most 10,000 parts and needs every part but the last to be at least 5 MiB
+    private static final int MAX_PARTS = 10_000;
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+
+    private final HttpClient httpClient;
+    private final S3RequestSigner signer;
+    private final URI endpoint;
+    private final String bucket;
+    private final boolean pathStyle;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final Duration requestTimeout;
+
+    public S3StorageBackend(URI endpoint, String region, String bucket, String accessKey, String secretKey,
+                            boolean pathStyle, long multipartThreshold, long partSize, Duration requestTimeout) {
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.pathStyle = pathStyle;
+        this.multipartThreshold = Math.max(multipartThreshold, MIN_PART_SIZE);
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+        this.requestTimeout = requestTimeout;
+        this.signer = new S3RequestSigner(accessKey, secretKey, region);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        if (size >= multipartThreshold) {
+            putMultipart(key, content, size, contentType);
+            return;
+        }
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> new BoundedInputStream(content, size, false)), size);
+        expect(send("PUT", key, null, contentHeaders(contentType), body, HttpResponse.BodyHandlers.ofString()), "put", key);
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            put(key, in, Files.size(file), contentType);
+        }
+    }
+
+    @Override
+    public Optional<StoredResource> get(String key) throws IOException {
+        return stat(key).map(stat -> new RemoteObjectResource(this, stat));
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long end) throws IOException {
+        HttpResponse<InputStream> response = send("GET", key, null, Map.of("Range", "bytes=" + start + "-" + end),
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 206) {
+            return response.body();
+        }
+        if (response.statusCode() == 200) {
+            // Range ignored by the server; skip to the wanted bytes ourselves
+            InputStream body = response.body();
+            body.skipNBytes(start);
+            return new BoundedInputStream(body, end - start + 1, true);
+        }
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("S3 get of " + key + " failed: HTTP " + response.statusCode() + " "
+                    + new String(body.readNBytes(512), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send("DELETE", key, null, Map.of(),
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 404) {
+            expect(response, "delete", key);
+        }
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String key) throws IOException {
+        HttpResponse<Void> response = send("HEAD", key, null, Map.of(),
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("S3 stat of " + key + " failed: HTTP " + response.statusCode());
+        }
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        Instant lastModified = response.headers().firstValue("Last-Modified")
+                .map(S3StorageBackend::parseHttpDate)
+                .orElse(null);
+        return Optional.of(new ObjectStat(key, size, lastModified,
+                response.headers().firstValue("Content-Type").orElse(null)));
+    }
+
+    private void putMultipart(String key, InputStream content, long size, String contentType) throws IOException {
+        String uploadId = createMultipartUpload(key, contentType);
+        try {
+            long effectivePartSize = Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+            List<String> eTags = new ArrayList<>();
+            long remaining = size;
+            for (int partNumber = 1; remaining > 0; partNumber++) {
+                long length = Math.min(effectivePartSize, remaining);
+                // Each part reads its slice straight off the shared source stream
+                HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(() -> new BoundedInputStream(content, length, false)), length);
+                HttpResponse<String> response = send("PUT", key,
+                        "partNumber=" + partNumber + "&uploadId=" + S3RequestSigner.encode(uploadId, false),
+                        Map.of(), body, HttpResponse.BodyHandlers.ofString());
+                expect(response, "upload part " + partNumber + " of", key);
+                eTags.add(response.headers().firstValue("ETag")
+                        .orElseThrow(() -> new IOException("S3 returned no ETag for a part of " + key)));
+                remaining -= length;
+            }
+            completeMultipartUpload(key, uploadId, eTags);
+            log.debug("Stored {} in {} parts", key, eTags.size());
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(key, uploadId);
+            throw e;
+        }
+    }
+
+    private String createMultipartUpload(String key, String contentType) throws IOException {
+        HttpResponse<String> response = send("POST", key, "uploads=", contentHeaders(contentType),
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofString());
+        expect(response, "start multipart upload of", key);
+        Matcher matcher = UPLOAD_ID.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IOException("S3 returned no upload id for " + key);
+        }
+        return matcher.group(1);
+    }
+
+    private void completeMultipartUpload(String key, String uploadId, List<String> eTags) throws IOException {
+        StringBuilder xml = new StringBuilder("<CompleteMultipartUpload>");
+        for (int i = 0; i < eTags.size(); i++) {
+            xml.append("<Part><PartNumber>").append(i + 1).append("</PartNumber><ETag>")
+                    .append(eTags.get(i).replace("\"", "&quot;")).append("</ETag></Part>");
+        }
+        xml.append("</CompleteMultipartUpload>");
+
+        HttpResponse<String> response = send("POST", key, "uploadId=" + S3RequestSigner.encode(uploadId, false),
+                Map.of("Content-Type", "application/xml"),
+                HttpRequest.BodyPublishers.ofString(xml.toString()), HttpResponse.BodyHandlers.ofString());
+        expect(response, "complete multipart upload of", key);
+        // Completion can fail after the 200 status has been sent, in which case the body is an error
+        if (response.body().contains("<Error>")) {
+            throw new IOException("S3 could not complete multipart upload of " + key + ": " + response.body());
+        }
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            send("DELETE", key, "uploadId=" + S3RequestSigner.encode(uploadId, false), Map.of(),
+                    HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            log.warn("Could not abort multipart upload {} of {}; the bucket's lifecycle rule has to clean it up", uploadId, key, e);
+        }
+    }
+
+    private <T> HttpResponse<T> send(String method, String key, String query, Map<String, String> headers,
+                                     HttpRequest.BodyPublisher body, HttpResponse.BodyHandler<T> handler) throws IOException {
+        URI uri = objectUri(key, query);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .method(method, body);
+        headers.forEach(request::header);
+        signer.sign(method, uri, headers, S3RequestSigner.UNSIGNED_PAYLOAD, Instant.now()).forEach(request::header);
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during S3 " + method + " of " + key);
+        }
+    }
+
+    private URI objectUri(String key, String query) {
+        String base = endpoint.toString().replaceAll("/+$", "");
+        String path = "/" + S3RequestSigner.encode(key, true);
+        String uri;
+        if (pathStyle) {
+            uri = base + "/" + S3RequestSigner.encode(bucket, false) + path;
+        } else {
+            uri = endpoint.getScheme() + "://" + bucket + "." + endpoint.getRawAuthority() + path;
+        }
+        return URI.create(query == null ? uri : uri + "?" + query);
+    }
+
+    private static Map<String, String> contentHeaders(String contentType) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        return headers;
+    }
+
+    private static void expect(HttpResponse<String> response, String operation, String key) throws IOException {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            String body = response.body() == null ? "" : response.body();
+            throw new IOException("S3 " + operation + " " + key + " failed: HTTP " + status + " "
+                    + body.substring(0, Math.min(body.length(), 512)));
+        }
+    }
+
+    private static Instant parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
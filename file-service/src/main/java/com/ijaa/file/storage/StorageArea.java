@@ -0,0 +1,26 @@
+package com.ijaa.file.storage;
+
+/**
+ * The top-level groups of stored files. The prefix is the first segment of every key in the area.
+ */
+public enum StorageArea {
+
+    PROFILE_PHOTOS("profile"),
+    COVER_PHOTOS("cover"),
+    EVENT_BANNERS("event-banners"),
+    EVENT_POST_MEDIA("event-posts");
+
+    private final String prefix;
+
+    StorageArea(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String key(String fileName) {
+        return prefix + "/" + fileName;
+    }
+}
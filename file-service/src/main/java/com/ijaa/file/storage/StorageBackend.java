@@ -0,0 +1,42 @@
+package com.ijaa.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where uploaded files live. Keys are {@code <area>/<name>} (see {@link StorageArea}); every
+ * replica of the service sees the same objects when the backend is shared.
+ */
+public interface StorageBackend {
+
+    /**
+     * Stores {@code size} bytes read from {@code content} under {@code key}, replacing any
+     * existing object. The content is streamed, never held in memory as a whole.
+     */
+    void put(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Stores a local file under {@code key}. The file may be moved rather than copied, so the
+     * caller must not use it afterwards beyond deleting whatever is left.
+     */
+    void put(String key, Path file, String contentType) throws IOException;
+
+    /**
+     * The object as a resource that can be served, or empty when there is none.
+     */
+    Optional<StoredResource> get(String key) throws IOException;
+
+    /**
+     * Bytes {@code start} to {@code end} inclusive of the object.
+     */
+    InputStream getRange(String key, long start, long end) throws IOException;
+
+    /**
+     * Removes the object; a missing object is not an error.
+     */
+    void delete(String key) throws IOException;
+
+    Optional<ObjectStat> stat(String key) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.ijaa.file.storage;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A {@link Resource} returned by a {@link StorageBackend}, which remembers the key it was read from.
+ */
+public interface StoredResource extends Resource {
+
+    String getKey();
+}
@@ -38,6 +38,13 @@ CREATE TABLE IF NOT EXISTS event_post_media (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Stored objects are shared by content; released_at is set once the last record pointing at one
+-- is gone, and the object is deleted after a grace period (see StoredFileCollector)
+CREATE TABLE IF NOT EXISTS stored_files (
+    storage_key VARCHAR(255) PRIMARY KEY,
+    released_at TIMESTAMP
+);
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_users_user_id ON users(user_id);
 CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
@@ -45,3 +52,5 @@ CREATE INDEX IF NOT EXISTS idx_event_banners_event_id ON event_banners(event_id)
 CREATE INDEX IF NOT EXISTS idx_event_post_media_post_id ON event_post_media(post_id);
 CREATE INDEX IF NOT EXISTS idx_event_post_media_type ON event_post_media(media_type);
 CREATE INDEX IF NOT EXISTS idx_event_post_media_order ON event_post_media(file_order);
+CREATE INDEX IF NOT EXISTS idx_event_post_media_post_order ON event_post_media(post_id, file_order);
+CREATE INDEX IF NOT EXISTS idx_stored_files_released_at ON stored_files(released_at);
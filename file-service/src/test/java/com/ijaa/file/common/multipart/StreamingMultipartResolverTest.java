@@ -0,0 +1,136 @@
+package com.ijaa.file.common.multipart;
+
+import com.ijaa.file.config.FileStorageConfig;
+import com.ijaa.file.exceptions.InvalidFileTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingMultipartResolverTest {
+
+    private static final String BOUNDARY = "----ijaa-test-boundary";
+
+    @TempDir
+    Path tempDir;
+
+    private Path stagingDir;
+    private StreamingMultipartResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setAllowedImageTypes(List.of("jpg", "jpeg", "png", "webp"));
+        config.setAllowedVideoTypes(List.of("mp4"));
+        config.setMaxFileSizeMb(1);
+        config.setMaxVideoSizeMb(2);
+        stagingDir = tempDir.resolve(".incoming");
+        resolver = new StreamingMultipartResolver(config, stagingDir, 10L * 1024 * 1024);
+    }
+
+    @Test
+    void testFilePartIsStagedWithSizeAndHash() throws Exception {
+        // Given
+        byte[] content = "not really a jpeg".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = multipart(content, "photo.jpg", "image/jpeg");
+
+        // When
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(request);
+
+        // Then
+        MultipartFile file = resolved.getFile("file");
+        StagedMultipartFile staged = assertInstanceOf(StagedMultipartFile.class, file);
+        assertEquals("photo.jpg", staged.getOriginalFilename());
+        assertEquals(content.length, staged.getSize());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)), staged.getSha256());
+        assertArrayEquals(content, staged.getBytes());
+        assertEquals("IMAGE", resolved.getParameter("mediaType"));
+    }
+
+    @Test
+    void testTransferToMovesStagedFileAndCleanupLeavesItAlone() throws Exception {
+        // Given
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(multipart(new byte[256], "clip.mp4", "video/mp4"));
+        MultipartFile file = resolved.getFile("file");
+        Path target = tempDir.resolve("stored.mp4");
+
+        // When
+        file.transferTo(target);
+        resolver.cleanupMultipart(resolved);
+
+        // Then
+        assertEquals(256, Files.size(target));
+        assertEquals(0, stagedCount());
+        assertThrows(IllegalStateException.class, file::getBytes);
+    }
+
+    @Test
+    void testCleanupDiscardsUnclaimedParts() throws Exception {
+        // Given
+        MultipartHttpServletRequest resolved = resolver.resolveMultipart(multipart(new byte[64], "photo.png", "image/png"));
+        assertEquals(1, stagedCount());
+
+        // When
+        resolver.cleanupMultipart(resolved);
+
+        // Then
+        assertEquals(0, stagedCount());
+    }
+
+    @Test
+    void testOversizeImageIsRejectedAndNothingIsLeftBehind() throws Exception {
+        // Given - over the 1MB image limit, though under the video limit
+        MockHttpServletRequest request = multipart(new byte[1024 * 1024 + 1], "photo.jpg", "image/jpeg");
+
+        // When & Then
+        assertThrows(MaxUploadSizeExceededException.class, () -> resolver.resolveMultipart(request));
+        assertEquals(0, stagedCount());
+    }
+
+    @Test
+    void testDisallowedTypeIsRejectedBeforeStaging() throws Exception {
+        // Given
+        MockHttpServletRequest request = multipart(new byte[32], "script.exe", "application/octet-stream");
+
+        // When & Then
+        assertThrows(InvalidFileTypeException.class, () -> resolver.resolveMultipart(request));
+        assertEquals(0, stagedCount());
+    }
+
+    private MockHttpServletRequest multipart(byte[] content, String fileName, String contentType) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"mediaType\"\r\n\r\n"
+                + "IMAGE\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.toByteArray());
+        return request;
+    }
+
+    private long stagedCount() throws Exception {
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ijaa.file.common.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.ijaa.file.storage.LocalStorageBackend;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaResponsesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Resource video;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.write(tempDir.resolve("0f1e2d3c4b5a69788796a5b4c3d2e1f0.mp4"), new byte[4096]);
+        video = new FileSystemResource(file);
+    }
+
+    @Test
+    void testFullResponseIsImmutableAndTyped() throws Exception {
+        // When
+        ResponseEntity<Resource> response = MediaResponses.serve(video, new MockHttpServletRequest("GET", "/media"));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(video, response.getBody());
+        assertEquals(MediaType.parseMediaType("video/mp4"), response.getHeaders().getContentType());
+        assertEquals("max-age=31536000, public, immutable", response.getHeaders().getCacheControl());
+        assertEquals("\"0f1e2d3c4b5a69788796a5b4c3d2e1f0\"", response.getHeaders().getETag());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    void testContentTypeFollowsExtension() {
+        assertEquals(MediaType.IMAGE_PNG, MediaResponses.contentType("photo.png"));
+        assertEquals(MediaType.IMAGE_JPEG, MediaResponses.contentType("legacy.jpg"));
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, MediaResponses.contentType("legacy"));
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, MediaResponses.contentType(null));
+    }
+
+    @Test
+    void testSendfileHandsTheWholeFileToTheConnector() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media");
+        request.setAttribute(MediaResponses.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        // When
+        ResponseEntity<Resource> response = MediaResponses.serve(video, request);
+
+        // Then
+        assertNull(response.getBody());
+        assertEquals(4096, response.getHeaders().getContentLength());
+        assertEquals(video.getFile().getAbsolutePath(), request.getAttribute(MediaResponses.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(MediaResponses.SENDFILE_START));
+        assertEquals(4096L, request.getAttribute(MediaResponses.SENDFILE_END));
+    }
+
+    @Test
+    void testSendfileAnswersMatchingETagWithNotModified() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media");
+        request.setAttribute(MediaResponses.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0f1e2d3c4b5a69788796a5b4c3d2e1f0\"");
+
+        // When
+        ResponseEntity<Resource> response = MediaResponses.serve(video, request);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(request.getAttribute(MediaResponses.SENDFILE_FILENAME));
+    }
+
+    @Test
+    void testRangeRequestsStayWithSpring() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media");
+        request.setAttribute(MediaResponses.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1023");
+
+        // When
+        ResponseEntity<Resource> response = MediaResponses.serve(video, request);
+
+        // Then
+        assertSame(video, response.getBody());
+        assertNull(request.getAttribute(MediaResponses.SENDFILE_FILENAME));
+    }
+
+    @Test
+    void testVariantETagIncludesItsSize() throws Exception {
+        // Given - a thumbnail has the same file name as its original
+        Files.createDirectories(tempDir.resolve("variants/thumb"));
+        Files.write(tempDir.resolve("variants/thumb/0f1e2d3c4b5a69788796a5b4c3d2e1f0.jpg"), new byte[64]);
+        Files.write(tempDir.resolve("0f1e2d3c4b5a69788796a5b4c3d2e1f0.jpg"), new byte[256]);
+        LocalStorageBackend storage = new LocalStorageBackend(Map.of("profile", tempDir));
+
+        // When
+        String original = MediaResponses.eTag(storage.get("profile/0f1e2d3c4b5a69788796a5b4c3d2e1f0.jpg").orElseThrow());
+        String thumb = MediaResponses.eTag(storage.get("profile/variants/thumb/0f1e2d3c4b5a69788796a5b4c3d2e1f0.jpg").orElseThrow());
+
+        // Then
+        assertEquals("\"0f1e2d3c4b5a69788796a5b4c3d2e1f0\"", original);
+        assertEquals("\"0f1e2d3c4b5a69788796a5b4c3d2e1f0-thumb\"", thumb);
+    }
+
+    @Test
+    void testProvisionalResourceIsOnlyCachedBriefly() throws Exception {
+        // When
+        ResponseEntity<Resource> response = MediaResponses.serve(MediaResponses.provisional(video),
+                new MockHttpServletRequest("GET", "/media"));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+        assertEquals(4096, response.getBody().contentLength());
+    }
+}
@@ -6,6 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,7 +25,7 @@ class FeatureFlagUtilsTest {
 
     @BeforeEach
     void setUp() {
-        featureFlagUtils = new FeatureFlagUtils(featureFlagClient);
+        featureFlagUtils = new FeatureFlagUtils(featureFlagClient, false, Duration.ofSeconds(30), true);
     }
 
     @Test
@@ -230,4 +235,139 @@ class FeatureFlagUtilsTest {
         // Then
         verify(featureFlagClient).checkFeatureFlag(featureName);
     }
+
+    @Test
+    void isFeatureEnabled_WithCache_ReadsSnapshotWithoutCallingClient() {
+        // Given
+        FeatureFlagUtils cachedUtils = new FeatureFlagUtils(featureFlagClient, true, Duration.ofMinutes(5), true);
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                3L, Map.of(FeatureFlagUtils.FILE_DOWNLOAD, false, FeatureFlagUtils.FILE_UPLOAD, true));
+        when(featureFlagClient.getFeatureFlagSnapshot(null))
+                .thenReturn(ResponseEntity.ok().eTag("\"abc\"")
+                        .body(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)));
+        assertTrue(cachedUtils.refreshSnapshot());
+
+        // When
+        boolean downloadEnabled = cachedUtils.isFileDownloadEnabled();
+        boolean uploadEnabled = cachedUtils.isFileUploadEnabled();
+        boolean deleteEnabled = cachedUtils.isFileDeleteEnabled();
+
+        // Then
+        assertFalse(downloadEnabled);
+        assertTrue(uploadEnabled);
+        assertFalse(deleteEnabled); // known flag missing from the snapshot
+        verify(featureFlagClient, times(1)).getFeatureFlagSnapshot(null);
+        verify(featureFlagClient, never()).checkFeatureFlag(anyString());
+    }
+
+    @Test
+    void refreshSnapshot_WhenBulkFetchFails_FallsBackToPerFlagChecks() {
+        // Given
+        FeatureFlagUtils cachedUtils = new FeatureFlagUtils(featureFlagClient, true, Duration.ofMinutes(5), true);
+        when(featureFlagClient.getFeatureFlagSnapshot(null)).thenThrow(new RuntimeException("Not found"));
+        when(featureFlagClient.checkFeatureFlag(anyString())).thenAnswer(invocation ->
+                new FeatureFlagClient.ApiResponse<>("Success", "200",
+                        new FeatureFlagClient.FeatureFlagStatus(invocation.getArgument(0),
+                                !FeatureFlagUtils.FILE_DELETE.equals(invocation.getArgument(0)))));
+
+        // When
+        boolean refreshed = cachedUtils.refreshSnapshot();
+
+        // Then
+        assertTrue(refreshed);
+        assertFalse(cachedUtils.isFileDeleteEnabled());
+        assertTrue(cachedUtils.isProfilePhotoUploadEnabled());
+        verify(featureFlagClient).checkFeatureFlag(FeatureFlagUtils.FILE_DELETE);
+    }
+
+    @Test
+    void refreshSnapshot_WhenUserServiceUnavailable_KeepsLastKnownGoodSnapshot() {
+        // Given
+        FeatureFlagUtils cachedUtils = new FeatureFlagUtils(featureFlagClient, true, Duration.ofMinutes(5), true);
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                1L, Map.of(FeatureFlagUtils.FILE_UPLOAD_COVER_PHOTO, false));
+        when(featureFlagClient.getFeatureFlagSnapshot(any()))
+                .thenReturn(ResponseEntity.ok(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)))
+                .thenThrow(new RuntimeException("Service unavailable"));
+        when(featureFlagClient.checkFeatureFlag(anyString())).thenThrow(new RuntimeException("Service unavailable"));
+        assertTrue(cachedUtils.refreshSnapshot());
+
+        // When
+        boolean refreshed = cachedUtils.refreshSnapshot();
+
+        // Then
+        assertFalse(refreshed);
+        assertFalse(cachedUtils.isCoverPhotoUploadEnabled());
+    }
+
+    @Test
+    void refreshSnapshot_WhenSnapshotNotModified_KeepsFlagsAndSendsEtag() {
+        // Given
+        FeatureFlagUtils cachedUtils = new FeatureFlagUtils(featureFlagClient, true, Duration.ofMinutes(5), true);
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                7L, Map.of(FeatureFlagUtils.FILE_UPLOAD_EVENT_BANNER, false));
+        when(featureFlagClient.getFeatureFlagSnapshot(null))
+                .thenReturn(ResponseEntity.ok().eTag("\"v7\"")
+                        .body(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)));
+        when(featureFlagClient.getFeatureFlagSnapshot("\"v7\""))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        assertTrue(cachedUtils.refreshSnapshot());
+
+        // When
+        boolean refreshed = cachedUtils.refreshSnapshot();
+
+        // Then
+        assertTrue(refreshed);
+        assertFalse(cachedUtils.isEventBannerUploadEnabled());
+        verify(featureFlagClient).getFeatureFlagSnapshot("\"v7\"");
+        verify(featureFlagClient, never()).checkFeatureFlag(anyString());
+    }
+
+    @Test
+    void isFeatureEnabled_WithCacheBeforeFirstLoad_UsesConfiguredDefault() {
+        // Given
+        FeatureFlagUtils cachedUtils = new FeatureFlagUtils(featureFlagClient, true, Duration.ofMinutes(5), true);
+        lenient().when(featureFlagClient.getFeatureFlagSnapshot(any())).thenThrow(new RuntimeException("Service unavailable"));
+        lenient().when(featureFlagClient.checkFeatureFlag(anyString())).thenThrow(new RuntimeException("Service unavailable"));
+
+        // When
+        boolean downloadEnabled = cachedUtils.isFileDownloadEnabled();
+
+        // Then
+        assertTrue(downloadEnabled);
+    }
+
+    @Test
+    void isFeatureEnabled_WhenDefaultDisabledAndUserServiceDown_ReturnsFalse() {
+        // Given
+        FeatureFlagUtils strictUtils = new FeatureFlagUtils(featureFlagClient, false, Duration.ofSeconds(30), false);
+        when(featureFlagClient.checkFeatureFlag(FeatureFlagUtils.FILE_DOWNLOAD))
+                .thenThrow(new RuntimeException("Service unavailable"));
+
+        // When
+        boolean downloadEnabled = strictUtils.isFileDownloadEnabled();
+
+        // Then
+        assertFalse(downloadEnabled);
+    }
+
+    @Test
+    void loadOnStartup_LoadsSnapshotBeforeFirstCheck() {
+        // Given
+        FeatureFlagUtils cachedUtils = new FeatureFlagUtils(featureFlagClient, true, Duration.ofMinutes(5), true);
+        FeatureFlagClient.FeatureFlagSnapshot snapshot = new FeatureFlagClient.FeatureFlagSnapshot(
+                2L, Map.of(FeatureFlagUtils.FILE_DOWNLOAD, true, "system.health", true));
+        when(featureFlagClient.getFeatureFlagSnapshot(null))
+                .thenReturn(ResponseEntity.ok(new FeatureFlagClient.ApiResponse<>("Success", "200", snapshot)));
+
+        // When
+        cachedUtils.loadOnStartup();
+
+        // Then
+        assertTrue(cachedUtils.isFileDownloadEnabled());
+        assertTrue(cachedUtils.isFeatureEnabled("system.health"));
+        // Known but missing from the snapshot, and never heard of: both disabled
+        assertFalse(cachedUtils.isFileDeleteEnabled());
+        assertFalse(cachedUtils.isFeatureEnabled("no-such-flag"));
+    }
 }
@@ -471,12 +471,14 @@ class FileControllerIntegrationTest {
         Resource mockResource = mock(Resource.class);
         when(mockResource.exists()).thenReturn(true);
         when(mockResource.isReadable()).thenReturn(true);
+        when(mockResource.getFilename()).thenReturn("test-photo.jpg");
         when(fileService.getProfilePhotoFile(TEST_USER_ID, "test-photo.jpg")).thenReturn(mockResource);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/users/{userId}/profile-photo/file/{fileName}", TEST_USER_ID, "test-photo.jpg"))
                 .andExpect(status().isOk())
-                .andExpect(header().string("Content-Type", "image/jpeg"));
+                .andExpect(header().string("Content-Type", "image/jpeg"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
     }
 
     @Test
@@ -496,12 +498,14 @@ class FileControllerIntegrationTest {
         Resource mockResource = mock(Resource.class);
         when(mockResource.exists()).thenReturn(true);
         when(mockResource.isReadable()).thenReturn(true);
+        when(mockResource.getFilename()).thenReturn("test-cover.jpg");
         when(fileService.getCoverPhotoFile(TEST_USER_ID, "test-cover.jpg")).thenReturn(mockResource);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/users/{userId}/cover-photo/file/{fileName}", TEST_USER_ID, "test-cover.jpg"))
                 .andExpect(status().isOk())
-                .andExpect(header().string("Content-Type", "image/jpeg"));
+                .andExpect(header().string("Content-Type", "image/jpeg"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.ijaa.file.service;
+
+import com.ijaa.file.repository.EventBannerRepository;
+import com.ijaa.file.repository.EventPostMediaRepository;
+import com.ijaa.file.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileNameIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventBannerRepository eventBannerRepository;
+
+    @Mock
+    private EventPostMediaRepository eventPostMediaRepository;
+
+    private FileNameIndex fileNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        fileNameIndex = new FileNameIndex(userRepository, eventBannerRepository, eventPostMediaRepository, true);
+    }
+
+    @Test
+    void testNotReadyUntilLoaded() {
+        assertFalse(fileNameIndex.isReady());
+
+        // When
+        load();
+
+        // Then
+        assertTrue(fileNameIndex.isReady());
+        assertEquals("a.jpg", fileNameIndex.profilePhoto("u1"));
+        assertEquals("legacy.png", fileNameIndex.coverPhoto("u1"));
+        assertEquals("banner.webp", fileNameIndex.eventBanner("7"));
+        assertTrue(fileNameIndex.hasPostMedia("p1", "clip.mp4"));
+        assertFalse(fileNameIndex.hasPostMedia("p1", "other.mp4"));
+    }
+
+    @Test
+    void testChangesApplyWithoutReload() {
+        // Given
+        load();
+
+        // When
+        fileNameIndex.profilePhotoChanged("u1", "b.jpg");
+        fileNameIndex.coverPhotoChanged("u1", null);
+        fileNameIndex.eventBannerChanged("8", "new.png");
+        fileNameIndex.postMediaAdded("p2", "x.jpg");
+        fileNameIndex.postMediaRemoved("p1", "clip.mp4");
+
+        // Then
+        assertEquals("b.jpg", fileNameIndex.profilePhoto("u1"));
+        assertNull(fileNameIndex.coverPhoto("u1"));
+        assertEquals("new.png", fileNameIndex.eventBanner("8"));
+        assertTrue(fileNameIndex.hasPostMedia("p2", "x.jpg"));
+        assertFalse(fileNameIndex.hasPostMedia("p1", "clip.mp4"));
+        verify(userRepository, times(1)).findAllPhotoRows();
+    }
+
+    @Test
+    void testDisabledIndexNeverLoads() {
+        // Given
+        FileNameIndex disabled = new FileNameIndex(userRepository, eventBannerRepository, eventPostMediaRepository, false);
+
+        // When
+        disabled.refresh();
+
+        // Then
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(userRepository, eventBannerRepository, eventPostMediaRepository);
+    }
+
+    private void load() {
+        when(userRepository.findAllPhotoRows()).thenReturn(List.of(photoRow("u1", "a.jpg", "/old/uploads/cover/legacy.png")));
+        when(eventBannerRepository.findAllBannerRows()).thenReturn(List.of(bannerRow("7", "banner.webp")));
+        when(eventPostMediaRepository.findAllMediaRows()).thenReturn(List.of(mediaRow("p1", "clip.mp4")));
+        fileNameIndex.refresh();
+    }
+
+    private static UserRepository.PhotoRow photoRow(String userId, String profilePhotoPath, String coverPhotoPath) {
+        return new UserRepository.PhotoRow() {
+            @Override
+            public String getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getProfilePhotoPath() {
+                return profilePhotoPath;
+            }
+
+            @Override
+            public String getCoverPhotoPath() {
+                return coverPhotoPath;
+            }
+        };
+    }
+
+    private static EventBannerRepository.BannerRow bannerRow(String eventId, String fileName) {
+        return new EventBannerRepository.BannerRow() {
+            @Override
+            public String getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public String getFileName() {
+                return fileName;
+            }
+        };
+    }
+
+    private static EventPostMediaRepository.MediaRow mediaRow(String postId, String fileName) {
+        return new EventPostMediaRepository.MediaRow() {
+            @Override
+            public String getPostId() {
+                return postId;
+            }
+
+            @Override
+            public String getFileName() {
+                return fileName;
+            }
+        };
+    }
+}
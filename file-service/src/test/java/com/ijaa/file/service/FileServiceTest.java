@@ -3,27 +3,45 @@ package com.ijaa.file.service;
 import com.ijaa.file.config.FileStorageConfig;
 import com.ijaa.file.domain.dto.FileUploadResponse;
 import com.ijaa.file.domain.dto.PhotoUrlResponse;
+import com.ijaa.file.domain.dto.PostMediaResponse;
+import com.ijaa.file.domain.entity.EventPostMedia;
 import com.ijaa.file.domain.entity.User;
 import com.ijaa.file.exceptions.FileStorageException;
 import com.ijaa.file.exceptions.InvalidFileTypeException;
 import com.ijaa.file.exceptions.UserNotFoundException;
+import com.ijaa.file.repository.EventPostMediaRepository;
+import com.ijaa.file.repository.StoredFileRepository;
 import com.ijaa.file.repository.UserRepository;
 import com.ijaa.file.service.impl.FileServiceImpl;
+import com.ijaa.file.storage.LocalStorageBackend;
+import com.ijaa.file.storage.ObjectStat;
+import com.ijaa.file.storage.StorageBackend;
+import com.ijaa.file.storage.StoredResource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +53,21 @@ class FileServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EventPostMediaRepository eventPostMediaRepository;
+
+    @Mock
+    private FileNameIndex fileNameIndex;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private StorageBackend storageBackend;
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
     @InjectMocks
     private FileServiceImpl fileService;
 
@@ -49,6 +82,7 @@ class FileServiceTest {
         lenient().when(fileStorageConfig.getCoverPhotosPath()).thenReturn(TEST_COVER_PATH);
         lenient().when(fileStorageConfig.getAllowedImageTypes()).thenReturn(Arrays.asList("jpg", "jpeg", "png", "webp"));
         lenient().when(fileStorageConfig.getMaxFileSizeMb()).thenReturn(5);
+        ReflectionTestUtils.setField(fileService, "stagingPath", System.getProperty("java.io.tmpdir"));
     }
 
     @Test
@@ -429,4 +463,215 @@ class FileServiceTest {
 
         verify(userRepository).findByUserId(TEST_USER_ID);
     }
+
+    @Test
+    void getProfilePhotoFile_IndexReady_DoesNotQueryDatabase() throws IOException {
+        // Arrange
+        StoredResource stored = mock(StoredResource.class);
+        when(storageBackend.get("profile/indexed.jpg")).thenReturn(Optional.of(stored));
+        when(fileNameIndex.isReady()).thenReturn(true);
+        when(fileNameIndex.profilePhoto(TEST_USER_ID)).thenReturn("indexed.jpg");
+
+        // Act
+        Resource resource = fileService.getProfilePhotoFile(TEST_USER_ID, "indexed.jpg");
+
+        // Assert
+        assertSame(stored, resource);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getProfilePhotoFile_IndexBehindOtherInstance_FallsBackToDatabaseAndCorrectsIndex() throws IOException {
+        // Arrange - another instance saved a new photo the local index has not seen yet
+        StoredResource stored = mock(StoredResource.class);
+        User user = user(TEST_USER_ID);
+        user.setProfilePhotoPath("uploaded-elsewhere.jpg");
+        when(storageBackend.get("profile/uploaded-elsewhere.jpg")).thenReturn(Optional.of(stored));
+        when(fileNameIndex.isReady()).thenReturn(true);
+        when(fileNameIndex.profilePhoto(TEST_USER_ID)).thenReturn("indexed.jpg");
+        when(userRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(user));
+
+        // Act
+        Resource resource = fileService.getProfilePhotoFile(TEST_USER_ID, "uploaded-elsewhere.jpg");
+
+        // Assert
+        assertSame(stored, resource);
+        verify(fileNameIndex).profilePhotoChanged(TEST_USER_ID, "uploaded-elsewhere.jpg");
+        assertThrows(FileStorageException.class, () -> fileService.getProfilePhotoFile(TEST_USER_ID, "previous.jpg"));
+    }
+
+    @Test
+    void getProfilePhotoFile_IndexReady_UnknownUserStillNotFound() {
+        // Arrange
+        when(fileNameIndex.isReady()).thenReturn(true);
+        when(userRepository.findByUserId("nobody")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> fileService.getProfilePhotoFile("nobody", "guess.jpg"));
+    }
+
+    @Test
+    void getPostMediaFile_IndexReady_RejectsUnknownFileAfterCheckingDatabase() {
+        // Arrange
+        when(fileNameIndex.isReady()).thenReturn(true);
+        when(fileNameIndex.hasPostMedia("1", "guess.mp4")).thenReturn(false);
+        when(eventPostMediaRepository.findByPostIdAndFileName("1", "guess.mp4")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(FileStorageException.class, () -> fileService.getPostMediaFile("1", "guess.mp4"));
+        verify(fileNameIndex, never()).postMediaAdded(anyString(), anyString());
+    }
+
+    @Test
+    void getPostMediaFile_IndexMissingNewMedia_ServesItAndCorrectsIndex() throws IOException {
+        // Arrange
+        StoredResource stored = mock(StoredResource.class);
+        when(fileNameIndex.isReady()).thenReturn(true);
+        when(fileNameIndex.hasPostMedia("1", "new.mp4")).thenReturn(false);
+        when(eventPostMediaRepository.findByPostIdAndFileName("1", "new.mp4"))
+                .thenReturn(Optional.of(postMedia(7L, "1", "new.mp4", 0)));
+        when(storageBackend.get("event-posts/new.mp4")).thenReturn(Optional.of(stored));
+
+        // Act
+        Resource resource = fileService.getPostMediaFile("1", "new.mp4");
+
+        // Assert
+        assertSame(stored, resource);
+        verify(fileNameIndex).postMediaAdded("1", "new.mp4");
+    }
+
+    @Test
+    void getPostMediaByPostIds_GroupsMediaByPostInOneQuery() {
+        // Arrange
+        EventPostMedia first = postMedia(1L, "1", "a.jpg", 0);
+        EventPostMedia second = postMedia(2L, "1", "b.mp4", 1);
+        EventPostMedia other = postMedia(3L, "3", "c.png", 0);
+        second.setMediaType(EventPostMedia.MediaType.VIDEO);
+        when(eventPostMediaRepository.findByPostIdInOrderByPostIdAscFileOrderAsc(any()))
+                .thenReturn(List.of(first, second, other));
+
+        // Act
+        Map<String, List<PostMediaResponse>> result = fileService.getPostMediaByPostIds(List.of("3", "2", "1"));
+
+        // Assert
+        assertEquals(List.of("3", "2", "1"), List.copyOf(result.keySet()));
+        assertEquals(2, result.get("1").size());
+        assertEquals("b.mp4", result.get("1").get(1).getFileName());
+        assertEquals("VIDEO", result.get("1").get(1).getMediaType());
+        assertTrue(result.get("2").isEmpty());
+        assertEquals("/ijaa/api/v1/files/posts/3/media/c.png", result.get("3").get(0).getFileUrl());
+        verify(eventPostMediaRepository, times(1)).findByPostIdInOrderByPostIdAscFileOrderAsc(any());
+    }
+
+    @Test
+    void uploadProfilePhoto_IdenticalContent_SharesOneContentAddressedFile(@TempDir Path uploadDir) {
+        // Arrange
+        FileServiceImpl fileService = withLocalStorage(uploadDir);
+        when(userRepository.findByUserId(any())).thenAnswer(call -> Optional.of(user(call.getArgument(0))));
+        byte[] content = "same avatar".getBytes();
+
+        // Act
+        FileUploadResponse first = fileService.uploadProfilePhoto("alice", new MockMultipartFile("file", "a.JPG", "image/jpeg", content));
+        FileUploadResponse second = fileService.uploadProfilePhoto("bob", new MockMultipartFile("file", "b.jpg", "image/jpeg", content));
+
+        // Assert
+        assertTrue(first.getFileName().matches("[0-9a-f]{32}\\.jpg"), first.getFileName());
+        assertEquals(first.getFileName(), second.getFileName());
+        assertEquals(1, uploadDir.toFile().list().length);
+    }
+
+    @Test
+    void uploadProfilePhoto_ReplacingSharedPhoto_KeepsFileForOtherUsers(@TempDir Path uploadDir) throws IOException {
+        // Arrange
+        FileServiceImpl fileService = withLocalStorage(uploadDir);
+        Path shared = Files.write(uploadDir.resolve("shared.jpg"), "old".getBytes());
+        User user = user(TEST_USER_ID);
+        user.setProfilePhotoPath("shared.jpg");
+        when(userRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(user));
+
+        // Act
+        fileService.uploadProfilePhoto(TEST_USER_ID, new MockMultipartFile("file", "new.png", "image/png", "new".getBytes()));
+
+        // Assert - only marked released; the collector decides once other users are checked
+        assertTrue(Files.exists(shared));
+        assertNotEquals("shared.jpg", user.getProfilePhotoPath());
+        verify(storedFileRepository).markReleased(eq("profile/shared.jpg"), any());
+    }
+
+    @Test
+    void uploadProfilePhoto_ContentAlreadyStored_SkipsTheWrite() throws IOException {
+        // Arrange
+        when(userRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(user(TEST_USER_ID)));
+        when(storageBackend.stat(anyString())).thenAnswer(call -> Optional.of(
+                new ObjectStat(call.getArgument(0), 4, Instant.now(), "image/png")));
+
+        // Act
+        FileUploadResponse response = fileService.uploadProfilePhoto(TEST_USER_ID,
+                new MockMultipartFile("file", "same.png", "image/png", "same".getBytes()));
+
+        // Assert
+        verify(storageBackend).stat("profile/" + response.getFileName());
+        verify(storageBackend, never()).put(anyString(), any(Path.class), any());
+    }
+
+    @Test
+    void uploadProfilePhoto_ClaimsContentBeforeCheckingStorage() throws IOException {
+        // Arrange
+        when(userRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(user(TEST_USER_ID)));
+        when(storageBackend.stat(anyString())).thenAnswer(call -> Optional.of(
+                new ObjectStat(call.getArgument(0), 4, Instant.now(), "image/png")));
+
+        // Act
+        FileUploadResponse response = fileService.uploadProfilePhoto(TEST_USER_ID,
+                new MockMultipartFile("file", "same.png", "image/png", "same".getBytes()));
+
+        // Assert - a collector on another instance waits for this claim until the record is saved
+        String key = "profile/" + response.getFileName();
+        InOrder inOrder = inOrder(storedFileRepository, storageBackend, userRepository);
+        inOrder.verify(storedFileRepository).claim(key);
+        inOrder.verify(storageBackend).stat(key);
+        inOrder.verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void deleteProfilePhoto_MarksFileReleasedWithoutDeletingIt() {
+        // Arrange
+        User user = user(TEST_USER_ID);
+        user.setProfilePhotoPath("a1b2.jpg");
+        when(userRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(user));
+
+        // Act
+        fileService.deleteProfilePhoto(TEST_USER_ID);
+
+        // Assert
+        assertNull(user.getProfilePhotoPath());
+        verify(storedFileRepository).markReleased(eq("profile/a1b2.jpg"), any());
+        verify(storageBackend, never()).delete(anyString());
+        verify(imageVariantService, never()).deleteVariants(anyString());
+    }
+
+    private FileServiceImpl withLocalStorage(Path uploadDir) {
+        FileServiceImpl service = new FileServiceImpl(fileStorageConfig, userRepository, null, eventPostMediaRepository,
+                fileNameIndex, imageVariantService, new LocalStorageBackend(Map.of("profile", uploadDir)), storedFileRepository);
+        ReflectionTestUtils.setField(service, "stagingPath", System.getProperty("java.io.tmpdir"));
+        return service;
+    }
+
+    private User user(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(userId);
+        user.setActive(true);
+        return user;
+    }
+
+    private EventPostMedia postMedia(Long id, String postId, String fileName, int order) {
+        EventPostMedia media = new EventPostMedia();
+        media.setId(id);
+        media.setPostId(postId);
+        media.setFileName(fileName);
+        media.setMediaType(EventPostMedia.MediaType.IMAGE);
+        media.setFileOrder(order);
+        return media;
+    }
 }
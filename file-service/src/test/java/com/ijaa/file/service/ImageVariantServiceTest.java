@@ -0,0 +1,244 @@
+package com.ijaa.file.service;
+
+import com.ijaa.file.common.utils.MediaResponses;
+import com.ijaa.file.storage.LocalStorageBackend;
+import com.ijaa.file.storage.ObjectStat;
+import com.ijaa.file.storage.StorageBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private StorageBackend storageBackend;
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        storageBackend = new LocalStorageBackend(Map.of("profile", uploadDir));
+        imageVariantService = new ImageVariantService(storageBackend, true, 150, 600, 0.8f, 1, 10, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.shutdown();
+    }
+
+    @Test
+    void testThumbIsDownscaledKeepingAspectRatio() throws IOException {
+        // Given
+        Resource original = image("a1b2.jpg", 1200, 800);
+
+        // When
+        Resource thumb = imageVariantService.variantOf(original, "thumb");
+
+        // Then
+        BufferedImage scaled = ImageIO.read(thumb.getFile());
+        assertEquals(150, scaled.getWidth());
+        assertEquals(100, scaled.getHeight());
+        assertEquals(uploadDir.resolve("variants/thumb/a1b2.jpg"), thumb.getFile().toPath());
+        assertTrue(thumb.contentLength() < original.contentLength());
+    }
+
+    @Test
+    void testSmallImageIsNotUpscaled() throws IOException {
+        // Given
+        Resource original = image("c3d4.png", 100, 60);
+
+        // When
+        Resource medium = imageVariantService.variantOf(original, "MEDIUM");
+
+        // Then
+        assertEquals(100, ImageIO.read(medium.getFile()).getWidth());
+        assertEquals(Files.size(original.getFile().toPath()), medium.contentLength());
+    }
+
+    @Test
+    void testOriginalUnknownSizesAndVideosAreServedAsIs() throws IOException {
+        // Given
+        Resource photo = image("e5f6.jpg", 800, 800);
+        Files.write(uploadDir.resolve("clip.mp4"), new byte[16]);
+        Resource video = storageBackend.get("profile/clip.mp4").orElseThrow();
+
+        // Then
+        assertSame(photo, imageVariantService.variantOf(photo, null));
+        assertSame(photo, imageVariantService.variantOf(photo, "huge"));
+        assertSame(video, imageVariantService.variantOf(video, "thumb"));
+    }
+
+    @Test
+    void testDeleteVariantsRemovesGeneratedCopies() throws IOException {
+        // Given
+        Resource original = image("a7b8.jpg", 900, 900);
+        Path thumb = imageVariantService.variantOf(original, "thumb").getFile().toPath();
+
+        // When
+        imageVariantService.deleteVariants("profile/a7b8.jpg");
+
+        // Then
+        assertFalse(Files.exists(thumb));
+    }
+
+    @Test
+    void testSaturatedPoolServesOriginalProvisionallyWithoutBuildingOnCallerThread() throws Exception {
+        // Given - one worker stuck on a build and the one queue slot taken
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBackend blocking = new LocalStorageBackend(Map.of("profile", uploadDir)) {
+            @Override
+            public Optional<ObjectStat> stat(String key) throws IOException {
+                if (key.endsWith("busy.jpg")) {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.stat(key);
+            }
+        };
+        ImageVariantService saturated = new ImageVariantService(blocking, true, 150, 600, 0.8f, 1, 1, Duration.ofSeconds(30));
+        image("busy.jpg", 400, 400);
+        Resource original = image("f9e8.jpg", 1200, 800);
+        try {
+            saturated.generateAsync("profile/busy.jpg");
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // When
+            Resource served = saturated.variantOf(original, "thumb");
+
+            // Then
+            assertFalse(Files.exists(uploadDir.resolve("variants/thumb/f9e8.jpg")));
+            assertEquals(original.contentLength(), served.contentLength());
+            assertEquals("max-age=60, public", cacheControlOf(served));
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void testSlowBuildServesOriginalProvisionallyAndFinishesInBackground() throws Exception {
+        // Given - builds on the pool stall until released
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBackend slow = new LocalStorageBackend(Map.of("profile", uploadDir)) {
+            @Override
+            public Optional<ObjectStat> stat(String key) throws IOException {
+                if (Thread.currentThread().getName().startsWith("image-variants")) {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.stat(key);
+            }
+        };
+        ImageVariantService quick = new ImageVariantService(slow, true, 150, 600, 0.8f, 1, 10, Duration.ofMillis(20));
+        Resource original = image("d5c6.jpg", 1200, 800);
+        Path thumb = uploadDir.resolve("variants/thumb/d5c6.jpg");
+        try {
+            // When
+            Resource served = quick.variantOf(original, "thumb");
+            release.countDown();
+
+            // Then
+            assertEquals(original.contentLength(), served.contentLength());
+            assertEquals("max-age=60, public", cacheControlOf(served));
+            for (int i = 0; i < 100 && !Files.exists(thumb); i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(Files.exists(thumb));
+        } finally {
+            release.countDown();
+            quick.shutdown();
+        }
+    }
+
+    @Test
+    void testFailedBuildServesOriginalProvisionally() throws IOException {
+        // Given
+        Files.write(uploadDir.resolve("broken.jpg"), "not an image".getBytes());
+        Resource original = storageBackend.get("profile/broken.jpg").orElseThrow();
+
+        // When
+        Resource served = imageVariantService.variantOf(original, "medium");
+
+        // Then
+        assertEquals(original.contentLength(), served.contentLength());
+        assertEquals("max-age=60, public", cacheControlOf(served));
+    }
+
+    @Test
+    void testOversizedOriginalIsServedAsIsWithoutDecoding() throws IOException {
+        // Given - a PNG header declaring 100000 x 100000 pixels, with no image data behind it
+        Files.write(uploadDir.resolve("bomb.png"), pngHeader(100_000, 100_000));
+        Resource original = storageBackend.get("profile/bomb.png").orElseThrow();
+
+        // When
+        Resource served = imageVariantService.variantOf(original, "thumb");
+
+        // Then
+        assertSame(original, served);
+        assertFalse(Files.exists(uploadDir.resolve("variants/thumb/bomb.png")));
+        assertEquals("max-age=31536000, public, immutable", cacheControlOf(served));
+    }
+
+    private static byte[] pngHeader(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(png);
+        out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+        byte[] ihdr = ByteBuffer.allocate(17).put("IHDR".getBytes(StandardCharsets.US_ASCII))
+                .putInt(width).putInt(height).put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0)
+                .array();
+        CRC32 crc = new CRC32();
+        crc.update(ihdr);
+        out.writeInt(13);
+        out.write(ihdr);
+        out.writeInt((int) crc.getValue());
+        return png.toByteArray();
+    }
+
+    private static String cacheControlOf(Resource resource) throws IOException {
+        ResponseEntity<Resource> response = MediaResponses.serve(resource, new MockHttpServletRequest("GET", "/media"));
+        return response.getHeaders().getCacheControl();
+    }
+
+    private Resource image(String fileName, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        Path file = uploadDir.resolve(fileName);
+        ImageIO.write(image, fileName.endsWith(".png") ? "png" : "jpeg", file.toFile());
+        return storageBackend.get("profile/" + fileName).orElseThrow();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ijaa.file.service;
+
+import com.ijaa.file.domain.entity.StoredFile;
+import com.ijaa.file.repository.EventBannerRepository;
+import com.ijaa.file.repository.EventPostMediaRepository;
+import com.ijaa.file.repository.StoredFileRepository;
+import com.ijaa.file.repository.UserRepository;
+import com.ijaa.file.storage.StorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoredFileCollectorTest {
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventBannerRepository eventBannerRepository;
+
+    @Mock
+    private EventPostMediaRepository eventPostMediaRepository;
+
+    @Mock
+    private StorageBackend storageBackend;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StoredFileCollector collector;
+    private final LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        collector = new StoredFileCollector(storedFileRepository, userRepository, eventBannerRepository,
+                eventPostMediaRepository, storageBackend, imageVariantService,
+                new TransactionTemplate(transactionManager), true, Duration.ofHours(1));
+    }
+
+    @Test
+    void collect_UnreferencedFile_DeletesObjectVariantsAndRow() throws IOException {
+        // Given
+        StoredFile row = released("event-banners/a1b2.jpg");
+        when(eventBannerRepository.existsByFileName("a1b2.jpg")).thenReturn(false);
+
+        // When
+        int settled = collector.collectReleasedBefore(cutoff);
+
+        // Then
+        assertEquals(1, settled);
+        verify(storageBackend).delete("event-banners/a1b2.jpg");
+        verify(imageVariantService).deleteVariants("event-banners/a1b2.jpg");
+        verify(storedFileRepository).delete(row);
+    }
+
+    @Test
+    void collect_FileStillReferenced_KeepsObjectAndDropsRow() throws IOException {
+        // Given
+        StoredFile row = released("profile/shared.jpg");
+        when(userRepository.existsByProfilePhotoPath("shared.jpg")).thenReturn(true);
+
+        // When
+        int settled = collector.collectReleasedBefore(cutoff);
+
+        // Then
+        assertEquals(1, settled);
+        verify(storageBackend, never()).delete(anyString());
+        verify(storedFileRepository).delete(row);
+    }
+
+    @Test
+    void collect_ReclaimedByUpload_LeavesEverythingAlone() throws IOException {
+        // Given - an upload on another instance claimed the key after it was listed
+        when(storedFileRepository.findKeysReleasedBefore(eq(cutoff), any())).thenReturn(List.of("cover/c3d4.png"));
+        when(storedFileRepository.lockReleasedBefore("cover/c3d4.png", cutoff)).thenReturn(Optional.empty());
+
+        // When
+        int settled = collector.collectReleasedBefore(cutoff);
+
+        // Then
+        assertEquals(0, settled);
+        verifyNoInteractions(storageBackend, userRepository, imageVariantService);
+        verify(storedFileRepository, never()).delete(any(StoredFile.class));
+    }
+
+    @Test
+    void collect_DeleteFails_KeepsRowForNextRun() throws IOException {
+        // Given
+        released("event-posts/e5f6.mp4");
+        when(eventPostMediaRepository.existsByFileName("e5f6.mp4")).thenReturn(false);
+        doThrow(new IOException("bucket unavailable")).when(storageBackend).delete("event-posts/e5f6.mp4");
+
+        // When
+        int settled = collector.collectReleasedBefore(cutoff);
+
+        // Then
+        assertEquals(0, settled);
+        verify(storedFileRepository, never()).delete(any(StoredFile.class));
+    }
+
+    private StoredFile released(String key) {
+        StoredFile row = new StoredFile(key, cutoff.minusMinutes(5));
+        when(storedFileRepository.findKeysReleasedBefore(eq(cutoff), any())).thenReturn(List.of(key));
+        when(storedFileRepository.lockReleasedBefore(key, cutoff)).thenReturn(Optional.of(row));
+        return row;
+    }
+}
@@ -0,0 +1,305 @@
+package com.ijaa.file.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3StorageBackendTest {
+
+    private static final int MB = 1024 * 1024;
+
+    private FakeS3 s3;
+    private S3StorageBackend backend;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new FakeS3();
+        backend = new S3StorageBackend(s3.endpoint(), "us-east-1", "ijaa-files", "minio", "minio-secret",
+                true, 8L * MB, 5L * MB, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.stop();
+    }
+
+    @Test
+    void testPutStatGetAndRangeGet() throws IOException {
+        // Given
+        byte[] content = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        backend.put("profile/a1.jpg", new ByteArrayInputStream(content), content.length, "image/jpeg");
+
+        // Then
+        ObjectStat stat = backend.stat("profile/a1.jpg").orElseThrow();
+        assertEquals(16, stat.size());
+        assertEquals("image/jpeg", stat.contentType());
+        assertNotNull(stat.lastModified());
+        try (InputStream range = backend.getRange("profile/a1.jpg", 4, 9)) {
+            assertEquals("456789", new String(range.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        StoredResource resource = backend.get("profile/a1.jpg").orElseThrow();
+        assertEquals("profile/a1.jpg", resource.getKey());
+        assertEquals("a1.jpg", resource.getFilename());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertTrue(s3.authorizations.stream().allMatch(header -> header.startsWith("AWS4-HMAC-SHA256 Credential=minio/")));
+    }
+
+    @Test
+    void testSkippedResourceStreamOnlyFetchesTheRequestedRange() throws IOException {
+        // Given
+        byte[] content = bytes(4096);
+        backend.put("event-posts/clip.mp4", new ByteArrayInputStream(content), content.length, "video/mp4");
+        StoredResource resource = backend.get("event-posts/clip.mp4").orElseThrow();
+
+        // When
+        byte[] tail;
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(4000, in.skip(4000));
+            tail = in.readAllBytes();
+        }
+
+        // Then
+        assertEquals(96, tail.length);
+        assertEquals(content[4000], tail[0]);
+        assertEquals("bytes=4000-4095", s3.ranges.get(s3.ranges.size() - 1));
+    }
+
+    @Test
+    void testResourceStreamIsFetchedInBoundedRanges() throws IOException {
+        // Given
+        byte[] content = bytes(4096);
+        backend.put("event-posts/clip.mp4", new ByteArrayInputStream(content), content.length, "video/mp4");
+        RemoteObjectResource resource = new RemoteObjectResource(backend,
+                backend.stat("event-posts/clip.mp4").orElseThrow(), 1000);
+
+        // When
+        byte[] read;
+        try (InputStream in = resource.getInputStream()) {
+            read = in.readAllBytes();
+        }
+
+        // Then
+        assertArrayEquals(content, read);
+        assertEquals(List.of("bytes=0-999", "bytes=1000-1999", "bytes=2000-2999", "bytes=3000-3999", "bytes=4000-4095"),
+                s3.ranges);
+    }
+
+    @Test
+    void testStoppingEarlyOnlyFetchesTheChunksRead() throws IOException {
+        // Given
+        byte[] content = bytes(4096);
+        backend.put("event-posts/clip.mp4", new ByteArrayInputStream(content), content.length, "video/mp4");
+        RemoteObjectResource resource = new RemoteObjectResource(backend,
+                backend.stat("event-posts/clip.mp4").orElseThrow(), 1000);
+
+        // When
+        byte[] head;
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(1500, in.skip(1500));
+            head = in.readNBytes(600);
+        }
+
+        // Then
+        assertEquals(content[1500], head[0]);
+        assertEquals(content[2099], head[599]);
+        assertEquals(List.of("bytes=1500-2499"), s3.ranges);
+    }
+
+    @Test
+    void testLargeObjectIsUploadedInParts() throws IOException {
+        // Given
+        byte[] content = bytes(12 * MB);
+
+        // When
+        backend.put("event-posts/big.mp4", new ByteArrayInputStream(content), content.length, "video/mp4");
+
+        // Then
+        assertEquals(3, s3.partsUploaded.get());
+        assertTrue(s3.largestRequestBody <= 5 * MB);
+        assertArrayEquals(content, s3.objects.get("event-posts/big.mp4"));
+        assertTrue(s3.uploads.isEmpty());
+    }
+
+    @Test
+    void testFailedPartAbortsTheUpload() {
+        // Given
+        s3.failPartNumber = 2;
+        byte[] content = bytes(11 * MB);
+
+        // When & Then
+        assertThrows(IOException.class,
+                () -> backend.put("event-posts/broken.mp4", new ByteArrayInputStream(content), content.length, "video/mp4"));
+        assertTrue(s3.uploads.isEmpty());
+        assertFalse(s3.objects.containsKey("event-posts/broken.mp4"));
+    }
+
+    @Test
+    void testDeleteAndMissingObjects() throws IOException {
+        // Given
+        backend.put("cover/c1.png", new ByteArrayInputStream(new byte[10]), 10, "image/png");
+
+        // When
+        backend.delete("cover/c1.png");
+        backend.delete("cover/never-existed.png");
+
+        // Then
+        assertEquals(Optional.empty(), backend.stat("cover/c1.png"));
+        assertEquals(Optional.empty(), backend.get("cover/c1.png"));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] content = new byte[length];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Just enough of the S3 API, path-style, to stand in for MinIO.
+     */
+    private static class FakeS3 {
+
+        private static final Pattern PART = Pattern.compile("partNumber=(\\d+)&uploadId=(.+)");
+
+        final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+        final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+        final List<String> authorizations = new CopyOnWriteArrayList<>();
+        final List<String> ranges = new CopyOnWriteArrayList<>();
+        final AtomicInteger partsUploaded = new AtomicInteger();
+        volatile long largestRequestBody;
+        volatile int failPartNumber;
+
+        private final HttpServer server;
+        private final AtomicInteger uploadIds = new AtomicInteger();
+
+        FakeS3() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/ijaa-files/", this::handle);
+            server.start();
+        }
+
+        URI endpoint() {
+            return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            authorizations.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            String key = exchange.getRequestURI().getPath().substring("/ijaa-files/".length());
+            String query = exchange.getRequestURI().getRawQuery();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            largestRequestBody = Math.max(largestRequestBody, body.length);
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    Matcher part = query != null ? PART.matcher(query) : null;
+                    if (part != null && part.matches()) {
+                        int partNumber = Integer.parseInt(part.group(1));
+                        if (partNumber == failPartNumber) {
+                            respond(exchange, 500, "<Error><Code>InternalError</Code></Error>");
+                            return;
+                        }
+                        uploads.get(part.group(2)).put(partNumber, body);
+                        partsUploaded.incrementAndGet();
+                        exchange.getResponseHeaders().set("ETag", "\"part-" + partNumber + "\"");
+                    } else {
+                        objects.put(key, body);
+                        contentTypes.put(key, String.valueOf(exchange.getRequestHeaders().getFirst("Content-Type")));
+                    }
+                    respond(exchange, 200, "");
+                }
+                case "POST" -> {
+                    if ("uploads=".equals(query)) {
+                        String uploadId = "upload-" + uploadIds.incrementAndGet();
+                        uploads.put(uploadId, new TreeMap<>());
+                        respond(exchange, 200, "<InitiateMultipartUploadResult><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+                    } else {
+                        String uploadId = query.substring("uploadId=".length());
+                        ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+                        for (byte[] part : uploads.remove(uploadId).values()) {
+                            assembled.writeBytes(part);
+                        }
+                        objects.put(key, assembled.toByteArray());
+                        respond(exchange, 200, "<CompleteMultipartUploadResult><Key>" + key + "</Key></CompleteMultipartUploadResult>");
+                    }
+                }
+                case "GET" -> {
+                    byte[] object = objects.get(key);
+                    if (object == null) {
+                        respond(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                        return;
+                    }
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    ranges.add(String.valueOf(range));
+                    String[] bounds = range.substring("bytes=".length()).split("-");
+                    int start = Integer.parseInt(bounds[0]);
+                    int end = Math.min(Integer.parseInt(bounds[1]), object.length - 1);
+                    exchange.sendResponseHeaders(206, end - start + 1);
+                    exchange.getResponseBody().write(object, start, end - start + 1);
+                    exchange.close();
+                }
+                case "HEAD" -> {
+                    byte[] object = objects.get(key);
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                    } else {
+                        exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.length));
+                        exchange.getResponseHeaders().set("Content-Type", contentTypes.get(key));
+                        exchange.getResponseHeaders().set("Last-Modified", "Sat, 17 Oct 2026 10:00:00 GMT");
+                        exchange.sendResponseHeaders(200, -1);
+                    }
+                    exchange.close();
+                }
+                case "DELETE" -> {
+                    if (query != null && query.startsWith("uploadId=")) {
+                        uploads.remove(query.substring("uploadId=".length()));
+                    } else {
+                        objects.remove(key);
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                    exchange.close();
+                }
+                default -> respond(exchange, 405, "");
+            }
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                exchange.getResponseBody().write(bytes);
+            }
+            exchange.close();
+        }
+    }
+}
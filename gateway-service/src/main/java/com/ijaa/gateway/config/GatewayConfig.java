@@ -8,6 +8,8 @@ import org.springframework.context.annotation.Configuration;
 
 import java.time.LocalDateTime;
 
+import static com.ijaa.gateway.config.PublicPaths.toArray;
+
 @Configuration
 public class GatewayConfig {
 
@@ -16,65 +18,61 @@ public class GatewayConfig {
         return builder.routes()
                 // Public endpoints (no authentication required)
                 .route(p -> p
-                        .path("/ijaa/api/v1/admin/feature-flags/*/enabled")
+                        .path(toArray(PublicPaths.FEATURE_FLAG_STATUS))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://user-service"))
                 .route(p -> p
-                        .path("/ijaa/api/v1/auth/login", "/ijaa/api/v1/auth/register", "/ijaa/api/v1/auth/refresh", "/ijaa/api/v1/auth/logout")
+                        .path(toArray(PublicPaths.USER_AUTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://user-service"))
                 .route(p -> p
-                        .path("/ijaa/api/v1/admin/login", "/ijaa/api/v1/admin/admins")
+                        .path(toArray(PublicPaths.ADMIN_AUTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://user-service"))
                 .route(p -> p
-                        .path("/ijaa/api/v1/locations/**")
+                        .path(toArray(PublicPaths.LOCATIONS))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://user-service")) // Location endpoints are public
                 .route(p -> p
-                        .path("/ijaa/api/v1/files/users/*/profile-photo/file/**", 
-                              "/ijaa/api/v1/files/users/*/cover-photo/file/**",
-                              "/ijaa/api/v1/files/events/*/banner/file/**",
-                              "/ijaa/api/v1/files/posts/*/media/file/**")
+                        .path(toArray(PublicPaths.FILE_SERVING))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://file-service"))
                 .route(p -> p
-                        .path("/ijaa/api/v1/health/**",
-                              "/ijaa/test/**")
+                        .path(toArray(PublicPaths.USER_HEALTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://user-service")) // User service health endpoints
                 .route(p -> p
-                        .path("/ijaa/api/v1/events/health/**")
+                        .path(toArray(PublicPaths.EVENT_HEALTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://event-service")) // Event service health endpoints
                 .route(p -> p
-                        .path("/ijaa/api/v1/files/health/**")
+                        .path(toArray(PublicPaths.FILE_HEALTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://file-service")) // File service health endpoints
                 .route(p -> p
-                        .path("/ijaa/api/v1/config/health/**")
+                        .path(toArray(PublicPaths.CONFIG_HEALTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
                         .uri("lb://config-service")) // Config service health endpoints
                 .route(p -> p
-                        .path("/ijaa/api/v1/discovery/health/**")
+                        .path(toArray(PublicPaths.DISCOVERY_HEALTH))
                         .filters(f -> f
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
                                 .addResponseHeader("X-Response-Time", LocalDateTime.now().toString()))
@@ -82,6 +80,8 @@ public class GatewayConfig {
                 // Protected endpoints (authentication required) - One route per service
                 .route(p -> p
                         .path("/ijaa/api/v1/users/**", "/ijaa/api/v1/admin/**")
+                        .and()
+                        .not(route -> route.path(toArray(PublicPaths.INTERNAL_ONLY)))
                         .filters(f -> f
                                 .filter(filter.apply(new AuthenticationFilter.Config()))
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
@@ -97,10 +97,7 @@ public class GatewayConfig {
                 .route(p -> p
                         .path("/ijaa/api/v1/files/**")
                         .and()
-                        .not(route -> route.path("/ijaa/api/v1/files/users/*/profile-photo/file/**",
-                                                "/ijaa/api/v1/files/users/*/cover-photo/file/**",
-                                                "/ijaa/api/v1/files/events/*/banner/file/**",
-                                                "/ijaa/api/v1/files/posts/*/media/file/**"))
+                        .not(route -> route.path(toArray(PublicPaths.FILE_SERVING)))
                         .filters(f -> f
                                 .filter(filter.apply(new AuthenticationFilter.Config()))
                                 .rewritePath("/ijaa/(?<segment>.*)", "/${segment}")
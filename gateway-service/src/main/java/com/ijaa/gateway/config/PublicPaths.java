@@ -0,0 +1,69 @@
+package com.ijaa.gateway.config;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Path patterns reachable without authentication, grouped by the route that serves them.
+ * Used both for the public route definitions in {@link GatewayConfig} and by
+ * {@link com.ijaa.gateway.validator.RouteValidator}, so the two cannot drift apart.
+ * Patterns use Spring {@code PathPattern} syntax ({@code *} for one segment, {@code **} for the rest).
+ */
+public final class PublicPaths {
+
+    // Feature flag status check
+    public static final List<String> FEATURE_FLAG_STATUS = List.of(
+            "/ijaa/api/v1/admin/feature-flags/*/enabled");
+
+    // Service-to-service endpoints the gateway must not route at all, authenticated or not
+    public static final List<String> INTERNAL_ONLY = List.of(
+            "/ijaa/api/v1/admin/feature-flags/snapshot");
+
+    // Authentication endpoints
+    public static final List<String> USER_AUTH = List.of(
+            "/ijaa/api/v1/auth/login",
+            "/ijaa/api/v1/auth/register",
+            "/ijaa/api/v1/auth/refresh",
+            "/ijaa/api/v1/auth/logout");
+
+    // Admin authentication endpoints
+    public static final List<String> ADMIN_AUTH = List.of(
+            "/ijaa/api/v1/admin/login",
+            "/ijaa/api/v1/admin/admins");
+
+    // Location endpoints
+    public static final List<String> LOCATIONS = List.of(
+            "/ijaa/api/v1/locations/**");
+
+    // File serving endpoints
+    public static final List<String> FILE_SERVING = List.of(
+            "/ijaa/api/v1/files/users/*/profile-photo/file/**",
+            "/ijaa/api/v1/files/users/*/cover-photo/file/**",
+            "/ijaa/api/v1/files/events/*/banner/file/**",
+            "/ijaa/api/v1/files/posts/*/media/file/**");
+
+    // Health check endpoints, one group per target service
+    public static final List<String> USER_HEALTH = List.of(
+            "/ijaa/api/v1/health/**",
+            "/ijaa/test/**");
+    public static final List<String> EVENT_HEALTH = List.of("/ijaa/api/v1/events/health/**");
+    public static final List<String> FILE_HEALTH = List.of("/ijaa/api/v1/files/health/**");
+    public static final List<String> CONFIG_HEALTH = List.of("/ijaa/api/v1/config/health/**");
+    public static final List<String> DISCOVERY_HEALTH = List.of("/ijaa/api/v1/discovery/health/**");
+
+    // Actuator endpoints (not routed, but never require a token)
+    public static final List<String> ACTUATOR = List.of("/ijaa/actuator/**");
+
+    public static final List<String> ALL = Stream.of(
+                    FEATURE_FLAG_STATUS, USER_AUTH, ADMIN_AUTH, LOCATIONS, FILE_SERVING,
+                    USER_HEALTH, EVENT_HEALTH, FILE_HEALTH, CONFIG_HEALTH, DISCOVERY_HEALTH, ACTUATOR)
+            .flatMap(List::stream)
+            .toList();
+
+    private PublicPaths() {
+    }
+
+    public static String[] toArray(List<String> patterns) {
+        return patterns.toArray(String[]::new);
+    }
+}
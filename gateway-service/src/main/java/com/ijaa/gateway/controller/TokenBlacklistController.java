@@ -1,6 +1,7 @@
 package com.ijaa.gateway.controller;
 
 import com.ijaa.gateway.service.TokenBlacklistService;
+import com.ijaa.gateway.utils.TokenDigestUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -61,14 +62,29 @@ public class TokenBlacklistController {
         }
     }
 
+    /**
+     * Checks a token against the blacklist. Callers may pass either the raw token or,
+     * preferably, the hex-encoded SHA-256 {@code tokenHash} so the JWT never appears in a URL.
+     */
     @GetMapping("/is-blacklisted")
     public ResponseEntity<Map<String, Object>> isTokenBlacklisted(
-            @RequestParam String token) {
-        
+            @RequestParam(required = false) String token,
+            @RequestParam(required = false) String tokenHash) {
+
+        if (token == null && tokenHash == null) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Missing required parameter: token or tokenHash"));
+        }
+        if (token == null && !tokenHash.matches("[0-9a-fA-F]{64}")) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "tokenHash must be a hex-encoded SHA-256 digest"));
+        }
+
         try {
-            boolean isBlacklisted = tokenBlacklistService.isTokenBlacklisted(token);
+            String digest = token != null ? TokenDigestUtils.sha256Hex(token) : tokenHash;
+            boolean isBlacklisted = tokenBlacklistService.isTokenHashBlacklisted(digest);
             return ResponseEntity.ok(Map.of(
-                "token", token,
+                "tokenHash", digest,
                 "isBlacklisted", isBlacklisted
             ));
         } catch (Exception e) {
@@ -78,4 +94,3 @@ public class TokenBlacklistController {
         }
     }
 }
-
@@ -0,0 +1,22 @@
+package com.ijaa.gateway.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * User context derived from a verified token together with its pre-encoded
+ * {@code X-USER_ID} header value, valid until the token expires.
+ */
+@Getter
+@AllArgsConstructor
+public class ResolvedUserContext {
+    private final CurrentUserContext context;
+    private final String encodedHeader;
+    private final long expiresAtMillis;
+    private final long issuedAtMillis;
+    private final String revocationKey;
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ijaa.gateway.domain.dto;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have already been verified.
+ */
+@Getter
+@AllArgsConstructor
+public class TokenClaims {
+    private final String userId;
+    private final String username;
+    private final String email;
+    private final String userType;
+    private final String role;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+    // userType:userId key of the per-user revocation epoch, null if the token identifies no user
+    private final String revocationKey;
+
+    public static TokenClaims from(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        Object adminId = claims.get("adminId");
+        String revocationKey = userId != null ? revocationKey("USER", userId)
+                : adminId != null ? revocationKey("ADMIN", adminId.toString())
+                : null;
+        return new TokenClaims(
+                userId,
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                claims.get("userType", String.class),
+                claims.get("role", String.class),
+                toMillis(claims.getIssuedAt()),
+                toMillis(claims.getExpiration()),
+                revocationKey);
+    }
+
+    public static String revocationKey(String userType, String userId) {
+        return userType + ':' + userId;
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : 0L;
+    }
+}
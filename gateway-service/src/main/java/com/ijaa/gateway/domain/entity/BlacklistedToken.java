@@ -18,8 +18,9 @@ public class BlacklistedToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(name = "token", unique = true, nullable = false, length = 1000)
-    private String token;
+    // SHA-256 of the raw JWT; the token itself is never persisted
+    @Column(name = "token_hash", unique = true, nullable = false, length = 32)
+    private byte[] tokenHash;
     
     @Column(name = "user_id", nullable = false, length = 50)
     private String userId;
@@ -0,0 +1,36 @@
+package com.ijaa.gateway.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user revocation epoch: every token of the user issued before {@code notBefore} is rejected.
+ */
+@Entity
+@Table(name = "user_token_revocations",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "user_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, length = 50)
+    private String userId;
+
+    @Column(name = "user_type", nullable = false, length = 20)
+    private String userType;
+
+    @Column(name = "not_before", nullable = false)
+    private LocalDateTime notBefore;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,37 +1,26 @@
 package com.ijaa.gateway.filter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ijaa.gateway.domain.dto.CurrentUserContext;
+import com.ijaa.gateway.domain.dto.ResolvedUserContext;
 import com.ijaa.gateway.exceptions.MissingAuthorizationHeaderException;
-import com.ijaa.gateway.utils.JwtUtil;
-import com.ijaa.gateway.utils.SerializationUtils;
+import com.ijaa.gateway.service.UserContextResolver;
 import com.ijaa.gateway.validator.RouteValidator;
 import io.jsonwebtoken.ExpiredJwtException;
 import org.apache.http.HttpHeaders;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
     private final RouteValidator routeValidator;
-    private final JwtUtil jwtUtil;
-    private final ObjectMapper objectMapper;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final UserContextResolver userContextResolver;
 
-    public AuthenticationFilter(RouteValidator routeValidator, JwtUtil jwtUtil, ObjectMapper objectMapper) {
+    public AuthenticationFilter(RouteValidator routeValidator, UserContextResolver userContextResolver) {
         super(Config.class);
         this.routeValidator = routeValidator;
-        this.jwtUtil = jwtUtil;
-        this.objectMapper = objectMapper;
+        this.userContextResolver = userContextResolver;
     }
 
 
@@ -48,14 +37,10 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                 ServerHttpRequest request = exchange.getRequest(); // initialize with default request
 
                 try {
-                    jwtUtil.validateToken(token,jwtSecret);
-                    CurrentUserContext currentUserContext = prepareCurrentContext(token);
-
-                    String jsonCurrentUserContext = toJson(currentUserContext);
-                    String base64CurentUserContext = SerializationUtils.toBase64(jsonCurrentUserContext.getBytes(StandardCharsets.UTF_8));
+                    ResolvedUserContext resolvedUserContext = userContextResolver.resolve(token);
 
                     request = exchange.getRequest().mutate()
-                            .header("X-USER_ID",base64CurentUserContext)
+                            .header("X-USER_ID", resolvedUserContext.getEncodedHeader())
                             .build();
                 } catch (ExpiredJwtException e) {
                     throw new RuntimeException("Expired JWT token");
@@ -70,45 +55,6 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
         };
     }
 
-    private CurrentUserContext prepareCurrentContext(String token) {
-        try {
-            String userType = jwtUtil.extractUserType(token, jwtSecret);
-            String role = jwtUtil.extractRole(token, jwtSecret);
-            
-            CurrentUserContext currentUserContext = new CurrentUserContext();
-            
-            if ("ADMIN".equals(userType)) {
-                String email = jwtUtil.extractEmail(token, jwtSecret);
-                currentUserContext.setUsername(email);
-                currentUserContext.setUserId(email); // For admin, use email as userId
-                currentUserContext.setUserType("ADMIN");
-                currentUserContext.setRole(role);
-            } else {
-                String username = jwtUtil.extractUsername(token, jwtSecret);
-                String userId = jwtUtil.extractUserId(token, jwtSecret);
-                currentUserContext.setUsername(username);
-                currentUserContext.setUserId(userId);
-                currentUserContext.setUserType("USER");
-                currentUserContext.setRole(role);
-            }
-            
-            return currentUserContext;
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    private String toJson(CurrentUserContext currentUserContext) {
-        String jsonCurrentUserContext = null;
-        try {
-            jsonCurrentUserContext = objectMapper.writeValueAsString(currentUserContext);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-        }
-        return jsonCurrentUserContext;
-    }
-
     public static class Config {
     }
 }
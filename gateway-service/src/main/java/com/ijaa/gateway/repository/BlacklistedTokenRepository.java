@@ -9,20 +9,24 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
     
-    boolean existsByToken(String token);
-    
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM BlacklistedToken bt WHERE bt.userId = :userId AND bt.userType = :userType")
-    void deleteAllUserTokens(@Param("userId") String userId, @Param("userType") String userType);
+    boolean existsByTokenHash(byte[] tokenHash);
+
+    List<BlacklistedToken> findByExpiryDateAfter(LocalDateTime now);
     
+    /**
+     * Deletes at most {@code batchSize} expired rows in one short transaction, skipping rows
+     * locked by concurrent writers so the purge never waits on or blocks request traffic.
+     */
     @Modifying
     @Transactional
-    @Query("DELETE FROM BlacklistedToken bt WHERE bt.expiryDate < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM blacklisted_tokens WHERE id IN (" +
+            "SELECT id FROM blacklisted_tokens WHERE expiry_date < :now LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredTokensBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
 
@@ -0,0 +1,38 @@
+package com.ijaa.gateway.repository;
+
+import com.ijaa.gateway.domain.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    List<UserTokenRevocation> findByNotBeforeAfter(LocalDateTime since);
+
+    /**
+     * Moves the user's revocation epoch forward in a single statement; never moves it back.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_token_revocations (user_id, user_type, not_before, updated_at) " +
+            "VALUES (:userId, :userType, :notBefore, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, user_type) DO UPDATE SET " +
+            "not_before = GREATEST(user_token_revocations.not_before, EXCLUDED.not_before), " +
+            "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    void upsertNotBefore(@Param("userId") String userId,
+                         @Param("userType") String userType,
+                         @Param("notBefore") LocalDateTime notBefore);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.notBefore < :cutoff")
+    int deleteStaleRevocations(@Param("cutoff") LocalDateTime cutoff);
+}
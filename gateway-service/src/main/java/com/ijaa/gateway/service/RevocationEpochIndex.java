@@ -0,0 +1,39 @@
+package com.ijaa.gateway.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map of per-user revocation epochs, keyed by {@code userType:userId}.
+ * A token is revoked when it was issued before its user's epoch.
+ */
+@Component
+public class RevocationEpochIndex {
+
+    private final Map<String, Long> notBeforeByUser = new ConcurrentHashMap<>();
+
+    public void advance(String revocationKey, long notBeforeMillis) {
+        notBeforeByUser.merge(revocationKey, notBeforeMillis, Math::max);
+    }
+
+    public boolean isRevoked(String revocationKey, long issuedAtMillis) {
+        if (revocationKey == null) {
+            return false;
+        }
+        Long notBefore = notBeforeByUser.get(revocationKey);
+        return notBefore != null && issuedAtMillis < notBefore;
+    }
+
+    /**
+     * Forgets epochs older than the longest token lifetime; no token they could reject is still valid.
+     */
+    public void purgeOlderThan(long cutoffMillis) {
+        notBeforeByUser.values().removeIf(notBefore -> notBefore < cutoffMillis);
+    }
+
+    public int size() {
+        return notBeforeByUser.size();
+    }
+}
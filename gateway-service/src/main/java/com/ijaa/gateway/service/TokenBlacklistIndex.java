@@ -0,0 +1,103 @@
+package com.ijaa.gateway.service;
+
+import com.ijaa.gateway.utils.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of blacklisted token digests consulted on the request path.
+ * <p>
+ * A bloom filter answers the common "not blacklisted" case without touching the
+ * map; hits are confirmed against a concurrent map of digest to expiry so that
+ * false positives never reject a valid token. Entries are dropped once the
+ * token itself has expired, at which point the JWT check rejects it anyway.
+ */
+@Component
+@Slf4j
+public class TokenBlacklistIndex {
+
+    private final Map<String, Long> expiryByDigest = new ConcurrentHashMap<>();
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    // Filter being filled by purgeExpired(); adds go to it as well so none are lost by the swap
+    private volatile BloomFilter rebuilding;
+
+    public TokenBlacklistIndex(
+            @Value("${gateway.token-blacklist.expected-insertions:100000}") long expectedInsertions,
+            @Value("${gateway.token-blacklist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public void add(String digest, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        expiryByDigest.merge(digest, expiresAtMillis, Math::max);
+        // Rebuild first: a purge that has not started yet will see the map entry, one that has must get it here
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(digest);
+        }
+        BloomFilter current = bloomFilter;
+        current.put(digest);
+        // A swap between the two reads above may have replaced the filter just written to
+        while (bloomFilter != current) {
+            current = bloomFilter;
+            current.put(digest);
+        }
+    }
+
+    public boolean contains(String digest) {
+        if (!bloomFilter.mightContain(digest)) {
+            return false;
+        }
+        Long expiresAt = expiryByDigest.get(digest);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            expiryByDigest.remove(digest, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops expired digests and rebuilds the bloom filter from what remains,
+     * since bloom filters cannot forget individual entries.
+     *
+     * @return number of entries removed
+     */
+    public synchronized int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = expiryByDigest.size();
+        expiryByDigest.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, expiryByDigest.size() * 2L), falsePositiveRate);
+        // The live filter keeps answering until the new one holds every digest; adds made
+        // meanwhile reach both, whether or not the iteration below still sees them.
+        rebuilding = rebuilt;
+        try {
+            expiryByDigest.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        } finally {
+            rebuilding = null;
+        }
+
+        int removed = Math.max(0, before - expiryByDigest.size());
+        log.debug("Token blacklist index purged {} expired entries, {} remaining", removed, expiryByDigest.size());
+        return removed;
+    }
+
+    public int size() {
+        return expiryByDigest.size();
+    }
+}
@@ -1,19 +1,24 @@
 package com.ijaa.gateway.service;
 
 import com.ijaa.gateway.domain.entity.BlacklistedToken;
+import com.ijaa.gateway.domain.dto.TokenClaims;
 import com.ijaa.gateway.repository.BlacklistedTokenRepository;
+import com.ijaa.gateway.repository.UserTokenRevocationRepository;
+import com.ijaa.gateway.utils.TokenDigestUtils;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +26,9 @@ import java.util.Date;
 public class TokenBlacklistService {
 
     private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenBlacklistIndex tokenBlacklistIndex;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final RevocationEpochIndex revocationEpochIndex;
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -28,38 +36,102 @@ public class TokenBlacklistService {
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
 
+    /**
+     * Loads every still-valid blacklist entry into the in-memory index before the
+     * gateway starts accepting traffic, so the request path never queries the database.
+     */
+    @PostConstruct
+    public void loadIndex() {
+        blacklistedTokenRepository.findByExpiryDateAfter(LocalDateTime.now())
+                .forEach(blacklistedToken -> tokenBlacklistIndex.add(
+                        TokenDigestUtils.toHex(blacklistedToken.getTokenHash()),
+                        toEpochMillis(blacklistedToken.getExpiryDate())));
+        log.info("Loaded {} blacklisted tokens into memory", tokenBlacklistIndex.size());
+
+        userTokenRevocationRepository.findByNotBeforeAfter(LocalDateTime.now().minusSeconds(accessTokenExpiration))
+                .forEach(revocation -> revocationEpochIndex.advance(
+                        TokenClaims.revocationKey(revocation.getUserType(), revocation.getUserId()),
+                        toEpochMillis(revocation.getNotBefore())));
+        log.info("Loaded {} user revocation epochs into memory", revocationEpochIndex.size());
+    }
+
     public void blacklistToken(String token, String userId, String userType) {
         // Extract expiry date from token
         LocalDateTime expiryDate = extractTokenExpiryDate(token);
-        
+        byte[] tokenHash = TokenDigestUtils.sha256(token);
+        String tokenHashHex = TokenDigestUtils.toHex(tokenHash);
+
+        if (tokenBlacklistIndex.contains(tokenHashHex)) {
+            log.debug("Token already blacklisted for user: {} (type: {})", userId, userType);
+            return;
+        }
+
+        // Only the digest is stored; the raw JWT never reaches the database
         BlacklistedToken blacklistedToken = new BlacklistedToken();
-        blacklistedToken.setToken(token);
+        blacklistedToken.setTokenHash(tokenHash);
         blacklistedToken.setExpiryDate(expiryDate);
         blacklistedToken.setTokenType("ACCESS");
         blacklistedToken.setUserId(userId);
         blacklistedToken.setUserType(userType);
-        
+
+        // Index first so the token is rejected even while the insert is in flight
+        tokenBlacklistIndex.add(tokenHashHex, toEpochMillis(expiryDate));
         blacklistedTokenRepository.save(blacklistedToken);
         log.info("Token blacklisted for user: {} (type: {})", userId, userType);
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokenRepository.existsByToken(token);
+        return tokenBlacklistIndex.contains(TokenDigestUtils.sha256Hex(token));
+    }
+
+    /**
+     * Same as {@link #isTokenBlacklisted(String)} for callers that only hold the
+     * hex-encoded SHA-256 digest of the token.
+     */
+    public boolean isTokenHashBlacklisted(String tokenHashHex) {
+        return tokenBlacklistIndex.contains(tokenHashHex.toLowerCase(Locale.ROOT));
     }
 
-    @Transactional
+    /**
+     * Revokes every token issued to the user so far by moving the user's revocation epoch to now.
+     * Costs one upsert regardless of how many tokens the user holds.
+     */
     public void blacklistAllUserTokens(String userId, String userType) {
-        // This method should blacklist all user tokens, not delete them
-        // For now, we'll just delete existing blacklisted tokens for this user
-        // In a real implementation, you would need to track all active tokens
-        blacklistedTokenRepository.deleteAllUserTokens(userId, userType);
-        log.info("All tokens blacklisted for user: {} (type: {})", userId, userType);
+        LocalDateTime notBefore = LocalDateTime.now();
+        revocationEpochIndex.advance(TokenClaims.revocationKey(userType, userId), toEpochMillis(notBefore));
+        userTokenRevocationRepository.upsertNotBefore(userId, userType, notBefore);
+        log.info("All tokens revoked for user: {} (type: {})", userId, userType);
     }
 
-    @Transactional
-    public void cleanupExpiredTokens() {
-        blacklistedTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        log.info("Expired tokens cleaned up");
+    /**
+     * JWT {@code iat} has second precision, so a token issued within the same second
+     * as the revocation is treated as revoked as well.
+     */
+    public boolean isRevokedByEpoch(String revocationKey, long issuedAtMillis) {
+        return revocationEpochIndex.isRevoked(revocationKey, issuedAtMillis);
+    }
+
+    /**
+     * Deletes one bounded chunk of expired blacklist rows.
+     *
+     * @return number of rows deleted; less than {@code batchSize} means nothing is left
+     */
+    public int cleanupExpiredTokens(int batchSize) {
+        return blacklistedTokenRepository.deleteExpiredTokensBatch(LocalDateTime.now(), batchSize);
+    }
+
+    public int purgeExpiredFromIndex() {
+        return tokenBlacklistIndex.purgeExpired();
+    }
+
+    /**
+     * Drops revocation epochs older than the access token lifetime; every token they
+     * could reject has expired by then.
+     */
+    public int purgeStaleRevocations() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(accessTokenExpiration);
+        revocationEpochIndex.purgeOlderThan(toEpochMillis(cutoff));
+        return userTokenRevocationRepository.deleteStaleRevocations(cutoff);
     }
 
     private LocalDateTime extractTokenExpiryDate(String token) {
@@ -71,7 +143,7 @@ public class TokenBlacklistService {
                     .getPayload();
             
             Date expiryDate = claims.getExpiration();
-            return LocalDateTime.ofInstant(expiryDate.toInstant(), java.time.ZoneId.systemDefault());
+            return LocalDateTime.ofInstant(expiryDate.toInstant(), ZoneId.systemDefault());
         } catch (Exception e) {
             log.warn("Could not parse token expiry, using default: {}", e.getMessage());
             // If we can't parse the token, set expiry to current time + access token duration
@@ -79,6 +151,10 @@ public class TokenBlacklistService {
         }
     }
 
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
     private SecretKey getKey() {
         byte[] keyBytes = java.util.Base64.getDecoder().decode(secretKey);
         return new SecretKeySpec(keyBytes, "HmacSHA512");
@@ -0,0 +1,59 @@
+package com.ijaa.gateway.service;
+
+import com.ijaa.gateway.domain.dto.ResolvedUserContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache from verified token to its resolved user context. Entries
+ * expire together with the token; when the cache is full and nothing has
+ * expired, new tokens are simply resolved without being cached.
+ */
+@Component
+public class UserContextCache {
+
+    private final Map<String, ResolvedUserContext> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public UserContextCache(@Value("${gateway.user-context-cache.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public ResolvedUserContext get(String token) {
+        ResolvedUserContext cached = entries.get(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(token, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(String token, ResolvedUserContext resolved) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(token, resolved);
+    }
+
+    public void evict(String token) {
+        entries.remove(token);
+    }
+
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(resolved -> resolved.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ijaa.gateway.service;
+
+import com.ijaa.gateway.domain.dto.CurrentUserContext;
+import com.ijaa.gateway.domain.dto.ResolvedUserContext;
+import com.ijaa.gateway.domain.dto.TokenClaims;
+import com.ijaa.gateway.utils.JwtUtil;
+import com.ijaa.gateway.utils.SerializationUtils;
+import com.ijaa.gateway.utils.UserContextCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Turns a bearer token into the user context forwarded downstream. Each token
+ * is verified and encoded with {@link UserContextCodec} once; later requests
+ * carrying the same token are answered from {@link UserContextCache} after the
+ * in-memory blacklist and revocation epoch checks.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserContextResolver {
+
+    private final JwtUtil jwtUtil;
+    private final UserContextCache userContextCache;
+
+    public ResolvedUserContext resolve(String token) {
+        jwtUtil.checkNotBlacklisted(token);
+
+        ResolvedUserContext cached = userContextCache.get(token);
+        if (cached != null) {
+            jwtUtil.checkNotRevoked(cached.getRevocationKey(), cached.getIssuedAtMillis());
+            return cached;
+        }
+
+        TokenClaims claims = jwtUtil.parseToken(token);
+        jwtUtil.checkNotRevoked(claims.getRevocationKey(), claims.getIssuedAtMillis());
+        CurrentUserContext currentUserContext = toCurrentUserContext(claims);
+        String encodedHeader = SerializationUtils.toBase64(UserContextCodec.encode(currentUserContext));
+
+        ResolvedUserContext resolved = new ResolvedUserContext(currentUserContext, encodedHeader,
+                claims.getExpiresAtMillis(), claims.getIssuedAtMillis(), claims.getRevocationKey());
+        userContextCache.put(token, resolved);
+        return resolved;
+    }
+
+    private CurrentUserContext toCurrentUserContext(TokenClaims claims) {
+        CurrentUserContext currentUserContext = new CurrentUserContext();
+        if ("ADMIN".equals(claims.getUserType())) {
+            currentUserContext.setUsername(claims.getEmail());
+            currentUserContext.setUserId(claims.getEmail()); // For admin, use email as userId
+            currentUserContext.setUserType("ADMIN");
+        } else {
+            currentUserContext.setUsername(claims.getUsername());
+            currentUserContext.setUserId(claims.getUserId());
+            currentUserContext.setUserType("USER");
+        }
+        currentUserContext.setRole(claims.getRole());
+        return currentUserContext;
+    }
+}
@@ -1,91 +1,51 @@
 package com.ijaa.gateway.utils;
 
+import com.ijaa.gateway.domain.dto.TokenClaims;
 import com.ijaa.gateway.service.TokenBlacklistService;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
-import java.util.Date;
-import java.util.function.Function;
-
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
     private final TokenBlacklistService tokenBlacklistService;
+    // Key decoding and parser construction happen once; JwtParser is immutable and thread-safe
+    private final JwtParser jwtParser;
 
-    public void validateToken(String token, String jwtSecret) {
-        if(isTokenExpired(token,jwtSecret)) {
-            throw new ExpiredJwtException(null,null,"Token is expired");
-        }
-        
-        // Check if token is blacklisted
+    public JwtUtil(TokenBlacklistService tokenBlacklistService, @Value("${jwt.secret}") String jwtSecret) {
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry of the token in a single parse.
+     *
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token is expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+     */
+    public TokenClaims parseToken(String token) {
+        return TokenClaims.from(jwtParser.parseSignedClaims(token).getPayload());
+    }
+
+    public void checkNotBlacklisted(String token) {
         if (tokenBlacklistService.isTokenBlacklisted(token)) {
             log.warn("Blacklisted token attempted to be used");
             throw new RuntimeException("Token is blacklisted");
         }
     }
 
-    private boolean isTokenExpired(String token, String jwtSecret) {
-        try {
-            return extractExpiration(token, jwtSecret).before(new Date());
-        } catch (Exception e) {
-            e.printStackTrace();
-            return true;
+    public void checkNotRevoked(String revocationKey, long issuedAtMillis) {
+        if (tokenBlacklistService.isRevokedByEpoch(revocationKey, issuedAtMillis)) {
+            log.warn("Token issued before the user's revocation epoch attempted to be used");
+            throw new RuntimeException("Token has been revoked");
         }
     }
-
-    private Date extractExpiration(String token, String jwtSecret) {
-        return extractClaim(token, jwtSecret, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, String jwtSecret, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token, jwtSecret);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token, String jwtSecret) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey(jwtSecret))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey(String jwtSecret) {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public <T> T extractClaimByKey(String token, String jwtSecret, String key, Class<T> classType) {
-        return extractClaim(token,jwtSecret,claim ->
-                claim.get(key, classType));
-    }
-
-    public String extractUserType(String token, String jwtSecret) {
-        return extractClaimByKey(token, jwtSecret, "userType", String.class);
-    }
-
-    public String extractRole(String token, String jwtSecret) {
-        return extractClaimByKey(token, jwtSecret, "role", String.class);
-    }
-
-    public String extractUsername(String token, String jwtSecret) {
-        return extractClaimByKey(token, jwtSecret, "username", String.class);
-    }
-
-    public String extractEmail(String token, String jwtSecret) {
-        return extractClaimByKey(token, jwtSecret, "email", String.class);
-    }
-
-    public String extractUserId(String token, String jwtSecret) {
-        return extractClaimByKey(token, jwtSecret, "userId", String.class);
-    }
 }
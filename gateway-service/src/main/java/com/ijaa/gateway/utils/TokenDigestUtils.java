@@ -0,0 +1,34 @@
+package com.ijaa.gateway.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@UtilityClass
+public class TokenDigestUtils {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * Fixed-width SHA-256 digest of a raw JWT, used as the blacklist key so
+     * that lookups never compare full tokens.
+     */
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String sha256Hex(String token) {
+        return toHex(sha256(token));
+    }
+
+    public static String toHex(byte[] digest) {
+        return HEX.formatHex(digest);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ijaa.gateway.utils;
+
+import com.ijaa.gateway.domain.dto.CurrentUserContext;
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of {@link CurrentUserContext} for the {@code X-USER_ID} header.
+ * <p>
+ * Layout (version 1): one version byte followed by username, userId, userType and role,
+ * each written as a two-byte big-endian length and its UTF-8 bytes. A length of
+ * {@code 0xFFFF} marks a null field. Downstream services also still accept the
+ * legacy Base64 JSON form, which always starts with {@code '{'}.
+ */
+@UtilityClass
+public class UserContextCodec {
+
+    public static final byte VERSION_1 = 1;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    public static byte[] encode(CurrentUserContext context) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(VERSION_1);
+        writeField(out, context.getUsername());
+        writeField(out, context.getUserId());
+        writeField(out, context.getUserType());
+        writeField(out, context.getRole());
+        return out.toByteArray();
+    }
+
+    private static void writeField(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            out.write(NULL_LENGTH >>> 8);
+            out.write(NULL_LENGTH & 0xFF);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("User context field too long: " + bytes.length + " bytes");
+        }
+        out.write(bytes.length >>> 8);
+        out.write(bytes.length & 0xFF);
+        out.write(bytes, 0, bytes.length);
+    }
+}
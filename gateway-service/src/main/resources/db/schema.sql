@@ -1,7 +1,8 @@
--- Blacklisted tokens table for logout functionality
+-- Blacklisted tokens table for logout functionality.
+-- Tokens are stored as their 32-byte SHA-256 digest rather than the raw JWT.
 CREATE TABLE IF NOT EXISTS blacklisted_tokens (
     id BIGSERIAL PRIMARY KEY,
-    token VARCHAR(1000) UNIQUE NOT NULL,
+    token_hash BYTEA NOT NULL,
     user_id VARCHAR(50) NOT NULL,
     user_type VARCHAR(20) NOT NULL,
     token_type VARCHAR(20) NOT NULL,
@@ -9,8 +10,30 @@ CREATE TABLE IF NOT EXISTS blacklisted_tokens (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Migration from the raw-token layout (token VARCHAR(1000) UNIQUE).
+-- Idempotent: on fresh databases the temporary token column is added and dropped again,
+-- both of which are catalog-only operations.
+ALTER TABLE blacklisted_tokens ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+ALTER TABLE blacklisted_tokens ADD COLUMN IF NOT EXISTS token VARCHAR(1000);
+UPDATE blacklisted_tokens SET token_hash = sha256(convert_to(token, 'UTF8')) WHERE token_hash IS NULL AND token IS NOT NULL;
+DELETE FROM blacklisted_tokens WHERE token_hash IS NULL;
+DROP INDEX IF EXISTS idx_blacklisted_tokens_token;
+ALTER TABLE blacklisted_tokens DROP COLUMN IF EXISTS token;
+ALTER TABLE blacklisted_tokens ALTER COLUMN token_hash SET NOT NULL;
+
 -- Indexes for better performance
-CREATE INDEX IF NOT EXISTS idx_blacklisted_tokens_token ON blacklisted_tokens(token);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_blacklisted_tokens_token_hash ON blacklisted_tokens(token_hash);
 CREATE INDEX IF NOT EXISTS idx_blacklisted_tokens_user_id ON blacklisted_tokens(user_id);
 CREATE INDEX IF NOT EXISTS idx_blacklisted_tokens_expiry ON blacklisted_tokens(expiry_date);
 
+-- Per-user revocation epochs: tokens issued before not_before are rejected by the gateway
+CREATE TABLE IF NOT EXISTS user_token_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    user_type VARCHAR(20) NOT NULL,
+    not_before TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_user_token_revocations_user UNIQUE (user_id, user_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_token_revocations_not_before ON user_token_revocations(not_before);
@@ -0,0 +1,118 @@
+package com.ijaa.gateway.service;
+
+import com.ijaa.gateway.repository.BlacklistedTokenRepository;
+import com.ijaa.gateway.repository.UserTokenRevocationRepository;
+import com.ijaa.gateway.utils.TokenDigestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredTokenPurgeJobTest {
+
+    @Mock
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @Mock
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    private TokenBlacklistIndex tokenBlacklistIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private ExpiredTokenPurgeJob purgeJob;
+
+    // Expiry dates of the rows in the blacklisted_tokens table
+    private final List<LocalDateTime> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tokenBlacklistIndex = new TokenBlacklistIndex(1000, 0.01);
+        TokenBlacklistService tokenBlacklistService = new TokenBlacklistService(blacklistedTokenRepository,
+                tokenBlacklistIndex, userTokenRevocationRepository, new RevocationEpochIndex());
+        ReflectionTestUtils.setField(tokenBlacklistService, "accessTokenExpiration", 3600L);
+        meterRegistry = new SimpleMeterRegistry();
+        purgeJob = new ExpiredTokenPurgeJob(tokenBlacklistService, meterRegistry);
+        ReflectionTestUtils.setField(purgeJob, "enabled", true);
+        ReflectionTestUtils.setField(purgeJob, "batchSize", 2);
+        ReflectionTestUtils.setField(purgeJob, "maxBatchesPerRun", 100);
+        ReflectionTestUtils.setField(purgeJob, "pauseBetweenBatchesMs", 0L);
+    }
+
+    @Test
+    void purgeExpiredTokens_RemovesExpiredRowsAndKeepsLiveOnes() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime live = now.plusHours(1);
+        rows.addAll(List.of(now.minusHours(2), live, now.minusMinutes(30), now.minusMinutes(1)));
+        deletingFromRows();
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        assertEquals(List.of(live), rows);
+        // 3 expired rows in batches of 2: one full batch, then a partial one ends the run
+        verify(blacklistedTokenRepository, times(2)).deleteExpiredTokensBatch(any(), eq(2));
+        verify(userTokenRevocationRepository).deleteStaleRevocations(any());
+        assertEquals(3.0, meterRegistry.get("ijaa.token.purge.rows").counter().count());
+    }
+
+    @Test
+    void purgeExpiredTokens_DropsExpiredDigestsFromTheIndex() throws InterruptedException {
+        // Given
+        String live = TokenDigestUtils.sha256Hex("live.token.value");
+        String shortLived = TokenDigestUtils.sha256Hex("short.token.value");
+        tokenBlacklistIndex.add(live, System.currentTimeMillis() + 60_000);
+        tokenBlacklistIndex.add(shortLived, System.currentTimeMillis() + 20);
+        Thread.sleep(50);
+        deletingFromRows();
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        assertTrue(tokenBlacklistIndex.contains(live));
+        assertFalse(tokenBlacklistIndex.contains(shortLived));
+        assertEquals(1, tokenBlacklistIndex.size());
+    }
+
+    @Test
+    void purgeExpiredTokens_WhenDisabled_DoesNothing() {
+        // Given
+        ReflectionTestUtils.setField(purgeJob, "enabled", false);
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        verifyNoInteractions(blacklistedTokenRepository, userTokenRevocationRepository);
+    }
+
+    private void deletingFromRows() {
+        when(blacklistedTokenRepository.deleteExpiredTokensBatch(any(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            int batchSize = invocation.getArgument(1);
+            int deleted = 0;
+            for (Iterator<LocalDateTime> it = rows.iterator(); it.hasNext() && deleted < batchSize; ) {
+                if (it.next().isBefore(now)) {
+                    it.remove();
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+}
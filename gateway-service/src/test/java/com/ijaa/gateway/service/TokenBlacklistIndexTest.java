@@ -0,0 +1,125 @@
+package com.ijaa.gateway.service;
+
+import com.ijaa.gateway.utils.TokenDigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistIndexTest {
+
+    private TokenBlacklistIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TokenBlacklistIndex(1000, 0.01);
+    }
+
+    @Test
+    void contains_WhenDigestAdded_ReturnsTrue() {
+        // Given
+        String digest = TokenDigestUtils.sha256Hex("header.payload.signature");
+
+        // When
+        index.add(digest, System.currentTimeMillis() + 60_000);
+
+        // Then
+        assertTrue(index.contains(digest));
+        assertFalse(index.contains(TokenDigestUtils.sha256Hex("other.token.value")));
+    }
+
+    @Test
+    void add_WhenAlreadyExpired_IsIgnored() {
+        // Given
+        String digest = TokenDigestUtils.sha256Hex("expired.token.value");
+
+        // When
+        index.add(digest, System.currentTimeMillis() - 1);
+
+        // Then
+        assertFalse(index.contains(digest));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void purgeExpired_KeepsLiveEntriesAfterRebuild() throws InterruptedException {
+        // Given
+        String live = TokenDigestUtils.sha256Hex("live.token.value");
+        String shortLived = TokenDigestUtils.sha256Hex("short.token.value");
+        index.add(live, System.currentTimeMillis() + 60_000);
+        index.add(shortLived, System.currentTimeMillis() + 20);
+        Thread.sleep(50);
+
+        // When
+        int removed = index.purgeExpired();
+
+        // Then
+        assertEquals(1, removed);
+        assertTrue(index.contains(live));
+        assertFalse(index.contains(shortLived));
+    }
+
+    @Test
+    void contains_DuringPurge_StillReportsBlacklistedTokens() throws InterruptedException {
+        // Given - enough entries that each rebuild takes a while to fill
+        TokenBlacklistIndex large = new TokenBlacklistIndex(50_000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 50_000; i++) {
+            large.add(TokenDigestUtils.sha256Hex("token-" + i), expiresAt);
+        }
+        String revoked = TokenDigestUtils.sha256Hex("token-49999");
+        AtomicBoolean purging = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (purging.get()) {
+                checks.incrementAndGet();
+                if (!large.contains(revoked)) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+
+        // When
+        reader.start();
+        for (int i = 0; i < 20; i++) {
+            large.purgeExpired();
+        }
+        purging.set(false);
+        reader.join();
+
+        // Then
+        assertTrue(checks.get() > 0);
+        assertEquals(0, misses.get());
+    }
+
+    @Test
+    void add_DuringPurge_SurvivesTheSwap() throws InterruptedException {
+        // Given
+        TokenBlacklistIndex large = new TokenBlacklistIndex(50_000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 50_000; i++) {
+            large.add(TokenDigestUtils.sha256Hex("token-" + i), expiresAt);
+        }
+        Thread purger = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                large.purgeExpired();
+            }
+        });
+
+        // When
+        purger.start();
+        for (int i = 0; i < 2_000; i++) {
+            large.add(TokenDigestUtils.sha256Hex("late-" + i), expiresAt);
+        }
+        purger.join();
+
+        // Then
+        for (int i = 0; i < 2_000; i++) {
+            assertTrue(large.contains(TokenDigestUtils.sha256Hex("late-" + i)));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ijaa.gateway.service;
+
+import com.ijaa.gateway.domain.dto.ResolvedUserContext;
+import com.ijaa.gateway.utils.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserContextResolverTest {
+
+    private static final String SECRET = "16f7e412ee66030c3bf769281a076955f595be7479189c4e5ab1f90d2ae3c82e0c5170afcceba1e0f638648c01a468ff82b0723a970011f7fc0dd1a4ba70b0e1";
+
+    @Mock
+    private TokenBlacklistService tokenBlacklistService;
+
+    private UserContextCache userContextCache;
+    private UserContextResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        userContextCache = new UserContextCache(100);
+        resolver = new UserContextResolver(new JwtUtil(tokenBlacklistService, SECRET), userContextCache);
+    }
+
+    @Test
+    void resolve_WhenSameTokenTwice_ReturnsCachedContext() {
+        // Given
+        String token = token(Map.of("userId", "USER_1", "username", "alice", "userType", "USER", "role", "USER"), 60_000);
+
+        // When
+        ResolvedUserContext first = resolver.resolve(token);
+        ResolvedUserContext second = resolver.resolve(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("USER_1", first.getContext().getUserId());
+        assertEquals("alice", first.getContext().getUsername());
+        assertEquals(1, userContextCache.size());
+        assertEquals(1, Base64.getUrlDecoder().decode(first.getEncodedHeader())[0]); // binary format version
+    }
+
+    @Test
+    void resolve_WhenAdminToken_UsesEmailAsIdentity() {
+        // Given
+        String token = token(Map.of("email", "admin@ijaa.com", "userType", "ADMIN", "role", "ADMIN"), 60_000);
+
+        // When
+        ResolvedUserContext resolved = resolver.resolve(token);
+
+        // Then
+        assertEquals("admin@ijaa.com", resolved.getContext().getUserId());
+        assertEquals("ADMIN", resolved.getContext().getUserType());
+    }
+
+    @Test
+    void resolve_WhenCachedTokenIsBlacklisted_Throws() {
+        // Given
+        String token = token(Map.of("userId", "USER_1", "username", "alice", "userType", "USER", "role", "USER"), 60_000);
+        resolver.resolve(token);
+        when(tokenBlacklistService.isTokenBlacklisted(token)).thenReturn(true);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> resolver.resolve(token));
+    }
+
+    @Test
+    void resolve_WhenIssuedBeforeRevocationEpoch_Throws() {
+        // Given
+        String token = token(Map.of("userId", "USER_1", "username", "alice", "userType", "USER", "role", "USER"), 60_000);
+        resolver.resolve(token);
+        when(tokenBlacklistService.isRevokedByEpoch(eq("USER:USER_1"), anyLong())).thenReturn(true);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> resolver.resolve(token));
+    }
+
+    @Test
+    void resolve_WhenTokenExpired_ThrowsExpiredJwtException() {
+        // Given
+        String token = token(Map.of("userId", "USER_1", "username", "alice", "userType", "USER", "role", "USER"), -1_000);
+
+        // When & Then
+        assertThrows(ExpiredJwtException.class, () -> resolver.resolve(token));
+        assertEquals(0, userContextCache.size());
+    }
+
+    private String token(Map<String, Object> claims, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(claims)
+                .issuedAt(new Date(now - 10_000))
+                .expiration(new Date(now + ttlMillis))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+}
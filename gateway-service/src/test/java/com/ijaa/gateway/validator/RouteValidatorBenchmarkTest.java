@@ -0,0 +1,93 @@
+package com.ijaa.gateway.validator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rough per-request matching cost of the compiled route table compared with the
+ * previous Stream-of-literals scan. Opt-in, since it runs a few million matches:
+ * <pre>
+ * ROUTE_VALIDATOR_BENCHMARK=true mvn test -Dtest=RouteValidatorBenchmarkTest
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "ROUTE_VALIDATOR_BENCHMARK", matches = "true")
+class RouteValidatorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteValidatorBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static final String[] PATHS = {
+            "/ijaa/api/v1/users/profile",
+            "/ijaa/api/v1/events/42/posts",
+            "/ijaa/api/v1/auth/login",
+            "/ijaa/api/v1/files/users/USER_1/profile-photo/file/a.jpg",
+            "/ijaa/api/v1/admin/feature-flags/events.media/enabled"
+    };
+
+    // The matcher RouteValidator used before the compiled table
+    private static final Predicate<String> LEGACY_IS_SECURED = path ->
+            Stream.of(
+                    "/ijaa/api/v1/auth/login",
+                    "/ijaa/api/v1/auth/register",
+                    "/ijaa/api/v1/auth/refresh",
+                    "/ijaa/api/v1/auth/logout",
+                    "/ijaa/api/v1/admin/login",
+                    "/ijaa/api/v1/admin/admins",
+                    "/ijaa/api/v1/admin/feature-flags/*/enabled",
+                    "/ijaa/api/v1/locations/**",
+                    "/ijaa/api/v1/files/users/*/profile-photo/file/**",
+                    "/ijaa/api/v1/files/users/*/cover-photo/file/**",
+                    "/ijaa/api/v1/files/events/*/banner/file/**",
+                    "/ijaa/api/v1/health/**",
+                    "/ijaa/api/v1/events/health/**",
+                    "/ijaa/api/v1/files/health/**",
+                    "/ijaa/api/v1/config/health/**",
+                    "/ijaa/api/v1/discovery/health/**",
+                    "/ijaa/actuator/**",
+                    "/ijaa/test/**"
+            ).noneMatch(path::contains);
+
+    @Test
+    void compiledMatcher_PerRequestCost() {
+        RouteValidator routeValidator = new RouteValidator();
+        PathContainer[] containers = Stream.of(PATHS).map(PathContainer::parsePath).toArray(PathContainer[]::new);
+
+        long legacyNanos = measure(i -> LEGACY_IS_SECURED.test(PATHS[i % PATHS.length]));
+        long compiledNanos = measure(i -> !routeValidator.isPublic(containers[i % containers.length]));
+
+        double legacyPerOp = (double) legacyNanos / MEASURED_ITERATIONS;
+        double compiledPerOp = (double) compiledNanos / MEASURED_ITERATIONS;
+        log.info("RouteValidator legacy stream scan: {} ns/op, compiled patterns: {} ns/op",
+                String.format("%.1f", legacyPerOp), String.format("%.1f", compiledPerOp));
+
+        assertTrue(routeValidator.isPublic(containers[3]));
+        assertFalse(routeValidator.isPublic(containers[0]));
+        assertTrue(compiledPerOp < legacyPerOp,
+                "Compiled patterns (" + compiledPerOp + " ns/op) should beat the stream scan (" + legacyPerOp + " ns/op)");
+    }
+
+    private long measure(IntPredicate operation) {
+        boolean sink = false;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink ^= operation.test(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink ^= operation.test(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertNotNull(Boolean.valueOf(sink));
+        return elapsed;
+    }
+}
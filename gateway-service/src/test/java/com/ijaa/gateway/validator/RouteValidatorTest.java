@@ -0,0 +1,46 @@
+package com.ijaa.gateway.validator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteValidatorTest {
+
+    private final RouteValidator routeValidator = new RouteValidator();
+
+    @Test
+    void isSecured_WhenLiteralPublicPath_ReturnsFalse() {
+        assertFalse(routeValidator.isSecured.test(MockServerHttpRequest.get("/ijaa/api/v1/auth/login").build()));
+        assertFalse(routeValidator.isSecured.test(MockServerHttpRequest.get("/ijaa/api/v1/admin/admins").build()));
+    }
+
+    @Test
+    void isSecured_WhenWildcardPublicPath_ReturnsFalse() {
+        assertFalse(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/admin/feature-flags/events.media/enabled").build()));
+        assertFalse(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/files/users/USER_1/profile-photo/file/a.jpg").build()));
+        assertFalse(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/files/posts/12/media/file/clip.mp4").build()));
+        assertFalse(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/events/health/status").build()));
+    }
+
+    @Test
+    void isSecured_WhenProtectedPath_ReturnsTrue() {
+        assertTrue(routeValidator.isSecured.test(MockServerHttpRequest.get("/ijaa/api/v1/users/profile").build()));
+        assertTrue(routeValidator.isSecured.test(MockServerHttpRequest.get("/ijaa/api/v1/admin/feature-flags").build()));
+        assertTrue(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/files/users/USER_1/profile-photo").build()));
+    }
+
+    @Test
+    void isSecured_WhenPublicPathIsOnlyASubstring_ReturnsTrue() {
+        // The previous contains()-based check treated these as public
+        assertTrue(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/users/x/ijaa/api/v1/auth/login").build()));
+        assertTrue(routeValidator.isSecured.test(
+                MockServerHttpRequest.get("/ijaa/api/v1/auth/login-history").build()));
+    }
+}
@@ -40,7 +40,7 @@ public class SecurityConfig {
         return http.csrf(customizer -> customizer.disable())
                 .authorizeHttpRequests(requests -> requests
                         .requestMatchers("/api/v1/health/**", "/actuator/**", "/swagger-ui/**", "/api-docs/**", "/test/**").permitAll()
-                        .requestMatchers("/api/v1/admin/feature-flags/*/enabled").permitAll()
+                        .requestMatchers("/api/v1/admin/feature-flags/*/enabled", "/api/v1/admin/feature-flags/snapshot").permitAll()
                         .requestMatchers("/api/v1/auth/login", "/api/v1/auth/register", "/api/v1/auth/refresh", "/api/v1/auth/logout").permitAll()
                         .requestMatchers("/api/v1/admin/login", "/api/v1/admin/admins").permitAll()
                         .requestMatchers("/api/v1/locations/**").permitAll()
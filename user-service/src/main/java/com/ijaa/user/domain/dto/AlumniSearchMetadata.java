@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -39,4 +40,16 @@ public class AlumniSearchMetadata {
     
     @Schema(description = "Available sort options", example = "[\"relevance\", \"name\", \"batch\", \"connections\"]")
     private List<String> availableSortOptions;
+
+    @Schema(description = "Number of alumni per graduation batch", example = "{\"2020\": 42, \"2019\": 37}")
+    private Map<String, Long> batchCounts;
+
+    @Schema(description = "Number of alumni per profession", example = "{\"Software Engineer\": 120, \"Doctor\": 35}")
+    private Map<String, Long> professionCounts;
+
+    @Schema(description = "Number of alumni per city", example = "{\"Dhaka\": 310, \"Chittagong\": 85}")
+    private Map<String, Long> cityCounts;
+
+    @Schema(description = "Number of alumni per country", example = "{\"Bangladesh\": 900, \"Canada\": 40}")
+    private Map<String, Long> countryCounts;
 }
@@ -0,0 +1,24 @@
+package com.ijaa.user.domain.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Effective state of every feature flag, with the parent hierarchy already applied.
+ * The version increases on every flag change; the etag identifies the flag contents
+ * and is sent as the HTTP ETag rather than in the body.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeatureFlagSnapshot {
+    private long version;
+    private Map<String, Boolean> flags;
+
+    @JsonIgnore
+    private String etag;
+}
@@ -200,7 +200,7 @@ public class AlumniSearchResource {
     @RequiresFeature("alumni.search")
     @Operation(
         summary = "Get Alumni Search Metadata",
-        description = "Get metadata about alumni search including total counts and available filters. (USER role required)",
+        description = "Get metadata about alumni search including total counts, available filters and per-value facet counts. Served from an in-memory facet cache. (USER role required)",
         security = @SecurityRequirement(name = "Bearer Authentication")
     )
     @ApiResponses(value = {
@@ -224,7 +224,11 @@ public class AlumniSearchResource {
                                     "availableLocations": ["Bangalore", "Mumbai", "Delhi", "Chennai", "Hyderabad"],
                                     "defaultPageSize": 12,
                                     "maxPageSize": 100,
-                                    "maxPageNumber": 1000
+                                    "maxPageNumber": 1000,
+                                    "batchCounts": {"2023": 180, "2022": 210},
+                                    "professionCounts": {"Finance": 95, "Technology": 430},
+                                    "cityCounts": {"Bangalore": 120, "Mumbai": 98},
+                                    "countryCounts": {"India": 1100, "United States": 150}
                                 }
                             }
                             """
@@ -9,6 +9,7 @@ import com.ijaa.user.domain.dto.FeatureFlagDto;
 import com.ijaa.user.domain.mapper.FeatureFlagMapper;
 import com.ijaa.user.domain.request.FeatureFlagRequest;
 import com.ijaa.user.domain.request.FeatureFlagUpdateRequest;
+import com.ijaa.user.domain.response.FeatureFlagSnapshot;
 import com.ijaa.user.domain.response.FeatureFlagStatus;
 import com.ijaa.user.service.FeatureFlagService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +21,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -90,6 +94,64 @@ public class FeatureFlagResource {
         return ResponseEntity.ok(new ApiResponse<>("Feature flags retrieved successfully", "200", featureFlags));
     }
 
+    @GetMapping("/snapshot")
+    @RequiresFeature("system.health")
+    @Operation(
+        summary = "Get Feature Flag Snapshot",
+        description = "Effective state of every feature flag with the parent hierarchy applied, plus a version. " +
+            "Send the returned ETag in If-None-Match to get 304 when nothing changed (Internal endpoint - called by other services directly, not routed by the gateway)"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Feature flag snapshot retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.ijaa.user.domain.common.ApiResponse.class),
+                examples = {
+                    @ExampleObject(
+                        name = "Snapshot",
+                        value = """
+                            {
+                                "message": "Feature flag snapshot retrieved successfully",
+                                "code": "200",
+                                "data": {
+                                    "version": 1718000000042,
+                                    "flags": {
+                                        "chat": true,
+                                        "chat.file-sharing": false
+                                    }
+                                }
+                            }
+                            """
+                    )
+                }
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Snapshot unchanged since the ETag sent in If-None-Match"
+        )
+    })
+    public ResponseEntity<ApiResponse<FeatureFlagSnapshot>> getFeatureFlagSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FeatureFlagSnapshot snapshot = featureFlagService.getSnapshot();
+        String etag = snapshot.getEtag();
+
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+
+        log.debug("Serving feature flag snapshot version {}", snapshot.getVersion());
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(new ApiResponse<>("Feature flag snapshot retrieved successfully", "200", snapshot));
+    }
+
     @GetMapping("/{name}")
     @PreAuthorize("hasRole('ADMIN')")
     @RequiresFeature("admin.features")
@@ -380,10 +442,19 @@ public class FeatureFlagResource {
         return ResponseEntity.ok(new ApiResponse<>("Feature flag status retrieved successfully", "200", status));
     }
 
-
-
-
-
-
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
-
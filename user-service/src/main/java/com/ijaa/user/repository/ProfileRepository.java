@@ -19,7 +19,9 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     @Query("SELECT p FROM Profile p LEFT JOIN FETCH p.city LEFT JOIN FETCH p.country WHERE p.userId = :userId")
     Optional<Profile> findByUserId(@Param("userId") String userId);
 
-    @Query("SELECT p FROM Profile p LEFT JOIN FETCH p.city LEFT JOIN FETCH p.country WHERE " +
+    // No fetch joins here: combined with paging they make Hibernate page in memory, and search results
+    // only need the city/country ids
+    @Query("SELECT p FROM Profile p WHERE " +
             "(:currentUsername IS NULL OR p.username != :currentUsername) AND " +
             "(:searchQuery IS NULL OR :searchQuery = '' OR " +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :searchQuery, '%')) OR " +
@@ -40,19 +42,46 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
             Pageable pageable
     );
 
-    // Metadata queries for search filters
-    @Query("SELECT COUNT(p) FROM Profile p WHERE p.username != :username")
-    long countByUsernameNot(@Param("username") String username);
+    // Alumni search (PostgreSQL only): prefix match on search_vector, typo-tolerant trigram match on
+    // search_text. Both are generated columns, see db/schema.sql. Shared by the page and count queries.
+    String TEXT_SEARCH_WHERE = "WHERE (p.search_vector @@ to_tsquery('simple', :tsQuery) OR :text <% p.search_text) " +
+            "AND (CAST(:currentUsername AS text) IS NULL OR p.username <> CAST(:currentUsername AS text)) " +
+            "AND (CAST(:batch AS text) IS NULL OR p.batch = CAST(:batch AS text)) " +
+            "AND (CAST(:profession AS text) IS NULL OR LOWER(p.profession) LIKE CONCAT('%', LOWER(CAST(:profession AS text)), '%')) " +
+            "AND (CAST(:cityId AS bigint) IS NULL OR p.city_id = CAST(:cityId AS bigint)) " +
+            "AND (CAST(:countryId AS bigint) IS NULL OR p.country_id = CAST(:countryId AS bigint)) ";
 
-    @Query("SELECT DISTINCT p.batch FROM Profile p WHERE p.username != :username AND p.batch IS NOT NULL ORDER BY p.batch DESC")
-    List<String> findDistinctBatchesByUsernameNot(@Param("username") String username);
-
-    @Query("SELECT DISTINCT p.profession FROM Profile p WHERE p.username != :username AND p.profession IS NOT NULL ORDER BY p.profession ASC")
-    List<String> findDistinctProfessionsByUsernameNot(@Param("username") String username);
+    // Explicit sorts win; otherwise best matches first (weighted text rank plus trigram closeness)
+    @Query(value = "SELECT p.* FROM profiles p " + TEXT_SEARCH_WHERE +
+            "ORDER BY CASE WHEN :sortBy = 'name' THEN p.name END ASC NULLS LAST, " +
+            "CASE WHEN :sortBy = 'batch' THEN p.batch END DESC NULLS LAST, " +
+            "CASE WHEN :sortBy = 'connections' THEN p.connections END DESC NULLS LAST, " +
+            "ts_rank_cd(p.search_vector, to_tsquery('simple', :tsQuery), 32) " +
+            "+ word_similarity(:text, p.search_text) DESC, p.id ASC",
+            countQuery = "SELECT COUNT(*) FROM profiles p " + TEXT_SEARCH_WHERE,
+            nativeQuery = true)
+    Page<Profile> searchProfilesByText(
+            @Param("tsQuery") String tsQuery,
+            @Param("text") String text,
+            @Param("batch") String batch,
+            @Param("profession") String profession,
+            @Param("cityId") Long cityId,
+            @Param("countryId") Long countryId,
+            @Param("currentUsername") String currentUsername,
+            @Param("sortBy") String sortBy,
+            Pageable pageable
+    );
 
-    @Query("SELECT DISTINCT c.name FROM Profile p JOIN City c ON p.cityId = c.id WHERE p.username != :username AND p.cityId IS NOT NULL ORDER BY c.name ASC")
-    List<String> findDistinctCityNamesByUsernameNot(@Param("username") String username);
+    // Facet fields of every profile, used to (re)build the in-memory search facets
+    @Query("SELECT p.username AS username, p.batch AS batch, p.profession AS profession, " +
+            "p.cityId AS cityId, p.countryId AS countryId FROM Profile p")
+    List<FacetRow> findAllFacetRows();
 
-    @Query("SELECT DISTINCT co.name FROM Profile p JOIN Country co ON p.countryId = co.id WHERE p.username != :username AND p.countryId IS NOT NULL ORDER BY co.name ASC")
-    List<String> findDistinctCountryNamesByUsernameNot(@Param("username") String username);
+    interface FacetRow {
+        String getUsername();
+        String getBatch();
+        String getProfession();
+        Long getCityId();
+        Long getCountryId();
+    }
 }
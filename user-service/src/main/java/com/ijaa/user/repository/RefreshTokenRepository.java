@@ -25,10 +25,16 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user = :user")
     void revokeAllUserTokens(@Param("user") User user);
 
+    /**
+     * Deletes at most {@code batchSize} expired rows in one short transaction, skipping rows
+     * locked by concurrent writers so the purge never waits on or blocks logins and refreshes.
+     */
     @Modifying
     @Transactional
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+            "SELECT id FROM refresh_tokens WHERE expiry_date < :now LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredTokensBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 
     @Modifying
     @Transactional
@@ -0,0 +1,278 @@
+package com.ijaa.user.service;
+
+import com.ijaa.user.domain.entity.City;
+import com.ijaa.user.domain.entity.Country;
+import com.ijaa.user.domain.entity.Profile;
+import com.ijaa.user.repository.CityRepository;
+import com.ijaa.user.repository.CountryRepository;
+import com.ijaa.user.repository.ProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory facet counts (batch, profession, city, country) behind the alumni search metadata.
+ * Profile writes adjust the counts after commit; a periodic rebuild from the database corrects
+ * any drift, e.g. from writes served by another instance. Reads never touch the database.
+ */
+@Component
+@Slf4j
+public class AlumniFacetCache {
+
+    private final ProfileRepository profileRepository;
+    private final CityRepository cityRepository;
+    private final CountryRepository countryRepository;
+
+    private final Object lock = new Object();
+    private final Map<Long, String> cityNames = new ConcurrentHashMap<>();
+    private final Map<Long, String> countryNames = new ConcurrentHashMap<>();
+
+    // Guarded by lock
+    private Facets facets = new Facets();
+    private boolean loaded;
+    // Non-null while a rebuild is reading the database; replayed onto the rebuilt facets
+    private Map<String, FacetKey> pendingDuringRebuild;
+    private FacetCounts view;
+
+    public AlumniFacetCache(ProfileRepository profileRepository,
+                            CityRepository cityRepository,
+                            CountryRepository countryRepository) {
+        this.profileRepository = profileRepository;
+        this.cityRepository = cityRepository;
+        this.countryRepository = countryRepository;
+    }
+
+    /**
+     * Facet counts over every profile except the caller's own; the caller is subtracted, not re-queried.
+     */
+    public FacetCounts countsExcluding(String username) {
+        FacetCounts all;
+        FacetKey own;
+        synchronized (lock) {
+            if (!loaded) {
+                // First request beat the startup load
+                rebuildLocked();
+            }
+            if (view == null) {
+                view = facets.toCounts(cityNames, countryNames);
+            }
+            all = view;
+            own = username != null ? facets.byUsername.get(username) : null;
+        }
+        return own == null ? all : all.without(own, cityNames, countryNames);
+    }
+
+    /**
+     * Record a created or updated profile once the surrounding transaction commits.
+     */
+    public void profileChanged(Profile profile) {
+        String username = profile.getUsername();
+        FacetKey key = FacetKey.of(profile);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(username, key);
+                }
+            });
+        } else {
+            apply(username, key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${search.facets.refresh-interval:PT15M}",
+            initialDelayString = "${search.facets.refresh-interval:PT15M}")
+    public void refresh() {
+        try {
+            synchronized (lock) {
+                pendingDuringRebuild = new HashMap<>();
+            }
+            Facets rebuilt = load();
+            synchronized (lock) {
+                // Setting a profile's key is idempotent, so replaying writes the load already saw is harmless
+                pendingDuringRebuild.forEach(rebuilt::put);
+                pendingDuringRebuild = null;
+                install(rebuilt);
+            }
+        } catch (Exception e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild alumni search facets: {}", e.getMessage(), e);
+        }
+    }
+
+    private void apply(String username, FacetKey key) {
+        resolveNames(key);
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.put(username, key);
+            }
+            facets.put(username, key);
+            view = null;
+        }
+    }
+
+    private void rebuildLocked() {
+        install(load());
+    }
+
+    private void install(Facets rebuilt) {
+        facets = rebuilt;
+        view = null;
+        loaded = true;
+        log.info("Loaded alumni search facets for {} profiles", rebuilt.byUsername.size());
+    }
+
+    private Facets load() {
+        Facets rebuilt = new Facets();
+        for (ProfileRepository.FacetRow row : profileRepository.findAllFacetRows()) {
+            rebuilt.put(row.getUsername(),
+                    new FacetKey(row.getBatch(), row.getProfession(), row.getCityId(), row.getCountryId()));
+        }
+        Set<Long> cityIds = new HashSet<>(rebuilt.cities.keySet());
+        Set<Long> countryIds = new HashSet<>(rebuilt.countries.keySet());
+        for (City city : cityRepository.findAllById(cityIds)) {
+            cityNames.put(city.getId(), city.getName());
+        }
+        for (Country country : countryRepository.findAllById(countryIds)) {
+            countryNames.put(country.getId(), country.getName());
+        }
+        return rebuilt;
+    }
+
+    private void resolveNames(FacetKey key) {
+        if (key.cityId() != null && !cityNames.containsKey(key.cityId())) {
+            cityRepository.findById(key.cityId()).ifPresent(city -> cityNames.put(city.getId(), city.getName()));
+        }
+        if (key.countryId() != null && !countryNames.containsKey(key.countryId())) {
+            countryRepository.findById(key.countryId()).ifPresent(country -> countryNames.put(country.getId(), country.getName()));
+        }
+    }
+
+    record FacetKey(String batch, String profession, Long cityId, Long countryId) {
+
+        static FacetKey of(Profile profile) {
+            return new FacetKey(profile.getBatch(), profile.getProfession(), profile.getCityId(), profile.getCountryId());
+        }
+    }
+
+    /**
+     * Facet values with their profile counts, already in display order: batches newest first,
+     * everything else alphabetical. Values with a zero count are absent.
+     */
+    public record FacetCounts(long totalAlumni,
+                              Map<String, Long> batches,
+                              Map<String, Long> professions,
+                              Map<String, Long> cities,
+                              Map<String, Long> countries) {
+
+        FacetCounts without(FacetKey own, Map<Long, String> cityNames, Map<Long, String> countryNames) {
+            return new FacetCounts(
+                    totalAlumni - 1,
+                    minusOne(batches, own.batch()),
+                    minusOne(professions, own.profession()),
+                    minusOne(cities, own.cityId() != null ? cityNames.get(own.cityId()) : null),
+                    minusOne(countries, own.countryId() != null ? countryNames.get(own.countryId()) : null));
+        }
+
+        private static Map<String, Long> minusOne(Map<String, Long> counts, String value) {
+            if (value == null || !counts.containsKey(value)) {
+                return counts;
+            }
+            Map<String, Long> copy = new LinkedHashMap<>(counts);
+            long remaining = copy.get(value) - 1;
+            if (remaining > 0) {
+                copy.put(value, remaining);
+            } else {
+                copy.remove(value);
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+    }
+
+    private static final class Facets {
+        private final Map<String, FacetKey> byUsername = new HashMap<>();
+        private final Map<String, Long> batches = new HashMap<>();
+        private final Map<String, Long> professions = new HashMap<>();
+        private final Map<Long, Long> cities = new HashMap<>();
+        private final Map<Long, Long> countries = new HashMap<>();
+
+        void put(String username, FacetKey key) {
+            FacetKey previous = byUsername.put(username, key);
+            if (Objects.equals(previous, key)) {
+                return;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            add(key, 1);
+        }
+
+        private void add(FacetKey key, long delta) {
+            adjust(batches, key.batch(), delta);
+            adjust(professions, key.profession(), delta);
+            adjust(cities, key.cityId(), delta);
+            adjust(countries, key.countryId(), delta);
+        }
+
+        private static <K> void adjust(Map<K, Long> counts, K value, long delta) {
+            if (value == null) {
+                return;
+            }
+            counts.merge(value, delta, (current, change) -> current + change == 0 ? null : current + change);
+        }
+
+        FacetCounts toCounts(Map<Long, String> cityNames, Map<Long, String> countryNames) {
+            return new FacetCounts(
+                    byUsername.size(),
+                    sorted(batches, Comparator.reverseOrder()),
+                    sorted(professions, Comparator.naturalOrder()),
+                    sorted(byName(cities, cityNames), Comparator.naturalOrder()),
+                    sorted(byName(countries, countryNames), Comparator.naturalOrder()));
+        }
+
+        // Distinct places can share a name; the UI lists each name once
+        private static Map<String, Long> byName(Map<Long, Long> counts, Map<Long, String> names) {
+            Map<String, Long> merged = new HashMap<>();
+            counts.forEach((id, count) -> {
+                String name = names.get(id);
+                if (name != null) {
+                    merged.merge(name, count, Long::sum);
+                }
+            });
+            return merged;
+        }
+
+        private static Map<String, Long> sorted(Map<String, Long> counts, Comparator<String> order) {
+            List<String> keys = new ArrayList<>(counts.keySet());
+            keys.sort(order);
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (String key : keys) {
+                result.put(key, counts.get(key));
+            }
+            return Collections.unmodifiableMap(result);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ijaa.user.service;
 
 import com.ijaa.user.domain.entity.FeatureFlag;
 import com.ijaa.user.domain.dto.FeatureFlagDto;
+import com.ijaa.user.domain.response.FeatureFlagSnapshot;
 
 import java.util.List;
 
@@ -18,4 +19,6 @@ public interface FeatureFlagService {
     void deleteFeatureFlag(String flagName);
     
     boolean isEnabled(String flagName);
+
+    FeatureFlagSnapshot getSnapshot();
 } 
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.ijaa.user.service;
+
+import com.ijaa.user.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes expired rows from {@code refresh_tokens} in small chunks,
+ * pausing between chunks so the purge never holds long locks during traffic.
+ * Rows removed and run duration are published as {@code ijaa.token.purge.*} metrics.
+ */
+@Component
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Counter rowsRemoved;
+    private final Timer duration;
+
+    @Value("${token-purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${token-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${token-purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${token-purge.pause-between-batches-ms:50}")
+    private long pauseBetweenBatchesMs;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository, MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.rowsRemoved = Counter.builder("ijaa.token.purge.rows")
+                .tag("table", "refresh_tokens")
+                .description("Expired refresh tokens removed by the purge job")
+                .register(meterRegistry);
+        this.duration = Timer.builder("ijaa.token.purge.duration")
+                .tag("table", "refresh_tokens")
+                .description("Duration of a refresh token purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${token-purge.cron:0 */15 * * * *}")
+    public void purgeExpiredTokens() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int total = 0;
+        int batches = 0;
+        try {
+            int deleted;
+            do {
+                deleted = refreshTokenRepository.deleteExpiredTokensBatch(LocalDateTime.now(), batchSize);
+                total += deleted;
+                batches++;
+                if (deleted == batchSize && pauseBetweenBatchesMs > 0) {
+                    Thread.sleep(pauseBetweenBatchesMs);
+                }
+            } while (deleted == batchSize && batches < maxBatchesPerRun);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Refresh token purge interrupted after {} rows", total);
+        } catch (Exception e) {
+            log.error("Refresh token purge failed after {} rows: {}", total, e.getMessage(), e);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            rowsRemoved.increment(total);
+            duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            log.info("Purged {} expired refresh tokens in {} batches ({} ms)",
+                    total, batches, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
@@ -21,9 +21,11 @@ import com.ijaa.user.domain.response.AdminAuthResponse;
 import com.ijaa.user.domain.response.AdminProfileResponse;
 import com.ijaa.user.domain.response.DashboardStatsResponse;
 import com.ijaa.user.domain.response.UserResponse;
+import com.ijaa.user.presenter.rest.external.GatewayTokenBlacklistClient;
 import com.ijaa.user.repository.AdminRepository;
 import com.ijaa.user.repository.UserRepository;
 import com.ijaa.user.repository.ProfileRepository;
+import com.ijaa.user.repository.RefreshTokenRepository;
 import com.ijaa.user.service.AdminService;
 import com.ijaa.user.service.JWTService;
 import lombok.RequiredArgsConstructor;
@@ -42,6 +44,8 @@ public class AdminServiceImpl implements AdminService {
     private final AdminRepository adminRepository;
     private final UserRepository userRepository;
     private final ProfileRepository profileRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final GatewayTokenBlacklistClient gatewayTokenBlacklistClient;
 
     private final JWTService jwtService;
     private final BCryptPasswordEncoder passwordEncoder;
@@ -311,6 +315,10 @@ public class AdminServiceImpl implements AdminService {
         
         user.setActive(false);
         User updatedUser = userRepository.save(user);
+
+        // End every live session: refresh tokens here, access tokens via the gateway's revocation epoch
+        refreshTokenRepository.revokeAllUserTokens(updatedUser);
+        gatewayTokenBlacklistClient.blacklistAllUserTokens(updatedUser.getUserId(), "USER");
         
         return createUserResponse(updatedUser);
     }
@@ -1,6 +1,7 @@
 package com.ijaa.user.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ijaa.user.common.utils.TextSearchQuery;
 import com.ijaa.user.domain.common.PagedResponse;
 import com.ijaa.user.domain.dto.AlumniSearchDto;
 import com.ijaa.user.domain.dto.AlumniSearchMetadata;
@@ -9,14 +10,17 @@ import com.ijaa.user.domain.entity.Profile;
 import com.ijaa.user.repository.ConnectionRepository;
 import com.ijaa.user.repository.InterestRepository;
 import com.ijaa.user.repository.ProfileRepository;
+import com.ijaa.user.service.AlumniFacetCache;
 import com.ijaa.user.service.AlumniSearchService;
 import com.ijaa.user.service.BaseService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,17 +31,24 @@ public class AlumniSearchServiceImpl extends BaseService implements AlumniSearch
     private final ConnectionRepository connectionRepository;
     private final ProfileRepository profileRepository;
     private final InterestRepository interestRepository;
+    private final AlumniFacetCache alumniFacetCache;
+
+    // Searches profiles.search_vector/search_text; the H2 test profile has neither column, so it turns this off
+    @Value("${search.full-text.enabled:true}")
+    private boolean fullTextEnabled;
 
     public AlumniSearchServiceImpl(
             ConnectionRepository connectionRepository,
             ProfileRepository profileRepository,
             InterestRepository interestRepository,
+            AlumniFacetCache alumniFacetCache,
             ObjectMapper objectMapper) {
 
         super(objectMapper);
         this.connectionRepository = connectionRepository;
         this.profileRepository = profileRepository;
         this.interestRepository = interestRepository;
+        this.alumniFacetCache = alumniFacetCache;
     }
 
     @Override
@@ -54,15 +65,32 @@ public class AlumniSearchServiceImpl extends BaseService implements AlumniSearch
         Pageable pageable = createPageable(request);
 
         // Search alumni directly from profiles table with filters
-        Page<Profile> profilePage = profileRepository.findProfilesWithFilters(
-                request.getSearchQuery(),
-                request.getBatch(),
-                request.getProfession(),
-                request.getCityId(),
-                request.getCountryId(),
-                currentUsername, // Exclude current user
-                pageable
-        );
+        String tsQuery = fullTextEnabled ? TextSearchQuery.toPrefixTsQuery(request.getSearchQuery()) : null;
+        Page<Profile> profilePage;
+        if (tsQuery != null) {
+            // Ordering is part of the native query, so only the paging part of the pageable applies
+            profilePage = profileRepository.searchProfilesByText(
+                    tsQuery,
+                    TextSearchQuery.normalize(request.getSearchQuery()),
+                    blankToNull(request.getBatch()),
+                    blankToNull(request.getProfession()),
+                    request.getCityId(),
+                    request.getCountryId(),
+                    currentUsername, // Exclude current user
+                    request.getSortBy().toLowerCase(),
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            );
+        } else {
+            profilePage = profileRepository.findProfilesWithFilters(
+                    request.getSearchQuery(),
+                    request.getBatch(),
+                    request.getProfession(),
+                    request.getCityId(),
+                    request.getCountryId(),
+                    currentUsername, // Exclude current user
+                    pageable
+            );
+        }
 
         // Get all userIds from the profile results
         List<String> userIds = profilePage.getContent().stream()
@@ -101,30 +129,24 @@ public class AlumniSearchServiceImpl extends BaseService implements AlumniSearch
     @Override
     public AlumniSearchMetadata getSearchMetadata() {
         String currentUsername = getCurrentUsername();
-        
-        // Get total count of alumni (excluding current user)
-        long totalAlumni = profileRepository.countByUsernameNot(currentUsername);
-        
-        // Get available batches
-        List<String> availableBatches = profileRepository.findDistinctBatchesByUsernameNot(currentUsername);
-        
-        // Get available professions
-        List<String> availableProfessions = profileRepository.findDistinctProfessionsByUsernameNot(currentUsername);
-        
-        // Get available cities and countries from profiles
-        List<String> availableCities = profileRepository.findDistinctCityNamesByUsernameNot(currentUsername);
-        List<String> availableCountries = profileRepository.findDistinctCountryNamesByUsernameNot(currentUsername);
-        
+
+        // Served from memory; the current user is subtracted from the shared counts
+        AlumniFacetCache.FacetCounts facets = alumniFacetCache.countsExcluding(currentUsername);
+
         return new AlumniSearchMetadata(
-                totalAlumni,
-                availableBatches,
-                availableProfessions,
-                availableCities,
-                availableCountries,
+                facets.totalAlumni(),
+                new ArrayList<>(facets.batches().keySet()),
+                new ArrayList<>(facets.professions().keySet()),
+                new ArrayList<>(facets.cities().keySet()),
+                new ArrayList<>(facets.countries().keySet()),
                 12, // defaultPageSize
                 100, // maxPageSize
                 1000, // maxPageNumber
-                List.of("relevance", "name", "batch", "connections") // availableSortOptions
+                List.of("relevance", "name", "batch", "connections"), // availableSortOptions
+                facets.batches(),
+                facets.professions(),
+                facets.cities(),
+                facets.countries()
         );
     }
 
@@ -176,11 +198,17 @@ public class AlumniSearchServiceImpl extends BaseService implements AlumniSearch
                 break;
             case "relevance":
             default:
+                // Without search text there is nothing to rank, so newest profiles come first
                 sort = Sort.by("createdAt").descending();
                 break;
         }
 
-        return PageRequest.of(request.getPage(), request.getSize(), sort);
+        // Many alumni share a batch or a connection count; ordering by id as well keeps paging through them stable
+        return PageRequest.of(request.getPage(), request.getSize(), sort.and(Sort.by("id")));
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
 
     private AlumniSearchDto toDto(Profile profile, boolean isConnected, List<String> interests) {
@@ -3,17 +3,27 @@ package com.ijaa.user.service.impl;
 import com.ijaa.user.domain.entity.FeatureFlag;
 import com.ijaa.user.domain.dto.FeatureFlagDto;
 import com.ijaa.user.domain.mapper.FeatureFlagMapper;
+import com.ijaa.user.domain.response.FeatureFlagSnapshot;
 import com.ijaa.user.repository.FeatureFlagRepository;
 import com.ijaa.user.service.FeatureFlagService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +37,16 @@ public class FeatureFlagServiceImpl implements FeatureFlagService {
     // In-memory cache for fast lookups
     private final Map<String, Boolean> flagCache = new ConcurrentHashMap<>();
 
+    // Bumped on every change; seeded from the clock so it keeps increasing across restarts
+    private final AtomicLong snapshotVersion = new AtomicLong(System.currentTimeMillis());
+    private volatile FeatureFlagSnapshot snapshot;
+    private volatile long snapshotBuiltAtMillis;
+
+    // Changes only invalidate the snapshot on the instance that made them; other replicas
+    // pick them up once their copy is older than this
+    @Value("${feature-flags.snapshot.max-age:PT30S}")
+    private Duration snapshotMaxAge = Duration.ofSeconds(30);
+
     @Override
     @Cacheable("featureFlags")
     public List<FeatureFlagDto> getAllFlags() {
@@ -66,6 +86,7 @@ public class FeatureFlagServiceImpl implements FeatureFlagService {
         
         // Update cache
         flagCache.put(savedFlag.getName(), savedFlag.getEnabled());
+        invalidateSnapshot();
         
         return savedFlag;
     }
@@ -86,6 +107,7 @@ public class FeatureFlagServiceImpl implements FeatureFlagService {
         if (featureFlag.getChildren() != null && !featureFlag.getChildren().isEmpty()) {
             clearChildFlagsCache(featureFlag);
         }
+        invalidateSnapshot();
         
         return savedFlag;
     }
@@ -100,6 +122,7 @@ public class FeatureFlagServiceImpl implements FeatureFlagService {
         
         // Remove from cache
         flagCache.remove(flagName);
+        invalidateSnapshot();
     }
 
     @Override
@@ -129,6 +152,63 @@ public class FeatureFlagServiceImpl implements FeatureFlagService {
     }
 
 
+    @Override
+    public FeatureFlagSnapshot getSnapshot() {
+        FeatureFlagSnapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        if (current != null && now - snapshotBuiltAtMillis < snapshotMaxAge.toMillis()) {
+            return current;
+        }
+
+        long version = snapshotVersion.get();
+        Map<String, Boolean> flags = new TreeMap<>();
+        for (FeatureFlagDto topLevelFlag : getAllFlags()) {
+            collectEffectiveState(topLevelFlag, true, flags);
+        }
+        String etag = computeEtag(flags);
+        if (current != null && !etag.equals(current.getEtag()) && snapshotVersion.compareAndSet(version, version + 1)) {
+            // Changed through another instance; the version still has to move
+            version++;
+        }
+        FeatureFlagSnapshot built = new FeatureFlagSnapshot(version, Collections.unmodifiableMap(flags), etag);
+
+        // Only publish if no flag changed while the snapshot was being built
+        if (snapshotVersion.get() == version) {
+            snapshotBuiltAtMillis = now;
+            snapshot = built;
+        }
+        return built;
+    }
+
+    // A flag is effectively enabled only if it and every ancestor are enabled
+    private void collectEffectiveState(FeatureFlagDto flag, boolean parentEnabled, Map<String, Boolean> flags) {
+        if (flag == null || flags.containsKey(flag.getName())) {
+            return;
+        }
+        boolean enabled = parentEnabled && isFlagEnabled(flag);
+        flags.put(flag.getName(), enabled);
+        if (flag.getChildren() != null) {
+            for (FeatureFlagDto child : flag.getChildren()) {
+                collectEffectiveState(child, enabled, flags);
+            }
+        }
+    }
+
+    private String computeEtag(Map<String, Boolean> flags) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            flags.forEach((name, enabled) ->
+                    digest.update((name + '=' + enabled + '\n').getBytes(StandardCharsets.UTF_8)));
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void invalidateSnapshot() {
+        snapshotVersion.incrementAndGet();
+        snapshot = null;
+    }
 
     // Helper method to check if a flag itself is enabled (not considering children)
     private boolean isFlagEnabled(FeatureFlagDto flag) {
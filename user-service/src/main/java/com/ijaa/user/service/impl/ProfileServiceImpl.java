@@ -10,6 +10,7 @@ import com.ijaa.user.domain.entity.Profile;
 import com.ijaa.user.repository.ExperienceRepository;
 import com.ijaa.user.repository.InterestRepository;
 import com.ijaa.user.repository.ProfileRepository;
+import com.ijaa.user.service.AlumniFacetCache;
 import com.ijaa.user.service.BaseService;
 import com.ijaa.user.service.ProfileService;
 import org.springframework.stereotype.Service;
@@ -25,15 +26,18 @@ public class ProfileServiceImpl extends BaseService implements ProfileService {
     private final ProfileRepository profileRepository;
     private final ExperienceRepository experienceRepository;
     private final InterestRepository interestRepository;
+    private final AlumniFacetCache alumniFacetCache;
 
     public ProfileServiceImpl(ProfileRepository profileRepository,
                               ObjectMapper objectMapper,
                               ExperienceRepository experienceRepository,
-                              InterestRepository interestRepository) {
+                              InterestRepository interestRepository,
+                              AlumniFacetCache alumniFacetCache) {
         super(objectMapper);
         this.profileRepository = profileRepository;
         this.experienceRepository = experienceRepository;
         this.interestRepository = interestRepository;
+        this.alumniFacetCache = alumniFacetCache;
     }
 
     @Override
@@ -60,6 +64,7 @@ public class ProfileServiceImpl extends BaseService implements ProfileService {
         updateVisibilitySettings(entity, dto);
 
         profileRepository.save(entity);
+        alumniFacetCache.profileChanged(entity);
         return toDto(entity, true);
     }
 
@@ -206,7 +211,9 @@ public class ProfileServiceImpl extends BaseService implements ProfileService {
         profile.setUsername(username);
         profile.setName(username);
         profile.setUserId(userId);
-        return profileRepository.save(profile);
+        Profile saved = profileRepository.save(profile);
+        alumniFacetCache.profileChanged(saved);
+        return saved;
     }
 
     private void updateProfileFields(Profile entity, ProfileDto dto) {
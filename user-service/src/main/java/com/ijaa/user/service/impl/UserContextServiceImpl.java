@@ -1,8 +1,8 @@
 package com.ijaa.user.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ijaa.user.common.exceptions.UserContextException;
+import com.ijaa.user.common.utils.UserContextCodec;
 import com.ijaa.user.domain.entity.CurrentUserContext;
 import com.ijaa.user.service.UserContextService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,9 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,7 +20,8 @@ public class UserContextServiceImpl implements UserContextService {
     private final ObjectMapper objectMapper;
 
     /**
-     * Extracts the current user context from the request header set by the gateway service
+     * Extracts the current user context from the request header set by the gateway service.
+     * The header is decoded once per request and reused by later calls.
      *
      * @return CurrentUserContext object containing user information
      * @throws UserContextException if user context cannot be extracted or parsed
@@ -31,17 +29,19 @@ public class UserContextServiceImpl implements UserContextService {
     @Override
     public CurrentUserContext getCurrentUserContext() {
         try {
-            HttpServletRequest request = getCurrentHttpRequest();
-            String base64UserContext = request.getHeader("X-USER_ID");
+            CurrentUserContext userContext = UserContextCodec.resolve(getCurrentHttpRequest(), objectMapper);
 
-            if (base64UserContext == null || base64UserContext.trim().isEmpty()) {
+            if (userContext == null) {
                 throw new UserContextException("User context not found in request headers");
             }
 
-            return decodeUserContext(base64UserContext);
+            return userContext;
 
         } catch (UserContextException e) {
             throw e;
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid user context header: {}", e.getMessage());
+            throw new UserContextException("Invalid user context format", e);
         } catch (Exception e) {
             log.error("Failed to extract current user context: {}", e.getMessage(), e);
             throw new UserContextException("Unable to determine current user context", e);
@@ -103,33 +103,6 @@ public class UserContextServiceImpl implements UserContextService {
 
         return requestAttributes.getRequest();
     }
-
-    /**
-     * Decodes the Base64-encoded user context from the header
-     *
-     * @param base64UserContext Base64-encoded JSON string
-     * @return CurrentUserContext object
-     * @throws UserContextException if decoding or parsing fails
-     */
-    private CurrentUserContext decodeUserContext(String base64UserContext) {
-        try {
-            // Decode from Base64
-            byte[] decodedBytes = Base64.getUrlDecoder().decode(base64UserContext);
-            String jsonUserContext = new String(decodedBytes, StandardCharsets.UTF_8);
-
-            log.debug("Decoded user context JSON: {}", jsonUserContext);
-
-            // Parse JSON to CurrentUserContext object
-            return objectMapper.readValue(jsonUserContext, CurrentUserContext.class);
-
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid Base64 encoding in user context header: {}", base64UserContext);
-            throw new UserContextException("Invalid user context encoding", e);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse user context JSON: {}", e.getMessage());
-            throw new UserContextException("Invalid user context format", e);
-        }
-    }
 }
 
 
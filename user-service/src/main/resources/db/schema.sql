@@ -162,3 +162,24 @@ CREATE INDEX IF NOT EXISTS idx_feature_flags_name ON feature_flags(feature_name)
 CREATE INDEX IF NOT EXISTS idx_admins_email ON admins(email);
 CREATE INDEX IF NOT EXISTS idx_user_settings_user_id ON user_settings(user_id);
 -- Blacklisted tokens indexes moved to gateway service
+
+-- Alumni directory search. Both columns are generated, so PostgreSQL refreshes them whenever a
+-- profile is inserted or its name, profession or bio changes; the application never writes them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER TABLE profiles ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', COALESCE(name, '')), 'A') ||
+    setweight(to_tsvector('simple', COALESCE(profession, '')), 'B') ||
+    setweight(to_tsvector('simple', COALESCE(bio, '')), 'C')
+) STORED;
+-- Name and profession only: trigram matching over bios would bloat the index for little gain
+ALTER TABLE profiles ADD COLUMN IF NOT EXISTS search_text TEXT GENERATED ALWAYS AS (
+    LOWER(COALESCE(name, '') || ' ' || COALESCE(profession, ''))
+) STORED;
+CREATE INDEX IF NOT EXISTS idx_profiles_search_vector ON profiles USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_profiles_search_text_trgm ON profiles USING GIN (search_text gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_profiles_profession_trgm ON profiles USING GIN (LOWER(profession) gin_trgm_ops);
+-- Directory filters and the default newest-first listing
+CREATE INDEX IF NOT EXISTS idx_profiles_batch ON profiles(batch, id);
+CREATE INDEX IF NOT EXISTS idx_profiles_city_id ON profiles(city_id);
+CREATE INDEX IF NOT EXISTS idx_profiles_country_id ON profiles(country_id);
+CREATE INDEX IF NOT EXISTS idx_profiles_created_at ON profiles(created_at DESC, id);
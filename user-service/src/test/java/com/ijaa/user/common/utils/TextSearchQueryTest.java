@@ -0,0 +1,42 @@
+package com.ijaa.user.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSearchQueryTest {
+
+    @Test
+    void testEveryTermBecomesARequiredPrefix() {
+        assertEquals("software:* & eng:*", TextSearchQuery.toPrefixTsQuery("Software  Eng"));
+    }
+
+    @Test
+    void testOperatorsInUserInputAreStripped() {
+        // When
+        String tsQuery = TextSearchQuery.toPrefixTsQuery("data' | !scientist:* & (2019)");
+
+        // Then
+        assertEquals("data:* & scientist:* & 2019:*", tsQuery);
+    }
+
+    @Test
+    void testNothingSearchableYieldsNoQuery() {
+        assertNull(TextSearchQuery.toPrefixTsQuery(null));
+        assertNull(TextSearchQuery.toPrefixTsQuery(" &|!() "));
+        assertEquals("", TextSearchQuery.normalize("---"));
+    }
+
+    @Test
+    void testNormalizeKeepsUnicodeLettersAndCapsTermCount() {
+        // Given
+        String text = "Rafiq Ahmed Çelik Dhaka IIT BSSE 2015 batch extra words";
+
+        // When
+        String normalized = TextSearchQuery.normalize(text);
+
+        // Then
+        assertEquals("rafiq ahmed çelik dhaka iit bsse 2015 batch", normalized);
+        assertEquals(TextSearchQuery.MAX_TERMS, normalized.split(" ").length);
+    }
+}
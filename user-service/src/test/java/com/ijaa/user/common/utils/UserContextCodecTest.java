@@ -0,0 +1,91 @@
+package com.ijaa.user.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ijaa.user.domain.entity.CurrentUserContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserContextCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decode_WhenBinaryVersion1_ReturnsContext() {
+        // Given
+        String header = binaryHeader("alice", "USER_1", "USER", null);
+
+        // When
+        CurrentUserContext context = UserContextCodec.decode(header, objectMapper);
+
+        // Then
+        assertEquals("alice", context.getUsername());
+        assertEquals("USER_1", context.getUserId());
+        assertEquals("USER", context.getUserType());
+        assertNull(context.getRole());
+    }
+
+    @Test
+    void decode_WhenLegacyJson_ReturnsContext() {
+        // Given
+        String json = "{\"username\":\"alice\",\"userId\":\"USER_1\",\"userType\":\"USER\",\"role\":\"USER\"}";
+        String header = Base64.getUrlEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        CurrentUserContext context = UserContextCodec.decode(header, objectMapper);
+
+        // Then
+        assertEquals("alice", context.getUsername());
+        assertEquals("USER", context.getRole());
+    }
+
+    @Test
+    void decode_WhenTruncated_ThrowsIllegalArgumentException() {
+        // Given
+        String header = Base64.getUrlEncoder().encodeToString(new byte[]{1, 0, 10, 'a'});
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> UserContextCodec.decode(header, objectMapper));
+    }
+
+    @Test
+    void resolve_WhenCalledTwice_DecodesOncePerRequest() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(UserContextCodec.HEADER_NAME, binaryHeader("alice", "USER_1", "USER", "USER"));
+
+        // When
+        CurrentUserContext first = UserContextCodec.resolve(request, objectMapper);
+        CurrentUserContext second = UserContextCodec.resolve(request, objectMapper);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void resolve_WhenHeaderMissing_ReturnsNull() {
+        assertNull(UserContextCodec.resolve(new MockHttpServletRequest(), objectMapper));
+    }
+
+    private String binaryHeader(String... fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        for (String field : fields) {
+            if (field == null) {
+                out.write(0xFF);
+                out.write(0xFF);
+                continue;
+            }
+            byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes.length >>> 8);
+            out.write(bytes.length & 0xFF);
+            out.write(bytes, 0, bytes.length);
+        }
+        return Base64.getUrlEncoder().encodeToString(out.toByteArray());
+    }
+}
@@ -0,0 +1,167 @@
+package com.ijaa.user.repository;
+
+import com.ijaa.user.common.utils.TextSearchQuery;
+import com.ijaa.user.domain.entity.Profile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the legacy LIKE alumni search with the ranked full-text search on a seeded profiles table.
+ * Needs a scratch PostgreSQL database with pg_trgm available; the schema is applied from db/schema.sql.
+ * <pre>
+ * ALUMNI_SEARCH_BENCHMARK_URL=jdbc:postgresql://localhost:5432/ijaa_users_bench \
+ * ALUMNI_SEARCH_BENCHMARK_USERNAME=root ALUMNI_SEARCH_BENCHMARK_PASSWORD=... \
+ * mvn test -Dtest=AlumniTextSearchBenchmarkTest
+ * </pre>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${ALUMNI_SEARCH_BENCHMARK_URL:}",
+        "spring.datasource.username=${ALUMNI_SEARCH_BENCHMARK_USERNAME:root}",
+        "spring.datasource.password=${ALUMNI_SEARCH_BENCHMARK_PASSWORD:}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.sql.init.mode=always",
+        "search.full-text.enabled=true"
+})
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "ALUMNI_SEARCH_BENCHMARK_URL", matches = ".+")
+class AlumniTextSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlumniTextSearchBenchmarkTest.class);
+
+    private static final int ROWS = Integer.parseInt(System.getenv().getOrDefault("ALUMNI_SEARCH_BENCHMARK_ROWS", "500000"));
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    // Each name ends in md5(n), which gives every alumnus a rare, searchable token
+    private static final String SEED_SQL = "INSERT INTO profiles (username, user_id, name, profession, bio, batch, " +
+            "email, connections, created_at, updated_at) " +
+            "SELECT 'bench_' || g, 'BENCH_' || g, " +
+            "(ARRAY['Rafiq','Nusrat','Tanvir','Farhana','Imran','Sadia','Arif','Mehnaz'])[1 + g % 8] " +
+            "|| ' ' || (ARRAY['Ahmed','Hossain','Rahman','Chowdhury','Islam','Karim','Sarker'])[1 + (g / 8) % 7] " +
+            "|| ' ' || md5(g::text), " +
+            "(ARRAY['Software Engineer','Data Scientist','Product Manager','Researcher','Lecturer'," +
+            "'DevOps Engineer'])[1 + (g / 56) % 6], " +
+            "'Works on ' || (ARRAY['distributed systems','machine learning','mobile apps','cloud infrastructure'," +
+            "'security','fintech'])[1 + g % 6], " +
+            "(2008 + g % 16)::text, 'bench' || g || '@example.com', g % 500, now(), now() " +
+            "FROM generate_series(?, ?) AS g";
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM profiles WHERE username LIKE 'bench\\_%'",
+                Integer.class);
+        if (existing != null && existing >= ROWS) {
+            return;
+        }
+        int from = existing == null ? 1 : existing + 1;
+        for (int start = from; start <= ROWS; start += 100_000) {
+            jdbcTemplate.update(SEED_SQL, start, Math.min(start + 99_999, ROWS));
+        }
+        jdbcTemplate.execute("ANALYZE profiles");
+    }
+
+    @Test
+    void benchmarkPrefixSearch() {
+        String code = md5Of(ROWS / 2).substring(0, 7);
+        compare("prefix '" + code + "'", code);
+    }
+
+    @Test
+    void benchmarkNameAndProfessionSearch() {
+        String code = md5Of(ROWS / 3);
+        Profile profile = jdbcTemplate.queryForObject("SELECT name, profession FROM profiles WHERE name LIKE ? LIMIT 1",
+                (rs, rowNum) -> {
+                    Profile row = new Profile();
+                    row.setName(rs.getString("name"));
+                    row.setProfession(rs.getString("profession"));
+                    return row;
+                }, "%" + code);
+        String query = profile.getName().split(" ")[0] + " " + profile.getProfession().split(" ")[0]
+                + " " + code.substring(0, 10);
+        compare("name and profession '" + query + "'", query);
+    }
+
+    @Test
+    void benchmarkTypoTolerance() {
+        String code = md5Of(ROWS / 4);
+        // One wrong character: no tsvector hit, so only the trigram branch can find it
+        String typo = code.substring(0, 16) + (code.charAt(16) == 'a' ? 'b' : 'a') + code.substring(17);
+
+        Page<Profile> result = textSearch(typo);
+
+        assertFalse(result.isEmpty(), "Expected a trigram match for " + typo);
+        assertTrue(result.getContent().get(0).getName().endsWith(code));
+        log.info("Typo '{}': text search median {} ms", typo, median(() -> textSearch(typo)));
+    }
+
+    @Test
+    void textSearchUsesGinIndexes() {
+        String code = md5Of(ROWS / 5).substring(0, 8);
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM profiles " +
+                        "WHERE search_vector @@ to_tsquery('simple', ?) OR ? <% search_text",
+                String.class, code + ":*", code));
+
+        assertTrue(plan.contains("idx_profiles_search_vector"), plan);
+        assertTrue(plan.contains("idx_profiles_search_text_trgm"), plan);
+    }
+
+    private void compare(String label, String query) {
+        long like = median(() -> profileRepository.findProfilesWithFilters(query, null, null, null, null, null,
+                PageRequest.of(0, 12, Sort.by("createdAt").descending().and(Sort.by("id")))));
+        long text = median(() -> textSearch(query));
+        log.info("{} over {} profiles: LIKE median {} ms, text search median {} ms", label, ROWS, like, text);
+
+        assertFalse(textSearch(query).isEmpty());
+        assertTrue(text < like, "Text search (" + text + " ms) should beat the LIKE scan (" + like + " ms)");
+    }
+
+    private Page<Profile> textSearch(String query) {
+        return profileRepository.searchProfilesByText(TextSearchQuery.toPrefixTsQuery(query),
+                TextSearchQuery.normalize(query), null, null, null, null, null, "relevance", PageRequest.of(0, 12));
+    }
+
+    private long median(Supplier<?> search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.get();
+        }
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            search.get();
+            timings.add((System.nanoTime() - startedAt) / 1_000_000);
+        }
+        Collections.sort(timings);
+        return timings.get(timings.size() / 2);
+    }
+
+    private String md5Of(int n) {
+        return jdbcTemplate.queryForObject("SELECT md5(?::text)", String.class, String.valueOf(n));
+    }
+}
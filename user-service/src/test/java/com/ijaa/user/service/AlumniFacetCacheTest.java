@@ -0,0 +1,156 @@
+package com.ijaa.user.service;
+
+import com.ijaa.user.domain.entity.City;
+import com.ijaa.user.domain.entity.Country;
+import com.ijaa.user.domain.entity.Profile;
+import com.ijaa.user.repository.CityRepository;
+import com.ijaa.user.repository.CountryRepository;
+import com.ijaa.user.repository.ProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlumniFacetCacheTest {
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private CountryRepository countryRepository;
+
+    @InjectMocks
+    private AlumniFacetCache alumniFacetCache;
+
+    @BeforeEach
+    void setUp() {
+        when(profileRepository.findAllFacetRows()).thenReturn(List.of(
+                row("alice", "2019", "Engineer", 1L, 10L),
+                row("bob", "2020", "Engineer", 1L, 10L),
+                row("carol", "2020", "Doctor", 2L, 10L)));
+        when(cityRepository.findAllById(any())).thenReturn(List.of(city(1L, "Dhaka"), city(2L, "Sylhet")));
+        when(countryRepository.findAllById(any())).thenReturn(List.of(country(10L, "Bangladesh")));
+        alumniFacetCache.refresh();
+    }
+
+    @Test
+    void testCountsAreSortedForDisplay() {
+        // When
+        AlumniFacetCache.FacetCounts counts = alumniFacetCache.countsExcluding(null);
+
+        // Then
+        assertEquals(3, counts.totalAlumni());
+        assertEquals(List.of("2020", "2019"), List.copyOf(counts.batches().keySet()));
+        assertEquals(List.of("Doctor", "Engineer"), List.copyOf(counts.professions().keySet()));
+        assertEquals(Map.of("Dhaka", 2L, "Sylhet", 1L), counts.cities());
+        assertEquals(Map.of("Bangladesh", 3L), counts.countries());
+    }
+
+    @Test
+    void testCallerIsSubtractedWithoutQuerying() {
+        // When
+        AlumniFacetCache.FacetCounts counts = alumniFacetCache.countsExcluding("carol");
+
+        // Then
+        assertEquals(2, counts.totalAlumni());
+        assertEquals(Map.of("2019", 1L, "2020", 1L), counts.batches());
+        assertFalse(counts.professions().containsKey("Doctor"));
+        assertFalse(counts.cities().containsKey("Sylhet"));
+        assertEquals(2L, counts.countries().get("Bangladesh"));
+        verify(profileRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    void testProfileChangeMovesCountsIncrementally() {
+        // Given
+        Profile moved = new Profile();
+        moved.setUsername("alice");
+        moved.setBatch("2019");
+        moved.setProfession("Doctor");
+        moved.setCityId(3L);
+        moved.setCountryId(10L);
+        when(cityRepository.findById(3L)).thenReturn(Optional.of(city(3L, "Khulna")));
+
+        // When
+        alumniFacetCache.profileChanged(moved);
+        AlumniFacetCache.FacetCounts counts = alumniFacetCache.countsExcluding(null);
+
+        // Then
+        assertEquals(3, counts.totalAlumni());
+        assertEquals(Map.of("Doctor", 2L, "Engineer", 1L), counts.professions());
+        assertEquals(Map.of("Dhaka", 1L, "Sylhet", 1L, "Khulna", 1L), counts.cities());
+        verify(profileRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    void testNewProfileIsCounted() {
+        // Given
+        Profile created = new Profile();
+        created.setUsername("dave");
+
+        // When
+        alumniFacetCache.profileChanged(created);
+
+        // Then
+        assertEquals(4, alumniFacetCache.countsExcluding(null).totalAlumni());
+        assertEquals(3, alumniFacetCache.countsExcluding("dave").totalAlumni());
+    }
+
+    private static ProfileRepository.FacetRow row(String username, String batch, String profession,
+                                                  Long cityId, Long countryId) {
+        return new ProfileRepository.FacetRow() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getBatch() {
+                return batch;
+            }
+
+            @Override
+            public String getProfession() {
+                return profession;
+            }
+
+            @Override
+            public Long getCityId() {
+                return cityId;
+            }
+
+            @Override
+            public Long getCountryId() {
+                return countryId;
+            }
+        };
+    }
+
+    private static City city(Long id, String name) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        return city;
+    }
+
+    private static Country country(Long id, String name) {
+        Country country = new Country();
+        country.setId(id);
+        country.setName(name);
+        return country;
+    }
+}
@@ -0,0 +1,154 @@
+package com.ijaa.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ijaa.user.domain.common.PagedResponse;
+import com.ijaa.user.domain.dto.AlumniSearchDto;
+import com.ijaa.user.domain.entity.Profile;
+import com.ijaa.user.domain.request.AlumniSearchRequest;
+import com.ijaa.user.repository.ConnectionRepository;
+import com.ijaa.user.repository.InterestRepository;
+import com.ijaa.user.repository.ProfileRepository;
+import com.ijaa.user.service.impl.AlumniSearchServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlumniSearchServiceTest {
+
+    private static final String CURRENT_USERNAME = "testuser";
+
+    @Mock
+    private ConnectionRepository connectionRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private InterestRepository interestRepository;
+
+    @Mock
+    private AlumniFacetCache alumniFacetCache;
+
+    private AlumniSearchServiceImpl alumniSearchService;
+
+    @BeforeEach
+    void setUp() {
+        alumniSearchService = new AlumniSearchServiceImpl(connectionRepository, profileRepository,
+                interestRepository, alumniFacetCache, new ObjectMapper());
+
+        String jsonContext = "{\"userId\":\"USER_123456\",\"username\":\"" + CURRENT_USERNAME
+                + "\",\"userType\":\"USER\",\"role\":\"USER\"}";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-USER_ID",
+                Base64.getUrlEncoder().encodeToString(jsonContext.getBytes(StandardCharsets.UTF_8)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        when(connectionRepository.findConnectedUsernames(CURRENT_USERNAME)).thenReturn(List.of("karim"));
+        when(interestRepository.findByUserIdIn(anyList())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void searchAlumni_WithFullTextEnabled_UsesRankedTextSearch() {
+        // Given
+        ReflectionTestUtils.setField(alumniSearchService, "fullTextEnabled", true);
+        AlumniSearchRequest request = request("  Software Eng ");
+        request.setBatch(" ");
+        request.setProfession("Engineer");
+        request.setPage(2);
+        request.setSize(10);
+        when(profileRepository.searchProfilesByText(anyString(), anyString(), any(), any(), any(), any(),
+                anyString(), anyString(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(profile("karim")), PageRequest.of(2, 10), 21));
+
+        // When
+        PagedResponse<AlumniSearchDto> result = alumniSearchService.searchAlumni(request);
+
+        // Then
+        verify(profileRepository).searchProfilesByText("software:* & eng:*", "software eng", null, "Engineer",
+                null, null, CURRENT_USERNAME, "relevance", PageRequest.of(2, 10));
+        verify(profileRepository, never()).findProfilesWithFilters(any(), any(), any(), any(), any(), any(), any());
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.getContent().get(0).getIsConnected());
+    }
+
+    @Test
+    void searchAlumni_WithFullTextDisabled_FallsBackToFilterQuery() {
+        // Given - the H2 test profile has no tsvector/pg_trgm support
+        ReflectionTestUtils.setField(alumniSearchService, "fullTextEnabled", false);
+        AlumniSearchRequest request = request("Software Eng");
+        when(profileRepository.findProfilesWithFilters(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(profile("rahim"))));
+
+        // When
+        PagedResponse<AlumniSearchDto> result = alumniSearchService.searchAlumni(request);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(profileRepository).findProfilesWithFilters(eq("Software Eng"), isNull(), isNull(), isNull(), isNull(),
+                eq(CURRENT_USERNAME), pageable.capture());
+        verify(profileRepository, never()).searchProfilesByText(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertEquals(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id")), pageable.getValue().getSort());
+        assertFalse(result.getContent().get(0).getIsConnected());
+    }
+
+    @Test
+    void searchAlumni_WithNothingSearchable_UsesFilterQueryEvenWhenFullTextEnabled() {
+        // Given
+        ReflectionTestUtils.setField(alumniSearchService, "fullTextEnabled", true);
+        AlumniSearchRequest request = request("%%");
+        request.setSortBy("name");
+        when(profileRepository.findProfilesWithFilters(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        // When
+        alumniSearchService.searchAlumni(request);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(profileRepository).findProfilesWithFilters(eq("%%"), isNull(), isNull(), isNull(), isNull(),
+                eq(CURRENT_USERNAME), pageable.capture());
+        verify(profileRepository, never()).searchProfilesByText(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertEquals(Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id")), pageable.getValue().getSort());
+    }
+
+    private static AlumniSearchRequest request(String searchQuery) {
+        AlumniSearchRequest request = new AlumniSearchRequest();
+        request.setSearchQuery(searchQuery);
+        return request;
+    }
+
+    private static Profile profile(String username) {
+        Profile profile = new Profile();
+        profile.setId(1L);
+        profile.setUsername(username);
+        profile.setUserId("USER_" + username.toUpperCase());
+        profile.setName(username);
+        return profile;
+    }
+}
@@ -3,6 +3,7 @@ package com.ijaa.user.service;
 import com.ijaa.user.domain.dto.FeatureFlagDto;
 import com.ijaa.user.domain.entity.FeatureFlag;
 import com.ijaa.user.domain.mapper.FeatureFlagMapper;
+import com.ijaa.user.domain.response.FeatureFlagSnapshot;
 import com.ijaa.user.repository.FeatureFlagRepository;
 import com.ijaa.user.service.impl.FeatureFlagServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -269,11 +273,65 @@ class FeatureFlagServiceTest {
         verify(featureFlagMapper).toDtoWithChildren(parentFlag);
     }
 
+    @Test
+    void testGetSnapshot_AppliesParentStateToChildren() {
+        // Given
+        parentDto.setEnabled(false);
+        parentDto.setChildren(new ArrayList<>(List.of(childDto)));
+        when(featureFlagRepository.findAllTopLevelFlags()).thenReturn(List.of(parentFlag));
+        when(featureFlagMapper.toDtoWithChildren(parentFlag)).thenReturn(parentDto);
 
+        // When
+        FeatureFlagSnapshot snapshot = featureFlagService.getSnapshot();
 
+        // Then
+        assertEquals(Boolean.FALSE, snapshot.getFlags().get("chat"));
+        assertEquals(Boolean.FALSE, snapshot.getFlags().get("chat.file-sharing"));
+        assertNotNull(snapshot.getEtag());
+    }
+
+    @Test
+    void testGetSnapshot_IsCachedUntilFlagChanges() {
+        // Given
+        parentDto.setChildren(new ArrayList<>(List.of(childDto)));
+        when(featureFlagRepository.findAllTopLevelFlags()).thenReturn(List.of(parentFlag));
+        when(featureFlagMapper.toDtoWithChildren(parentFlag)).thenReturn(parentDto);
+        when(featureFlagRepository.findByName("chat.file-sharing")).thenReturn(Optional.of(childFlag));
+        when(featureFlagRepository.save(any(FeatureFlag.class))).thenReturn(childFlag);
 
+        // When
+        FeatureFlagSnapshot first = featureFlagService.getSnapshot();
+        FeatureFlagSnapshot cached = featureFlagService.getSnapshot();
+        featureFlagService.updateFlag("chat.file-sharing", false);
+        childDto.setEnabled(false);
+        FeatureFlagSnapshot updated = featureFlagService.getSnapshot();
 
+        // Then
+        assertSame(first, cached);
+        assertTrue(updated.getVersion() > first.getVersion());
+        assertNotEquals(first.getEtag(), updated.getEtag());
+        assertEquals(Boolean.FALSE, updated.getFlags().get("chat.file-sharing"));
+        verify(featureFlagRepository, times(2)).findAllTopLevelFlags();
+    }
 
-}
+    @Test
+    void testGetSnapshot_PicksUpChangesFromOtherInstancesAfterMaxAge() {
+        // Given
+        ReflectionTestUtils.setField(featureFlagService, "snapshotMaxAge", Duration.ZERO);
+        parentDto.setChildren(new ArrayList<>(List.of(childDto)));
+        when(featureFlagRepository.findAllTopLevelFlags()).thenReturn(List.of(parentFlag));
+        when(featureFlagMapper.toDtoWithChildren(parentFlag)).thenReturn(parentDto);
+        FeatureFlagSnapshot first = featureFlagService.getSnapshot();
 
+        // When - another replica disabled the child; this instance never saw the update call
+        FeatureFlagSnapshot unchanged = featureFlagService.getSnapshot();
+        childDto.setEnabled(false);
+        FeatureFlagSnapshot updated = featureFlagService.getSnapshot();
 
+        // Then
+        assertEquals(first.getVersion(), unchanged.getVersion());
+        assertEquals(first.getEtag(), unchanged.getEtag());
+        assertTrue(updated.getVersion() > first.getVersion());
+        assertEquals(Boolean.FALSE, updated.getFlags().get("chat.file-sharing"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.ijaa.user.service;
+
+import com.ijaa.user.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgeJobTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPurgeJob purgeJob;
+
+    // Expiry dates of the rows in the refresh_tokens table
+    private final List<LocalDateTime> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purgeJob = new RefreshTokenPurgeJob(refreshTokenRepository, meterRegistry);
+        ReflectionTestUtils.setField(purgeJob, "enabled", true);
+        ReflectionTestUtils.setField(purgeJob, "batchSize", 2);
+        ReflectionTestUtils.setField(purgeJob, "maxBatchesPerRun", 100);
+        ReflectionTestUtils.setField(purgeJob, "pauseBetweenBatchesMs", 0L);
+    }
+
+    @Test
+    void testExpiredRowsAreRemovedAndLiveRowsKept() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime live = now.plusDays(7);
+        rows.addAll(List.of(now.minusDays(3), live, now.minusDays(2), now.minusHours(1), live, now.minusMinutes(5)));
+        deletingFromRows();
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        assertEquals(List.of(live, live), rows);
+        // 4 expired rows in batches of 2: two full batches, then one that finds nothing left
+        verify(refreshTokenRepository, times(3)).deleteExpiredTokensBatch(any(), eq(2));
+        assertEquals(4.0, meterRegistry.get("ijaa.token.purge.rows").counter().count());
+    }
+
+    @Test
+    void testRunStopsAtMaxBatches() {
+        // Given
+        ReflectionTestUtils.setField(purgeJob, "maxBatchesPerRun", 2);
+        LocalDateTime expired = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < 10; i++) {
+            rows.add(expired);
+        }
+        deletingFromRows();
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then - the rest is left for the next run
+        assertEquals(6, rows.size());
+        verify(refreshTokenRepository, times(2)).deleteExpiredTokensBatch(any(), anyInt());
+    }
+
+    @Test
+    void testDisabledJobDoesNothing() {
+        // Given
+        ReflectionTestUtils.setField(purgeJob, "enabled", false);
+
+        // When
+        purgeJob.purgeExpiredTokens();
+
+        // Then
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    private void deletingFromRows() {
+        when(refreshTokenRepository.deleteExpiredTokensBatch(any(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            int batchSize = invocation.getArgument(1);
+            int deleted = 0;
+            for (Iterator<LocalDateTime> it = rows.iterator(); it.hasNext() && deleted < batchSize; ) {
+                if (it.next().isBefore(now)) {
+                    it.remove();
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+}